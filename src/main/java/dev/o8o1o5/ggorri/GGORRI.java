@@ -5,6 +5,7 @@ import dev.o8o1o5.ggorri.listeners.GameListener;
 import dev.o8o1o5.ggorri.manager.GameManager;
 import dev.o8o1o5.ggorri.manager.PlayerManager;
 import org.bukkit.NamespacedKey;
+import org.bukkit.World;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.logging.Level;
@@ -25,6 +26,7 @@ public final class GGORRI extends JavaPlugin {
         customItemIdKey = new NamespacedKey(this, "custom_item_id");
         getLogger().info("[GGORRI] 커스텀 아이템 ID 키가 등록되었습니다 :" + customItemIdKey.getKey());
 
+        saveDefaultConfig(); // config.yml이 없으면 기본값으로 생성
         gameManager = new GameManager(this);
 
 
@@ -42,10 +44,13 @@ public final class GGORRI extends JavaPlugin {
     @Override
     public void onDisable() {
         getLogger().info("[GGORRI] 플러그인이 비활성화되었습니다!");
-        // 게임이 진행 중이었다면 안전하게 종료
-        if (gameManager != null && gameManager.getCurrentStatus() != GameManager.GameStatus.WAITING) {
+        // 진행 중인 게임은 저널에 남겨 다음 시작 때 복구하고, 저널이 꺼져 있거나 카운트다운 중이면 안전하게 종료
+        if (gameManager != null && gameManager.getCurrentStatus() != GameManager.GameStatus.WAITING && !gameManager.suspendGame()) {
             gameManager.stopGame(); // 플러그인 비활성화 시 강제 종료
         }
+        if (gameManager != null) {
+            gameManager.shutdown();
+        }
     }
 
     public static GGORRI getInstance() {
@@ -59,4 +64,20 @@ public final class GGORRI extends JavaPlugin {
     public GameManager getGameManager() {
         return gameManager;
     }
+
+    /**
+     * @return 게임이 진행되는 월드 이름 (config.yml의 game-world, 기본 "world")
+     */
+    public String getGameWorldName() {
+        return getConfig().getString("game-world", "world");
+    }
+
+    /**
+     * 게임이 진행되는 월드를 찾습니다. 스폰과 자기장은 모두 이 월드를 씁니다.
+     *
+     * @return 게임 월드, 로드되지 않았으면 null
+     */
+    public World getGameWorld() {
+        return getServer().getWorld(getGameWorldName());
+    }
 }
\ No newline at end of file
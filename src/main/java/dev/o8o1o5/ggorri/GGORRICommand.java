@@ -1,14 +1,24 @@
 package dev.o8o1o5.ggorri;
 
 import dev.o8o1o5.ggorri.GGORRI;
+import dev.o8o1o5.ggorri.border.BorderPlan;
+import dev.o8o1o5.ggorri.border.BorderPacePolicy;
+import dev.o8o1o5.ggorri.border.BorderSimulator;
+import dev.o8o1o5.ggorri.border.LeaderPacePolicy;
 import dev.o8o1o5.ggorri.manager.GameManager;
+import dev.o8o1o5.ggorri.spawn.ArenaPregenerator;
+import dev.o8o1o5.ggorri.spawn.BlockSafetyClassifier;
+import dev.o8o1o5.ggorri.spawn.SpawnPlan;
 import org.bukkit.ChatColor;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
+import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitRunnable;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -19,6 +29,10 @@ public class GGORRICommand implements CommandExecutor, TabCompleter {
     private final GGORRI plugin;
     private final GameManager gameManager;
 
+    private static final int BENCHMARK_LOOKUPS = 1_000_000; // 벤치마크 라운드당 조회 횟수
+    private static final long BORDER_SIMULATION_STEP_TICKS = 20L * 60; // 가상 시계를 한 번에 1분씩 진행
+    private static final int DEFAULT_SIMULATED_PARTICIPANTS = 10; // bordersim에서 참가 인원을 주지 않았을 때 (최대 인원)
+
     public GGORRICommand(GGORRI plugin, GameManager gameManager) {
         this.plugin = plugin;
         this.gameManager = gameManager;
@@ -33,6 +47,11 @@ public class GGORRICommand implements CommandExecutor, TabCompleter {
             if (sender.hasPermission("ggorri.admin")) {
                 sender.sendMessage(ChatColor.YELLOW + "/ggorri start - (관리자) 게임을 시작합니다.");
                 sender.sendMessage(ChatColor.YELLOW + "/ggorri stop - (관리자) 게임을 종료합니다.");
+                sender.sendMessage(ChatColor.YELLOW + "/ggorri stats - (관리자) 내부 상태 및 성능 지표를 확인합니다.");
+                sender.sendMessage(ChatColor.YELLOW + "/ggorri bench - (관리자) 스폰 안전 검사 마이크로벤치마크를 실행합니다.");
+                sender.sendMessage(ChatColor.YELLOW + "/ggorri spawnplan [인원] - (관리자) 시작 스폰 배치 방식을 비교 측정합니다.");
+                sender.sendMessage(ChatColor.YELLOW + "/ggorri pregen [start|stop|status] - (관리자) 경기장 청크 사전 생성을 관리합니다.");
+                sender.sendMessage(ChatColor.YELLOW + "/ggorri bordersim [팀장 수] [참가 인원] - (관리자) config.yml의 자기장 계획을 가상 시계로 빠르게 검증합니다. (팀장 수를 주면 일정 단축 정책 적용)");
             }
             sender.sendMessage(ChatColor.YELLOW + "§l==========================");
             return true;
@@ -93,6 +112,72 @@ public class GGORRICommand implements CommandExecutor, TabCompleter {
                 }
                 break;
 
+            case "stats":
+                if (!sender.hasPermission("ggorri.admin")) {
+                    sender.sendMessage(ChatColor.RED + "[GGORRI] 이 명령어를 사용할 권한이 없습니다.");
+                    return true;
+                }
+                sendStats(sender);
+                break;
+
+            case "bench":
+                if (!sender.hasPermission("ggorri.admin")) {
+                    sender.sendMessage(ChatColor.RED + "[GGORRI] 이 명령어를 사용할 권한이 없습니다.");
+                    return true;
+                }
+                runBenchmark(sender);
+                break;
+
+            case "spawnplan":
+                if (!sender.hasPermission("ggorri.admin")) {
+                    sender.sendMessage(ChatColor.RED + "[GGORRI] 이 명령어를 사용할 권한이 없습니다.");
+                    return true;
+                }
+                int playerCount = gameManager.getMaxPlayers();
+                if (args.length >= 2) {
+                    try {
+                        playerCount = Integer.parseInt(args[1]);
+                    } catch (NumberFormatException e) {
+                        sender.sendMessage(ChatColor.RED + "[GGORRI] 인원은 숫자로 입력해주세요.");
+                        return true;
+                    }
+                }
+                if (playerCount < 1 || playerCount > 64) {
+                    sender.sendMessage(ChatColor.RED + "[GGORRI] 인원은 1~64 사이여야 합니다.");
+                    return true;
+                }
+                compareSpawnPlans(sender, playerCount);
+                break;
+
+            case "pregen":
+                if (!sender.hasPermission("ggorri.admin")) {
+                    sender.sendMessage(ChatColor.RED + "[GGORRI] 이 명령어를 사용할 권한이 없습니다.");
+                    return true;
+                }
+                handlePregen(sender, args.length >= 2 ? args[1].toLowerCase() : "status");
+                break;
+
+            case "bordersim":
+                if (!sender.hasPermission("ggorri.admin")) {
+                    sender.sendMessage(ChatColor.RED + "[GGORRI] 이 명령어를 사용할 권한이 없습니다.");
+                    return true;
+                }
+                Integer simulatedLeaders = null;
+                int simulatedParticipants = DEFAULT_SIMULATED_PARTICIPANTS;
+                if (args.length >= 2) {
+                    try {
+                        simulatedLeaders = Integer.parseInt(args[1]);
+                        if (args.length >= 3) {
+                            simulatedParticipants = Integer.parseInt(args[2]);
+                        }
+                    } catch (NumberFormatException e) {
+                        sender.sendMessage(ChatColor.RED + "[GGORRI] 팀장 수와 참가 인원은 숫자로 입력하세요.");
+                        return true;
+                    }
+                }
+                runBorderSimulation(sender, simulatedLeaders, simulatedParticipants);
+                break;
+
             default:
                 sendHelpMessage(sender);
                 break;
@@ -111,16 +196,158 @@ public class GGORRICommand implements CommandExecutor, TabCompleter {
             if (sender.hasPermission("ggorri.admin")) {
                 subCommands.add("start");
                 subCommands.add("stop");
+                subCommands.add("stats");
+                subCommands.add("bench");
+                subCommands.add("spawnplan");
+                subCommands.add("pregen");
+                subCommands.add("bordersim");
             }
             for (String s : subCommands) {
                 if (s.startsWith(args[0].toLowerCase())) {
                     completions.add(s);
                 }
             }
+        } else if (args.length == 2 && args[0].equalsIgnoreCase("pregen") && sender.hasPermission("ggorri.admin")) {
+            for (String s : Arrays.asList("start", "stop", "status")) {
+                if (s.startsWith(args[1].toLowerCase())) {
+                    completions.add(s);
+                }
+            }
         }
         return completions;
     }
 
+    private void sendStats(CommandSender sender) {
+        sender.sendMessage(ChatColor.YELLOW + "§l===== GGORRI 상태 =====");
+        sender.sendMessage(ChatColor.YELLOW + "게임 상태: " + gameManager.getCurrentStatus() + " (" + gameManager.getPlayersInGameCount() + "명)");
+        sender.sendMessage(ChatColor.YELLOW + gameManager.getSpawnManager().getSpawnPointPool().getStatusLine());
+        sender.sendMessage(ChatColor.YELLOW + gameManager.getSpawnManager().getSpawnEvaluator().getStatusLine());
+        sender.sendMessage(ChatColor.YELLOW + gameManager.getGameRulesManager().getRespawnSiteResolver().getStatusLine());
+        sender.sendMessage(ChatColor.YELLOW + gameManager.getSpawnManager().getTeleportDispatcher().getStatusLine());
+        sender.sendMessage(ChatColor.YELLOW + gameManager.getSpawnManager().getChunkTickets().getStatusLine());
+        if (gameManager.getSpawnManager().getSafeSurfaceIndex() != null) {
+            sender.sendMessage(ChatColor.YELLOW + gameManager.getSpawnManager().getSafeSurfaceIndex().getStatusLine());
+        }
+        sender.sendMessage(ChatColor.YELLOW + gameManager.getChainManager().getStatusLine());
+        sender.sendMessage(ChatColor.YELLOW + gameManager.getGameJournal().getStatusLine());
+        sender.sendMessage(ChatColor.YELLOW + gameManager.getSnapshot().getStatusLine());
+        sender.sendMessage(ChatColor.YELLOW + gameManager.getEventBus().getStatusLine());
+        sender.sendMessage(ChatColor.YELLOW + gameManager.getBorderManager().getStatusLine());
+        sender.sendMessage(ChatColor.YELLOW + gameManager.getBorderManager().getZoneTracker().getStatusLine());
+        sender.sendMessage(ChatColor.YELLOW + gameManager.getBorderManager().getNextBorderPreview().getStatusLine());
+        sender.sendMessage(ChatColor.YELLOW + gameManager.getBorderManager().getZonePreloader().getStatusLine());
+        sender.sendMessage(ChatColor.YELLOW + gameManager.getBorderManager().getChunkRetentionPolicy().getStatusLine());
+        sender.sendMessage(ChatColor.YELLOW + gameManager.getBorderManager().getArenaEntityPolicy().getStatusLine());
+        sender.sendMessage(ChatColor.YELLOW + gameManager.getBorderManager().getViewDistancePolicy().getStatusLine());
+        if (gameManager.getBorderManager().getSupplyDropPlacer() != null) {
+            sender.sendMessage(ChatColor.YELLOW + gameManager.getBorderManager().getSupplyDropPlacer().getStatusLine());
+        }
+        if (gameManager.getSpawnManager().getArenaPregenerator() != null) {
+            sender.sendMessage(ChatColor.YELLOW + gameManager.getSpawnManager().getArenaPregenerator().getStatusLine());
+        }
+        sender.sendMessage(ChatColor.YELLOW + "§l==========================");
+    }
+
+    /**
+     * 블록 안전 분류표 조회와 이전 문자열 비교 방식을 비교하는 벤치마크를 비동기로 실행하고 결과를 메인 스레드에서 전달합니다.
+     */
+    private void runBenchmark(CommandSender sender) {
+        BlockSafetyClassifier classifier = gameManager.getSpawnManager().getBlockSafetyClassifier();
+        sender.sendMessage(ChatColor.YELLOW + "[GGORRI] 스폰 안전 검사 벤치마크를 실행합니다...");
+        new BukkitRunnable() {
+            @Override
+            public void run() {
+                String result = classifier.runMicroBenchmark(BENCHMARK_LOOKUPS).getSummary();
+                plugin.getServer().getScheduler().runTask(plugin, () -> {
+                    sender.sendMessage(ChatColor.GREEN + "[GGORRI] " + result);
+                    plugin.getLogger().info("[GGORRI] 벤치마크 결과: " + result);
+                });
+            }
+        }.runTaskAsynchronously(plugin);
+    }
+
+    /**
+     * 기존 개별 탐색 방식과 Poisson-disk 배치 방식의 시작 스폰 계획을 비교합니다. 실제 텔레포트는 하지 않습니다.
+     */
+    private void compareSpawnPlans(CommandSender sender, int playerCount) {
+        if (gameManager.getSpawnManager().getGameWorld() == null) {
+            sender.sendMessage(ChatColor.RED + "[GGORRI] 게임 월드가 없어 측정할 수 없습니다.");
+            return;
+        }
+        sender.sendMessage(ChatColor.YELLOW + "[GGORRI] " + playerCount + "명 기준 시작 스폰 배치를 측정합니다...");
+        gameManager.getSpawnManager().compareSpawnPlans(playerCount).thenAccept(plans -> {
+            for (SpawnPlan plan : plans) {
+                sender.sendMessage(ChatColor.GREEN + "[GGORRI] " + plan.getSummary());
+                plugin.getLogger().info("[GGORRI] 스폰 배치 측정: " + plan.getSummary());
+            }
+        });
+    }
+
+    /**
+     * 디스크의 config.yml에서 자기장 계획을 새로 읽어 가상 시계로 끝까지 실행해 봅니다.
+     * 실행 중인 게임의 계획은 바꾸지 않으므로, 설정을 고친 뒤 재시작 전에 검증할 수 있습니다.
+     *
+     * @param simulatedLeaders      일정 단축 정책에 넘길 남은 팀장 수 (null이면 계획 그대로)
+     * @param simulatedParticipants 정책의 비율 기준이 되는 참가 인원
+     */
+    private void runBorderSimulation(CommandSender sender, Integer simulatedLeaders, int simulatedParticipants) {
+        YamlConfiguration config = YamlConfiguration.loadConfiguration(new File(plugin.getDataFolder(), "config.yml"));
+        BorderPlan plan = BorderPlan.load(config.getConfigurationSection("border"), plugin.getLogger());
+        BorderPacePolicy pacePolicy = BorderPacePolicy.FIXED;
+        if (simulatedLeaders != null) {
+            int leaders = simulatedLeaders;
+            // 전원 접속 중으로 보고 팀장 수만으로 판단
+            pacePolicy = LeaderPacePolicy.load(config.getConfigurationSection("border.pace"), () -> leaders, () -> simulatedParticipants, () -> simulatedParticipants);
+        }
+        BorderPacePolicy finalPacePolicy = pacePolicy;
+        sender.sendMessage(ChatColor.YELLOW + "[GGORRI] 자기장 계획(" + plan.getPhaseCount() + "단계)을 시뮬레이션합니다..." +
+                (simulatedLeaders != null ? " (참가 " + simulatedParticipants + "명 중 팀장 " + simulatedLeaders + "명)" : ""));
+        new BukkitRunnable() {
+            @Override
+            public void run() {
+                List<String> lines = BorderSimulator.run(plan, finalPacePolicy, BORDER_SIMULATION_STEP_TICKS);
+                plugin.getServer().getScheduler().runTask(plugin, () -> {
+                    for (String line : lines) {
+                        sender.sendMessage(ChatColor.GREEN + "[GGORRI] " + line);
+                    }
+                    plugin.getLogger().info("[GGORRI] 자기장 시뮬레이션 결과: " + lines.get(lines.size() - 1));
+                });
+            }
+        }.runTaskAsynchronously(plugin);
+    }
+
+    /**
+     * 경기장 사전 생성을 시작/중지하거나 진행 상황을 보여줍니다.
+     * 명령으로 시작하면 게임 중에도 틱당 예산 안에서 계속 진행합니다.
+     */
+    private void handlePregen(CommandSender sender, String action) {
+        ArenaPregenerator pregenerator = gameManager.getSpawnManager().getArenaPregenerator();
+        if (pregenerator == null) {
+            sender.sendMessage(ChatColor.RED + "[GGORRI] 게임 월드가 없어 사전 생성을 사용할 수 없습니다.");
+            return;
+        }
+        switch (action) {
+            case "start":
+                if (pregenerator.isComplete()) {
+                    sender.sendMessage(ChatColor.GREEN + "[GGORRI] 경기장 사전 생성이 이미 완료되었습니다.");
+                    return;
+                }
+                pregenerator.start();
+                sender.sendMessage(ChatColor.GREEN + "[GGORRI] 경기장 사전 생성을 시작했습니다.");
+                break;
+            case "stop":
+                pregenerator.stop();
+                sender.sendMessage(ChatColor.YELLOW + "[GGORRI] 경기장 사전 생성을 중지했습니다. (진행 상황 저장됨)");
+                break;
+            case "status":
+                break;
+            default:
+                sender.sendMessage(ChatColor.RED + "[GGORRI] 사용법: /ggorri pregen [start|stop|status]");
+                return;
+        }
+        sender.sendMessage(ChatColor.YELLOW + "[GGORRI] " + pregenerator.getStatusLine());
+    }
+
     private void sendHelpMessage(CommandSender sender) {
         sender.sendMessage(ChatColor.YELLOW + "§l===== GGORRI 명령어 =====");
         sender.sendMessage(ChatColor.YELLOW + "/ggorri join - 게임에 참가합니다.");
@@ -128,6 +355,11 @@ public class GGORRICommand implements CommandExecutor, TabCompleter {
         if (sender.hasPermission("ggorri.admin")) {
             sender.sendMessage(ChatColor.YELLOW + "/ggorri start - (관리자) 게임을 시작합니다.");
             sender.sendMessage(ChatColor.YELLOW + "/ggorri stop - (관리자) 게임을 종료합니다.");
+            sender.sendMessage(ChatColor.YELLOW + "/ggorri stats - (관리자) 내부 상태 및 성능 지표를 확인합니다.");
+            sender.sendMessage(ChatColor.YELLOW + "/ggorri bench - (관리자) 스폰 안전 검사 마이크로벤치마크를 실행합니다.");
+            sender.sendMessage(ChatColor.YELLOW + "/ggorri spawnplan [인원] - (관리자) 시작 스폰 배치 방식을 비교 측정합니다.");
+            sender.sendMessage(ChatColor.YELLOW + "/ggorri pregen [start|stop|status] - (관리자) 경기장 청크 사전 생성을 관리합니다.");
+            sender.sendMessage(ChatColor.YELLOW + "/ggorri bordersim [팀장 수] [참가 인원] - (관리자) config.yml의 자기장 계획을 가상 시계로 빠르게 검증합니다. (팀장 수를 주면 일정 단축 정책 적용)");
         }
         sender.sendMessage(ChatColor.YELLOW + "§l==========================");
     }
@@ -0,0 +1,204 @@
+package dev.o8o1o5.ggorri.border;
+
+import dev.o8o1o5.ggorri.GGORRI;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.WorldBorder;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.ExperienceOrb;
+import org.bukkit.entity.Item;
+import org.bukkit.entity.Mob;
+import org.bukkit.entity.Tameable;
+import org.bukkit.event.entity.CreatureSpawnEvent;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 자기장이 동작하는 동안 경기장 엔티티를 관리하는 정책입니다. (config.yml의 border.entities)
+ * 자기장 밖에서는 자연 스폰을 막고, 주기적으로(그리고 수축이 끝날 때마다) 떨어진 아이템/경험치와 몹을 지웁니다.
+ * 아무도 합법적으로 쓸 수 없는 자기장 밖 영역에 몹 AI와 아이템 틱 비용을 쓰지 않기 위함입니다.
+ * 자기장 안에서는 선택적으로 청크당 몹 수를 제한합니다. 정리는 틱당 검사 개수를 나누어 진행합니다.
+ * 메인 스레드에서만 사용합니다.
+ */
+public class ArenaEntityPolicy {
+    private final GGORRI plugin;
+    private final boolean enabled;
+    private final long purgeIntervalTicks;
+    private final int purgePerTick;
+    private final int maxMobsPerChunk;
+
+    private WorldBorder border; // 동작 중인 경기장의 실제 월드보더 (동작 중이 아니면 null)
+    private BukkitTask intervalTask;
+    private BukkitTask purgeTask;
+    private final Location scratchLocation = new Location(null, 0, 0, 0);
+
+    // 통계
+    private long cancelledOutside;
+    private long cancelledByCap;
+    private long removedItems;
+    private long removedMobs;
+    private String lastReport;
+
+    // 자기장 밖에서 막을 스폰 원인 (스포너/번식/플러그인 스폰은 그대로 둠)
+    private static final Set<CreatureSpawnEvent.SpawnReason> NATURAL_REASONS = EnumSet.of(
+            CreatureSpawnEvent.SpawnReason.NATURAL,
+            CreatureSpawnEvent.SpawnReason.CHUNK_GEN,
+            CreatureSpawnEvent.SpawnReason.PATROL,
+            CreatureSpawnEvent.SpawnReason.REINFORCEMENTS);
+
+    private static final long DEFAULT_PURGE_INTERVAL_SECONDS = 30L;
+    private static final int DEFAULT_PURGE_PER_TICK = 200;
+    private static final long MSPT_SAMPLE_DELAY_TICKS = 200L; // 정리 후 10초 뒤 평균 틱 시간을 다시 측정
+
+    public ArenaEntityPolicy(GGORRI plugin) {
+        this.plugin = plugin;
+        this.enabled = plugin.getConfig().getBoolean("border.entities.enabled", true);
+        this.purgeIntervalTicks = Math.max(1L, plugin.getConfig().getLong("border.entities.purge-interval-seconds", DEFAULT_PURGE_INTERVAL_SECONDS)) * 20L;
+        this.purgePerTick = Math.max(1, plugin.getConfig().getInt("border.entities.purge-per-tick", DEFAULT_PURGE_PER_TICK));
+        this.maxMobsPerChunk = Math.max(0, plugin.getConfig().getInt("border.entities.max-mobs-per-chunk", 0));
+    }
+
+    /**
+     * 경기장 월드에서 관리를 시작합니다. (자기장 시스템 시작 시)
+     */
+    public void activate(World world) {
+        deactivate();
+        if (!enabled || world == null) {
+            return;
+        }
+        border = world.getWorldBorder();
+        intervalTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                purgeOutside(-1);
+            }
+        }.runTaskTimer(plugin, purgeIntervalTicks, purgeIntervalTicks);
+    }
+
+    /**
+     * 관리를 멈춥니다. 진행 중인 정리도 중단합니다. (자기장 시스템 중지 시)
+     */
+    public void deactivate() {
+        if (intervalTask != null) {
+            intervalTask.cancel();
+            intervalTask = null;
+        }
+        if (purgeTask != null) {
+            purgeTask.cancel();
+            purgeTask = null;
+        }
+        border = null;
+    }
+
+    /**
+     * 스폰을 막아야 하는지 판단합니다. CreatureSpawnEvent에서 호출합니다.
+     */
+    public boolean shouldCancelSpawn(Location location, CreatureSpawnEvent.SpawnReason reason) {
+        if (border == null || !NATURAL_REASONS.contains(reason) || !border.getWorld().equals(location.getWorld())) {
+            return false;
+        }
+        if (!border.isInside(location)) {
+            cancelledOutside++;
+            return true;
+        }
+        if (maxMobsPerChunk > 0 && reason == CreatureSpawnEvent.SpawnReason.NATURAL && countMobs(location) >= maxMobsPerChunk) {
+            cancelledByCap++;
+            return true;
+        }
+        return false;
+    }
+
+    private static int countMobs(Location location) {
+        int mobs = 0;
+        for (Entity entity : location.getChunk().getEntities()) {
+            if (entity instanceof Mob) {
+                mobs++;
+            }
+        }
+        return mobs;
+    }
+
+    /**
+     * 자기장 밖의 아이템/경험치와 몹 정리를 시작합니다. 이미 정리 중이면 무시합니다.
+     *
+     * @param phase 방금 수축을 마친 단계 (보고용, 주기 정리는 -1)
+     */
+    public void purgeOutside(int phase) {
+        if (border == null || purgeTask != null) {
+            return;
+        }
+        WorldBorder purgeBorder = border;
+        List<Entity> entities = purgeBorder.getWorld().getEntities();
+        double msptBefore = plugin.getServer().getAverageTickTime();
+
+        purgeTask = new BukkitRunnable() {
+            private int cursor;
+            private int items;
+            private int mobs;
+
+            @Override
+            public void run() {
+                int end = Math.min(entities.size(), cursor + purgePerTick);
+                for (; cursor < end; cursor++) {
+                    Entity entity = entities.get(cursor);
+                    if (!entity.isValid() || !isPurgeable(entity)) {
+                        continue;
+                    }
+                    if (purgeBorder.isInside(entity.getLocation(scratchLocation))) {
+                        continue;
+                    }
+                    entity.remove();
+                    if (entity instanceof Mob) {
+                        mobs++;
+                    } else {
+                        items++;
+                    }
+                }
+                if (cursor < entities.size()) {
+                    return;
+                }
+                cancel();
+                purgeTask = null;
+                removedItems += items;
+                removedMobs += mobs;
+                if (items + mobs == 0) {
+                    return;
+                }
+                String summary = (phase >= 0 ? (phase + 1) + "단계 수축 후" : "주기 정리") + " 아이템 " + items + "개, 몹 " + mobs + "마리 제거" +
+                        " (검사 " + entities.size() + "개)";
+                plugin.getServer().getScheduler().runTaskLater(plugin, () -> report(summary, msptBefore), MSPT_SAMPLE_DELAY_TICKS);
+            }
+        }.runTaskTimer(plugin, 1L, 1L);
+    }
+
+    /**
+     * 플레이어가 이름을 붙였거나 길들인 몹은 남깁니다. 그 외 몹과 떨어진 아이템/경험치만 정리 대상입니다.
+     */
+    private static boolean isPurgeable(Entity entity) {
+        if (entity instanceof Item || entity instanceof ExperienceOrb) {
+            return true;
+        }
+        if (!(entity instanceof Mob) || entity.getCustomName() != null) {
+            return false;
+        }
+        return !(entity instanceof Tameable) || !((Tameable) entity).isTamed();
+    }
+
+    private void report(String summary, double msptBefore) {
+        lastReport = summary + ", 평균 틱 " + String.format("%.2f", msptBefore) + "ms -> " + String.format("%.2f", plugin.getServer().getAverageTickTime()) + "ms";
+        plugin.getLogger().info("[GGORRI] 자기장 밖 엔티티 정리: " + lastReport);
+    }
+
+    public String getStatusLine() {
+        if (!enabled) {
+            return "경기장 엔티티 관리: 꺼짐";
+        }
+        return "경기장 엔티티 관리: 스폰 차단 " + cancelledOutside + "회 (청크 제한 " + cancelledByCap + "회)" +
+                ", 제거 아이템 " + removedItems + "개, 몹 " + removedMobs + "마리" +
+                (lastReport != null ? " / 최근 " + lastReport : "");
+    }
+}
@@ -0,0 +1,36 @@
+package dev.o8o1o5.ggorri.border;
+
+import org.bukkit.Server;
+
+/**
+ * 자기장 일정이 사용하는 시계입니다. 실제 게임에서는 서버 틱을, 시뮬레이션에서는 직접 진행시키는 가상 시계를 사용합니다.
+ */
+public interface BorderClock {
+    /**
+     * @return 현재 시각 (틱, 단조 증가)
+     */
+    long getTicks();
+
+    /**
+     * 서버의 현재 틱을 따르는 시계. 서버가 느려지면 자기장 일정도 같이 느려집니다. (기존 틱 누적 방식과 동일)
+     */
+    static BorderClock serverTicks(Server server) {
+        return server::getCurrentTick;
+    }
+
+    /**
+     * 직접 시간을 진행시키는 가상 시계. 시뮬레이션/벤치마크용이며 한 스레드에서만 사용합니다.
+     */
+    final class Virtual implements BorderClock {
+        private long ticks;
+
+        @Override
+        public long getTicks() {
+            return ticks;
+        }
+
+        public void advance(long deltaTicks) {
+            ticks += deltaTicks;
+        }
+    }
+}
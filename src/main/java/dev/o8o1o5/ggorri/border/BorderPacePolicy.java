@@ -0,0 +1,36 @@
+package dev.o8o1o5.ggorri.border;
+
+/**
+ * 게임 진행 상황에 따라 자기장 일정을 앞당기는 정책입니다. BorderSchedule이 매초, 그리고 단계를 공지할 때 묻습니다.
+ * 일정은 앞당기기만 하며 늦추지는 않습니다. (대기 시간은 한 번 줄면 다시 늘지 않음)
+ */
+public interface BorderPacePolicy {
+    /**
+     * 계획을 그대로 따르는 정책.
+     */
+    BorderPacePolicy FIXED = new BorderPacePolicy() {
+        @Override
+        public long cooldownTicks(int phase, long plannedTicks) {
+            return plannedTicks;
+        }
+
+        @Override
+        public int phasesToSkip(int phase, int lastPhase) {
+            return 0;
+        }
+    };
+
+    /**
+     * @param plannedTicks 계획에 정해진 단계 phase의 수축 전 대기 시간 (틱)
+     * @return 지금 상황에서 사용할 대기 시간 (틱, plannedTicks 이하)
+     */
+    long cooldownTicks(int phase, long plannedTicks);
+
+    /**
+     * 단계 phase를 공지하기 직전에 호출됩니다.
+     *
+     * @param lastPhase 마지막 단계 번호 (건너뛰어도 이 단계를 넘지 않음)
+     * @return 공지하지 않고 건너뛸 단계 수 (0이면 그대로)
+     */
+    int phasesToSkip(int phase, int lastPhase);
+}
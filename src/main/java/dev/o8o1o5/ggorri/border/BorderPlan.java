@@ -0,0 +1,160 @@
+package dev.o8o1o5.ggorri.border;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * 자기장 단계 계획(단계별 목표 크기, 피해량, 대기/수축 시간)입니다.
+ * 설정에서 한 번 읽어 배열로 보관하며 생성 후 변경되지 않으므로 어느 스레드에서든 읽을 수 있습니다.
+ * 단계 i는 "대기 후 자기장을 sizes[i]로 줄이는 것"이며, 게임 시작 시 자기장 크기는 sizes[0]입니다.
+ */
+public final class BorderPlan {
+    private final double[] sizes;
+    private final double[] damages;
+    private final long[] cooldownTicks;
+    private final long[] shrinkTicks;
+    private final long announcementTicks;
+
+    private static final long TICKS_PER_SECOND = 20L;
+
+    // 기본 계획 (설정이 없거나 잘못된 경우)
+    private static final double[] DEFAULT_SIZES = {3200.0, 1900.0, 1000.0, 580.0, 330.0, 180.0, 100.0};
+    private static final double[] DEFAULT_DAMAGES = {0.5, 1.0, 2.0, 4.0, 8.0, 15.0, 25.0};
+    private static final long DEFAULT_ANNOUNCEMENT_SECONDS = 1L; // 수축 전 다음 자기장 경고 시간 (즉시)
+    private static final long DEFAULT_COOLDOWN_SECONDS = 9 * 60L; // 9분 대기 (수축 시작까지)
+    private static final long DEFAULT_SHRINK_SECONDS = 60L; // 1분 수축 시간
+
+    private BorderPlan(double[] sizes, double[] damages, long[] cooldownTicks, long[] shrinkTicks, long announcementTicks) {
+        this.sizes = sizes;
+        this.damages = damages;
+        this.cooldownTicks = cooldownTicks;
+        this.shrinkTicks = shrinkTicks;
+        this.announcementTicks = announcementTicks;
+    }
+
+    public static BorderPlan defaults() {
+        int count = DEFAULT_SIZES.length;
+        long[] cooldown = new long[count];
+        long[] shrink = new long[count];
+        for (int i = 0; i < count; i++) {
+            cooldown[i] = DEFAULT_COOLDOWN_SECONDS * TICKS_PER_SECOND;
+            shrink[i] = DEFAULT_SHRINK_SECONDS * TICKS_PER_SECOND;
+        }
+        return new BorderPlan(DEFAULT_SIZES.clone(), DEFAULT_DAMAGES.clone(), cooldown, shrink, DEFAULT_ANNOUNCEMENT_SECONDS * TICKS_PER_SECOND);
+    }
+
+    /**
+     * border 설정 섹션에서 계획을 읽습니다. 단계 목록이 없거나 검증에 실패하면 경고를 남기고 기본 계획을 사용합니다.
+     *
+     * @param borderConfig border 설정 섹션 (null이면 기본 계획)
+     * @param logger       경고용 로거
+     */
+    public static BorderPlan load(ConfigurationSection borderConfig, Logger logger) {
+        if (borderConfig == null) {
+            return defaults();
+        }
+        List<Map<?, ?>> phases = borderConfig.getMapList("phases");
+        if (phases == null || phases.isEmpty()) {
+            return defaults();
+        }
+
+        long announcementSeconds = borderConfig.getLong("announcement-seconds", DEFAULT_ANNOUNCEMENT_SECONDS);
+        long defaultCooldownSeconds = borderConfig.getLong("cooldown-seconds", DEFAULT_COOLDOWN_SECONDS);
+        long defaultShrinkSeconds = borderConfig.getLong("shrink-seconds", DEFAULT_SHRINK_SECONDS);
+
+        int count = phases.size();
+        double[] sizes = new double[count];
+        double[] damages = new double[count];
+        long[] cooldown = new long[count];
+        long[] shrink = new long[count];
+        for (int i = 0; i < count; i++) {
+            Map<?, ?> phase = phases.get(i);
+            sizes[i] = number(phase.get("size"), -1.0);
+            damages[i] = number(phase.get("damage"), 1.0);
+            cooldown[i] = (long) number(phase.get("cooldown-seconds"), defaultCooldownSeconds) * TICKS_PER_SECOND;
+            shrink[i] = (long) number(phase.get("shrink-seconds"), defaultShrinkSeconds) * TICKS_PER_SECOND;
+        }
+
+        BorderPlan plan = new BorderPlan(sizes, damages, cooldown, shrink, announcementSeconds * TICKS_PER_SECOND);
+        List<String> problems = plan.validate();
+        if (!problems.isEmpty()) {
+            for (String problem : problems) {
+                logger.warning("[GGORRI] 자기장 계획 설정 오류: " + problem);
+            }
+            logger.warning("[GGORRI] 자기장 계획 설정이 잘못되어 기본 계획을 사용합니다.");
+            return defaults();
+        }
+        return plan;
+    }
+
+    private static double number(Object value, double fallback) {
+        return value instanceof Number ? ((Number) value).doubleValue() : fallback;
+    }
+
+    /**
+     * 계획이 올바른지 검사합니다.
+     * @return 문제 목록 (비어 있으면 올바름)
+     */
+    public List<String> validate() {
+        List<String> problems = new ArrayList<>();
+        if (announcementTicks < TICKS_PER_SECOND) {
+            problems.add("announcement-seconds는 1 이상이어야 합니다.");
+        }
+        for (int i = 0; i < sizes.length; i++) {
+            if (sizes[i] <= 0) {
+                problems.add((i + 1) + "번째 단계의 size가 없거나 0 이하입니다.");
+            } else if (i > 0 && sizes[i] > sizes[i - 1]) {
+                problems.add((i + 1) + "번째 단계의 size(" + sizes[i] + ")가 이전 단계(" + sizes[i - 1] + ")보다 큽니다.");
+            }
+            if (damages[i] < 0) {
+                problems.add((i + 1) + "번째 단계의 damage가 음수입니다.");
+            }
+            if (cooldownTicks[i] < TICKS_PER_SECOND || shrinkTicks[i] < TICKS_PER_SECOND) {
+                problems.add((i + 1) + "번째 단계의 대기/수축 시간은 1초 이상이어야 합니다.");
+            }
+        }
+        return problems;
+    }
+
+    public int getPhaseCount() {
+        return sizes.length;
+    }
+
+    /** 단계 i에서 자기장이 줄어들 목표 크기 */
+    public double getSize(int phase) {
+        return sizes[phase];
+    }
+
+    /** 단계 i 동안 자기장 밖에 있을 때 매초 받는 피해량 */
+    public double getDamage(int phase) {
+        return damages[phase];
+    }
+
+    /** 단계 i의 수축 시작 전 대기 시간 (틱) */
+    public long getCooldownTicks(int phase) {
+        return cooldownTicks[phase];
+    }
+
+    /** 단계 i의 수축 시간 (틱) */
+    public long getShrinkTicks(int phase) {
+        return shrinkTicks[phase];
+    }
+
+    /** 다음 자기장 공지 후 대기 시작까지의 시간 (틱) */
+    public long getAnnouncementTicks() {
+        return announcementTicks;
+    }
+
+    /** 모든 단계를 마치는 데 걸리는 시간 (틱) */
+    public long getTotalTicks() {
+        long total = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            total += announcementTicks + cooldownTicks[i] + shrinkTicks[i];
+        }
+        return total;
+    }
+}
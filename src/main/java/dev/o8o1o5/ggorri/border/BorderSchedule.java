@@ -0,0 +1,219 @@
+package dev.o8o1o5.ggorri.border;
+
+/**
+ * 자기장 단계 진행 상태 기계입니다. (공지 -> 수축 전 대기 -> 수축 -> 다음 단계 공지 ...)
+ * 시간은 주입된 BorderClock에서 읽고 1초 단위로 진행하며, 월드보더 조작이나 공지는 Listener가 담당합니다.
+ * 수축 전 대기 시간과 단계 건너뛰기는 BorderPacePolicy가 게임 상황에 맞게 앞당길 수 있습니다.
+ * Bukkit API를 직접 쓰지 않으므로 가상 시계로 전체 일정을 실제보다 수천 배 빠르게 돌려볼 수 있습니다.
+ * 한 스레드에서만 사용합니다. (실제 게임에서는 메인 스레드)
+ */
+public class BorderSchedule {
+    /** 상태 기계 한 단계의 길이 (1초) */
+    public static final long STEP_TICKS = 20L;
+    /** 대기 시간이 줄어들 때 최소한 남겨두는 시간 (공지를 보고 이동할 여유, 30초) */
+    public static final long SHORTENED_NOTICE_TICKS = 30L * STEP_TICKS;
+
+    private final BorderPlan plan;
+    private final BorderClock clock;
+    private final Listener listener;
+    private final BorderPacePolicy pacePolicy;
+
+    private State state = State.PRE_SHRINK_ANNOUNCEMENT;
+    private int phase; // 현재 자기장 단계 (0부터 시작)
+    private long cooldownTicks; // 현재 단계에 실제로 적용 중인 수축 전 대기 시간 (정책에 따라 줄어들 수 있음)
+    private int skippedPhases; // 정책으로 건너뛴 단계 수 (누적)
+    private long stateElapsedTicks; // 현재 상태에서 경과한 시간 (틱)
+    private long startedAtTicks;
+    private long processedTicks; // 시계 기준으로 처리를 마친 시각
+
+    /**
+     * 자기장 일정 상태
+     */
+    public enum State {
+        PRE_SHRINK_ANNOUNCEMENT, // 수축 전 다음 자기장 정보 공지
+        COOLDOWN_BEFORE_SHRINK,  // 수축 전 대기 (카운트다운 포함)
+        SHRINKING,               // 실제 자기장 수축 중
+        FINISHED                 // 모든 단계 완료
+    }
+
+    /**
+     * 일정 진행에 따라 호출되는 콜백. 모두 update()를 호출한 스레드에서 호출됩니다.
+     */
+    public interface Listener {
+        /**
+         * 단계 phase의 다음 자기장 정보를 정하고 공지할 때 (시작 시, 이전 단계 수축 완료 후)
+         *
+         * @param skipped 정책에 따라 이번에 건너뛴 단계 수
+         */
+        void onPhaseAnnounced(int phase, int skipped);
+
+        /** 공지가 끝나고 수축 전 대기가 시작될 때 */
+        void onCooldownStarted(int phase);
+
+        /** 수축 전 대기 중 매초 (남은 초) */
+        void onShrinkCountdown(int phase, long remainingSeconds);
+
+        /** 정책에 따라 현재 단계의 수축 전 대기 시간이 줄었을 때 (공지/대기 중, 남은 초) */
+        void onCooldownShortened(int phase, long remainingSeconds);
+
+        /** 단계 phase의 수축이 시작될 때 */
+        void onShrinkStarted(int phase);
+
+        /** 단계 phase의 수축이 끝났을 때 (마지막 단계는 onScheduleFinished만 호출) */
+        void onShrinkCompleted(int phase);
+
+        /** 마지막 단계의 수축까지 모두 끝났을 때 */
+        void onScheduleFinished();
+    }
+
+    public BorderSchedule(BorderPlan plan, BorderClock clock, Listener listener) {
+        this(plan, clock, listener, BorderPacePolicy.FIXED);
+    }
+
+    public BorderSchedule(BorderPlan plan, BorderClock clock, Listener listener, BorderPacePolicy pacePolicy) {
+        this.plan = plan;
+        this.clock = clock;
+        this.listener = listener;
+        this.pacePolicy = pacePolicy;
+    }
+
+    /**
+     * 0단계부터 일정을 시작하고 첫 공지를 보냅니다.
+     */
+    public void start() {
+        state = State.PRE_SHRINK_ANNOUNCEMENT;
+        phase = 0;
+        skippedPhases = 0;
+        stateElapsedTicks = 0;
+        startedAtTicks = clock.getTicks();
+        processedTicks = startedAtTicks;
+        announce();
+    }
+
+    /**
+     * phase단계부터 일정을 다시 시작하고 그 단계를 공지합니다. (중단된 게임 복구 시)
+     * 이전 단계까지는 이미 수축을 마쳤다고 보고, 대기 시간은 처음부터 다시 셉니다.
+     */
+    public void resume(int phase) {
+        state = State.PRE_SHRINK_ANNOUNCEMENT;
+        this.phase = Math.max(0, Math.min(phase, plan.getPhaseCount() - 1));
+        skippedPhases = 0;
+        stateElapsedTicks = 0;
+        startedAtTicks = clock.getTicks();
+        processedTicks = startedAtTicks;
+        announce();
+    }
+
+    /**
+     * 정책에 따라 단계를 건너뛰고, 이번 단계의 대기 시간을 정한 뒤 공지합니다. (PRE_SHRINK_ANNOUNCEMENT 진입 시)
+     */
+    private void announce() {
+        int skipped = pacePolicy.phasesToSkip(phase, plan.getPhaseCount() - 1);
+        skipped = Math.max(0, Math.min(skipped, plan.getPhaseCount() - 1 - phase));
+        phase += skipped;
+        skippedPhases += skipped;
+        long planned = plan.getCooldownTicks(phase);
+        // 공지 때 줄이더라도 SHORTENED_NOTICE_TICKS는 남김 (계획이 그보다 짧으면 계획대로)
+        cooldownTicks = Math.min(planned, Math.max(pacePolicy.cooldownTicks(phase, planned), SHORTENED_NOTICE_TICKS));
+        listener.onPhaseAnnounced(phase, skipped);
+    }
+
+    /**
+     * 정책이 지금 더 짧은 대기 시간을 원하면 줄입니다. 이미 지난 시간보다 짧게는 줄이지 않고 최소 SHORTENED_NOTICE_TICKS는 남깁니다.
+     */
+    private void applyPace() {
+        long elapsed = state == State.COOLDOWN_BEFORE_SHRINK ? stateElapsedTicks : 0L;
+        long wanted = Math.max(pacePolicy.cooldownTicks(phase, plan.getCooldownTicks(phase)), elapsed + SHORTENED_NOTICE_TICKS);
+        if (wanted < cooldownTicks) {
+            cooldownTicks = wanted;
+            listener.onCooldownShortened(phase, (cooldownTicks - elapsed) / STEP_TICKS);
+        }
+    }
+
+    /**
+     * 마지막 처리 이후 시계가 진행한 만큼 1초 단위로 상태 기계를 진행합니다.
+     * 시계가 크게 건너뛰어도 중간의 모든 초를 차례로 처리하므로 공지/카운트다운이 빠지지 않습니다.
+     */
+    public void update() {
+        long now = clock.getTicks();
+        while (state != State.FINISHED && now - processedTicks >= STEP_TICKS) {
+            processedTicks += STEP_TICKS;
+            step();
+        }
+    }
+
+    private void step() {
+        stateElapsedTicks += STEP_TICKS;
+        switch (state) {
+            case PRE_SHRINK_ANNOUNCEMENT:
+                applyPace();
+                if (stateElapsedTicks >= plan.getAnnouncementTicks()) {
+                    enter(State.COOLDOWN_BEFORE_SHRINK);
+                    listener.onCooldownStarted(phase);
+                }
+                break;
+            case COOLDOWN_BEFORE_SHRINK:
+                applyPace();
+                listener.onShrinkCountdown(phase, (cooldownTicks - stateElapsedTicks) / STEP_TICKS);
+                if (stateElapsedTicks >= cooldownTicks) {
+                    enter(State.SHRINKING);
+                    listener.onShrinkStarted(phase);
+                }
+                break;
+            case SHRINKING:
+                if (stateElapsedTicks >= plan.getShrinkTicks(phase)) {
+                    phase++;
+                    if (phase >= plan.getPhaseCount()) {
+                        enter(State.FINISHED);
+                        listener.onScheduleFinished();
+                        return;
+                    }
+                    enter(State.PRE_SHRINK_ANNOUNCEMENT);
+                    listener.onShrinkCompleted(phase - 1);
+                    announce();
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void enter(State next) {
+        state = next;
+        stateElapsedTicks = 0;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public int getPhase() {
+        return phase;
+    }
+
+    /**
+     * @return 현재 단계에 적용 중인 수축 전 대기 시간 (틱, 정책으로 줄었을 수 있음)
+     */
+    public long getCooldownTicks() {
+        return cooldownTicks;
+    }
+
+    public int getSkippedPhases() {
+        return skippedPhases;
+    }
+
+    public long getStateElapsedTicks() {
+        return stateElapsedTicks;
+    }
+
+    /**
+     * @return 시작 이후 처리를 마친 시간 (틱)
+     */
+    public long getProcessedTicks() {
+        return processedTicks - startedAtTicks;
+    }
+
+    public BorderPlan getPlan() {
+        return plan;
+    }
+}
@@ -0,0 +1,116 @@
+package dev.o8o1o5.ggorri.border;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 자기장 계획을 가상 시계로 처음부터 끝까지 빠르게 돌려보는 시뮬레이터입니다.
+ * 실제 게임과 같은 BorderSchedule을 사용하므로, 새 일정을 한 시간씩 기다리지 않고 검증할 수 있습니다.
+ * Bukkit API를 사용하지 않으므로 비동기 작업에서 실행해도 됩니다.
+ */
+public final class BorderSimulator {
+    private BorderSimulator() {
+    }
+
+    /**
+     * 계획을 끝까지 실행하고 단계별 타임라인과 실행 속도를 돌려줍니다.
+     *
+     * @param plan      시뮬레이션할 계획
+     * @param stepTicks 가상 시계를 한 번에 진행시킬 틱 수 (클수록 빠름, 결과는 같음)
+     * @return 결과 메시지 목록
+     */
+    public static List<String> run(BorderPlan plan, long stepTicks) {
+        return run(plan, BorderPacePolicy.FIXED, stepTicks);
+    }
+
+    /**
+     * 주어진 일정 정책으로 계획을 끝까지 실행합니다. (예: 팀장 수를 고정한 LeaderPacePolicy)
+     */
+    public static List<String> run(BorderPlan plan, BorderPacePolicy pacePolicy, long stepTicks) {
+        List<String> lines = new ArrayList<>();
+        List<String> problems = plan.validate();
+        if (!problems.isEmpty()) {
+            for (String problem : problems) {
+                lines.add("계획 오류: " + problem);
+            }
+            return lines;
+        }
+
+        BorderClock.Virtual clock = new BorderClock.Virtual();
+        Recorder recorder = new Recorder(plan, lines);
+        BorderSchedule schedule = new BorderSchedule(plan, clock, recorder, pacePolicy);
+        recorder.schedule = schedule;
+
+        long startedAtNanos = System.nanoTime();
+        schedule.start();
+        long safetyLimit = plan.getTotalTicks() + BorderSchedule.STEP_TICKS * 2;
+        while (schedule.getState() != BorderSchedule.State.FINISHED && clock.getTicks() <= safetyLimit) {
+            clock.advance(Math.max(1L, stepTicks));
+            schedule.update();
+        }
+        long elapsedNanos = Math.max(1L, System.nanoTime() - startedAtNanos);
+
+        if (schedule.getState() != BorderSchedule.State.FINISHED) {
+            lines.add("시뮬레이션이 예상 시간 안에 끝나지 않았습니다. (" + formatTicks(clock.getTicks()) + ")");
+        }
+        double speedup = (recorder.finishedAtTicks * 50.0 * 1_000_000.0) / elapsedNanos; // 1틱 = 50ms
+        lines.add("총 " + plan.getPhaseCount() + "단계, 게임 시간 " + formatTicks(recorder.finishedAtTicks) +
+                ", 실행 " + String.format("%.2f", elapsedNanos / 1_000_000.0) + "ms (실제 대비 " + String.format("%.0f", speedup) + "배)");
+        return lines;
+    }
+
+    private static String formatTicks(long ticks) {
+        long seconds = ticks / 20L;
+        return String.format("%d:%02d", seconds / 60, seconds % 60);
+    }
+
+    /**
+     * 일정 이벤트를 시각(시작 기준 경과 틱)과 함께 기록하는 Listener.
+     */
+    private static final class Recorder implements BorderSchedule.Listener {
+        private final BorderPlan plan;
+        private final List<String> lines;
+        private BorderSchedule schedule;
+        private long finishedAtTicks;
+
+        private Recorder(BorderPlan plan, List<String> lines) {
+            this.plan = plan;
+            this.lines = lines;
+        }
+
+        @Override
+        public void onPhaseAnnounced(int phase, int skipped) {
+            if (skipped > 0) {
+                lines.add(formatTicks(schedule.getProcessedTicks()) + " " + skipped + "단계 건너뜀 -> " + (phase + 1) + "단계");
+            }
+        }
+
+        @Override
+        public void onCooldownStarted(int phase) {
+        }
+
+        @Override
+        public void onShrinkCountdown(int phase, long remainingSeconds) {
+        }
+
+        @Override
+        public void onCooldownShortened(int phase, long remainingSeconds) {
+            lines.add((phase + 1) + "단계: " + formatTicks(schedule.getProcessedTicks()) + " 대기 시간 단축 (남은 " + remainingSeconds + "초)");
+        }
+
+        @Override
+        public void onShrinkStarted(int phase) {
+            lines.add((phase + 1) + "단계: " + formatTicks(schedule.getProcessedTicks()) + " 수축 시작 -> 크기 " + (int) plan.getSize(phase) +
+                    " (대기 " + schedule.getCooldownTicks() / 20L + "초, 수축 " + plan.getShrinkTicks(phase) / 20L + "초, 피해 " + plan.getDamage(phase) + ")");
+        }
+
+        @Override
+        public void onShrinkCompleted(int phase) {
+        }
+
+        @Override
+        public void onScheduleFinished() {
+            finishedAtTicks = schedule.getProcessedTicks();
+        }
+    }
+}
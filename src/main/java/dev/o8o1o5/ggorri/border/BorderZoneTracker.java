@@ -0,0 +1,253 @@
+package dev.o8o1o5.ggorri.border;
+
+import dev.o8o1o5.ggorri.GGORRI;
+import dev.o8o1o5.ggorri.game.PlayerGameData;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 참가자별 자기장 구역 상태(안쪽 / 다음 자기장 밖 / 현재 자기장 밖)를 보관하는 추적기입니다.
+ * 상태는 플레이어가 블록 경계를 넘어 움직였을 때와 자기장 범위가 바뀌었을 때만 다시 계산하므로,
+ * 매초 실행되는 데미지/경고 루프는 저장된 상태만 읽으면 되고 객체를 새로 만들지 않습니다.
+ * 자기장이 있는 경기장 월드가 아닌 곳에 있는 참가자는 항상 안쪽(INSIDE)으로 봅니다.
+ * 메인 스레드에서만 사용합니다.
+ */
+public class BorderZoneTracker {
+    private final GGORRI plugin;
+    private final Map<UUID, PlayerGameData> playersInGame;
+    private final Map<UUID, Entry> entriesByUUID = new HashMap<>();
+    private final List<Entry> entries = new ArrayList<>(); // 인덱스로 순회 (Iterator 생성 없음)
+    private final Location scratchLocation = new Location(null, 0, 0, 0); // getLocation(Location) 재사용용
+
+    private World world; // 자기장이 있는 경기장 월드
+    // 현재 자기장 범위 (블록 판정은 BorderBounds와 동일)
+    private double currentMinX, currentMaxX, currentMinZ, currentMaxZ;
+    private boolean hasCurrent;
+    // 다음 자기장 범위 (공지된 다음 단계가 없으면 hasNext == false)
+    private double nextMinX, nextMaxX, nextMinZ, nextMaxZ;
+    private boolean hasNext;
+
+    private long recomputeCount; // 통계: 상태 재계산 횟수
+
+    /**
+     * 참가자의 자기장 구역 상태.
+     */
+    public enum Zone {
+        INSIDE,          // 현재/다음 자기장 모두 안쪽
+        OUTSIDE_NEXT,    // 현재 자기장 안쪽이지만 다음 자기장 밖
+        OUTSIDE_CURRENT  // 현재 자기장 밖 (피해 대상)
+    }
+
+    public BorderZoneTracker(GGORRI plugin, Map<UUID, PlayerGameData> playersInGame) {
+        this.plugin = plugin;
+        this.playersInGame = playersInGame;
+    }
+
+    /**
+     * 현재 게임 참가자 전원을 추적 대상으로 다시 등록합니다. (자기장 시스템 시작 시)
+     */
+    public void trackAll() {
+        clear();
+        for (UUID uuid : playersInGame.keySet()) {
+            Entry entry = new Entry(uuid);
+            entriesByUUID.put(uuid, entry);
+            entries.add(entry);
+        }
+    }
+
+    public void clear() {
+        entriesByUUID.clear();
+        entries.clear();
+    }
+
+    /**
+     * 현재 자기장 범위를 갱신합니다. 실제로 바뀌었을 때만 전원의 상태를 다시 계산하도록 표시합니다.
+     *
+     * @param world 자기장이 있는 경기장 월드
+     */
+    public void setCurrentBounds(World world, double centerX, double centerZ, double size) {
+        double half = size / 2.0;
+        if (hasCurrent && world.equals(this.world) && currentMinX == centerX - half && currentMaxX == centerX + half
+                && currentMinZ == centerZ - half && currentMaxZ == centerZ + half) {
+            return;
+        }
+        currentMinX = centerX - half;
+        currentMaxX = centerX + half;
+        currentMinZ = centerZ - half;
+        currentMaxZ = centerZ + half;
+        this.world = world;
+        hasCurrent = true;
+        markAllDirty();
+    }
+
+    /**
+     * 공지된 다음 자기장 범위를 갱신합니다.
+     */
+    public void setNextBounds(double centerX, double centerZ, double size) {
+        double half = size / 2.0;
+        nextMinX = centerX - half;
+        nextMaxX = centerX + half;
+        nextMinZ = centerZ - half;
+        nextMaxZ = centerZ + half;
+        hasNext = true;
+        markAllDirty();
+    }
+
+    /**
+     * 다음 자기장 경고를 끕니다. (수축 중이거나 마지막 단계)
+     */
+    public void clearNextBounds() {
+        if (hasNext) {
+            hasNext = false;
+            markAllDirty();
+        }
+    }
+
+    private void markAllDirty() {
+        for (int i = 0; i < entries.size(); i++) {
+            entries.get(i).dirty = true;
+        }
+    }
+
+    /**
+     * 구역이 그대로여도 다음 pollChanged에서 전원이 바뀐 것으로 보이게 합니다. (구역별 표시를 새로 보내야 할 때)
+     */
+    public void markAllChanged() {
+        for (int i = 0; i < entries.size(); i++) {
+            entries.get(i).dirty = true;
+            entries.get(i).changed = true;
+        }
+    }
+
+    /**
+     * 플레이어가 블록 경계를 넘어 움직였을 때 호출합니다. 추적 중인 참가자면 즉시 상태를 다시 계산합니다.
+     */
+    public void onBlockMove(Player player, World world, int blockX, int blockZ) {
+        Entry entry = entriesByUUID.get(player.getUniqueId());
+        if (entry != null) {
+            entry.player = player;
+            recompute(entry, world, blockX, blockZ);
+        }
+    }
+
+    /**
+     * 위치를 바로 알 수 없는 변화(부활, 월드 이동 등)가 있었을 때 다음 갱신에서 다시 계산하도록 표시합니다.
+     */
+    public void markDirty(UUID playerUUID) {
+        Entry entry = entriesByUUID.get(playerUUID);
+        if (entry != null) {
+            entry.dirty = true;
+        }
+    }
+
+    /**
+     * 게임에서 나간 참가자를 정리하고, 다시 계산이 필요한 참가자의 상태만 갱신합니다. 매초 데미지 루프 직전에 호출합니다.
+     */
+    public void refresh() {
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            Entry entry = entries.get(i);
+            if (!playersInGame.containsKey(entry.uuid)) {
+                remove(i);
+                continue;
+            }
+            if (entry.player == null || !entry.player.isOnline()) {
+                entry.player = plugin.getServer().getPlayer(entry.uuid); // 재접속 시 새 Player 객체
+                entry.dirty = true;
+                entry.changed = entry.player != null; // 새 접속에는 구역별 표시(미리보기 등)를 다시 보내야 함
+            }
+            if (entry.dirty && entry.player != null) {
+                entry.player.getLocation(scratchLocation);
+                recompute(entry, scratchLocation.getWorld(), scratchLocation.getBlockX(), scratchLocation.getBlockZ());
+            }
+        }
+    }
+
+    private void remove(int index) {
+        Entry removed = entries.get(index);
+        Entry last = entries.remove(entries.size() - 1);
+        if (last != removed) {
+            entries.set(index, last);
+        }
+        entriesByUUID.remove(removed.uuid);
+    }
+
+    private void recompute(Entry entry, World playerWorld, int blockX, int blockZ) {
+        recomputeCount++;
+        entry.dirty = false;
+        Zone previous = entry.zone;
+        if (!hasCurrent || !world.equals(playerWorld)) {
+            entry.zone = Zone.INSIDE; // 다른 월드의 좌표는 경기장 자기장과 무관
+        } else if (!(blockX + 1 > currentMinX && blockX < currentMaxX && blockZ + 1 > currentMinZ && blockZ < currentMaxZ)) {
+            entry.zone = Zone.OUTSIDE_CURRENT;
+        } else if (hasNext && !(blockX + 1 > nextMinX && blockX < nextMaxX && blockZ + 1 > nextMinZ && blockZ < nextMaxZ)) {
+            entry.zone = Zone.OUTSIDE_NEXT;
+        } else {
+            entry.zone = Zone.INSIDE;
+        }
+        if (entry.zone != previous) {
+            entry.changed = true;
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return i번째 참가자, 오프라인이면 null
+     */
+    public Player getPlayer(int index) {
+        return entries.get(index).player;
+    }
+
+    public Zone getZone(int index) {
+        return entries.get(index).zone;
+    }
+
+    /**
+     * i번째 참가자의 구역이 마지막 확인 이후 바뀌었는지 돌려주고 표시를 지웁니다.
+     * 경고/미리보기처럼 구역이 바뀔 때 한 번만 보내면 되는 것에 사용합니다.
+     */
+    public boolean pollChanged(int index) {
+        Entry entry = entries.get(index);
+        boolean changed = entry.changed;
+        entry.changed = false;
+        return changed;
+    }
+
+    public int countIn(Zone zone) {
+        int count = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            if (entries.get(i).zone == zone) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public String getStatusLine() {
+        return "자기장 구역: 추적 " + entries.size() + "명" +
+                ", 현재 자기장 밖 " + countIn(Zone.OUTSIDE_CURRENT) + "명" +
+                ", 다음 자기장 밖 " + countIn(Zone.OUTSIDE_NEXT) + "명" +
+                ", 재계산 " + recomputeCount + "회";
+    }
+
+    private static final class Entry {
+        private final UUID uuid;
+        private Player player;
+        private Zone zone = Zone.INSIDE;
+        private boolean dirty = true;
+        private boolean changed = true; // 마지막 pollChanged 이후 구역이 바뀜
+
+        private Entry(UUID uuid) {
+            this.uuid = uuid;
+        }
+    }
+}
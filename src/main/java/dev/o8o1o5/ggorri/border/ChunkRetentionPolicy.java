@@ -0,0 +1,145 @@
+package dev.o8o1o5.ggorri.border;
+
+import dev.o8o1o5.ggorri.GGORRI;
+import dev.o8o1o5.ggorri.spawn.ChunkTickets;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.List;
+
+/**
+ * 자기장 수축이 끝날 때마다 자기장 밖으로 완전히 벗어난 청크를 정리하는 정책입니다.
+ * 근처에 플레이어가 없으면 서버에 언로드를 요청하되, 다른 작업(부활 위치 예약, 스폰 풀, 텔레포트 등)이
+ * ChunkTickets로 붙잡고 있는 청크는 그 작업이 놓을 때까지 건드리지 않습니다.
+ * 로드된 청크 수와 힙 사용량을 정리 전/후로 기록해 단계마다 얼마나 줄었는지 보여줍니다.
+ * 청크가 많을 수 있으므로 틱당 일정 개수씩 나누어 처리합니다. 메인 스레드에서만 사용합니다.
+ */
+public class ChunkRetentionPolicy {
+    private final GGORRI plugin;
+    private final ChunkTickets chunkTickets;
+    private BukkitTask task;
+
+    // 마지막 정리 결과
+    private String lastReport;
+    private int totalSkippedHeld;
+    private int totalUnloadRequests;
+
+    private static final int CHUNKS_PER_TICK = 256; // 한 틱에 검사할 로드된 청크 수
+    private static final long MEMORY_SAMPLE_DELAY_TICKS = 100L; // 언로드/GC가 반영되도록 5초 뒤 다시 측정
+    private static final long BYTES_PER_MB = 1024L * 1024L;
+
+    public ChunkRetentionPolicy(GGORRI plugin, ChunkTickets chunkTickets) {
+        this.plugin = plugin;
+        this.chunkTickets = chunkTickets;
+    }
+
+    /**
+     * 자기장 범위 밖 청크 정리를 시작합니다. 이전 정리가 진행 중이면 중단하고 새 범위로 다시 시작합니다.
+     *
+     * @param phase 방금 수축을 마친 단계 (보고용, 0부터)
+     * @param size  현재 자기장 한 변의 길이 (블록)
+     */
+    public void releaseOutside(World world, double centerX, double centerZ, double size, int phase) {
+        cancel();
+        if (world == null) {
+            return;
+        }
+        double half = size / 2.0;
+        // 자기장과 한 블록이라도 겹치는 청크는 유지
+        int minChunkX = (int) Math.floor(centerX - half) >> 4;
+        int maxChunkX = (int) Math.floor(centerX + half) >> 4;
+        int minChunkZ = (int) Math.floor(centerZ - half) >> 4;
+        int maxChunkZ = (int) Math.floor(centerZ + half) >> 4;
+        int keepRadius = world.getViewDistance() + 1; // 플레이어가 이 거리(청크) 안에 있으면 언로드 요청하지 않음
+
+        Chunk[] loaded = world.getLoadedChunks();
+        List<Player> players = world.getPlayers();
+        int[] playerChunkXs = new int[players.size()];
+        int[] playerChunkZs = new int[players.size()];
+        for (int i = 0; i < players.size(); i++) {
+            playerChunkXs[i] = players.get(i).getLocation().getBlockX() >> 4;
+            playerChunkZs[i] = players.get(i).getLocation().getBlockZ() >> 4;
+        }
+        int loadedBefore = loaded.length;
+        long memoryBefore = usedMemoryMB();
+
+        task = new BukkitRunnable() {
+            private int cursor;
+            private int skippedHeld;
+            private int unloadRequests;
+            private int skippedNearPlayers;
+
+            @Override
+            public void run() {
+                int end = Math.min(loaded.length, cursor + CHUNKS_PER_TICK);
+                for (; cursor < end; cursor++) {
+                    Chunk chunk = loaded[cursor];
+                    int chunkX = chunk.getX();
+                    int chunkZ = chunk.getZ();
+                    if (chunkX >= minChunkX && chunkX <= maxChunkX && chunkZ >= minChunkZ && chunkZ <= maxChunkZ) {
+                        continue; // 자기장 안쪽 (또는 경계에 걸침)
+                    }
+                    if (chunkTickets.isHeld(world, chunkX, chunkZ)) {
+                        skippedHeld++;
+                        continue; // 티켓은 붙잡은 작업이 직접 해제
+                    }
+                    if (isNearAnyPlayer(playerChunkXs, playerChunkZs, chunkX, chunkZ, keepRadius)) {
+                        skippedNearPlayers++;
+                        continue;
+                    }
+                    if (world.unloadChunkRequest(chunkX, chunkZ)) {
+                        unloadRequests++;
+                    }
+                }
+                if (cursor < loaded.length) {
+                    return;
+                }
+                cancel();
+                task = null;
+                totalSkippedHeld += skippedHeld;
+                totalUnloadRequests += unloadRequests;
+                String summary = (phase + 1) + "단계 수축 후 언로드 요청 " + unloadRequests + "개" +
+                        " (플레이어 근처 유지 " + skippedNearPlayers + "개, 티켓 보유 중 유지 " + skippedHeld + "개)";
+                plugin.getServer().getScheduler().runTaskLater(plugin, () -> report(world, summary, loadedBefore, memoryBefore), MEMORY_SAMPLE_DELAY_TICKS);
+            }
+        }.runTaskTimer(plugin, 1L, 1L);
+    }
+
+    private static boolean isNearAnyPlayer(int[] playerChunkXs, int[] playerChunkZs, int chunkX, int chunkZ, int radius) {
+        for (int i = 0; i < playerChunkXs.length; i++) {
+            if (Math.abs(playerChunkXs[i] - chunkX) <= radius && Math.abs(playerChunkZs[i] - chunkZ) <= radius) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void report(World world, String summary, int loadedBefore, long memoryBefore) {
+        lastReport = summary + ", 로드된 청크 " + loadedBefore + " -> " + world.getLoadedChunks().length +
+                ", 힙 " + memoryBefore + "MB -> " + usedMemoryMB() + "MB";
+        plugin.getLogger().info("[GGORRI] 자기장 밖 청크 정리: " + lastReport);
+    }
+
+    private static long usedMemoryMB() {
+        Runtime runtime = Runtime.getRuntime();
+        return (runtime.totalMemory() - runtime.freeMemory()) / BYTES_PER_MB;
+    }
+
+    /**
+     * 진행 중인 정리를 중단합니다. (자기장 시스템 중지 시)
+     */
+    public void cancel() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    public String getStatusLine() {
+        return "자기장 밖 청크 정리: 누적 언로드 요청 " + totalUnloadRequests + "개, 티켓 보유 중 유지 " + totalSkippedHeld + "개" +
+                (lastReport != null ? " / 최근 " + lastReport : "");
+    }
+}
@@ -0,0 +1,90 @@
+package dev.o8o1o5.ggorri.border;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.function.IntSupplier;
+
+/**
+ * 남은 팀장 수와 접속 중인 참가자 수에 따라 자기장을 앞당기는 정책입니다. (config.yml의 border.pace)
+ * 기준은 참가자 수(모두 팀장으로 시작하므로 시작 팀장 수와 같음)에 대한 비율이며, 아무도 탈락/이탈하지 않았으면 앞당기지 않습니다.
+ * 팀이 그 비율 이하로 줄면 수축 전 대기 시간을 줄이고, 더 줄어들면 다음 단계 공지 때 단계를 건너뜁니다.
+ * 그래서 인원이 적은 게임이 처음부터 빨라지지 않으면서도, 마지막 몇 팀의 싸움이 남은 단계를 모두 기다리며 늘어지지 않습니다.
+ * 수는 공급자에서 읽으므로 시뮬레이터/테스트에서는 고정값으로 돌려볼 수 있습니다.
+ */
+public final class LeaderPacePolicy implements BorderPacePolicy {
+    private final IntSupplier leaderCount;
+    private final IntSupplier activePlayerCount;
+    private final IntSupplier participantCount;
+    private final double fewLeadersRatio;
+    private final double fewPlayersRatio;
+    private final double cooldownScale;
+    private final double skipLeadersRatio;
+    private final int maxSkip;
+
+    private static final double DEFAULT_FEW_LEADERS_RATIO = 0.5;
+    private static final double DEFAULT_FEW_PLAYERS_RATIO = 0.5;
+    private static final double DEFAULT_COOLDOWN_SCALE = 0.33;
+    private static final double DEFAULT_SKIP_LEADERS_RATIO = 0.25;
+    private static final int DEFAULT_MAX_SKIP = 1;
+
+    LeaderPacePolicy(IntSupplier leaderCount, IntSupplier activePlayerCount, IntSupplier participantCount,
+                     double fewLeadersRatio, double fewPlayersRatio, double cooldownScale, double skipLeadersRatio, int maxSkip) {
+        this.leaderCount = leaderCount;
+        this.activePlayerCount = activePlayerCount;
+        this.participantCount = participantCount;
+        this.fewLeadersRatio = fewLeadersRatio;
+        this.fewPlayersRatio = fewPlayersRatio;
+        this.cooldownScale = cooldownScale;
+        this.skipLeadersRatio = skipLeadersRatio;
+        this.maxSkip = maxSkip;
+    }
+
+    /**
+     * border.pace 설정으로 정책을 만듭니다. 설정이 없거나 enabled가 false면 계획을 그대로 따릅니다.
+     *
+     * @param leaderCount       남은 팀장 수
+     * @param activePlayerCount 접속 중인 참가자 수
+     * @param participantCount  참가자 수 (비율의 기준)
+     */
+    public static BorderPacePolicy load(ConfigurationSection paceConfig, IntSupplier leaderCount, IntSupplier activePlayerCount,
+                                        IntSupplier participantCount) {
+        if (paceConfig == null || !paceConfig.getBoolean("enabled", true)) {
+            return FIXED;
+        }
+        return new LeaderPacePolicy(leaderCount, activePlayerCount, participantCount,
+                ratio(paceConfig.getDouble("few-leaders-ratio", DEFAULT_FEW_LEADERS_RATIO)),
+                ratio(paceConfig.getDouble("few-players-ratio", DEFAULT_FEW_PLAYERS_RATIO)),
+                ratio(paceConfig.getDouble("cooldown-scale", DEFAULT_COOLDOWN_SCALE)),
+                ratio(paceConfig.getDouble("skip-leaders-ratio", DEFAULT_SKIP_LEADERS_RATIO)),
+                Math.max(0, paceConfig.getInt("max-skip", DEFAULT_MAX_SKIP)));
+    }
+
+    private static double ratio(double value) {
+        return Math.max(0.0, Math.min(1.0, value));
+    }
+
+    @Override
+    public long cooldownTicks(int phase, long plannedTicks) {
+        int participants = participantCount.getAsInt();
+        if (isThinnedOut(leaderCount.getAsInt(), participants, fewLeadersRatio) ||
+                isThinnedOut(activePlayerCount.getAsInt(), participants, fewPlayersRatio)) {
+            return (long) (plannedTicks * cooldownScale);
+        }
+        return plannedTicks;
+    }
+
+    @Override
+    public int phasesToSkip(int phase, int lastPhase) {
+        if (!isThinnedOut(leaderCount.getAsInt(), participantCount.getAsInt(), skipLeadersRatio)) {
+            return 0;
+        }
+        return Math.max(0, Math.min(maxSkip, lastPhase - phase));
+    }
+
+    /**
+     * @return 시작 인원보다 줄었고, 그 수가 시작 인원의 ratio배 이하이면 true
+     */
+    private static boolean isThinnedOut(int remaining, int participants, double ratio) {
+        return remaining < participants && remaining <= participants * ratio;
+    }
+}
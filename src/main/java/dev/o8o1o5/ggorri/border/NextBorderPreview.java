@@ -0,0 +1,151 @@
+package dev.o8o1o5.ggorri.border;
+
+import dev.o8o1o5.ggorri.GGORRI;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 다음 안전 지대의 경계를 참가자 근처에 파티클로 그려 보여주는 미리보기입니다.
+ * 실제 월드보더(이동 제한, 피해 판정)는 건드리지 않고, 플레이어별 월드보더도 쓰지 않습니다.
+ * (더 작은 보더를 보내면 클라이언트가 그 경계를 벽으로 막아, 다음 안전 지대 밖의 참가자가 갇히게 됩니다)
+ * 경계 중 참가자 주변 RENDER_RADIUS 블록 안에 있는 부분만 그 참가자에게만 보내므로, 인원이 늘어도 패킷 양이 일정합니다.
+ * 보이는 변마다 파티클을 spawnParticle 한 번(count/offset)으로 묶어 보내고, 구역이나 단계가 바뀔 때 바로 그린 뒤에는
+ * RENDER_INTERVAL_MILLIS마다만 다시 그리므로 참가자당 몇 초에 패킷 몇 개 수준입니다.
+ * 현재 자기장 밖에 있는 참가자에게는 실제 자기장에 집중하도록 그리지 않습니다.
+ * 메인 스레드에서만 사용합니다.
+ */
+public class NextBorderPreview {
+    private static final double RENDER_RADIUS = 24.0; // 참가자 주변 이 거리 안의 경계만 그림 (블록)
+    private static final double PARTICLE_SPACING = 2.0; // 경계를 따라 파티클 사이 평균 간격 (블록, 파티클 개수 계산용)
+    private static final double PARTICLE_HEIGHT = 1.0; // 발 위치 기준 높이 (블록)
+    private static final long RENDER_INTERVAL_MILLIS = 3000L; // 구역/단계 변화가 없을 때 다시 그리는 간격
+
+    private final GGORRI plugin;
+    private final boolean enabled;
+    private final Map<UUID, Long> viewers = new HashMap<>(); // 지금 미리보기를 보고 있는 플레이어 -> 마지막으로 그린 시각 (0이면 바로 그림)
+
+    private World world; // 미리보기가 표시되는 월드 (표시 중이 아니면 null)
+    private double minX, maxX, minZ, maxZ; // 다음 안전 지대 경계
+
+    public NextBorderPreview(GGORRI plugin) {
+        this.plugin = plugin;
+        this.enabled = plugin.getConfig().getBoolean("border.preview.enabled", true);
+    }
+
+    /**
+     * 다음 안전 지대로 미리보기 경계를 옮깁니다. 참가자에게 그리는 것은 자기장 루프에서 render로 합니다.
+     *
+     * @param size 다음 자기장 한 변의 길이 (블록)
+     */
+    public void show(World world, double centerX, double centerZ, double size) {
+        if (!enabled || world == null) {
+            return;
+        }
+        double half = size / 2.0;
+        minX = centerX - half;
+        maxX = centerX + half;
+        minZ = centerZ - half;
+        maxZ = centerZ + half;
+        this.world = world;
+        viewers.replaceAll((uuid, renderedAt) -> 0L); // 경계가 바뀌었으니 다음 루프에서 바로 다시 그림
+    }
+
+    /**
+     * 참가자의 구역 상태가 바뀌었거나 다시 확인해야 할 때(재접속 등) 호출합니다.
+     * 현재 자기장 밖이거나 다른 월드에 있으면 미리보기 대상에서 뺍니다.
+     */
+    public void onZoneChanged(Player player, BorderZoneTracker.Zone zone) {
+        if (world == null || zone == BorderZoneTracker.Zone.OUTSIDE_CURRENT || !world.equals(player.getWorld())) {
+            viewers.remove(player.getUniqueId());
+            return;
+        }
+        viewers.put(player.getUniqueId(), 0L); // 구역이 바뀌었으니 다음 render에서 바로 그림
+    }
+
+    /**
+     * 시청 중인 참가자 주변의 다음 안전 지대 경계를 그 참가자에게만 파티클로 그립니다. 자기장 루프에서 매초 호출하지만,
+     * 구역이나 단계가 바뀐 직후가 아니면 RENDER_INTERVAL_MILLIS가 지났을 때만 실제로 보냅니다.
+     */
+    public void render(Player player) {
+        Long renderedAt = viewers.get(player.getUniqueId());
+        if (world == null || renderedAt == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (now - renderedAt < RENDER_INTERVAL_MILLIS) {
+            return;
+        }
+        viewers.put(player.getUniqueId(), now);
+        Location location = player.getLocation();
+        double x = location.getX();
+        double y = location.getY() + PARTICLE_HEIGHT;
+        double z = location.getZ();
+        if (Math.abs(x - minX) <= RENDER_RADIUS) {
+            drawAlongZ(player, minX, y, z);
+        }
+        if (Math.abs(x - maxX) <= RENDER_RADIUS) {
+            drawAlongZ(player, maxX, y, z);
+        }
+        if (Math.abs(z - minZ) <= RENDER_RADIUS) {
+            drawAlongX(player, minZ, y, x);
+        }
+        if (Math.abs(z - maxZ) <= RENDER_RADIUS) {
+            drawAlongX(player, maxZ, y, x);
+        }
+    }
+
+    private void drawAlongZ(Player player, double edgeX, double y, double nearZ) {
+        double from = Math.max(minZ, nearZ - RENDER_RADIUS);
+        double to = Math.min(maxZ, nearZ + RENDER_RADIUS);
+        if (to < from) {
+            return;
+        }
+        // 구간 중앙에서 Z축으로만 퍼뜨려 한 번에 보냄 (offset은 표준편차라 구간 길이의 1/4이면 대부분 구간 안에 찍힘)
+        player.spawnParticle(Particle.END_ROD, edgeX, y, (from + to) / 2.0, particleCount(to - from), 0.0, 0.0, (to - from) / 4.0, 0.0);
+    }
+
+    private void drawAlongX(Player player, double edgeZ, double y, double nearX) {
+        double from = Math.max(minX, nearX - RENDER_RADIUS);
+        double to = Math.min(maxX, nearX + RENDER_RADIUS);
+        if (to < from) {
+            return;
+        }
+        player.spawnParticle(Particle.END_ROD, (from + to) / 2.0, y, edgeZ, particleCount(to - from), (to - from) / 4.0, 0.0, 0.0, 0.0);
+    }
+
+    private static int particleCount(double length) {
+        return Math.max(1, (int) (length / PARTICLE_SPACING) + 1);
+    }
+
+    /**
+     * 게임에서 나간 플레이어를 미리보기 대상에서 뺍니다.
+     */
+    public void removeViewer(Player player) {
+        viewers.remove(player.getUniqueId());
+    }
+
+    /**
+     * 미리보기를 거둡니다. (수축 시작 / 자기장 시스템 중지 시) 파티클은 잠시 뒤 저절로 사라집니다.
+     */
+    public void hide() {
+        world = null;
+        viewers.clear();
+    }
+
+    public boolean isShowing() {
+        return world != null;
+    }
+
+    public String getStatusLine() {
+        if (!enabled) {
+            return "다음 자기장 미리보기: 꺼짐";
+        }
+        return "다음 자기장 미리보기: " + (isShowing() ? "표시 중, 시청 " + viewers.size() + "명" : "대기");
+    }
+}
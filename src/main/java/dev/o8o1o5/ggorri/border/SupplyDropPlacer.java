@@ -0,0 +1,164 @@
+package dev.o8o1o5.ggorri.border;
+
+import dev.o8o1o5.ggorri.GGORRI;
+import dev.o8o1o5.ggorri.items.SupplyLootTable;
+import dev.o8o1o5.ggorri.spawn.BorderBounds;
+import dev.o8o1o5.ggorri.spawn.SafeSurfaceIndex;
+import org.bukkit.ChatColor;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.Chest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+/**
+ * 자기장 단계가 바뀔 때 다음 안전 지대 안에 보급 상자를 떨어뜨립니다. (config.yml의 supply-drops)
+ * 위치는 안전 지표면 인덱스에서 이미 검증된 열만 뽑으므로 블록을 스캔하지 않고,
+ * 상자는 이미 로드된 청크면 바로, 아니면 비동기로 불러온 뒤에 설치하므로 동기 청크 로딩이 일어나지 않습니다.
+ * 내용물은 미리 만들어 둔 SupplyLootTable에서 뽑습니다. 메인 스레드에서만 사용합니다.
+ */
+public class SupplyDropPlacer {
+    private final GGORRI plugin;
+    private final Supplier<SafeSurfaceIndex> surfaceIndex;
+    private final SupplyLootTable lootTable;
+    private final Random random = new Random();
+    private final boolean enabled;
+    private final int perPhase;
+
+    private final List<Location> placedDrops = new ArrayList<>(); // 게임 종료 시 치울 상자 위치
+    private int generation; // clear마다 증가 (이전 게임의 늦은 비동기 설치를 무시)
+
+    // 통계
+    private int totalPlaced;
+    private int totalNoSite;
+    private int totalAsyncLoads;
+
+    private static final int DEFAULT_PER_PHASE = 2;
+
+    /**
+     * @param surfaceIndex 안전 지표면 인덱스 공급자 (사용할 수 없으면 null을 돌려줌)
+     */
+    public SupplyDropPlacer(GGORRI plugin, Supplier<SafeSurfaceIndex> surfaceIndex) {
+        this.plugin = plugin;
+        this.surfaceIndex = surfaceIndex;
+        this.enabled = plugin.getConfig().getBoolean("supply-drops.enabled", true);
+        this.perPhase = Math.max(0, plugin.getConfig().getInt("supply-drops.per-phase", DEFAULT_PER_PHASE));
+        this.lootTable = SupplyLootTable.load(plugin.getConfig().getConfigurationSection("supply-drops"), plugin.getLogger());
+        plugin.getLogger().info("[GGORRI] 보급 상자 아이템 표 로드 완료: " + lootTable.getEntryCount() + "종");
+    }
+
+    /**
+     * 다음 안전 지대 안에 이번 단계의 보급 상자를 떨어뜨립니다.
+     *
+     * @param size 다음 자기장 한 변의 길이 (블록)
+     */
+    public void dropInZone(World world, double centerX, double centerZ, double size, int phase) {
+        if (!enabled || perPhase == 0 || world == null) {
+            return;
+        }
+        SafeSurfaceIndex index = surfaceIndex.get();
+        if (index == null || !world.equals(index.getWorld())) {
+            plugin.getLogger().info("[GGORRI] 안전 지표면 인덱스를 사용할 수 없어 " + (phase + 1) + "단계 보급 상자를 건너뜁니다.");
+            return;
+        }
+        BorderBounds bounds = BorderBounds.of(centerX, centerZ, size);
+        int radius = Math.max(1, (int) (size / 2.0));
+        int dropGeneration = generation;
+        for (int i = 0; i < perPhase; i++) {
+            Location site = index.drawSafeLocation(random, bounds, (int) Math.floor(centerX), (int) Math.floor(centerZ), radius, 0);
+            if (site == null) {
+                totalNoSite++;
+                continue; // 아직 스캔되지 않은 지역이거나 안전한 열을 찾지 못함
+            }
+            int chunkX = site.getBlockX() >> 4;
+            int chunkZ = site.getBlockZ() >> 4;
+            if (world.isChunkLoaded(chunkX, chunkZ)) {
+                place(index, site);
+                continue;
+            }
+            totalAsyncLoads++;
+            world.getChunkAtAsync(chunkX, chunkZ, true).whenComplete((chunk, throwable) -> {
+                if (dropGeneration != generation) {
+                    return;
+                }
+                if (throwable != null || chunk == null) {
+                    plugin.getLogger().log(Level.FINE, "[GGORRI] 보급 상자 청크 로딩 실패: " + chunkX + "," + chunkZ, throwable);
+                    return;
+                }
+                place(index, site);
+            });
+        }
+    }
+
+    private void place(SafeSurfaceIndex index, Location site) {
+        int x = site.getBlockX();
+        int y = site.getBlockY();
+        int z = site.getBlockZ();
+        if (index.getSafeGroundY(x, z) != y) {
+            totalNoSite++;
+            return; // 뽑은 뒤 그 열이 바뀜
+        }
+        Block block = site.getWorld().getBlockAt(x, y, z);
+        if (!block.getType().isAir()) {
+            totalNoSite++;
+            return;
+        }
+        block.setType(Material.CHEST);
+        BlockState state = block.getState();
+        if (state instanceof Chest) {
+            ((Chest) state).getBlockInventory().addItem(lootTable.roll(random));
+        }
+        index.invalidate(x, z); // 상자가 놓인 열은 다시 스캔
+        placedDrops.add(site);
+        totalPlaced++;
+        plugin.getServer().broadcastMessage(ChatColor.GOLD + "[GGORRI] 보급 상자가 떨어졌습니다! " + ChatColor.AQUA + "X: " + x + ", Y: " + y + ", Z: " + z);
+    }
+
+    /**
+     * 이번 게임에서 설치한 상자 중 로드된 청크에 남아 있는 것을 치웁니다. (게임 종료 시)
+     * 로드되지 않은 청크의 상자는 동기 로딩을 피하기 위해 그대로 둡니다.
+     */
+    public void clear() {
+        generation++;
+        SafeSurfaceIndex index = surfaceIndex.get();
+        int leftover = 0;
+        for (Location site : placedDrops) {
+            World world = site.getWorld();
+            if (!world.isChunkLoaded(site.getBlockX() >> 4, site.getBlockZ() >> 4)) {
+                leftover++;
+                continue;
+            }
+            Block block = world.getBlockAt(site.getBlockX(), site.getBlockY(), site.getBlockZ());
+            if (block.getType() != Material.CHEST) {
+                continue;
+            }
+            BlockState state = block.getState();
+            if (state instanceof Chest) {
+                ((Chest) state).getBlockInventory().clear();
+            }
+            block.setType(Material.AIR);
+            if (index != null) {
+                index.invalidate(site.getBlockX(), site.getBlockZ());
+            }
+        }
+        if (leftover > 0) {
+            plugin.getLogger().info("[GGORRI] 로드되지 않은 청크에 있어 치우지 못한 보급 상자: " + leftover + "개");
+        }
+        placedDrops.clear();
+    }
+
+    public String getStatusLine() {
+        if (!enabled) {
+            return "보급 상자: 꺼짐";
+        }
+        return "보급 상자: 이번 게임 " + placedDrops.size() + "개, 누적 설치 " + totalPlaced + "개" +
+                " (비동기 로딩 " + totalAsyncLoads + "회, 위치 없음 " + totalNoSite + "회)";
+    }
+}
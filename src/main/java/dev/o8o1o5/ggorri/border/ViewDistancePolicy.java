@@ -0,0 +1,133 @@
+package dev.o8o1o5.ggorri.border;
+
+import dev.o8o1o5.ggorri.GGORRI;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 자기장 크기에 맞춰 참가자별 시야 거리(로드/전송 거리)를 정하는 정책입니다. (config.yml의 border.view-distance)
+ * 경기장이 100블록뿐인데 서버 설정 시야 거리만큼 청크를 보내지 않도록, 단계가 바뀔 때마다
+ * Paper의 플레이어별 setViewDistance/setSendViewDistance로 자기장 절반 크기 + 여유만큼만 보냅니다.
+ * 부활 대기 중인 플레이어에게는 최소 거리만 보냅니다. 서버 설정보다 크게 하지는 않습니다.
+ * 메인 스레드에서만 사용합니다.
+ */
+public class ViewDistancePolicy {
+    private final GGORRI plugin;
+    private final boolean enabled;
+    private final int marginChunks;
+    private final int minDistance;
+    private final int limboDistance;
+
+    private int phaseDistance = -1; // 현재 단계의 시야 거리 (청크, 동작 중이 아니면 -1)
+    private final Set<UUID> limbo = new HashSet<>(); // 부활 대기 중인 플레이어
+    private final Set<UUID> adjusted = new HashSet<>(); // 시야 거리를 바꿔둔 플레이어 (중지 시 되돌림)
+
+    private static final int MIN_PLAYER_VIEW_DISTANCE = 2; // Paper가 허용하는 플레이어별 최소값
+    private static final int DEFAULT_MARGIN_CHUNKS = 2;
+    private static final int DEFAULT_MIN_DISTANCE = 4;
+    private static final int DEFAULT_LIMBO_DISTANCE = 2;
+
+    public ViewDistancePolicy(GGORRI plugin) {
+        this.plugin = plugin;
+        this.enabled = plugin.getConfig().getBoolean("border.view-distance.enabled", true);
+        this.marginChunks = Math.max(0, plugin.getConfig().getInt("border.view-distance.margin-chunks", DEFAULT_MARGIN_CHUNKS));
+        this.minDistance = Math.max(MIN_PLAYER_VIEW_DISTANCE, plugin.getConfig().getInt("border.view-distance.min", DEFAULT_MIN_DISTANCE));
+        this.limboDistance = Math.max(MIN_PLAYER_VIEW_DISTANCE, plugin.getConfig().getInt("border.view-distance.limbo", DEFAULT_LIMBO_DISTANCE));
+    }
+
+    /**
+     * 현재 자기장 크기로 단계 시야 거리를 다시 정합니다. 참가자에게 반영하려면 apply를 호출합니다.
+     *
+     * @param size 자기장 한 변의 길이 (블록)
+     * @return 바뀌었으면 true
+     */
+    public boolean setBorderSize(World world, double size) {
+        if (!enabled || world == null) {
+            return false;
+        }
+        int needed = (int) Math.ceil(size / 2.0 / 16.0) + marginChunks; // 중심에서 자기장 끝까지 + 여유
+        int distance = Math.max(minDistance, Math.min(world.getViewDistance(), needed));
+        if (distance == phaseDistance) {
+            return false;
+        }
+        phaseDistance = distance;
+        return true;
+    }
+
+    /**
+     * 플레이어에게 현재 단계(부활 대기 중이면 최소) 시야 거리를 적용합니다. 이미 같은 값이면 보내지 않습니다.
+     */
+    public void apply(Player player) {
+        if (phaseDistance < 0) {
+            return;
+        }
+        int distance = limbo.contains(player.getUniqueId()) ? limboDistance : phaseDistance;
+        distance = Math.min(distance, player.getWorld().getViewDistance());
+        if (player.getViewDistance() != distance) {
+            player.setViewDistance(distance);
+        }
+        if (player.getSendViewDistance() != distance) {
+            player.setSendViewDistance(distance);
+        }
+        adjusted.add(player.getUniqueId());
+    }
+
+    /**
+     * 부활 대기를 시작한 플레이어에게 최소 시야 거리를 적용합니다.
+     */
+    public void enterLimbo(Player player) {
+        limbo.add(player.getUniqueId());
+        apply(player);
+    }
+
+    /**
+     * 부활한 플레이어를 단계 시야 거리로 되돌립니다. 오프라인이면 대기 표시만 지웁니다.
+     */
+    public void leaveLimbo(UUID playerUUID) {
+        if (!limbo.remove(playerUUID)) {
+            return;
+        }
+        Player player = plugin.getServer().getPlayer(playerUUID);
+        if (player != null) {
+            apply(player);
+        }
+    }
+
+    /**
+     * 플레이어의 시야 거리를 월드(서버) 설정으로 되돌립니다. (게임 퇴장 시)
+     */
+    public void reset(Player player) {
+        limbo.remove(player.getUniqueId());
+        if (adjusted.remove(player.getUniqueId())) {
+            player.setViewDistance(player.getWorld().getViewDistance());
+            player.setSendViewDistance(player.getWorld().getSendViewDistance());
+        }
+    }
+
+    /**
+     * 정책을 멈추고 바꿔둔 모든 플레이어의 시야 거리를 되돌립니다. (자기장 시스템 중지 시)
+     */
+    public void deactivate() {
+        phaseDistance = -1;
+        limbo.clear();
+        for (UUID uuid : new HashSet<>(adjusted)) {
+            Player player = plugin.getServer().getPlayer(uuid);
+            if (player != null) {
+                reset(player);
+            }
+        }
+        adjusted.clear();
+    }
+
+    public String getStatusLine() {
+        if (!enabled) {
+            return "참가자 시야 거리: 꺼짐";
+        }
+        return "참가자 시야 거리: " + (phaseDistance < 0 ? "서버 설정" : phaseDistance + "청크") +
+                ", 부활 대기 " + limboDistance + "청크 (" + limbo.size() + "명), 적용 " + adjusted.size() + "명";
+    }
+}
@@ -0,0 +1,170 @@
+package dev.o8o1o5.ggorri.border;
+
+import dev.o8o1o5.ggorri.GGORRI;
+import dev.o8o1o5.ggorri.spawn.ChunkSpiral;
+import dev.o8o1o5.ggorri.spawn.ChunkTickets;
+import org.bukkit.World;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * 수축 전 대기 동안 다음 안전 지대의 청크를 미리 비동기로 불러두는 작업입니다.
+ * 중심에서 바깥쪽으로 나선 순서로 불러오며, 불러온 청크에는 플러그인 티켓을 붙여 수축이 끝날 때까지 로드 상태를 유지합니다.
+ * 그래서 수축 때 모두가 새 안전 지대로 몰려도 서버가 그 자리에서 청크를 동기로 불러오거나 생성하지 않습니다.
+ * 동시 로딩 수, 틱당 요청 수, 전체 청크 수에 제한이 있습니다. (border.preload)
+ * 메인 스레드에서만 사용합니다.
+ */
+public class ZonePreloader {
+    private final GGORRI plugin;
+    private final ChunkTickets chunkTickets;
+    private final boolean enabled;
+    private final int maxChunks;
+    private final int maxInFlight;
+    private final int maxPerTick;
+
+    private World world;
+    private int centerChunkX;
+    private int centerChunkZ;
+    private int minChunkX, maxChunkX, minChunkZ, maxChunkZ; // 다음 안전 지대에 걸치는 청크 범위
+    private int nextOrdinal;
+    private int lastOrdinal; // 나선 순번 상한 (배제)
+    private int generation; // preload/release마다 증가 (이전 요청의 늦은 완료를 무시)
+    private int inFlight;
+    private final List<int[]> ticketedChunks = new ArrayList<>(); // {chunkX, chunkZ}
+    private BukkitTask task;
+
+    // 통계 (현재 단계 기준)
+    private int requestedChunks;
+    private int failedChunks;
+    private long startedAtMillis;
+    private long finishedAtMillis;
+
+    private static final int DEFAULT_MAX_CHUNKS = 1024;
+    private static final int DEFAULT_MAX_IN_FLIGHT = 4;
+    private static final int DEFAULT_MAX_PER_TICK = 2;
+
+    public ZonePreloader(GGORRI plugin, ChunkTickets chunkTickets) {
+        this.plugin = plugin;
+        this.chunkTickets = chunkTickets;
+        this.enabled = plugin.getConfig().getBoolean("border.preload.enabled", true);
+        this.maxChunks = Math.max(0, plugin.getConfig().getInt("border.preload.max-chunks", DEFAULT_MAX_CHUNKS));
+        this.maxInFlight = Math.max(1, plugin.getConfig().getInt("border.preload.max-in-flight", DEFAULT_MAX_IN_FLIGHT));
+        this.maxPerTick = Math.max(1, plugin.getConfig().getInt("border.preload.max-per-tick", DEFAULT_MAX_PER_TICK));
+    }
+
+    /**
+     * 다음 안전 지대의 청크를 미리 불러오기 시작합니다. 이전 단계의 티켓은 먼저 해제합니다.
+     *
+     * @param size 다음 자기장 한 변의 길이 (블록)
+     */
+    public void preload(World world, double centerX, double centerZ, double size) {
+        release();
+        if (!enabled || world == null || maxChunks == 0) {
+            return;
+        }
+        this.world = world;
+        double half = size / 2.0;
+        this.minChunkX = (int) Math.floor(centerX - half) >> 4;
+        this.maxChunkX = (int) Math.floor(centerX + half) >> 4;
+        this.minChunkZ = (int) Math.floor(centerZ - half) >> 4;
+        this.maxChunkZ = (int) Math.floor(centerZ + half) >> 4;
+        this.centerChunkX = (int) Math.floor(centerX) >> 4;
+        this.centerChunkZ = (int) Math.floor(centerZ) >> 4;
+        int radius = Math.max(Math.max(centerChunkX - minChunkX, maxChunkX - centerChunkX),
+                Math.max(centerChunkZ - minChunkZ, maxChunkZ - centerChunkZ));
+        this.nextOrdinal = 0;
+        this.lastOrdinal = ChunkSpiral.countWithin(radius);
+        this.startedAtMillis = System.currentTimeMillis();
+
+        task = new BukkitRunnable() {
+            @Override
+            public void run() {
+                requestMoreChunks();
+            }
+        }.runTaskTimer(plugin, 1L, 1L);
+    }
+
+    private void requestMoreChunks() {
+        int requested = 0;
+        while (requested < maxPerTick && inFlight < maxInFlight) {
+            if (requestedChunks >= maxChunks || nextOrdinal >= lastOrdinal) {
+                stopRequesting();
+                return;
+            }
+            int[] offset = ChunkSpiral.offset(nextOrdinal++);
+            int chunkX = centerChunkX + offset[0];
+            int chunkZ = centerChunkZ + offset[1];
+            if (chunkX < minChunkX || chunkX > maxChunkX || chunkZ < minChunkZ || chunkZ > maxChunkZ) {
+                continue; // 나선이 안전 지대 바깥으로 나간 부분 (중심이 한쪽으로 치우친 경우)
+            }
+            requestChunk(chunkX, chunkZ);
+            requested++;
+        }
+    }
+
+    private void requestChunk(int chunkX, int chunkZ) {
+        int requestGeneration = generation;
+        World requestWorld = world;
+        requestedChunks++;
+        inFlight++;
+        requestWorld.getChunkAtAsync(chunkX, chunkZ, true).whenComplete((chunk, throwable) -> {
+            if (requestGeneration != generation) {
+                return; // 그 사이 해제됨 (티켓을 붙이지 않음)
+            }
+            inFlight--;
+            if (throwable != null || chunk == null) {
+                failedChunks++;
+                plugin.getLogger().log(Level.FINE, "[GGORRI] 다음 안전 지대 청크 로딩 실패: " + chunkX + "," + chunkZ, throwable);
+            } else {
+                chunkTickets.acquire(requestWorld, chunkX, chunkZ); // 부활 위치 예약 등이 같은 청크를 붙잡고 있어도 보유 횟수로 구분
+                ticketedChunks.add(new int[]{chunkX, chunkZ});
+            }
+            if (task == null && inFlight == 0) {
+                finishedAtMillis = System.currentTimeMillis();
+                plugin.getLogger().info("[GGORRI] 다음 안전 지대 미리 불러오기 완료. " + getStatusLine());
+            }
+        });
+    }
+
+    private void stopRequesting() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * 진행 중인 미리 불러오기를 멈추고 붙여둔 티켓을 모두 해제합니다. (단계 종료/자기장 시스템 중지 시)
+     */
+    public void release() {
+        stopRequesting();
+        generation++;
+        if (world != null) {
+            for (int[] chunk : ticketedChunks) {
+                chunkTickets.release(world, chunk[0], chunk[1]);
+            }
+        }
+        ticketedChunks.clear();
+        inFlight = 0;
+        requestedChunks = 0;
+        failedChunks = 0;
+        finishedAtMillis = 0;
+        world = null;
+    }
+
+    public String getStatusLine() {
+        if (!enabled) {
+            return "다음 안전 지대 미리 불러오기: 꺼짐";
+        }
+        String elapsed = "";
+        if (finishedAtMillis > 0) {
+            elapsed = ", " + String.format("%.1f", (finishedAtMillis - startedAtMillis) / 1000.0) + "초 소요";
+        }
+        return "다음 안전 지대 미리 불러오기: 티켓 " + ticketedChunks.size() + "개, 요청 " + requestedChunks + "/" + maxChunks +
+                ", 로딩 중 " + inFlight + ", 실패 " + failedChunks + elapsed;
+    }
+}
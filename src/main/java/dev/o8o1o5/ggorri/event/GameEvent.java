@@ -0,0 +1,65 @@
+package dev.o8o1o5.ggorri.event;
+
+import java.util.UUID;
+
+/**
+ * 게임 내부 이벤트. GameEventBus에 올리면 그 틱이 끝날 때 모아서 구독자에게 전달됩니다.
+ * 모두 변경 불가능한 값이라 비동기 구독자에게 그대로 넘깁니다.
+ */
+public sealed interface GameEvent {
+
+    /**
+     * 처치 판정 결과
+     */
+    enum KillType {
+        NORMAL,       // 타겟을 정상 처치
+        WRONG_TARGET, // 타겟이 아닌 팀장을 처치
+        SLAVE,        // 노예가 처치됨
+        NATURAL       // 킬러 없음 (자연사/유효하지 않은 킬러)
+    }
+
+    /**
+     * 참가자가 사망했습니다.
+     *
+     * @param killerUUID 킬러, 자연사면 null
+     * @param cause 사망 원인 (DamageCause 이름)
+     * @param deathCount 이번 사망을 포함한 누적 사망 횟수
+     */
+    record PlayerKilled(UUID victimUUID, UUID killerUUID, KillType killType, String cause, int deathCount, long respawnDelaySeconds) implements GameEvent {
+    }
+
+    /**
+     * 참가자가 팀장의 팀에 노예로 편입되었습니다.
+     */
+    record Enslaved(UUID victimUUID, UUID leaderUUID) implements GameEvent {
+    }
+
+    /**
+     * 팀장이 게임을 이탈했습니다.
+     *
+     * @param successorUUID 승격된 후계자, 노예가 없었으면 null
+     */
+    record LeaderExited(UUID leaderUUID, UUID successorUUID) implements GameEvent {
+    }
+
+    /**
+     * 팀장이 아닌 참가자가 게임 중에 접속을 끊었습니다. (팀장은 LeaderExited)
+     * 팀 구성은 그대로지만 접속 인원이 줄어 승부가 날 수 있습니다.
+     */
+    record ParticipantDisconnected(UUID playerUUID) implements GameEvent {
+    }
+
+    /**
+     * 자기장이 새 단계에 들어섰습니다. (다음 자기장 공지 시, 모든 단계가 끝나면 phase == phaseCount)
+     *
+     * @param skipped 남은 팀이 적어 이번에 건너뛴 단계 수
+     */
+    record PhaseChanged(int phase, int phaseCount, int skipped) implements GameEvent {
+    }
+
+    /**
+     * 참가자가 부활했습니다.
+     */
+    record Respawned(UUID playerUUID, boolean nearLeader) implements GameEvent {
+    }
+}
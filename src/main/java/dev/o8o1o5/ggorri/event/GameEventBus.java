@@ -0,0 +1,148 @@
+package dev.o8o1o5.ggorri.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * 게임 내부 이벤트 버스. 매니저끼리 직접 호출하는 대신 이벤트를 올리고, 관심 있는 쪽이 구독합니다.
+ * 한 틱 동안 올라온 이벤트는 모아 두었다가 틱이 끝날 때(flush) 한 번에 전달합니다.
+ * 동기 구독자는 메인 스레드에서 이벤트 종류별로 받고, 비동기 구독자(통계/로그 등)는 그 틱의 이벤트 묶음을
+ * 별도 스레드에서 받습니다. 비동기 쪽이 밀리면 대기열이 찬 만큼 묶음을 버리며, 게임 스레드는 기다리지 않습니다.
+ * post/subscribe/flush는 메인 스레드에서만 호출합니다.
+ */
+public class GameEventBus {
+    private static final int ASYNC_QUEUE_CAPACITY = 256; // 비동기 전달을 기다리는 틱 묶음 수
+    private static final int MAX_FLUSH_ROUNDS = 8; // 구독자가 올린 이벤트를 같은 틱에 이어서 전달하는 최대 횟수
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 2L;
+
+    private final Logger logger;
+    private final Map<Class<? extends GameEvent>, List<Consumer<GameEvent>>> handlers = new HashMap<>();
+    private final List<Consumer<List<GameEvent>>> asyncHandlers = new CopyOnWriteArrayList<>();
+    private ThreadPoolExecutor asyncExecutor; // 첫 비동기 구독 시 생성
+
+    private List<GameEvent> pending = new ArrayList<>();
+    private long postedCount;
+    private long flushedBatches;
+    private long droppedBatches;
+    private int largestBatch;
+
+    public GameEventBus(Logger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * 한 종류의 이벤트를 메인 스레드에서 받습니다. 틱이 끝날 때 올라온 순서대로 호출됩니다.
+     */
+    public <T extends GameEvent> void subscribe(Class<T> type, Consumer<? super T> handler) {
+        handlers.computeIfAbsent(type, k -> new ArrayList<>()).add(event -> handler.accept(type.cast(event)));
+    }
+
+    /**
+     * 틱마다 그 틱의 이벤트 묶음(변경 불가능한 목록)을 별도 스레드에서 받습니다.
+     * 게임 상태가 필요하면 GameManager.getSnapshot()을 읽습니다.
+     */
+    public void subscribeAsync(Consumer<List<GameEvent>> handler) {
+        if (asyncExecutor == null) {
+            asyncExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(ASYNC_QUEUE_CAPACITY), runnable -> {
+                Thread thread = new Thread(runnable, "GGORRI-Events");
+                thread.setDaemon(true);
+                return thread;
+            }, (runnable, executor) -> droppedBatches++);
+        }
+        asyncHandlers.add(handler);
+    }
+
+    /**
+     * 이벤트를 올립니다. 구독자에게는 이번 틱이 끝날 때 전달됩니다.
+     */
+    public void post(GameEvent event) {
+        pending.add(event);
+        postedCount++;
+    }
+
+    /**
+     * 이번 틱에 올라온 이벤트를 전달합니다. 틱이 끝날 때 메인 스레드에서 호출됩니다.
+     * 동기 구독자가 전달 중에 올린 이벤트도 같은 틱에 이어서 전달합니다.
+     */
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<GameEvent> tickEvents = null;
+        for (int round = 0; round < MAX_FLUSH_ROUNDS && !pending.isEmpty(); round++) {
+            List<GameEvent> batch = pending;
+            pending = new ArrayList<>();
+            dispatch(batch);
+            if (tickEvents == null) {
+                tickEvents = batch;
+            } else {
+                tickEvents.addAll(batch);
+            }
+        }
+        flushedBatches++;
+        largestBatch = Math.max(largestBatch, tickEvents.size());
+        if (!asyncHandlers.isEmpty()) {
+            List<GameEvent> events = Collections.unmodifiableList(tickEvents);
+            asyncExecutor.execute(() -> dispatchAsync(events));
+        }
+    }
+
+    private void dispatch(List<GameEvent> batch) {
+        for (GameEvent event : batch) {
+            List<Consumer<GameEvent>> typeHandlers = handlers.get(event.getClass());
+            if (typeHandlers == null) {
+                continue;
+            }
+            for (Consumer<GameEvent> handler : typeHandlers) {
+                try {
+                    handler.accept(event);
+                } catch (RuntimeException e) {
+                    logger.log(Level.WARNING, "[GGORRI] 게임 이벤트 처리 중 오류: " + event, e);
+                }
+            }
+        }
+    }
+
+    private void dispatchAsync(List<GameEvent> events) {
+        for (Consumer<List<GameEvent>> handler : asyncHandlers) {
+            try {
+                handler.accept(events);
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "[GGORRI] 비동기 게임 이벤트 처리 중 오류", e);
+            }
+        }
+    }
+
+    /**
+     * 남은 이벤트를 버리고 비동기 전달 스레드를 멈춥니다. (플러그인 비활성화 시)
+     */
+    public void shutdown() {
+        pending.clear();
+        if (asyncExecutor == null) {
+            return;
+        }
+        asyncExecutor.shutdown();
+        try {
+            if (!asyncExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warning("[GGORRI] 게임 이벤트 전달 스레드가 제시간에 끝나지 않았습니다.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public String getStatusLine() {
+        return "게임 이벤트: " + postedCount + "건 / " + flushedBatches + "틱 묶음 (최대 " + largestBatch + "건), 비동기 구독 " + asyncHandlers.size() +
+                "개" + (droppedBatches > 0 ? ", 버린 묶음 " + droppedBatches + "개" : "");
+    }
+}
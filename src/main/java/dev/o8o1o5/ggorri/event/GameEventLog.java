@@ -0,0 +1,48 @@
+package dev.o8o1o5.ggorri.event;
+
+import dev.o8o1o5.ggorri.game.GameSnapshot;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * 게임 이벤트를 서버 로그에 남기는 비동기 구독자입니다. 이름은 상태 스냅샷에서 찾으므로 게임 스레드를 건드리지 않습니다.
+ */
+public class GameEventLog {
+    private final Logger logger;
+    private final Supplier<GameSnapshot> snapshot;
+
+    public GameEventLog(Logger logger, Supplier<GameSnapshot> snapshot) {
+        this.logger = logger;
+        this.snapshot = snapshot;
+    }
+
+    public void log(List<GameEvent> events) {
+        GameSnapshot current = snapshot.get();
+        for (GameEvent event : events) {
+            logger.info("[GGORRI] " + describe(event, current));
+        }
+    }
+
+    private static String describe(GameEvent event, GameSnapshot snapshot) {
+        return switch (event) {
+            case GameEvent.PlayerKilled killed -> name(snapshot, killed.victimUUID()) + " 사망 (" + killed.killType() + ", 원인 " + killed.cause() +
+                    (killed.killerUUID() != null ? ", 킬러 " + name(snapshot, killed.killerUUID()) : "") +
+                    ", " + killed.deathCount() + "번째, 부활까지 " + killed.respawnDelaySeconds() + "초)";
+            case GameEvent.Enslaved enslaved -> name(snapshot, enslaved.victimUUID()) + "님이 " + name(snapshot, enslaved.leaderUUID()) + "님의 노예가 되었습니다.";
+            case GameEvent.LeaderExited exited -> "팀장 " + name(snapshot, exited.leaderUUID()) + " 이탈" +
+                    (exited.successorUUID() != null ? ", 새 팀장: " + name(snapshot, exited.successorUUID()) : " (노예 없음)");
+            case GameEvent.ParticipantDisconnected disconnected -> name(snapshot, disconnected.playerUUID()) + " 접속 종료";
+            case GameEvent.PhaseChanged changed -> changed.phase() >= changed.phaseCount() ? "자기장 모든 단계 완료" :
+                    "자기장 " + (changed.phase() + 1) + "/" + changed.phaseCount() + "단계 시작" + (changed.skipped() > 0 ? " (" + changed.skipped() + "단계 건너뜀)" : "");
+            case GameEvent.Respawned respawned -> name(snapshot, respawned.playerUUID()) + " 부활" + (respawned.nearLeader() ? " (팀장 근처)" : "");
+        };
+    }
+
+    private static String name(GameSnapshot snapshot, UUID uuid) {
+        GameSnapshot.Participant participant = snapshot.getParticipant(uuid);
+        return participant != null && participant.getName() != null ? participant.getName() : uuid.toString();
+    }
+}
@@ -0,0 +1,537 @@
+package dev.o8o1o5.ggorri.game;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * 꼬리 고리(팀장들의 타겟 순환)와 팀 구성을 함께 보관하는 그래프입니다.
+ * 팀장마다 앞(타겟)/뒤(나를 쫓는 팀장) 링크를 모두 가지고, 팀장은 자기 노예 목록을, 노예는 팀장을 가리킵니다.
+ * 그래서 "누가 나를 쫓는가", "내 팀장은 누구인가", "같은 팀인가" 조회와 처치/이탈 시 고리 조정이 전체 참가자를 훑지 않고 O(1)에 끝납니다.
+ * (팀장 이탈 시 노예 전원을 새 팀장에게 옮기는 것만 그 팀 크기에 비례)
+ * 팀장이 이탈했을 때 승격될 후계자도 팀 구성이 바뀔 때마다 미리 뽑아 둡니다. 노예 중 무작위 한 명이 되도록
+ * 편입 시에는 1/팀원 수 확률로 교체하고, 후계자가 빠지면 남은 노예 중에서 다시 뽑습니다.
+ * 변경할 때마다 PlayerGameData의 역할/타겟/팀장 필드도 같이 갱신하므로, 기존처럼 PlayerGameData를 읽는 코드는 그대로 동작합니다.
+ * 접속 중인 참가자 수와 팀별 접속 인원도 접속/퇴장과 팀 변경 때마다 갱신하므로 승리 조건도 O(1)에 확인합니다.
+ * 메인 스레드에서만 사용합니다.
+ */
+public class ChainGraph {
+    private final Random random;
+    private final Map<UUID, Node> nodes = new HashMap<>();
+    private final List<Node> leaders = new ArrayList<>(); // 인덱스는 Node.leaderSlot (제거 시 마지막 원소와 교체)
+    private int onlineCount; // 접속 중인 참가자 수
+    private Consumer<PlayerGameData> changeListener; // PlayerGameData가 바뀔 때마다 호출 (저널 기록용)
+
+    private static final class Node {
+        private final PlayerGameData data;
+        private PlayerRole role = PlayerRole.MEMBER;
+        private Node target; // 팀장일 때만: 내가 쫓는 팀장
+        private Node hunter; // 팀장일 때만: 나를 쫓는 팀장
+        private Node master; // 노예일 때만: 내 팀장
+        private final List<Node> slaves = new ArrayList<>(); // 팀장일 때만 (인덱스는 Node.slaveSlot)
+        private Node heir; // 팀장일 때만: 이탈 시 승격될 노예 (노예가 없으면 null)
+        private int slaveSlot = -1;
+        private int leaderSlot = -1;
+        private boolean online; // 새 노드는 접속하지 않은 상태로 시작 (setOnline으로 갱신)
+        private int teamOnline; // 팀장일 때만: 팀장 자신을 포함한 팀의 접속 인원
+
+        private Node(PlayerGameData data) {
+            this.data = data;
+        }
+
+        private UUID uuid() {
+            return data.getPlayerUUID();
+        }
+    }
+
+    public ChainGraph(Random random) {
+        this.random = random;
+    }
+
+    public void setChangeListener(Consumer<PlayerGameData> changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    private void changed(Node node) {
+        if (changeListener != null) {
+            changeListener.accept(node.data);
+        }
+    }
+
+    /**
+     * 모든 링크를 지우고, 주어진 순서대로 모두를 팀장으로 하는 하나의 고리를 만듭니다. (게임 시작 시)
+     * i번째 플레이어는 i+1번째를 쫓습니다.
+     */
+    public void buildRing(List<PlayerGameData> order) {
+        clear();
+        List<Node> ring = new ArrayList<>(order.size());
+        for (PlayerGameData data : order) {
+            Node node = new Node(data);
+            nodes.put(data.getPlayerUUID(), node);
+            ring.add(node);
+        }
+        linkRing(ring);
+    }
+
+    /**
+     * PlayerGameData에 남아 있는 역할/타겟/팀장 필드로 그래프를 다시 만듭니다. (저널 복구 시)
+     * 후계자는 새로 뽑습니다. 결과가 올바른지는 호출한 쪽에서 validate로 확인합니다.
+     */
+    public void restore(Collection<PlayerGameData> players) {
+        clear();
+        for (PlayerGameData data : players) {
+            nodes.put(data.getPlayerUUID(), new Node(data));
+        }
+        for (Node node : nodes.values()) {
+            node.role = node.data.getRole();
+            if (node.role == PlayerRole.LEADER) {
+                node.leaderSlot = leaders.size();
+                leaders.add(node);
+            }
+        }
+        for (Node node : nodes.values()) {
+            if (node.role == PlayerRole.LEADER) {
+                Node target = nodes.get(node.data.getDirectTargetUUID());
+                if (target != null) {
+                    node.target = target;
+                    target.hunter = node;
+                }
+            } else if (node.role == PlayerRole.SLAVE) {
+                Node master = nodes.get(node.data.getMasterUUID());
+                if (master != null && master.role == PlayerRole.LEADER) {
+                    node.master = master;
+                    node.slaveSlot = master.slaves.size();
+                    master.slaves.add(node);
+                    if (master.heir == null || random.nextInt(master.slaves.size()) == 0) {
+                        master.heir = node;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 현재 팀장들을 무작위 순서로 새 고리로 다시 잇습니다. 팀 구성은 그대로 둡니다.
+     */
+    public void reshuffleRing() {
+        List<Node> ring = new ArrayList<>(leaders);
+        Collections.shuffle(ring, random);
+        linkRing(ring);
+    }
+
+    private void linkRing(List<Node> ring) {
+        for (int i = 0; i < ring.size(); i++) {
+            Node node = ring.get(i);
+            if (node.role != PlayerRole.LEADER) {
+                setRole(node, PlayerRole.LEADER);
+            }
+            node.master = null;
+            node.data.setMasterUUID(null);
+            changed(node);
+            setTarget(node, ring.get((i + 1) % ring.size()));
+        }
+    }
+
+    /**
+     * victim을 master 팀에 편입시킵니다. (처치 시)
+     * victim이 팀장이었다면 고리에서 빠지고 victim을 쫓던 팀장이 victim의 타겟을 물려받으며, victim의 노예들도 함께 편입됩니다.
+     * master가 노예라면 그 팀장의 팀으로 편입됩니다.
+     *
+     * @return victim이 편입된 팀의 팀장, 어느 한쪽이 그래프에 없으면 null
+     */
+    public UUID enslave(UUID masterUUID, UUID victimUUID) {
+        Node killer = nodes.get(masterUUID);
+        Node victim = nodes.get(victimUUID);
+        if (killer == null || victim == null || killer == victim) {
+            return null;
+        }
+        Node leader = leaderOf(killer);
+        if (leader == victim) {
+            return null; // 자기 팀장을 노예로 만들 수는 없음
+        }
+        detachFromRing(victim);
+        detachFromTeam(victim);
+        // victim의 노예들도 새 팀으로
+        while (!victim.slaves.isEmpty()) {
+            Node slave = victim.slaves.get(victim.slaves.size() - 1);
+            detachFromTeam(slave);
+            attachToTeam(slave, leader);
+        }
+        resetTeam(victim);
+        attachToTeam(victim, leader);
+        return leader.uuid();
+    }
+
+    /**
+     * 플레이어를 그래프에서 뺍니다. (게임 이탈 시)
+     * 팀장이었다면 미리 뽑아 둔 후계자를 새 팀장으로 세워 같은 고리 자리를 물려주고 나머지 노예를 그 팀에 넣습니다.
+     * 노예가 없으면 고리에서 빠지고 이 팀장을 쫓던 팀장이 그 타겟을 물려받습니다.
+     *
+     * @return 새로 승격된 팀장, 없으면 null
+     */
+    public UUID remove(UUID playerUUID) {
+        Node node = nodes.get(playerUUID);
+        if (node == null) {
+            return null;
+        }
+        Node promoted = null;
+        if (node.role == PlayerRole.LEADER && !node.slaves.isEmpty()) {
+            promoted = node.heir;
+            detachFromTeam(promoted);
+            // 고리 자리를 그대로 넘김
+            Node target = node.target == node ? promoted : node.target;
+            Node hunter = node.hunter == node ? promoted : node.hunter;
+            setRole(promoted, PlayerRole.LEADER);
+            setTarget(hunter, promoted);
+            setTarget(promoted, target);
+            node.target = null;
+            node.hunter = null;
+            removeLeaderSlot(node);
+            while (!node.slaves.isEmpty()) {
+                Node slave = node.slaves.get(node.slaves.size() - 1);
+                detachFromTeam(slave);
+                attachToTeam(slave, promoted);
+            }
+        } else {
+            detachFromRing(node);
+            detachFromTeam(node);
+            removeLeaderSlot(node);
+        }
+        nodes.remove(playerUUID);
+        if (node.online) {
+            onlineCount--;
+            node.online = false;
+        }
+        resetTeam(node);
+        node.role = PlayerRole.MEMBER;
+        node.data.setRole(PlayerRole.MEMBER);
+        node.data.setDirectTargetUUID(null);
+        node.data.setMasterUUID(null);
+        changed(node);
+        return promoted != null ? promoted.uuid() : null;
+    }
+
+    public void clear() {
+        nodes.clear();
+        leaders.clear();
+        onlineCount = 0;
+    }
+
+    /**
+     * 참가자의 접속 상태를 갱신합니다. (접속/퇴장 시)
+     *
+     * @return 상태가 바뀌었으면 true, 그래프에 없거나 이미 같은 상태면 false
+     */
+    public boolean setOnline(UUID playerUUID, boolean online) {
+        Node node = nodes.get(playerUUID);
+        if (node == null || node.online == online) {
+            return false;
+        }
+        node.online = online;
+        int delta = online ? 1 : -1;
+        onlineCount += delta;
+        leaderOf(node).teamOnline += delta;
+        return true;
+    }
+
+    // --- 내부 링크 조작 (모두 O(1)) ---
+
+    private void setRole(Node node, PlayerRole role) {
+        if (node.role == PlayerRole.LEADER && role != PlayerRole.LEADER) {
+            removeLeaderSlot(node);
+            node.teamOnline = 0;
+        } else if (node.role != PlayerRole.LEADER && role == PlayerRole.LEADER) {
+            node.leaderSlot = leaders.size();
+            leaders.add(node);
+            node.teamOnline = node.online ? 1 : 0; // 노예가 없는 상태에서만 팀장이 됨
+        }
+        node.role = role;
+        node.data.setRole(role);
+        changed(node);
+    }
+
+    private void removeLeaderSlot(Node node) {
+        if (node.leaderSlot < 0) {
+            return;
+        }
+        Node last = leaders.remove(leaders.size() - 1);
+        if (last != node) {
+            leaders.set(node.leaderSlot, last);
+            last.leaderSlot = node.leaderSlot;
+        }
+        node.leaderSlot = -1;
+    }
+
+    private void setTarget(Node node, Node target) {
+        node.target = target;
+        target.hunter = node;
+        node.data.setDirectTargetUUID(target.uuid());
+        changed(node);
+    }
+
+    /**
+     * 팀장을 고리에서 빼고 앞뒤를 잇습니다. 팀장이 아니면 아무것도 하지 않습니다.
+     */
+    private void detachFromRing(Node node) {
+        if (node.role != PlayerRole.LEADER || node.target == null) {
+            return;
+        }
+        Node hunter = node.hunter;
+        Node target = node.target;
+        if (hunter != node) {
+            if (target == node) {
+                hunter.target = null; // 이론상 도달하지 않음 (앞뒤가 모두 자기 자신이어야 함)
+            } else {
+                setTarget(hunter, target);
+            }
+        }
+        node.target = null;
+        node.hunter = null;
+        node.data.setDirectTargetUUID(null);
+        changed(node);
+    }
+
+    private void detachFromTeam(Node node) {
+        Node master = node.master;
+        if (master == null) {
+            return;
+        }
+        Node last = master.slaves.remove(master.slaves.size() - 1);
+        if (last != node) {
+            master.slaves.set(node.slaveSlot, last);
+            last.slaveSlot = node.slaveSlot;
+        }
+        node.slaveSlot = -1;
+        node.master = null;
+        if (node.online) {
+            master.teamOnline--;
+        }
+        if (master.heir == node) {
+            master.heir = master.slaves.isEmpty() ? null : master.slaves.get(random.nextInt(master.slaves.size()));
+        }
+    }
+
+    /**
+     * 팀장으로서의 팀 정보(후계자, 팀 접속 인원)를 지웁니다. 노예를 모두 내보낸 뒤 팀장 자리에서 내려올 때 호출합니다.
+     * 남겨 두면 나중에 다시 팀장이 됐을 때 validate에서 후계자/접속 인원 오류가 납니다.
+     */
+    private void resetTeam(Node node) {
+        node.heir = null;
+        node.teamOnline = 0;
+    }
+
+    private void attachToTeam(Node node, Node leader) {
+        setRole(node, PlayerRole.SLAVE);
+        node.master = leader;
+        node.slaveSlot = leader.slaves.size();
+        leader.slaves.add(node);
+        if (node.online) {
+            leader.teamOnline++;
+        }
+        if (leader.heir == null || random.nextInt(leader.slaves.size()) == 0) {
+            leader.heir = node; // 후계자가 노예 중 균등한 무작위가 되도록 교체
+        }
+        node.data.setMasterUUID(leader.uuid());
+        node.data.setDirectTargetUUID(null);
+        changed(node);
+    }
+
+    private Node leaderOf(Node node) {
+        return node.role == PlayerRole.SLAVE && node.master != null ? node.master : node;
+    }
+
+    // --- 조회 (모두 O(1), 팀 목록만 팀 크기에 비례) ---
+
+    public boolean contains(UUID playerUUID) {
+        return nodes.containsKey(playerUUID);
+    }
+
+    /**
+     * @return 이 팀장이 쫓는 팀장, 팀장이 아니면 null
+     */
+    public UUID getTarget(UUID playerUUID) {
+        Node node = nodes.get(playerUUID);
+        return node != null && node.target != null ? node.target.uuid() : null;
+    }
+
+    /**
+     * @return 이 팀장을 쫓는 팀장, 팀장이 아니면 null
+     */
+    public UUID getHunter(UUID playerUUID) {
+        Node node = nodes.get(playerUUID);
+        return node != null && node.hunter != null ? node.hunter.uuid() : null;
+    }
+
+    /**
+     * @return 소속 팀의 팀장 (팀장이면 자기 자신), 그래프에 없으면 null
+     */
+    public UUID getLeaderOf(UUID playerUUID) {
+        Node node = nodes.get(playerUUID);
+        return node != null ? leaderOf(node).uuid() : null;
+    }
+
+    /**
+     * 두 플레이어가 같은 팀(같은 팀장 아래)인지 확인합니다. 둘 중 하나라도 그래프에 없으면 false.
+     */
+    public boolean isSameTeam(UUID first, UUID second) {
+        Node a = nodes.get(first);
+        Node b = nodes.get(second);
+        return a != null && b != null && leaderOf(a) == leaderOf(b);
+    }
+
+    /**
+     * @return 팀장을 포함한 팀 인원, 팀장이 아니면 0
+     */
+    public int getTeamSize(UUID leaderUUID) {
+        Node node = nodes.get(leaderUUID);
+        return node != null && node.role == PlayerRole.LEADER ? node.slaves.size() + 1 : 0;
+    }
+
+    /**
+     * @return 이 팀장이 이탈하면 승격될 노예, 없으면 null
+     */
+    public UUID getHeir(UUID leaderUUID) {
+        Node node = nodes.get(leaderUUID);
+        return node != null && node.heir != null ? node.heir.uuid() : null;
+    }
+
+    /**
+     * @return 이 팀장의 노예 목록 (복사본), 팀장이 아니면 빈 목록
+     */
+    public List<UUID> getSlaves(UUID leaderUUID) {
+        Node node = nodes.get(leaderUUID);
+        List<UUID> slaves = new ArrayList<>();
+        if (node != null) {
+            for (Node slave : node.slaves) {
+                slaves.add(slave.uuid());
+            }
+        }
+        return slaves;
+    }
+
+    /**
+     * @return 팀장을 포함한 팀의 접속 인원, 팀장이 아니면 0
+     */
+    public int getOnlineTeamSize(UUID leaderUUID) {
+        Node node = nodes.get(leaderUUID);
+        return node != null && node.role == PlayerRole.LEADER ? node.teamOnline : 0;
+    }
+
+    public boolean isOnline(UUID playerUUID) {
+        Node node = nodes.get(playerUUID);
+        return node != null && node.online;
+    }
+
+    /**
+     * @return 그래프에 있는 참가자 중 접속 중인 인원
+     */
+    public int getOnlineCount() {
+        return onlineCount;
+    }
+
+    public int getLeaderCount() {
+        return leaders.size();
+    }
+
+    /**
+     * @return i번째 팀장 (순서는 고리 순서와 무관)
+     */
+    public UUID getLeader(int index) {
+        return leaders.get(index).uuid();
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * 그래프 불변 조건을 검사합니다. 전체를 훑으므로 디버그/통계용으로만 호출합니다.
+     *
+     * @return 위반 내용 목록 (비어 있으면 정상)
+     */
+    public List<String> validate() {
+        List<String> problems = new ArrayList<>();
+        int slaveCount = 0;
+        int online = 0;
+        for (Node node : nodes.values()) {
+            if (node.online) {
+                online++;
+            }
+            if (node.role != node.data.getRole()) {
+                problems.add(node.uuid() + ": 역할 불일치 (" + node.role + " / " + node.data.getRole() + ")");
+            }
+            switch (node.role) {
+                case LEADER:
+                    if (node.leaderSlot < 0 || leaders.get(node.leaderSlot) != node) {
+                        problems.add(node.uuid() + ": 팀장 목록 위치 오류");
+                    }
+                    if (node.target == null || node.target.hunter != node || node.target.role != PlayerRole.LEADER) {
+                        problems.add(node.uuid() + ": 타겟 링크 오류");
+                    } else if (!node.target.uuid().equals(node.data.getDirectTargetUUID())) {
+                        problems.add(node.uuid() + ": 타겟 필드 불일치");
+                    }
+                    if ((node.heir == null) != node.slaves.isEmpty() || (node.heir != null && node.heir.master != node)) {
+                        problems.add(node.uuid() + ": 후계자 오류");
+                    }
+                    int teamOnline = node.online ? 1 : 0;
+                    for (int i = 0; i < node.slaves.size(); i++) {
+                        Node slave = node.slaves.get(i);
+                        if (slave.master != node || slave.slaveSlot != i) {
+                            problems.add(node.uuid() + ": 노예 목록 오류 (" + slave.uuid() + ")");
+                        }
+                        if (slave.online) {
+                            teamOnline++;
+                        }
+                    }
+                    if (teamOnline != node.teamOnline) {
+                        problems.add(node.uuid() + ": 팀 접속 인원(" + node.teamOnline + ")이 실제(" + teamOnline + ")와 다름");
+                    }
+                    break;
+                case SLAVE:
+                    slaveCount++;
+                    if (node.master == null || node.master.role != PlayerRole.LEADER) {
+                        problems.add(node.uuid() + ": 노예의 팀장이 팀장이 아님");
+                    } else if (!node.master.uuid().equals(node.data.getMasterUUID())) {
+                        problems.add(node.uuid() + ": 팀장 필드 불일치");
+                    }
+                    if (node.target != null || node.hunter != null) {
+                        problems.add(node.uuid() + ": 노예가 고리에 연결됨");
+                    }
+                    break;
+                default:
+                    problems.add(node.uuid() + ": 역할 없음 (MEMBER)");
+                    break;
+            }
+        }
+        // 고리가 모든 팀장을 한 번씩 지나는 하나의 순환인지
+        if (!leaders.isEmpty() && problems.isEmpty()) {
+            Node start = leaders.get(0);
+            Node current = start;
+            int steps = 0;
+            do {
+                current = current.target;
+                steps++;
+            } while (current != start && steps <= leaders.size());
+            if (steps != leaders.size()) {
+                problems.add("고리 길이(" + steps + ")가 팀장 수(" + leaders.size() + ")와 다름");
+            }
+        }
+        int teamMembers = 0;
+        for (Node leader : leaders) {
+            teamMembers += leader.slaves.size();
+        }
+        if (teamMembers != slaveCount) {
+            problems.add("팀 목록의 노예 수(" + teamMembers + ")와 노예 수(" + slaveCount + ")가 다름");
+        }
+        if (online != onlineCount) {
+            problems.add("접속 인원(" + onlineCount + ")이 실제(" + online + ")와 다름");
+        }
+        return problems;
+    }
+}
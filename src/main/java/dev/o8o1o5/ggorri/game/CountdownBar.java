@@ -0,0 +1,79 @@
+package dev.o8o1o5.ggorri.game;
+
+import org.bukkit.Server;
+import org.bukkit.boss.BarColor;
+import org.bukkit.boss.BarStyle;
+import org.bukkit.boss.BossBar;
+import org.bukkit.entity.Player;
+
+/**
+ * 남은 시간을 보여주는 보스바입니다. (자기장 단계, 부활 대기 등)
+ * 제목/색/진행도를 마지막으로 보낸 값과 비교해 화면에 보이는 값이 바뀔 때만 보스바에 반영하므로,
+ * 같은 값을 매초 다시 보내지 않습니다. 진행도는 PROGRESS_STEPS 단계로 나누어 비교합니다.
+ * 메인 스레드에서만 사용합니다.
+ */
+public class CountdownBar {
+    private static final int PROGRESS_STEPS = 100;
+
+    private final BossBar bossBar;
+    private String lastTitle;
+    private BarColor lastColor;
+    private int lastProgressStep = -1;
+    private long updateCount; // 통계: 실제로 반영한 변경 횟수
+
+    public CountdownBar(Server server, BarColor color) {
+        this.bossBar = server.createBossBar("", color, BarStyle.SOLID);
+        this.lastColor = color;
+    }
+
+    /**
+     * 표시할 값을 갱신합니다. 이전과 같은 값은 무시합니다.
+     *
+     * @param progress 0.0 ~ 1.0 (범위를 벗어나면 잘라냄)
+     */
+    public void update(String title, BarColor color, double progress) {
+        boolean changed = false;
+        if (!title.equals(lastTitle)) {
+            bossBar.setTitle(title);
+            lastTitle = title;
+            changed = true;
+        }
+        if (color != lastColor) {
+            bossBar.setColor(color);
+            lastColor = color;
+            changed = true;
+        }
+        double clamped = Math.max(0.0, Math.min(1.0, progress));
+        int step = (int) Math.round(clamped * PROGRESS_STEPS);
+        if (step != lastProgressStep) {
+            bossBar.setProgress((double) step / PROGRESS_STEPS);
+            lastProgressStep = step;
+            changed = true;
+        }
+        if (changed) {
+            updateCount++;
+        }
+    }
+
+    /**
+     * 보스바를 보여줄 플레이어를 추가합니다. 이미 보고 있으면 아무것도 하지 않습니다. (재접속한 플레이어는 다시 추가해야 함)
+     */
+    public void addViewer(Player player) {
+        bossBar.addPlayer(player);
+    }
+
+    public void removeViewer(Player player) {
+        bossBar.removePlayer(player);
+    }
+
+    /**
+     * 모든 플레이어에게서 보스바를 숨깁니다. 다시 쓰려면 addViewer로 추가합니다.
+     */
+    public void removeAll() {
+        bossBar.removeAll();
+    }
+
+    public long getUpdateCount() {
+        return updateCount;
+    }
+}
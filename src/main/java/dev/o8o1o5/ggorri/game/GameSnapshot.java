@@ -0,0 +1,222 @@
+package dev.o8o1o5.ggorri.game;
+
+import dev.o8o1o5.ggorri.border.BorderSchedule;
+import dev.o8o1o5.ggorri.manager.GameManager;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 한 시점의 게임 상태를 담은 변경 불가능한 스냅샷입니다.
+ * GameManager가 상태가 바뀐 틱이 끝날 때 새로 만들어 volatile 참조를 교체하므로, 어느 스레드에서든 잠금 없이 읽을 수 있습니다.
+ * 여러 값을 읽을 때는 같은 스냅샷 참조를 들고 읽어야 서로 맞는 값을 얻습니다.
+ */
+public final class GameSnapshot {
+    public static final GameSnapshot EMPTY = new GameSnapshot(0L, 0L, GameManager.GameStatus.WAITING, Collections.emptyList(), 0, null);
+
+    private final long sequence;
+    private final long publishedAtMillis;
+    private final GameManager.GameStatus status;
+    private final List<Participant> participants;
+    private final Map<UUID, Participant> participantsByUUID;
+    private final int leaderCount;
+    private final int onlineCount;
+    private final Border border; // 자기장 시스템이 동작 중이 아니면 null
+
+    /**
+     * 참가자 한 명의 상태.
+     */
+    public static final class Participant {
+        private final UUID uuid;
+        private final String name;
+        private final PlayerRole role;
+        private final UUID masterUUID;
+        private final UUID targetUUID;
+        private final int deathCount;
+        private final boolean online;
+
+        public Participant(UUID uuid, String name, PlayerRole role, UUID masterUUID, UUID targetUUID, int deathCount, boolean online) {
+            this.uuid = uuid;
+            this.name = name;
+            this.role = role;
+            this.masterUUID = masterUUID;
+            this.targetUUID = targetUUID;
+            this.deathCount = deathCount;
+            this.online = online;
+        }
+
+        public UUID getUUID() {
+            return uuid;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public PlayerRole getRole() {
+            return role;
+        }
+
+        /**
+         * @return 노예일 때 소속 팀장, 아니면 null
+         */
+        public UUID getMasterUUID() {
+            return masterUUID;
+        }
+
+        /**
+         * @return 팀장일 때 쫓는 팀장, 아니면 null
+         */
+        public UUID getTargetUUID() {
+            return targetUUID;
+        }
+
+        public int getDeathCount() {
+            return deathCount;
+        }
+
+        public boolean isOnline() {
+            return online;
+        }
+    }
+
+    /**
+     * 자기장 일정 상태. 남은 시간은 스냅샷을 만든 시각 이후 실제 시간이 흐른 만큼 줄여서 계산합니다.
+     * (서버가 느려지면 실제 일정보다 조금 앞서 갈 수 있음)
+     */
+    public static final class Border {
+        private final int phase;
+        private final int phaseCount;
+        private final BorderSchedule.State state;
+        private final long stateElapsedTicks;
+        private final long stateDurationTicks;
+        private final long capturedAtMillis;
+        private final double centerX;
+        private final double centerZ;
+        private final double size;
+        private final double nextSize;
+
+        public Border(int phase, int phaseCount, BorderSchedule.State state, long stateElapsedTicks, long stateDurationTicks,
+                      long capturedAtMillis, double centerX, double centerZ, double size, double nextSize) {
+            this.phase = phase;
+            this.phaseCount = phaseCount;
+            this.state = state;
+            this.stateElapsedTicks = stateElapsedTicks;
+            this.stateDurationTicks = stateDurationTicks;
+            this.capturedAtMillis = capturedAtMillis;
+            this.centerX = centerX;
+            this.centerZ = centerZ;
+            this.size = size;
+            this.nextSize = nextSize;
+        }
+
+        public int getPhase() {
+            return phase;
+        }
+
+        public int getPhaseCount() {
+            return phaseCount;
+        }
+
+        public BorderSchedule.State getState() {
+            return state;
+        }
+
+        /**
+         * @return 현재 상태(공지/대기/수축)가 끝날 때까지 남은 시간 (틱), 모든 단계가 끝났으면 0
+         */
+        public long getRemainingTicks(long nowMillis) {
+            long passedTicks = Math.max(0L, nowMillis - capturedAtMillis) / 50L;
+            return Math.max(0L, stateDurationTicks - stateElapsedTicks - passedTicks);
+        }
+
+        public double getCenterX() {
+            return centerX;
+        }
+
+        public double getCenterZ() {
+            return centerZ;
+        }
+
+        /**
+         * @return 스냅샷을 만든 시각의 자기장 크기 (수축 중이면 이후 계속 줄어듦)
+         */
+        public double getSize() {
+            return size;
+        }
+
+        /**
+         * @return 이번 단계의 목표 크기
+         */
+        public double getNextSize() {
+            return nextSize;
+        }
+    }
+
+    public GameSnapshot(long sequence, long publishedAtMillis, GameManager.GameStatus status, List<Participant> participants,
+                        int leaderCount, Border border) {
+        this.sequence = sequence;
+        this.publishedAtMillis = publishedAtMillis;
+        this.status = status;
+        this.participants = Collections.unmodifiableList(participants);
+        Map<UUID, Participant> byUUID = new LinkedHashMap<>();
+        int online = 0;
+        for (Participant participant : participants) {
+            byUUID.put(participant.getUUID(), participant);
+            if (participant.isOnline()) {
+                online++;
+            }
+        }
+        this.participantsByUUID = Collections.unmodifiableMap(byUUID);
+        this.leaderCount = leaderCount;
+        this.onlineCount = online;
+        this.border = border;
+    }
+
+    /**
+     * @return 발행 순번 (새 스냅샷마다 1씩 증가)
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getPublishedAtMillis() {
+        return publishedAtMillis;
+    }
+
+    public GameManager.GameStatus getStatus() {
+        return status;
+    }
+
+    public List<Participant> getParticipants() {
+        return participants;
+    }
+
+    /**
+     * @return 참가자 상태, 참가자가 아니면 null
+     */
+    public Participant getParticipant(UUID uuid) {
+        return participantsByUUID.get(uuid);
+    }
+
+    public int getLeaderCount() {
+        return leaderCount;
+    }
+
+    public int getOnlineCount() {
+        return onlineCount;
+    }
+
+    public Border getBorder() {
+        return border;
+    }
+
+    public String getStatusLine() {
+        return "상태 스냅샷: #" + sequence + " " + status + ", 참가 " + participants.size() + "명 (접속 " + onlineCount + "명), 팀장 " + leaderCount + "명" +
+                (border != null ? ", 자기장 " + (border.getPhase() + 1) + "/" + border.getPhaseCount() + "단계 " + border.getState() : "") +
+                (publishedAtMillis > 0 ? ", " + (System.currentTimeMillis() - publishedAtMillis) / 1000 + "초 전 발행" : "");
+    }
+}
@@ -0,0 +1,162 @@
+package dev.o8o1o5.ggorri.game;
+
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 참가자마다 0부터 capacity-1 사이의 정수 슬롯을 배정합니다.
+ * 피격 기록처럼 자주 바뀌는 참가자별 값은 슬롯으로 찾는 기본형 배열에 두어, 매번 UUID 해시 조회나 박싱을 하지 않습니다.
+ * 접속 중인 참가자의 Player 핸들도 접속/퇴장 때 갱신해 둡니다. 메인 스레드에서만 사용합니다.
+ */
+public class ParticipantRegistry {
+    public static final int NO_SLOT = -1;
+
+    private final int capacity;
+    private final Map<UUID, Integer> slots = new HashMap<>(); // 참가 인원만큼의 작은 정수라 Integer 캐시를 그대로 씀
+    private final UUID[] uuids;
+    private final Player[] players; // 오프라인이면 null
+    private final long[] damageAt; // [피해자 슬롯 * capacity + 공격자 슬롯] = 마지막 피격 시각 (0이면 기록 없음)
+    private final int[] freeSlots; // 빈 슬롯 스택 (작은 번호부터 꺼냄)
+    private int freeCount;
+
+    public ParticipantRegistry(int capacity) {
+        this.capacity = capacity;
+        this.uuids = new UUID[capacity];
+        this.players = new Player[capacity];
+        this.damageAt = new long[capacity * capacity];
+        this.freeSlots = new int[capacity];
+        clear();
+    }
+
+    /**
+     * 참가자에게 슬롯을 배정합니다. 이미 등록되어 있으면 같은 슬롯을 돌려주고 핸들만 갱신합니다.
+     *
+     * @param player 접속 중이면 핸들, 아니면 null
+     * @return 배정된 슬롯, 자리가 없으면 NO_SLOT
+     */
+    public int register(UUID uuid, Player player) {
+        Integer existing = slots.get(uuid);
+        if (existing != null) {
+            players[existing] = player;
+            return existing;
+        }
+        if (freeCount == 0) {
+            return NO_SLOT;
+        }
+        int slot = freeSlots[--freeCount];
+        slots.put(uuid, slot);
+        uuids[slot] = uuid;
+        players[slot] = player;
+        clearDamage(slot);
+        return slot;
+    }
+
+    /**
+     * 참가자의 슬롯을 반납합니다. 그 슬롯의 피격 기록도 지웁니다.
+     */
+    public void unregister(UUID uuid) {
+        Integer slot = slots.remove(uuid);
+        if (slot == null) {
+            return;
+        }
+        clearDamage(slot);
+        uuids[slot] = null;
+        players[slot] = null;
+        freeSlots[freeCount++] = slot;
+    }
+
+    public void clear() {
+        slots.clear();
+        Arrays.fill(uuids, null);
+        Arrays.fill(players, null);
+        Arrays.fill(damageAt, 0L);
+        freeCount = capacity;
+        for (int i = 0; i < capacity; i++) {
+            freeSlots[i] = capacity - 1 - i;
+        }
+    }
+
+    /**
+     * @return 참가자의 슬롯, 참가자가 아니면 NO_SLOT
+     */
+    public int slotOf(UUID uuid) {
+        Integer slot = slots.get(uuid);
+        return slot != null ? slot : NO_SLOT;
+    }
+
+    public UUID getUUID(int slot) {
+        return uuids[slot];
+    }
+
+    /**
+     * @return 접속 중인 참가자의 핸들, 오프라인이거나 참가자가 아니면 null
+     */
+    public Player getPlayer(int slot) {
+        return slot >= 0 ? players[slot] : null;
+    }
+
+    public Player getPlayer(UUID uuid) {
+        return getPlayer(slotOf(uuid));
+    }
+
+    /**
+     * 접속/퇴장 시 핸들을 갱신합니다. 참가자가 아니면 무시합니다.
+     *
+     * @param player 접속했으면 새 핸들, 퇴장했으면 null
+     */
+    public void setPlayer(UUID uuid, Player player) {
+        int slot = slotOf(uuid);
+        if (slot != NO_SLOT) {
+            players[slot] = player;
+        }
+    }
+
+    // --- 피격 기록 ---
+
+    public void recordDamage(int attackerSlot, int victimSlot, long timeMillis) {
+        damageAt[victimSlot * capacity + attackerSlot] = timeMillis;
+    }
+
+    /**
+     * @return sinceMillis 이후 피해자에게 마지막으로 피해를 준 공격자의 슬롯, 없으면 NO_SLOT
+     */
+    public int getLastAttacker(int victimSlot, long sinceMillis) {
+        int lastAttacker = NO_SLOT;
+        long latest = Math.max(sinceMillis - 1, 0L); // 0은 기록 없음
+        int row = victimSlot * capacity;
+        for (int attacker = 0; attacker < capacity; attacker++) {
+            long time = damageAt[row + attacker];
+            if (time > latest) {
+                latest = time;
+                lastAttacker = attacker;
+            }
+        }
+        return lastAttacker;
+    }
+
+    /**
+     * 이 슬롯이 피해자이거나 공격자인 기록을 모두 지웁니다.
+     */
+    public void clearDamage(int slot) {
+        Arrays.fill(damageAt, slot * capacity, (slot + 1) * capacity, 0L);
+        for (int victim = 0; victim < capacity; victim++) {
+            damageAt[victim * capacity + slot] = 0L;
+        }
+    }
+
+    public void clearAllDamage() {
+        Arrays.fill(damageAt, 0L);
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
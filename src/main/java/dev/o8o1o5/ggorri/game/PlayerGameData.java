@@ -46,6 +46,10 @@ public class PlayerGameData {
         this.deathCount++;
     }
 
+    public void setDeathCount(int deathCount) {
+        this.deathCount = deathCount; // 저널 복구용
+    }
+
     public UUID getMasterUUID() {
         return masterUUID;
     }
@@ -0,0 +1,128 @@
+package dev.o8o1o5.ggorri.items;
+
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.logging.Logger;
+
+/**
+ * 보급 상자 아이템 표입니다. 설정(config.yml의 supply-drops.loot)을 플러그인 시작 시 한 번만 읽어
+ * 아이템 원형(ItemStack)과 누적 가중치 배열로 만들어 두고, 이후에는 바꾸지 않습니다.
+ * 뽑을 때는 원형을 복제해 개수만 정하므로 재질 이름 해석이나 설정 조회가 다시 일어나지 않습니다.
+ */
+public final class SupplyLootTable {
+    private final ItemStack[] prototypes; // 밖으로 내보내지 않음 (항상 clone)
+    private final int[] minAmounts;
+    private final int[] maxAmounts;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+    private final int rolls;
+
+    private static final int DEFAULT_ROLLS = 4;
+
+    private SupplyLootTable(ItemStack[] prototypes, int[] minAmounts, int[] maxAmounts, int[] weights, int rolls) {
+        this.prototypes = prototypes;
+        this.minAmounts = minAmounts;
+        this.maxAmounts = maxAmounts;
+        this.cumulativeWeights = new int[weights.length];
+        int sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cumulativeWeights[i] = sum;
+        }
+        this.totalWeight = sum;
+        this.rolls = rolls;
+    }
+
+    /**
+     * supply-drops 설정에서 아이템 표를 만듭니다. 잘못된 항목은 건너뛰고, 쓸 수 있는 항목이 없으면 기본 표를 사용합니다.
+     */
+    public static SupplyLootTable load(ConfigurationSection config, Logger logger) {
+        if (config == null) {
+            return defaults();
+        }
+        List<Map<?, ?>> entries = config.getMapList("loot");
+        List<ItemStack> prototypes = new ArrayList<>();
+        List<int[]> amountsAndWeights = new ArrayList<>();
+        for (Map<?, ?> entry : entries) {
+            Object name = entry.get("material");
+            Material material = name != null ? Material.matchMaterial(name.toString()) : null;
+            if (material == null || !material.isItem()) {
+                logger.warning("[GGORRI] 보급 상자 아이템 설정 오류: 알 수 없는 아이템 '" + name + "'. 건너뜁니다.");
+                continue;
+            }
+            int min = Math.max(1, Math.min(material.getMaxStackSize(), intValue(entry.get("min"), 1)));
+            int max = Math.max(min, Math.min(material.getMaxStackSize(), intValue(entry.get("max"), min)));
+            int weight = intValue(entry.get("weight"), 1);
+            if (weight <= 0) {
+                continue;
+            }
+            prototypes.add(new ItemStack(material, 1));
+            amountsAndWeights.add(new int[]{min, max, weight});
+        }
+        if (prototypes.isEmpty()) {
+            return defaults();
+        }
+        int count = prototypes.size();
+        int[] mins = new int[count];
+        int[] maxs = new int[count];
+        int[] weights = new int[count];
+        for (int i = 0; i < count; i++) {
+            mins[i] = amountsAndWeights.get(i)[0];
+            maxs[i] = amountsAndWeights.get(i)[1];
+            weights[i] = amountsAndWeights.get(i)[2];
+        }
+        int rolls = Math.max(1, config.getInt("rolls", DEFAULT_ROLLS));
+        return new SupplyLootTable(prototypes.toArray(new ItemStack[0]), mins, maxs, weights, rolls);
+    }
+
+    /**
+     * 설정이 없을 때 사용하는 기본 아이템 표.
+     */
+    public static SupplyLootTable defaults() {
+        return new SupplyLootTable(
+                new ItemStack[]{
+                        new ItemStack(Material.GOLDEN_APPLE, 1),
+                        new ItemStack(Material.ENDER_PEARL, 1),
+                        new ItemStack(Material.ARROW, 1),
+                        new ItemStack(Material.COOKED_BEEF, 1),
+                        new ItemStack(Material.IRON_CHESTPLATE, 1),
+                        new ItemStack(Material.DIAMOND_SWORD, 1)
+                },
+                new int[]{1, 1, 8, 4, 1, 1},
+                new int[]{2, 2, 16, 8, 1, 1},
+                new int[]{4, 3, 5, 6, 2, 1},
+                DEFAULT_ROLLS);
+    }
+
+    private static int intValue(Object value, int fallback) {
+        return value instanceof Number ? ((Number) value).intValue() : fallback;
+    }
+
+    /**
+     * 상자 하나에 넣을 아이템을 뽑습니다. 돌려주는 ItemStack은 모두 새로 복제한 것입니다.
+     */
+    public ItemStack[] roll(Random random) {
+        ItemStack[] items = new ItemStack[rolls];
+        for (int i = 0; i < rolls; i++) {
+            int pick = random.nextInt(totalWeight);
+            int index = 0;
+            while (cumulativeWeights[index] <= pick) {
+                index++;
+            }
+            ItemStack item = prototypes[index].clone();
+            item.setAmount(minAmounts[index] + random.nextInt(maxAmounts[index] - minAmounts[index] + 1));
+            items[i] = item;
+        }
+        return items;
+    }
+
+    public int getEntryCount() {
+        return prototypes.length;
+    }
+}
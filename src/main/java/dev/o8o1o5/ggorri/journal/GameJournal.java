@@ -0,0 +1,398 @@
+package dev.o8o1o5.ggorri.journal;
+
+import dev.o8o1o5.ggorri.GGORRI;
+import dev.o8o1o5.ggorri.game.PlayerGameData;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * 진행 중인 게임의 상태 변경을 추가 전용 바이너리 저널(game-journal.bin)에 기록합니다. (config.yml의 journal)
+ * 서버가 비정상 종료되거나 /reload 되어도 다음 시작 시 마지막 상태로 게임을 복구할 수 있게 하기 위함입니다.
+ * <p>
+ * 레코드 형식은 JournalCodec에 있습니다. 메인 스레드에서는 레코드를 바이트로 만들어 모아두기만 하고,
+ * flush-interval-ticks마다 한 묶음으로 전용 기록 스레드에 넘겨 FileChannel로 쓰고 디스크에 반영합니다.
+ * 플레이어 상태는 틱 안에서 여러 번 바뀌어도 묶음마다 마지막 상태 하나만 기록합니다.
+ * 저널은 엔티티(플레이어/자기장/부활 대기)별 최신 레코드를 함께 들고 있다가, snapshot-every-records개를 기록할 때마다
+ * 그것만 담은 새 파일로 교체(스냅샷)하므로 재생할 레코드 수는 참가자 수 정도로 유지됩니다.
+ * 게임이 정상 종료되면 파일을 지웁니다. 기록 API는 메인 스레드에서만 호출합니다.
+ */
+public class GameJournal {
+    private final GGORRI plugin;
+    private final File file;
+    private final boolean enabled;
+    private final long flushIntervalTicks;
+    private final int snapshotEveryRecords;
+
+    private ExecutorService writer; // 기록 스레드 (게임 중에만 존재)
+    private FileChannel channel; // 기록 스레드에서만 사용
+    private BukkitTask flushTask;
+    private boolean active;
+
+    // 메인 스레드 상태
+    private final JournalCodec codec = new JournalCodec();
+    private final ByteArrayOutputStream batch = new ByteArrayOutputStream();
+    private final Set<PlayerGameData> dirtyPlayers = new LinkedHashSet<>();
+    private final Map<UUID, byte[]> playerRecords = new LinkedHashMap<>(); // 플레이어별 최신 레코드
+    private final Map<UUID, byte[]> respawnRecords = new LinkedHashMap<>(); // 부활 대기별 최신 레코드
+    private byte[] startRecord;
+    private byte[] borderRecord;
+    private int recordsSinceSnapshot;
+
+    // 통계
+    private long totalRecords;
+    private long totalBatches;
+    private long totalSnapshots;
+    private long totalBytes;
+    private volatile String lastError;
+
+    private static final long DEFAULT_FLUSH_INTERVAL_TICKS = 20L;
+    private static final int DEFAULT_SNAPSHOT_EVERY_RECORDS = 256;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5L;
+
+    public GameJournal(GGORRI plugin) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), "game-journal.bin");
+        this.enabled = plugin.getConfig().getBoolean("journal.enabled", true);
+        this.flushIntervalTicks = Math.max(1L, plugin.getConfig().getLong("journal.flush-interval-ticks", DEFAULT_FLUSH_INTERVAL_TICKS));
+        this.snapshotEveryRecords = Math.max(16, plugin.getConfig().getInt("journal.snapshot-every-records", DEFAULT_SNAPSHOT_EVERY_RECORDS));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * 새 저널을 시작하고 현재 참가자 상태를 첫 스냅샷으로 기록합니다. (게임 시작/복구 시)
+     */
+    public void begin(Collection<PlayerGameData> players, long startedAtMillis) {
+        if (!enabled) {
+            return;
+        }
+        if (active) {
+            close();
+        }
+        clearState();
+        writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "GGORRI-Journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        active = true;
+
+        startRecord = codec.gameStarted(startedAtMillis);
+        for (PlayerGameData data : players) {
+            playerRecords.put(data.getPlayerUUID(), codec.player(data));
+        }
+        submitSnapshot();
+
+        flushTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                flush();
+            }
+        }.runTaskTimer(plugin, flushIntervalTicks, flushIntervalTicks);
+    }
+
+    // --- 기록 API (메인 스레드) ---
+
+    /**
+     * 플레이어의 역할/타겟/팀장/사망 횟수가 바뀌었음을 알립니다. 다음 묶음에 마지막 상태만 기록됩니다.
+     */
+    public void playerChanged(PlayerGameData data) {
+        if (active) {
+            dirtyPlayers.add(data);
+        }
+    }
+
+    public void playerRemoved(UUID playerUUID) {
+        if (!active) {
+            return;
+        }
+        dirtyPlayers.removeIf(data -> data.getPlayerUUID().equals(playerUUID));
+        playerRecords.remove(playerUUID);
+        respawnRecords.remove(playerUUID);
+        append(codec.playerRemoved(playerUUID));
+    }
+
+    /**
+     * 자기장 상태를 기록합니다.
+     *
+     * @param phase 다음에 공지할 단계 (모든 단계가 끝났으면 단계 수)
+     */
+    public void borderChanged(int phase, double centerX, double centerZ, double size) {
+        if (!active) {
+            return;
+        }
+        borderRecord = codec.border(phase, centerX, centerZ, size);
+        append(borderRecord);
+    }
+
+    public void respawnScheduled(UUID playerUUID, long delayTicks, boolean nearLeader) {
+        if (!active) {
+            return;
+        }
+        byte[] record = codec.respawnPending(playerUUID, delayTicks, nearLeader);
+        respawnRecords.put(playerUUID, record);
+        append(record);
+    }
+
+    public void respawnCompleted(UUID playerUUID) {
+        if (!active || respawnRecords.remove(playerUUID) == null) {
+            return;
+        }
+        append(codec.respawnDone(playerUUID));
+    }
+
+    /**
+     * 모아둔 레코드를 기록 스레드에 넘깁니다. 기록한 레코드가 쌓였으면 대신 스냅샷으로 파일을 교체합니다.
+     */
+    public void flush() {
+        if (!active) {
+            return;
+        }
+        for (PlayerGameData data : dirtyPlayers) {
+            byte[] record = codec.player(data);
+            playerRecords.put(data.getPlayerUUID(), record);
+            append(record);
+        }
+        dirtyPlayers.clear();
+        if (batch.size() == 0) {
+            return;
+        }
+        if (recordsSinceSnapshot >= snapshotEveryRecords) {
+            batch.reset();
+            submitSnapshot();
+            return;
+        }
+        byte[] bytes = batch.toByteArray();
+        batch.reset();
+        totalBatches++;
+        totalBytes += bytes.length;
+        writer.execute(() -> write(bytes));
+    }
+
+    /**
+     * 게임이 정상 종료되었으므로 저널을 지웁니다.
+     */
+    public void end() {
+        if (!active) {
+            return;
+        }
+        stopFlushing();
+        writer.execute(() -> {
+            closeChannel();
+            try {
+                Files.deleteIfExists(file.toPath());
+            } catch (IOException e) {
+                fail("저널 파일을 지울 수 없습니다", e);
+            }
+        });
+        shutdownWriter();
+        clearState();
+    }
+
+    /**
+     * 남은 레코드를 모두 기록하고 파일은 남긴 채 닫습니다. (플러그인 비활성화 시, 다음 시작 때 복구)
+     */
+    public void close() {
+        if (!active) {
+            return;
+        }
+        flush();
+        stopFlushing();
+        writer.execute(this::closeChannel);
+        shutdownWriter();
+        clearState();
+    }
+
+    private void stopFlushing() {
+        active = false;
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+    }
+
+    private void shutdownWriter() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("[GGORRI] 게임 저널 기록 스레드가 제시간에 끝나지 않았습니다.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+    }
+
+    private void clearState() {
+        batch.reset();
+        dirtyPlayers.clear();
+        playerRecords.clear();
+        respawnRecords.clear();
+        startRecord = null;
+        borderRecord = null;
+        recordsSinceSnapshot = 0;
+    }
+
+    private void append(byte[] record) {
+        batch.write(record, 0, record.length);
+        recordsSinceSnapshot++;
+        totalRecords++;
+    }
+
+    private void submitSnapshot() {
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        byte[] header = JournalCodec.header();
+        snapshot.write(header, 0, header.length);
+        snapshot.write(startRecord, 0, startRecord.length);
+        for (byte[] record : playerRecords.values()) {
+            snapshot.write(record, 0, record.length);
+        }
+        if (borderRecord != null) {
+            snapshot.write(borderRecord, 0, borderRecord.length);
+        }
+        for (byte[] record : respawnRecords.values()) {
+            snapshot.write(record, 0, record.length);
+        }
+        byte[] bytes = snapshot.toByteArray();
+        recordsSinceSnapshot = 0;
+        totalSnapshots++;
+        totalBytes += bytes.length;
+        writer.execute(() -> replace(bytes));
+    }
+
+    // --- 파일 입출력 (기록 스레드) ---
+
+    private void write(byte[] bytes) {
+        if (channel == null) {
+            return; // 스냅샷 교체에 실패한 상태
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            fail("저널 기록 실패", e);
+        }
+    }
+
+    /**
+     * 스냅샷을 임시 파일에 쓴 뒤 원자적으로 저널 파일과 교체하고, 이후 기록은 새 파일 뒤에 이어 붙입니다.
+     */
+    private void replace(byte[] snapshot) {
+        closeChannel();
+        Path target = file.toPath();
+        Path temp = new File(file.getParentFile(), file.getName() + ".tmp").toPath();
+        try {
+            Files.createDirectories(target.getParent());
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(snapshot);
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                out.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            fail("저널 스냅샷 기록 실패", e);
+        }
+    }
+
+    private void closeChannel() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            fail("저널 파일을 닫을 수 없습니다", e);
+        }
+        channel = null;
+    }
+
+    private void fail(String message, IOException e) {
+        lastError = message + ": " + e.getMessage();
+        plugin.getLogger().log(Level.WARNING, "[GGORRI] " + message + " (" + file.getName() + ")", e);
+    }
+
+    // --- 복구 ---
+
+    /**
+     * 남아 있는 저널을 재생해 중단된 게임의 마지막 상태를 만듭니다.
+     * CRC가 맞지 않거나 잘린 레코드를 만나면 그 앞까지만 사용합니다.
+     *
+     * @return 중단된 게임이 없거나 저널을 읽을 수 없으면 null
+     */
+    public RecoveredGame recover() {
+        if (!enabled || !file.exists()) {
+            return null;
+        }
+        long startNanos = System.nanoTime();
+        ByteBuffer in;
+        try {
+            in = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        } catch (IOException e) {
+            fail("저널을 읽을 수 없습니다", e);
+            return null;
+        }
+        if (!JournalCodec.readHeader(in)) {
+            plugin.getLogger().warning("[GGORRI] 게임 저널 형식이 맞지 않아 복구하지 않습니다. (" + file.getName() + ")");
+            return null;
+        }
+        RecoveredGame game = JournalCodec.replay(in);
+        if (game != null) {
+            game.replayNanos = System.nanoTime() - startNanos;
+        }
+        return game;
+    }
+
+    /**
+     * 복구하지 않기로 한 저널을 지웁니다.
+     */
+    public void discard() {
+        if (active) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException e) {
+            fail("저널 파일을 지울 수 없습니다", e);
+        }
+    }
+
+    public String getStatusLine() {
+        if (!enabled) {
+            return "게임 저널: 꺼짐";
+        }
+        return "게임 저널: " + (active ? "기록 중" : "대기") + ", 레코드 " + totalRecords + "개 (묶음 " + totalBatches + "회, 스냅샷 " + totalSnapshots + "회, " +
+                (totalBytes / 1024) + "KB)" + (lastError != null ? " / 최근 오류: " + lastError : "");
+    }
+}
@@ -0,0 +1,212 @@
+package dev.o8o1o5.ggorri.journal;
+
+import dev.o8o1o5.ggorri.game.PlayerGameData;
+import dev.o8o1o5.ggorri.game.PlayerRole;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * 게임 저널의 바이너리 형식입니다. 파일 헤더는 [MAGIC int][VERSION int], 레코드는 [길이 int][CRC32 int][종류 byte][내용]이며
+ * 길이와 CRC는 종류 바이트부터 셉니다. 인코딩과 재생만 담당하고 파일/스레드는 GameJournal이 다루므로 서버 없이 검증할 수 있습니다.
+ * 인코더는 내부 버퍼를 재사용하므로 한 스레드에서만 사용합니다. (재생은 정적 메서드라 어디서나 가능)
+ */
+final class JournalCodec {
+    static final int MAGIC = 0x47474A52; // "GGJR"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 8;
+    static final int RECORD_HEADER_BYTES = 9; // 길이 + CRC + 종류
+
+    static final byte GAME_STARTED = 1;
+    static final byte PLAYER = 2;
+    static final byte PLAYER_REMOVED = 3;
+    static final byte BORDER = 4;
+    static final byte RESPAWN_PENDING = 5;
+    static final byte RESPAWN_DONE = 6;
+
+    private static final int MAX_PAYLOAD_BYTES = 64;
+    private static final int FLAG_TARGET = 1;
+    private static final int FLAG_MASTER = 2;
+    private static final PlayerRole[] ROLES = PlayerRole.values();
+
+    private final ByteBuffer scratch = ByteBuffer.allocate(MAX_PAYLOAD_BYTES);
+
+    // --- 인코딩 ---
+
+    static byte[] header() {
+        return ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION).array();
+    }
+
+    byte[] gameStarted(long startedAtMillis) {
+        scratch.clear();
+        scratch.putLong(startedAtMillis);
+        return encode(GAME_STARTED);
+    }
+
+    byte[] player(PlayerGameData data) {
+        putUuid(data.getPlayerUUID());
+        UUID target = data.getDirectTargetUUID();
+        UUID master = data.getMasterUUID();
+        scratch.put((byte) data.getRole().ordinal());
+        scratch.put((byte) ((target != null ? FLAG_TARGET : 0) | (master != null ? FLAG_MASTER : 0)));
+        if (target != null) {
+            scratch.putLong(target.getMostSignificantBits());
+            scratch.putLong(target.getLeastSignificantBits());
+        }
+        if (master != null) {
+            scratch.putLong(master.getMostSignificantBits());
+            scratch.putLong(master.getLeastSignificantBits());
+        }
+        scratch.putInt(data.getDeathCount());
+        return encode(PLAYER);
+    }
+
+    byte[] playerRemoved(UUID playerUUID) {
+        putUuid(playerUUID);
+        return encode(PLAYER_REMOVED);
+    }
+
+    byte[] border(int phase, double centerX, double centerZ, double size) {
+        scratch.clear();
+        scratch.putInt(phase);
+        scratch.putDouble(centerX);
+        scratch.putDouble(centerZ);
+        scratch.putDouble(size);
+        return encode(BORDER);
+    }
+
+    byte[] respawnPending(UUID playerUUID, long delayTicks, boolean nearLeader) {
+        putUuid(playerUUID);
+        scratch.putLong(delayTicks);
+        scratch.put((byte) (nearLeader ? 1 : 0));
+        return encode(RESPAWN_PENDING);
+    }
+
+    byte[] respawnDone(UUID playerUUID) {
+        putUuid(playerUUID);
+        return encode(RESPAWN_DONE);
+    }
+
+    private void putUuid(UUID uuid) {
+        scratch.clear();
+        scratch.putLong(uuid.getMostSignificantBits());
+        scratch.putLong(uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * scratch에 채운 내용으로 레코드를 만듭니다.
+     */
+    private byte[] encode(byte type) {
+        int payloadLength = scratch.position();
+        byte[] record = new byte[RECORD_HEADER_BYTES + payloadLength];
+        ByteBuffer out = ByteBuffer.wrap(record);
+        out.putInt(1 + payloadLength);
+        out.putInt(0); // CRC 자리
+        out.put(type);
+        out.put(scratch.array(), 0, payloadLength);
+        CRC32 crc = new CRC32();
+        crc.update(record, 8, 1 + payloadLength);
+        out.putInt(4, (int) crc.getValue());
+        return record;
+    }
+
+    // --- 재생 ---
+
+    /**
+     * 파일 헤더를 읽고 형식이 맞는지 확인합니다.
+     */
+    static boolean readHeader(ByteBuffer in) {
+        return in.remaining() >= HEADER_BYTES && in.getInt() == MAGIC && in.getInt() == VERSION;
+    }
+
+    /**
+     * 헤더 뒤의 레코드를 차례로 재생합니다. CRC가 맞지 않거나 잘린 레코드를 만나면 그 앞까지만 사용하고 truncated를 표시합니다.
+     *
+     * @return 재생 결과, 게임 시작 레코드가 없으면 null
+     */
+    static RecoveredGame replay(ByteBuffer in) {
+        RecoveredGame game = new RecoveredGame();
+        CRC32 crc = new CRC32();
+        while (in.remaining() >= RECORD_HEADER_BYTES) {
+            int start = in.position();
+            int length = in.getInt();
+            int expectedCrc = in.getInt();
+            if (length < 1 || length > in.remaining()) {
+                game.truncated = true;
+                break;
+            }
+            crc.reset();
+            crc.update(in.array(), in.position(), length);
+            if ((int) crc.getValue() != expectedCrc) {
+                game.truncated = true;
+                break;
+            }
+            byte type = in.get();
+            ByteBuffer payload = in.slice();
+            payload.limit(length - 1);
+            in.position(start + RECORD_HEADER_BYTES + length - 1);
+            if (!apply(game, type, payload)) {
+                game.truncated = true;
+                break;
+            }
+            game.records++;
+        }
+        if (game.records == 0 || game.startedAtMillis == 0L) {
+            return null;
+        }
+        return game;
+    }
+
+    private static boolean apply(RecoveredGame game, byte type, ByteBuffer payload) {
+        switch (type) {
+            case GAME_STARTED:
+                game.startedAtMillis = payload.getLong();
+                return true;
+            case PLAYER: {
+                PlayerGameData data = new PlayerGameData(readUuid(payload));
+                int role = payload.get();
+                int flags = payload.get();
+                if (role < 0 || role >= ROLES.length) {
+                    return false;
+                }
+                data.setRole(ROLES[role]);
+                if ((flags & FLAG_TARGET) != 0) {
+                    data.setDirectTargetUUID(readUuid(payload));
+                }
+                if ((flags & FLAG_MASTER) != 0) {
+                    data.setMasterUUID(readUuid(payload));
+                }
+                data.setDeathCount(payload.getInt());
+                game.players.put(data.getPlayerUUID(), data);
+                return true;
+            }
+            case PLAYER_REMOVED: {
+                UUID uuid = readUuid(payload);
+                game.players.remove(uuid);
+                game.pendingRespawns.remove(uuid);
+                return true;
+            }
+            case BORDER:
+                game.borderPhase = payload.getInt();
+                game.borderCenterX = payload.getDouble();
+                game.borderCenterZ = payload.getDouble();
+                game.borderSize = payload.getDouble();
+                return true;
+            case RESPAWN_PENDING: {
+                UUID uuid = readUuid(payload);
+                game.pendingRespawns.put(uuid, new RecoveredGame.PendingRespawn(payload.getLong(), payload.get() != 0));
+                return true;
+            }
+            case RESPAWN_DONE:
+                game.pendingRespawns.remove(readUuid(payload));
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static UUID readUuid(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
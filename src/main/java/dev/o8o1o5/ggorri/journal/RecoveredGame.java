@@ -0,0 +1,87 @@
+package dev.o8o1o5.ggorri.journal;
+
+import dev.o8o1o5.ggorri.game.PlayerGameData;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 저널을 재생해 얻은, 중단된 게임의 마지막 상태입니다. GameJournal.recover가 만듭니다.
+ */
+public final class RecoveredGame {
+    final Map<UUID, PlayerGameData> players = new LinkedHashMap<>();
+    final Map<UUID, PendingRespawn> pendingRespawns = new LinkedHashMap<>();
+    long startedAtMillis;
+    int borderPhase = -1; // 다음에 공지할 자기장 단계 (기록이 없으면 -1)
+    double borderCenterX;
+    double borderCenterZ;
+    double borderSize;
+    int records;
+    long replayNanos;
+    boolean truncated; // 마지막 레코드가 잘려 있었음 (기록 도중 중단)
+
+    /**
+     * 부활 대기 중이던 플레이어의 부활 설정.
+     */
+    public static final class PendingRespawn {
+        private final long delayTicks;
+        private final boolean nearLeader;
+
+        PendingRespawn(long delayTicks, boolean nearLeader) {
+            this.delayTicks = delayTicks;
+            this.nearLeader = nearLeader;
+        }
+
+        public long getDelayTicks() {
+            return delayTicks;
+        }
+
+        public boolean isNearLeader() {
+            return nearLeader;
+        }
+    }
+
+    RecoveredGame() {
+    }
+
+    public Collection<PlayerGameData> getPlayers() {
+        return Collections.unmodifiableCollection(players.values());
+    }
+
+    public Map<UUID, PendingRespawn> getPendingRespawns() {
+        return Collections.unmodifiableMap(pendingRespawns);
+    }
+
+    public long getStartedAtMillis() {
+        return startedAtMillis;
+    }
+
+    public boolean hasBorderState() {
+        return borderPhase >= 0;
+    }
+
+    public int getBorderPhase() {
+        return borderPhase;
+    }
+
+    public double getBorderCenterX() {
+        return borderCenterX;
+    }
+
+    public double getBorderCenterZ() {
+        return borderCenterZ;
+    }
+
+    public double getBorderSize() {
+        return borderSize;
+    }
+
+    public String getSummary() {
+        return "레코드 " + records + "개, 참가자 " + players.size() + "명, 자기장 " + (borderPhase >= 0 ? (borderPhase + 1) + "단계" : "기록 없음") +
+                ", 부활 대기 " + pendingRespawns.size() + "명, 재생 " + String.format("%.2f", replayNanos / 1_000_000.0) + "ms" +
+                (truncated ? " (마지막 레코드 잘림)" : "");
+    }
+}
@@ -0,0 +1,25 @@
+package dev.o8o1o5.ggorri.listeners;
+
+import dev.o8o1o5.ggorri.border.ArenaEntityPolicy;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.CreatureSpawnEvent;
+
+/**
+ * 자기장이 동작하는 동안 자기장 밖 자연 스폰(과 설정 시 청크당 몹 수 초과 스폰)을 막습니다.
+ */
+public class ArenaEntityListener implements Listener {
+    private final ArenaEntityPolicy arenaEntityPolicy;
+
+    public ArenaEntityListener(ArenaEntityPolicy arenaEntityPolicy) {
+        this.arenaEntityPolicy = arenaEntityPolicy;
+    }
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onCreatureSpawn(CreatureSpawnEvent event) {
+        if (arenaEntityPolicy.shouldCancelSpawn(event.getLocation(), event.getSpawnReason())) {
+            event.setCancelled(true);
+        }
+    }
+}
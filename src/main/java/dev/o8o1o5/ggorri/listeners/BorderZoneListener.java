@@ -0,0 +1,49 @@
+package dev.o8o1o5.ggorri.listeners;
+
+import dev.o8o1o5.ggorri.border.BorderZoneTracker;
+import org.bukkit.Location;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+
+/**
+ * 참가자가 블록 경계를 넘어 움직일 때만 자기장 구역 상태를 갱신합니다.
+ * 같은 블록 안에서의 이동(시선 회전 포함)은 좌표 비교만 하고 바로 반환합니다.
+ */
+public class BorderZoneListener implements Listener {
+    private final BorderZoneTracker zoneTracker;
+
+    public BorderZoneListener(BorderZoneTracker zoneTracker) {
+        this.zoneTracker = zoneTracker;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerMove(PlayerMoveEvent event) {
+        handleMove(event);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerTeleport(PlayerTeleportEvent event) {
+        handleMove(event);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerRespawn(PlayerRespawnEvent event) {
+        zoneTracker.markDirty(event.getPlayer().getUniqueId());
+    }
+
+    private void handleMove(PlayerMoveEvent event) {
+        if (zoneTracker.size() == 0) {
+            return; // 자기장 시스템이 동작 중이 아님
+        }
+        Location from = event.getFrom();
+        Location to = event.getTo();
+        if (to == null || (from.getWorld() == to.getWorld() && from.getBlockX() == to.getBlockX() && from.getBlockZ() == to.getBlockZ())) {
+            return;
+        }
+        zoneTracker.onBlockMove(event.getPlayer(), to.getWorld(), to.getBlockX(), to.getBlockZ());
+    }
+}
@@ -1,6 +1,8 @@
 package dev.o8o1o5.ggorri.listeners;
 
 import dev.o8o1o5.ggorri.GGORRI;
+import dev.o8o1o5.ggorri.event.GameEvent;
+import dev.o8o1o5.ggorri.game.PlayerGameData;
 import dev.o8o1o5.ggorri.game.PlayerRole;
 import dev.o8o1o5.ggorri.manager.ChainManager;
 import dev.o8o1o5.ggorri.manager.GameManager;
@@ -14,6 +16,7 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.event.entity.EntityDamageEvent.DamageCause;
+import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 
 import java.util.*;
@@ -31,7 +34,7 @@ public class GameListener implements Listener {
         this.chainManager = gameManager.getChainManager();
     }
 
-    @EventHandler
+    @EventHandler(ignoreCancelled = true) // 텔레포트 보호 등으로 이미 취소된 피해는 기록하지 않음
     public void onEntityDamageByEntity(EntityDamageByEntityEvent event) {
         // 게임 상태 체크는 유지
         if (gameManager.getCurrentStatus() != GameManager.GameStatus.IN_GAME) {
@@ -47,15 +50,8 @@ public class GameListener implements Listener {
         Player victim = (Player) event.getEntity();
         Player attacker = (Player) event.getDamager();
 
-        // 팀킬 방지 로직 (기존과 동일)
-        UUID attackerLeaderUUID = gameManager.getGameRulesManager().findTeamLeaderForSlave(attacker.getUniqueId());
-        UUID victimLeaderUUID = gameManager.getGameRulesManager().findTeamLeaderForSlave(victim.getUniqueId());
-
-        // TODO: 디버깅 로그는 개발 완료 후 제거하거나 로그 레벨 조정 (예: Level.FINE)
-        plugin.getLogger().info("팀킬 체크: 공격자(" + attacker.getName() + ") 리더: " + (attackerLeaderUUID != null ? plugin.getServer().getOfflinePlayer(attackerLeaderUUID).getName() : "없음") +
-                " 피해자(" + victim.getName() + ") 리더: " + (victimLeaderUUID != null ? plugin.getServer().getOfflinePlayer(victimLeaderUUID).getName() : "없음"));
-
-        if (attackerLeaderUUID != null && victimLeaderUUID != null && attackerLeaderUUID.equals(victimLeaderUUID)) {
+        // 팀킬 방지 로직 (팀 인덱스 조회, O(1))
+        if (chainManager.isSameTeam(attacker.getUniqueId(), victim.getUniqueId())) {
             event.setCancelled(true);
             attacker.sendMessage(ChatColor.RED + "[GGORRI] 같은 팀원에게는 데미지를 줄 수 없습니다!");
             return;
@@ -69,7 +65,7 @@ public class GameListener implements Listener {
     // 플레이어의 '사망' 처리 로직을 onPlayerDamage 이벤트로 통합
     // PlayerDeathEvent는 이 로직에서는 필요 없으므로 제거합니다.
     // ---
-    @EventHandler(priority = EventPriority.HIGHEST)
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true) // 취소된 피해로는 사망 처리하지 않음
     public void onPlayerDamage(EntityDamageEvent event) {
         if (gameManager.getCurrentStatus() != GameManager.GameStatus.IN_GAME) {
             // 게임 중이 아니면 데미지 무효 (옵션: 필요에 따라 다르게 처리 가능)
@@ -94,6 +90,9 @@ public class GameListener implements Listener {
                 // 플레이어를 스펙테이터 모드로 전환 (1틱 지연으로 안정성 확보)
                 // 이 시점에서는 클라이언트가 아직 '죽음'을 완전히 인지하지 않았을 수 있어 지연이 효과적
                 Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                    if (gameManager.getCurrentStatus() != GameManager.GameStatus.IN_GAME) {
+                        return; // 이 사망으로 승부가 나서 이미 게임이 끝남
+                    }
                     player.setGameMode(GameMode.SPECTATOR);
                     // deadPlayer.teleport(deadPlayer.getLocation()); // 고정된 위치에 묶어두고 싶다면 활성화
                 }, 1L); // 1틱(약 50ms) 지연
@@ -138,15 +137,29 @@ public class GameListener implements Listener {
     //     // 따라서 이 메서드는 제거하거나, 특정 상황에만 필요한 로직이 있다면 최소한으로 유지해야 합니다.
     // }
 
+    @EventHandler
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        // 접속 인원은 승리 조건 확인에 쓰임 (접속만으로 승부가 나지는 않으므로 확인은 하지 않음)
+        playerManager.updatePlayerHandle(event.getPlayer().getUniqueId(), event.getPlayer());
+        chainManager.setOnline(event.getPlayer().getUniqueId(), true);
+    }
+
     @EventHandler
     public void onPlayerQuit(PlayerQuitEvent event) {
         Player quitPlayer = event.getPlayer();
         UUID quitUUID = quitPlayer.getUniqueId();
 
-        if (playerManager.getPlayerGameData(quitUUID).getRole() != PlayerRole.LEADER) {
+        playerManager.updatePlayerHandle(quitUUID, null);
+        chainManager.setOnline(quitUUID, false);
+        PlayerGameData quitData = playerManager.getPlayerGameData(quitUUID);
+        if (gameManager.getCurrentStatus() != GameManager.GameStatus.IN_GAME || quitData == null) {
             return;
         }
 
-        chainManager.handleLeaderExit(quitUUID);
+        if (quitData.getRole() == PlayerRole.LEADER) {
+            chainManager.handleLeaderExit(quitUUID); // 승리 조건은 LeaderExited 이벤트로 이번 틱이 끝날 때 확인
+        } else {
+            gameManager.getEventBus().post(new GameEvent.ParticipantDisconnected(quitUUID)); // 승리 조건은 이번 틱이 끝날 때 확인
+        }
     }
 }
\ No newline at end of file
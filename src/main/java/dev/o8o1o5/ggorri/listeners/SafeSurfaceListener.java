@@ -0,0 +1,59 @@
+package dev.o8o1o5.ggorri.listeners;
+
+import dev.o8o1o5.ggorri.manager.SpawnManager;
+import dev.o8o1o5.ggorri.spawn.SafeSurfaceIndex;
+import org.bukkit.block.Block;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+
+import java.util.List;
+
+/**
+ * 블록이 바뀐 청크를 안전 지표면 인덱스에서 무효화합니다.
+ * 취소되지 않은 이벤트만 MONITOR 우선순위에서 처리합니다.
+ */
+public class SafeSurfaceListener implements Listener {
+    private final SpawnManager spawnManager;
+
+    public SafeSurfaceListener(SpawnManager spawnManager) {
+        this.spawnManager = spawnManager;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        invalidate(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        invalidate(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        invalidateAll(event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent event) {
+        invalidateAll(event.blockList());
+    }
+
+    private void invalidateAll(List<Block> blocks) {
+        for (Block block : blocks) {
+            invalidate(block); // 같은 청크가 반복되어도 두 번째부터는 즉시 반환됨
+        }
+    }
+
+    private void invalidate(Block block) {
+        SafeSurfaceIndex index = spawnManager.getSafeSurfaceIndex();
+        if (index != null && block.getWorld() == index.getWorld()) {
+            index.invalidate(block.getX(), block.getZ());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package dev.o8o1o5.ggorri.listeners;
+
+import dev.o8o1o5.ggorri.spawn.TeleportDispatcher;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * 텔레포트 대기 중이거나 이동 중인 플레이어가 받는 피해를 막습니다.
+ * 무적 플래그는 플레이어 데이터에 저장되어 퇴장/서버 중단 시 남을 수 있으므로, 플래그 대신 피해 이벤트를 취소합니다.
+ */
+public class TeleportGuardListener implements Listener {
+    private final TeleportDispatcher teleportDispatcher;
+
+    public TeleportGuardListener(TeleportDispatcher teleportDispatcher) {
+        this.teleportDispatcher = teleportDispatcher;
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
+    public void onEntityDamage(EntityDamageEvent event) {
+        if (event.getEntity() instanceof Player && teleportDispatcher.isHeld(event.getEntity().getUniqueId())) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        teleportDispatcher.cancel(event.getPlayer().getUniqueId());
+    }
+}
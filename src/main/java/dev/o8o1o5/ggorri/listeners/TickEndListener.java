@@ -0,0 +1,24 @@
+package dev.o8o1o5.ggorri.listeners;
+
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import dev.o8o1o5.ggorri.manager.GameManager;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+
+/**
+ * 서버 틱이 끝날 때 그 틱에 모인 게임 이벤트를 전달하고, 바뀐 게임 상태를 스냅샷으로 발행합니다.
+ * 이벤트도 바뀐 것도 없으면 값 몇 개만 비교하고 바로 반환합니다.
+ */
+public class TickEndListener implements Listener {
+    private final GameManager gameManager;
+
+    public TickEndListener(GameManager gameManager) {
+        this.gameManager = gameManager;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onTickEnd(ServerTickEndEvent event) {
+        gameManager.onTickEnd();
+    }
+}
@@ -1,8 +1,9 @@
 package dev.o8o1o5.ggorri.listeners;
 
 import dev.o8o1o5.ggorri.GGORRI;
+import dev.o8o1o5.ggorri.game.ParticipantRegistry;
+import dev.o8o1o5.ggorri.game.PlayerGameData;
 import dev.o8o1o5.ggorri.manager.PlayerManager;
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material; // Material 임포트 추가
 import org.bukkit.entity.Player;
@@ -17,8 +18,6 @@ import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.scheduler.BukkitRunnable;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.UUID;
 
 public class TrackersCompassListener implements Listener {
@@ -27,11 +26,14 @@ public class TrackersCompassListener implements Listener {
 
     // 쿨타임 시간 (틱 단위: 20틱 = 1초)
     private final int COOLDOWN_TICKS = 20; // 5초 쿨타임
-    private final Map<UUID, BukkitRunnable> compassUpdateTasks = new HashMap<>();
+    private final ParticipantRegistry participants;
+    private final BukkitRunnable[] compassUpdateTasks; // 참가자 슬롯별 나침반 갱신 태스크
 
     public TrackersCompassListener(GGORRI plugin, PlayerManager playerManager) {
         this.plugin = plugin;
         this.playerManager = playerManager;
+        this.participants = playerManager.getParticipants();
+        this.compassUpdateTasks = new BukkitRunnable[participants.capacity()];
     }
 
     @EventHandler
@@ -45,7 +47,7 @@ public class TrackersCompassListener implements Listener {
             PersistentDataContainer oldData = oldMeta.getPersistentDataContainer();
             if (oldData.has(plugin.getCustomItemIdKey(), PersistentDataType.STRING) &&
                     "trackers_compass".equals(oldData.get(plugin.getCustomItemIdKey(), PersistentDataType.STRING))) {
-                cancelCompassUpdateTask(player.getUniqueId());
+                cancelCompassUpdateTask(participants.slotOf(player.getUniqueId()));
             }
         }
 
@@ -60,25 +62,32 @@ public class TrackersCompassListener implements Listener {
     }
 
     public void disableAllCompassTask() {
-        for (BukkitRunnable task : compassUpdateTasks.values()) {
-            task.cancel();
+        for (int slot = 0; slot < compassUpdateTasks.length; slot++) {
+            cancelCompassUpdateTask(slot);
         }
-        compassUpdateTasks.clear();
     }
 
     private void startCompassUpdateTask(Player player) {
         UUID playerUUID = player.getUniqueId();
-        cancelCompassUpdateTask(playerUUID);
+        int slot = participants.slotOf(playerUUID);
+        if (slot == ParticipantRegistry.NO_SLOT) {
+            return; // 참가자만 타겟을 추적함
+        }
+        cancelCompassUpdateTask(slot);
 
         BukkitRunnable task = new BukkitRunnable() {
             @Override
             public void run() {
-                if (!player.isOnline() || !isHoldingTrackersCompass(player)) {
-                    cancelCompassUpdateTask(playerUUID);
+                PlayerGameData data = playerManager.getPlayerGameData(playerUUID);
+                if (!player.isOnline() || data == null || !isHoldingTrackersCompass(player)) {
+                    if (compassUpdateTasks[slot] == this) {
+                        compassUpdateTasks[slot] = null;
+                    }
+                    cancel();
                     return;
                 }
 
-                UUID targetUUID = playerManager.getPlayerGameData(player.getUniqueId()).getDirectTargetUUID();
+                UUID targetUUID = data.getDirectTargetUUID();
                 if (targetUUID == null) {
                     if (player.getWorld().getSpawnLocation() != null) {
                         player.setCompassTarget(player.getWorld().getSpawnLocation());
@@ -86,7 +95,7 @@ public class TrackersCompassListener implements Listener {
                     return;
                 }
 
-                Player targetPlayer = Bukkit.getPlayer(targetUUID);
+                Player targetPlayer = participants.getPlayer(targetUUID);
                 if (targetPlayer == null || !targetPlayer.isOnline() || !targetPlayer.getWorld().equals(player.getWorld())) {
                     if (player.getWorld().getSpawnLocation() != null) {
                         player.setCompassTarget(player.getWorld().getSpawnLocation());
@@ -99,13 +108,13 @@ public class TrackersCompassListener implements Listener {
         };
 
         task.runTaskTimer(plugin, 0L, COOLDOWN_TICKS);
-        compassUpdateTasks.put(playerUUID, task);
+        compassUpdateTasks[slot] = task;
     }
 
-    private void cancelCompassUpdateTask(UUID playerUUID) {
-        if (compassUpdateTasks.containsKey(playerUUID)) {
-            compassUpdateTasks.get(playerUUID).cancel();
-            compassUpdateTasks.remove(playerUUID);
+    private void cancelCompassUpdateTask(int slot) {
+        if (slot != ParticipantRegistry.NO_SLOT && compassUpdateTasks[slot] != null) {
+            compassUpdateTasks[slot].cancel();
+            compassUpdateTasks[slot] = null;
         }
     }
 
@@ -1,28 +1,68 @@
 package dev.o8o1o5.ggorri.manager;
 
 import dev.o8o1o5.ggorri.GGORRI;
+import dev.o8o1o5.ggorri.border.ArenaEntityPolicy;
+import dev.o8o1o5.ggorri.border.BorderClock;
+import dev.o8o1o5.ggorri.border.BorderPlan;
+import dev.o8o1o5.ggorri.border.BorderSchedule;
+import dev.o8o1o5.ggorri.border.ChunkRetentionPolicy;
+import dev.o8o1o5.ggorri.border.BorderZoneTracker;
+import dev.o8o1o5.ggorri.border.BorderPacePolicy;
+import dev.o8o1o5.ggorri.border.LeaderPacePolicy;
+import dev.o8o1o5.ggorri.border.NextBorderPreview;
+import dev.o8o1o5.ggorri.border.SupplyDropPlacer;
+import dev.o8o1o5.ggorri.border.ViewDistancePolicy;
+import dev.o8o1o5.ggorri.border.ZonePreloader;
+import dev.o8o1o5.ggorri.event.GameEvent;
+import dev.o8o1o5.ggorri.event.GameEventBus;
+import dev.o8o1o5.ggorri.game.CountdownBar;
+import dev.o8o1o5.ggorri.game.GameSnapshot;
 import dev.o8o1o5.ggorri.game.PlayerGameData;
+import dev.o8o1o5.ggorri.game.PlayerRole;
+import dev.o8o1o5.ggorri.journal.GameJournal;
+import dev.o8o1o5.ggorri.spawn.ChunkTickets;
+import dev.o8o1o5.ggorri.spawn.SafeSurfaceIndex;
 import org.bukkit.ChatColor;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.WorldBorder;
+import org.bukkit.boss.BarColor;
 import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
 
 public class BorderManager {
     private final GGORRI plugin;
     private final Map<UUID, PlayerGameData> playersInGame;
     private final Random random;
+    private final BorderZoneTracker zoneTracker; // 참가자별 자기장 구역 상태 (이동/자기장 변경 시에만 재계산)
+
+    private final BorderPlan borderPlan; // 단계별 크기/피해량/시간 (config.yml의 border)
+    private final BorderClock clock; // 자기장 일정이 따르는 시계 (기본: 서버 틱)
+    private final BorderPacePolicy pacePolicy; // 시작 인원 대비 남은 팀장/접속 참가자 비율에 따라 일정을 앞당김 (border.pace)
+    private final ZonePreloader zonePreloader; // 수축 전 대기 동안 다음 안전 지대 청크를 미리 로드
+    private final ChunkRetentionPolicy chunkRetentionPolicy; // 수축 후 자기장 밖 청크 언로드 (티켓 보유 중인 청크 제외)
+    private final NextBorderPreview nextBorderPreview; // 다음 안전 지대 경계를 참가자 근처에 파티클로 표시
+    private final ArenaEntityPolicy arenaEntityPolicy; // 자기장 밖 자연 스폰 차단 및 아이템/몹 정리
+    private final ViewDistancePolicy viewDistancePolicy; // 자기장 크기에 맞춘 참가자별 시야/전송 거리
+    private SupplyDropPlacer supplyDropPlacer; // 단계마다 다음 안전 지대에 보급 상자 설치 (initSupplyDrops 이후 사용)
+    private final CountdownBar phaseBar; // 참가자 전원이 공유하는 자기장 단계/남은 시간 보스바
+    private IntSupplier leaderCount; // 팀 인덱스의 팀장 수 (initChainCounts 전이면 참가자 데이터를 훑음)
+    private IntSupplier onlineCount; // 고리 그래프가 유지하는 접속 중인 참가자 수 (initChainCounts 전이면 참가자 수)
+    private int startingParticipants; // 자기장 시스템 시작(복구) 시점의 참가자 수 (일정 가속 비율의 기준, /gr leave로 줄지 않음)
+    private GameJournal journal; // 자기장 단계 기록 (initJournal 이후 사용)
+    private GameEventBus eventBus; // 단계 전환 이벤트 (initEventBus 이후 사용)
 
     // 자기장 상태 및 진행 관련 변수
     private WorldBorder gameBorder;
     private Location currentBorderCenter;
     private double currentBorderSize;
-    private int currentPhase; // 현재 자기장 단계 (0부터 시작)
+    private BorderSchedule schedule; // 단계 진행 상태 기계 (시스템 시작 시 생성)
+    private int stateVersion; // 단계/상태가 바뀔 때마다 증가 (상태 스냅샷 발행 판단용, 초 단위 카운트다운은 제외)
 
     private Location nextBorderCenter; // 다음 자기장 목표 중심
     private double nextBorderSize;     // 다음 자기장 목표 크기
@@ -31,73 +71,101 @@ public class BorderManager {
     private BukkitTask mainBorderTask; // 메인 자기장 진행 스케줄러
     private BukkitTask borderDamageTask; // 자기장 외부 데미지 및 액션바 경고 스케줄러 (별도 유지)
 
-    // 자기장 페이즈 지속 시간 상수 (틱 단위)
-    private final long PRE_SHRINK_ANNOUNCEMENT_DURATION_TICKS = 1 * 20L; // 수축 전 다음 자기장 경고 시간 (1초, 즉시)
-    private final long COOLDOWN_BEFORE_SHRINK_TICKS = 9 * 60 * 20L;       // 9분 대기 (수축 시작까지)
-    private final long SHRINK_DURATION_TICKS = 1 * 60 * 20L;        // 1분 수축 시간
     private final long TICK_INTERVAL = 20L; // 1초 (20틱)
 
-    // 자기장 페이즈 정의
-    private final int MAX_BORDER_PHASES = 6; // 총 0~6단계 (7단계)
-    private Map<Integer, Double> phaseSizes;
-    private Map<Integer, Double> phaseDamages;
+    // 현재 단계의 피해량과 액션바 문구 (단계가 바뀔 때만 다시 만듦)
+    private int cachedDamagePhase = -1;
+    private double cachedDamage;
+    private String cachedDamageWarning;
+    private static final String NEXT_BORDER_WARNING = ChatColor.LIGHT_PURPLE + "⚠️ 다음 자기장 외부입니다! 안전 지대로 이동하세요! ⚠️";
 
-    // 자기장 상태 Enum
-    public enum BorderPhaseState {
-        PRE_SHRINK_ANNOUNCEMENT, // 수축 전 다음 자기장 정보 공지
-        COOLDOWN_BEFORE_SHRINK,  // 수축 전 대기 (카운트다운 포함)
-        SHRINKING                // 실제 자기장 수축 중
-    }
-    private BorderPhaseState currentState; // 현재 자기장 시스템의 상태
-    private long currentStateElapsedTimeTicks; // 현재 상태에서 경과한 시간 (틱)
 
+    public BorderManager(GGORRI plugin, Map<UUID, PlayerGameData> playersInGame, ChunkTickets chunkTickets) {
+        this(plugin, playersInGame, chunkTickets, BorderClock.serverTicks(plugin.getServer()));
+    }
 
-    public BorderManager(GGORRI plugin, Map<UUID, PlayerGameData> playersInGame) {
+    /**
+     * @param chunkTickets 스폰/부활 작업과 함께 쓰는 청크 티켓 (같은 청크를 먼저 해제해 버리지 않도록)
+     * @param clock        자기장 일정이 따를 시계 (시뮬레이션/벤치마크에서는 가상 시계를 주입)
+     */
+    public BorderManager(GGORRI plugin, Map<UUID, PlayerGameData> playersInGame, ChunkTickets chunkTickets, BorderClock clock) {
         this.plugin = plugin;
         this.playersInGame = playersInGame;
         this.random = new Random();
+        this.zoneTracker = new BorderZoneTracker(plugin, playersInGame);
+        this.clock = clock;
+        this.zonePreloader = new ZonePreloader(plugin, chunkTickets);
+        this.chunkRetentionPolicy = new ChunkRetentionPolicy(plugin, chunkTickets);
+        this.nextBorderPreview = new NextBorderPreview(plugin);
+        this.arenaEntityPolicy = new ArenaEntityPolicy(plugin);
+        this.viewDistancePolicy = new ViewDistancePolicy(plugin);
+        this.phaseBar = new CountdownBar(plugin.getServer(), BarColor.YELLOW);
+
+        // 자기장 크기 및 데미지 단계는 설정에서 읽음 (없거나 잘못되면 기본 7단계)
+        this.borderPlan = BorderPlan.load(plugin.getConfig().getConfigurationSection("border"), plugin.getLogger());
+        this.pacePolicy = LeaderPacePolicy.load(plugin.getConfig().getConfigurationSection("border.pace"), this::countLeaders, this::countOnlineParticipants, () -> startingParticipants);
+        plugin.getLogger().info("[GGORRI] 자기장 계획 로드 완료: " + borderPlan.getPhaseCount() + "단계, 전체 " + (borderPlan.getTotalTicks() / TICK_INTERVAL / 60) + "분");
+    }
 
-        // 자기장 크기 및 데미지 단계 정의
-        phaseSizes = new HashMap<>();
-        phaseSizes.put(0, 3200.0);
-        phaseSizes.put(1, 1900.0);
-        phaseSizes.put(2, 1000.0);
-        phaseSizes.put(3, 580.0);
-        phaseSizes.put(4, 330.0);
-        phaseSizes.put(5, 180.0);
-        phaseSizes.put(6, 100.0);
-
-        phaseDamages = new HashMap<>();
-        phaseDamages.put(0, 0.5);
-        phaseDamages.put(1, 1.0);
-        phaseDamages.put(2, 2.0);
-        phaseDamages.put(3, 4.0);
-        phaseDamages.put(4, 8.0);
-        phaseDamages.put(5, 15.0);
-        phaseDamages.put(6, 25.0);
-
-        // 초기 상태 설정
-        this.currentState = BorderPhaseState.PRE_SHRINK_ANNOUNCEMENT; // 초기 상태는 수축 전 공지
-        this.currentStateElapsedTimeTicks = 0;
-        this.currentPhase = 0; // 시작 페이즈 (phaseSizes 맵의 0단계)
+    /**
+     * 보급 상자 설치를 준비합니다. 위치는 안전 지표면 인덱스에서 뽑습니다.
+     *
+     * @param surfaceIndex 안전 지표면 인덱스 공급자 (사용할 수 없으면 null을 돌려줌)
+     */
+    public void initSupplyDrops(Supplier<SafeSurfaceIndex> surfaceIndex) {
+        this.supplyDropPlacer = new SupplyDropPlacer(plugin, surfaceIndex);
+    }
+
+    /**
+     * 팀장 수와 접속 중인 참가자 수를 고리 그래프의 카운터에서 바로 읽도록 연결합니다.
+     * 자기장 일정 가속 판단은 공지/대기 중 매초 호출되므로 참가자를 훑지 않게 합니다.
+     */
+    public void initChainCounts(IntSupplier leaderCount, IntSupplier onlineCount) {
+        this.leaderCount = leaderCount;
+        this.onlineCount = onlineCount;
+    }
+
+    /**
+     * 단계가 바뀔 때마다 자기장 상태를 게임 저널에 기록하도록 연결합니다.
+     */
+    public void initJournal(GameJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * 단계가 바뀔 때마다 PhaseChanged 이벤트를 올리도록 연결합니다.
+     */
+    public void initEventBus(GameEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    /**
+     * 이번 게임에서 설치한 보급 상자를 치웁니다. (게임 종료 시)
+     */
+    public void clearSupplyDrops() {
+        if (supplyDropPlacer != null) {
+            supplyDropPlacer.clear();
+        }
     }
 
     /**
      * 초기 자기장 설정을 수행합니다. 게임 시작 시 호출됩니다.
      */
     public void setupInitialBorder() {
-        World world = plugin.getServer().getWorld("world"); // TODO: 월드 이름을 설정으로
+        World world = plugin.getGameWorld();
         if (world == null) {
-            plugin.getLogger().severe("[GGORRI] 월드 'world'를 찾을 수 없습니다! 자기장 시스템을 초기화할 수 없습니다.");
+            plugin.getLogger().severe("[GGORRI] 월드 '" + plugin.getGameWorldName() + "'를 찾을 수 없습니다! 자기장 시스템을 초기화할 수 없습니다.");
             return;
         }
         gameBorder = world.getWorldBorder();
         gameBorder.reset(); // 항상 초기화 시 리셋
         currentBorderCenter = world.getSpawnLocation(); // 월드 스폰을 초기 중심으로 설정
-        currentBorderSize = phaseSizes.get(0); // 0단계 크기
+        currentBorderSize = borderPlan.getSize(0); // 0단계 크기
 
         gameBorder.setCenter(currentBorderCenter);
         gameBorder.setSize(currentBorderSize);
+        zoneTracker.trackAll();
+        zoneTracker.setCurrentBounds(world, currentBorderCenter.getX(), currentBorderCenter.getZ(), currentBorderSize);
         plugin.getLogger().info("[GGORRI] 초기 자기장 생성 완료: " +
                 "중심(" + currentBorderCenter.getBlockX() + "," + currentBorderCenter.getBlockZ() + ")," +
                 "크기(" + currentBorderSize + ")");
@@ -113,10 +181,67 @@ public class BorderManager {
         // 자기장 초기 설정
         setupInitialBorder();
 
-        // 첫 자기장 단계에 대한 다음 자기장 정보 미리 계산 및 공지
-        // (currentPhase는 0, 즉 첫 번째 자기장)
-        prepareNextBorderPhaseData(); // 0단계에서 1단계로 줄어들 다음 정보 계산
-        sendInitialAnnouncement(); // 1단계 자기장 정보 공지
+        if (gameBorder == null) {
+            return;
+        }
+
+        startingParticipants = playersInGame.size();
+        recordBorderState(0);
+        startTasks(-1);
+
+        plugin.getLogger().info("[GGORRI] 자기장 시스템이 시작되었습니다. 초기 PRE_SHRINK_ANNOUNCEMENT 상태(" + (borderPlan.getAnnouncementTicks() / TICK_INTERVAL) + "초 경고).");
+    }
+
+    /**
+     * 저널에 기록된 자기장 상태에서 자기장 시스템을 다시 시작합니다. (중단된 게임 복구 시)
+     * 기록된 단계의 공지부터 다시 진행하며, 모든 단계가 끝난 상태였다면 최종 자기장만 되살립니다.
+     *
+     * @param phase 다음에 공지할 단계 (모든 단계가 끝났으면 단계 수)
+     */
+    public void resumeBorderSystem(int phase, double centerX, double centerZ, double size) {
+        stopBorderSystem();
+        World world = plugin.getGameWorld();
+        if (world == null) {
+            plugin.getLogger().severe("[GGORRI] 월드 '" + plugin.getGameWorldName() + "'를 찾을 수 없습니다! 자기장 시스템을 복구할 수 없습니다.");
+            return;
+        }
+        gameBorder = world.getWorldBorder();
+        startingParticipants = playersInGame.size(); // 저널에서 되살린 참가자 기준
+        currentBorderCenter = new Location(world, centerX, 0, centerZ);
+        currentBorderSize = size;
+        gameBorder.setCenter(currentBorderCenter);
+        gameBorder.setSize(currentBorderSize);
+        zoneTracker.trackAll();
+        zoneTracker.setCurrentBounds(world, centerX, centerZ, currentBorderSize);
+        recordBorderState(phase);
+
+        if (phase >= borderPlan.getPhaseCount()) {
+            arenaEntityPolicy.activate(world);
+            updateViewDistance();
+            plugin.getLogger().info("[GGORRI] 최종 자기장 상태로 복구했습니다. 크기: " + currentBorderSize);
+            return;
+        }
+        startTasks(phase);
+        plugin.getLogger().info("[GGORRI] 자기장 시스템을 " + (phase + 1) + "단계부터 복구했습니다. 중심(" + (int) centerX + "," + (int) centerZ + "), 크기(" + currentBorderSize + ")");
+    }
+
+    /**
+     * 일정과 데미지/진행 스케줄러를 시작합니다.
+     *
+     * @param resumePhase 복구할 단계 (처음부터 시작하면 -1)
+     */
+    private void startTasks(int resumePhase) {
+        // 첫 자기장 단계에 대한 다음 자기장 정보 미리 계산 및 공지 (schedule.start()/resume()에서 onPhaseAnnounced 호출)
+        arenaEntityPolicy.activate(gameBorder.getWorld());
+        updateViewDistance();
+        schedule = new BorderSchedule(borderPlan, clock, new ScheduleHandler(), pacePolicy);
+        if (resumePhase < 0) {
+            schedule.start();
+        } else {
+            schedule.resume(resumePhase);
+        }
+        stateVersion++;
+        updatePhaseBar();
 
         // 1. 자기장 외부 플레이어 데미지 및 액션바 스케줄러 (매 초)
         borderDamageTask = new BukkitRunnable() {
@@ -126,27 +251,20 @@ public class BorderManager {
             }
         }.runTaskTimer(plugin, 0L, TICK_INTERVAL); // 0틱 지연, 1초마다 반복
 
-        // 2. 메인 자기장 진행 스케줄러 (매 초)
+        // 2. 메인 자기장 진행 스케줄러 (매 초, 경과 시간은 시계에서 읽음)
         mainBorderTask = new BukkitRunnable() {
             @Override
             public void run() {
-                currentStateElapsedTimeTicks += TICK_INTERVAL; // 현재 상태에서 경과한 시간 업데이트
-
-                switch (currentState) {
-                    case PRE_SHRINK_ANNOUNCEMENT:
-                        handlePreShrinkAnnouncementState();
-                        break;
-                    case COOLDOWN_BEFORE_SHRINK:
-                        handleCooldownBeforeShrinkState();
-                        break;
-                    case SHRINKING:
-                        handleShrinkingState();
-                        break;
-                }
+                schedule.update();
+                updatePhaseBar();
             }
         }.runTaskTimer(plugin, 0L, TICK_INTERVAL); // 0틱 지연, 1초마다 반복
+    }
 
-        plugin.getLogger().info("[GGORRI] 자기장 시스템이 시작되었습니다. 초기 PRE_SHRINK_ANNOUNCEMENT 상태(" + (PRE_SHRINK_ANNOUNCEMENT_DURATION_TICKS / TICK_INTERVAL) + "초 경고).");
+    private void recordBorderState(int phase) {
+        if (journal != null) {
+            journal.borderChanged(phase, currentBorderCenter.getX(), currentBorderCenter.getZ(), currentBorderSize);
+        }
     }
 
     /**
@@ -161,96 +279,190 @@ public class BorderManager {
             borderDamageTask.cancel();
             borderDamageTask = null;
         }
+        zoneTracker.clear();
+        nextBorderPreview.hide();
+        phaseBar.removeAll();
+        arenaEntityPolicy.deactivate();
+        viewDistancePolicy.deactivate();
+        zonePreloader.release();
+        chunkRetentionPolicy.cancel();
+        stateVersion++;
         plugin.getLogger().info("[GGORRI] 자기장 시스템이 중지되었습니다.");
     }
 
     /**
-     * PRE_SHRINK_ANNOUNCEMENT 상태를 처리합니다. 다음 자기장 정보를 공지합니다.
-     * 이 상태는 매우 짧게 유지되어 경고 메시지를 보여주는 역할만 합니다.
+     * BorderSchedule의 진행 이벤트를 실제 월드보더 조작과 공지로 옮깁니다.
      */
-    private void handlePreShrinkAnnouncementState() {
-        if (currentStateElapsedTimeTicks >= PRE_SHRINK_ANNOUNCEMENT_DURATION_TICKS) {
-            // 공지 시간 완료, COOLDOWN 상태로 전환
-            currentState = BorderPhaseState.COOLDOWN_BEFORE_SHRINK;
-            currentStateElapsedTimeTicks = 0; // 현재 상태 시간 초기화
-
-            plugin.getLogger().info("[GGORRI] PRE_SHRINK_ANNOUNCEMENT 완료. COOLDOWN_BEFORE_SHRINK 시작. 수축까지 " + (COOLDOWN_BEFORE_SHRINK_TICKS / TICK_INTERVAL) + "초 남음.");
+    private final class ScheduleHandler implements BorderSchedule.Listener {
+        @Override
+        public void onPhaseAnnounced(int phase, int skipped) {
+            stateVersion++;
+            // 다음 자기장 정보 준비 및 공지 (PRE_SHRINK_ANNOUNCEMENT 상태)
+            prepareNextBorderPhaseData(phase);
+            // 다음 안전 지대 미리보기 (참가자에게는 매초 데미지 루프에서 주변 경계만 파티클로 그림)
+            nextBorderPreview.show(nextBorderCenter.getWorld(), nextBorderCenter.getX(), nextBorderCenter.getZ(), nextBorderSize);
+            zoneTracker.markAllChanged();
+            if (skipped > 0) {
+                plugin.getServer().broadcastMessage(ChatColor.GOLD + "[GGORRI] 남은 팀이 적어 자기장 " + skipped + "단계를 건너뜁니다!");
+                plugin.getLogger().info("[GGORRI] 팀장 " + countLeaders() + "명 남음. 자기장 " + skipped + "단계 건너뜀 -> " + phase + "단계.");
+            }
+            sendInitialAnnouncement(phase);
+            postPhaseChanged(phase, skipped);
+            if (phase > 0 && supplyDropPlacer != null) {
+                // 단계 전환마다 다음 안전 지대 안에 보급 상자 (게임 시작 직후 첫 공지는 제외)
+                supplyDropPlacer.dropInZone(nextBorderCenter.getWorld(), nextBorderCenter.getX(), nextBorderCenter.getZ(), nextBorderSize, phase);
+            }
         }
-    }
 
-    /**
-     * COOLDOWN_BEFORE_SHRINK 상태를 처리합니다. 수축 전 대기 및 카운트다운을 수행합니다.
-     */
-    private void handleCooldownBeforeShrinkState() {
-        long remainingSeconds = (COOLDOWN_BEFORE_SHRINK_TICKS - currentStateElapsedTimeTicks) / TICK_INTERVAL;
+        @Override
+        public void onCooldownStarted(int phase) {
+            stateVersion++;
+            plugin.getLogger().info("[GGORRI] PRE_SHRINK_ANNOUNCEMENT 완료. COOLDOWN_BEFORE_SHRINK 시작. 수축까지 " + (schedule.getCooldownTicks() / TICK_INTERVAL) + "초 남음.");
+            // 대기 시간 동안 다음 안전 지대 청크를 미리 불러둠 (수축 때 몰리는 청크 로딩/생성을 미리 처리)
+            zonePreloader.preload(nextBorderCenter.getWorld(), nextBorderCenter.getX(), nextBorderCenter.getZ(), nextBorderSize);
+        }
 
-        // 특정 시점에 채팅 공지 (액션바 없음)
-        if (remainingSeconds == 60 || remainingSeconds == 30 || remainingSeconds == 10 || (remainingSeconds <= 5 && remainingSeconds > 0)) {
-            plugin.getServer().broadcastMessage(ChatColor.YELLOW + "[GGORRI] 자기장 수축 시작까지 " + remainingSeconds + "초!");
+        @Override
+        public void onShrinkCountdown(int phase, long remainingSeconds) {
+            // 남은 시간은 채팅 대신 단계 보스바로 표시 (updatePhaseBar)
         }
 
-        if (currentStateElapsedTimeTicks >= COOLDOWN_BEFORE_SHRINK_TICKS) {
-            // COOLDOWN_BEFORE_SHRINK 시간 완료, 다음 상태로 전환
-            currentState = BorderPhaseState.SHRINKING;
-            currentStateElapsedTimeTicks = 0; // 현재 상태 시간 초기화
+        @Override
+        public void onCooldownShortened(int phase, long remainingSeconds) {
+            stateVersion++;
+            plugin.getServer().broadcastMessage(ChatColor.GOLD + "[GGORRI] 남은 팀이 적어 자기장 수축이 앞당겨집니다! 수축까지 " + remainingSeconds + "초!");
+            plugin.getLogger().info("[GGORRI] 팀장 " + countLeaders() + "명, 접속 참가자 " + countOnlineParticipants() + "명. 자기장 " + phase + "단계 대기 시간 단축 (남은 " + remainingSeconds + "초).");
+        }
 
-            // SHRINKING 상태 시작
-            startActualBorderShrink(); // 실제 월드 보더 수축 시작
+        @Override
+        public void onShrinkStarted(int phase) {
+            stateVersion++;
+            startActualBorderShrink(phase); // 실제 월드 보더 수축 시작
+            nextBorderPreview.hide(); // 수축 중에는 실제 자기장을 보여줌
             plugin.getServer().broadcastMessage(ChatColor.RED + "[GGORRI] 자기장이 수축하기 시작합니다!");
-            plugin.getLogger().info("[GGORRI] 자기장 " + currentPhase + "단계 수축 시작. 중심: " +
+            plugin.getLogger().info("[GGORRI] 자기장 " + phase + "단계 수축 시작. 중심: " +
                     nextBorderCenter.getBlockX() + ", " + nextBorderCenter.getBlockZ() +
                     ", 크기: " + nextBorderSize);
         }
-    }
-
-    /**
-     * SHRINKING 상태를 처리합니다. 실제 자기장 수축을 관리합니다.
-     */
-    private void handleShrinkingState() {
-        // 이 상태에서는 `gameBorder.setSize()`가 자동으로 수축을 처리하며,
-        // `applyBorderDamageAndWarnings`가 데미지/다음 자기장 외부 경고를 담당합니다.
-        // 수축 완료까지 남은 시간은 필요하다면 여기에 추가 (현재는 생략)
-        // long remainingSeconds = (SHRINK_DURATION_TICKS - currentStateElapsedTimeTicks) / TICK_INTERVAL;
-        // if (remainingSeconds == 30 || remainingSeconds == 10 || (remainingSeconds <= 5 && remainingSeconds > 0)) {
-        //     plugin.getServer().broadcastMessage(ChatColor.DARK_RED + "[GGORRI] 자기장 수축 완료까지 " + remainingSeconds + "초!");
-        // }
-
-        if (currentStateElapsedTimeTicks >= SHRINK_DURATION_TICKS) {
-            // SHRINKING 시간 완료, 다음 상태로 전환
-            currentPhase++; // 다음 자기장 단계로 이동 (예: 0 -> 1 -> 2)
-            if (currentPhase > MAX_BORDER_PHASES) {
-                // 모든 자기장 페이즈 완료
-                plugin.getServer().broadcastMessage(ChatColor.DARK_RED + "[GGORRI] 더 이상 자기장이 줄어들지 않습니다! 최종 자기장 단계에 도달했습니다.");
-                stopBorderSystem(); // 시스템 중지
-                return;
-            }
 
+        @Override
+        public void onShrinkCompleted(int phase) {
+            stateVersion++;
             // 수축 완료 공지
             plugin.getServer().broadcastMessage(ChatColor.AQUA + "[GGORRI] 자기장 수축이 완료되었습니다!");
-            plugin.getLogger().info("[GGORRI] 자기장 " + (currentPhase-1) + "단계 수축 완료. 최종 크기: " + currentBorderSize); // 이전 단계 완료로 표시
+            plugin.getLogger().info("[GGORRI] 자기장 " + phase + "단계 수축 완료. 최종 크기: " + currentBorderSize);
 
             updateAllPlayersCompassTarget(currentBorderCenter); // 나침반 업데이트
+            zonePreloader.release(); // 이번 단계의 안전 지대 티켓 해제
+            arenaEntityPolicy.purgeOutside(phase); // 새로 자기장 밖이 된 곳의 아이템/몹 정리
+            updateViewDistance(); // 줄어든 자기장에 맞춰 시야 거리 축소
+            releaseChunksOutsideBorder(phase);
+            recordBorderState(phase + 1);
+        }
+
+        @Override
+        public void onScheduleFinished() {
+            stateVersion++;
+            // 모든 자기장 페이즈 완료
+            plugin.getServer().broadcastMessage(ChatColor.DARK_RED + "[GGORRI] 더 이상 자기장이 줄어들지 않습니다! 최종 자기장 단계에 도달했습니다.");
+            stopBorderSystem(); // 시스템 중지
+            releaseChunksOutsideBorder(borderPlan.getPhaseCount() - 1); // 최종 자기장 밖 청크도 정리
+            // 최종 자기장에서도 게임이 끝날 때까지 자기장 밖 스폰 차단/정리를 계속함 (게임 종료 시 stopBorderSystem에서 중지)
+            arenaEntityPolicy.activate(gameBorder.getWorld());
+            arenaEntityPolicy.purgeOutside(borderPlan.getPhaseCount() - 1);
+            updateViewDistance();
+            recordBorderState(borderPlan.getPhaseCount());
+            postPhaseChanged(borderPlan.getPhaseCount(), 0);
+        }
+    }
 
-            // 다음 자기장 정보 준비 및 PRE_SHRINK_ANNOUNCEMENT 상태로 즉시 전환
-            prepareNextBorderPhaseData(); // 다음 단계 자기장 (예: 2단계) 정보 계산
-            sendInitialAnnouncement(); // 다음 자기장 (2단계) 정보 공지
+    private void postPhaseChanged(int phase, int skipped) {
+        if (eventBus != null) {
+            eventBus.post(new GameEvent.PhaseChanged(phase, borderPlan.getPhaseCount(), skipped));
+        }
+    }
 
-            currentState = BorderPhaseState.PRE_SHRINK_ANNOUNCEMENT;
-            currentStateElapsedTimeTicks = 0; // 현재 상태 시간 초기화
+    /**
+     * 단계 보스바에 현재 상태와 남은 시간을 반영합니다. 표시 값이 바뀌지 않으면 보내지 않습니다.
+     */
+    private void updatePhaseBar() {
+        BorderSchedule.State state = schedule.getState();
+        if (state == BorderSchedule.State.FINISHED) {
+            return; // 시스템 중지와 함께 보스바도 숨김
         }
+        int phase = schedule.getPhase();
+        String stage = "자기장 " + (phase + 1) + "/" + borderPlan.getPhaseCount() + "단계";
+        if (state == BorderSchedule.State.SHRINKING) {
+            long total = borderPlan.getShrinkTicks(phase);
+            long remaining = Math.max(0L, total - schedule.getStateElapsedTicks());
+            phaseBar.update(ChatColor.RED + stage + " - 수축 중 " + formatSeconds(remaining / TICK_INTERVAL), BarColor.RED, (double) remaining / total);
+        } else {
+            // 공지 중에는 대기 시간 전체가 남은 것으로 표시
+            long total = schedule.getCooldownTicks();
+            long elapsed = state == BorderSchedule.State.COOLDOWN_BEFORE_SHRINK ? schedule.getStateElapsedTicks() : 0L;
+            long remaining = Math.max(0L, total - elapsed);
+            phaseBar.update(ChatColor.YELLOW + stage + " - 수축까지 " + formatSeconds(remaining / TICK_INTERVAL), BarColor.YELLOW, (double) remaining / total);
+        }
+    }
+
+    private static String formatSeconds(long seconds) {
+        return String.format("%d:%02d", seconds / 60, seconds % 60);
     }
 
     /**
-     * 다음 자기장 단계의 목표 크기와 중심을 미리 계산합니다.
+     * 현재 자기장 크기로 시야 거리를 다시 정하고, 바뀌었으면 접속 중인 참가자 전원에게 적용합니다.
      */
-    private void prepareNextBorderPhaseData() {
-        Double nextSizeFromMap = phaseSizes.get(currentPhase);
-        if (nextSizeFromMap == null) {
-            plugin.getLogger().severe("[GGORRI] phaseSizes 맵에 borderPhase " + currentPhase + "에 대한 크기 데이터가 없습니다! 치명적 오류. 시스템 중지.");
-            stopBorderSystem();
+    private void updateViewDistance() {
+        if (!viewDistancePolicy.setBorderSize(gameBorder.getWorld(), currentBorderSize)) {
             return;
         }
-        nextBorderSize = nextSizeFromMap;
+        for (UUID playerUUID : playersInGame.keySet()) {
+            Player p = plugin.getServer().getPlayer(playerUUID);
+            if (p != null) {
+                viewDistancePolicy.apply(p);
+            }
+        }
+        plugin.getLogger().info("[GGORRI] 참가자 시야 거리 조정: " + viewDistancePolicy.getStatusLine());
+    }
+
+    private int countLeaders() {
+        if (leaderCount != null) {
+            return leaderCount.getAsInt();
+        }
+        int leaders = 0;
+        for (PlayerGameData data : playersInGame.values()) {
+            if (data.getRole() == PlayerRole.LEADER) {
+                leaders++;
+            }
+        }
+        return leaders;
+    }
+
+    private int countOnlineParticipants() {
+        return onlineCount != null ? onlineCount.getAsInt() : playersInGame.size();
+    }
+
+    /**
+     * 게임에서 나간 플레이어에게서 자기장 보스바와 다음 자기장 미리보기를 거두고 시야 거리를 되돌립니다.
+     */
+    public void removeViewer(Player player) {
+        phaseBar.removeViewer(player);
+        nextBorderPreview.removeViewer(player);
+        viewDistancePolicy.reset(player);
+    }
+
+    /**
+     * 수축이 끝난 자기장 밖으로 완전히 벗어난 청크의 티켓을 해제하고, 플레이어가 없는 곳은 언로드를 요청합니다.
+     */
+    private void releaseChunksOutsideBorder(int phase) {
+        chunkRetentionPolicy.releaseOutside(currentBorderCenter.getWorld(), currentBorderCenter.getX(), currentBorderCenter.getZ(), currentBorderSize, phase);
+    }
+
+    /**
+     * 다음 자기장 단계의 목표 크기와 중심을 미리 계산합니다.
+     */
+    private void prepareNextBorderPhaseData(int phase) {
+        nextBorderSize = borderPlan.getSize(phase);
 
         // 현재 자기장과 다음 자기장 크기를 이용해 이동 가능한 최대 반경 계산
         // (다음 자기장이 현재 자기장 안에 완전히 포함되면서 이동할 수 있는 반경)
@@ -265,65 +477,81 @@ public class BorderManager {
         double newCenterX = currentBorderCenter.getX() + (random.nextDouble() * 2 - 1) * maxMovableRadius;
         double newCenterZ = currentBorderCenter.getZ() + (random.nextDouble() * 2 - 1) * maxMovableRadius;
         nextBorderCenter = new Location(currentBorderCenter.getWorld(), newCenterX, 0, newCenterZ);
+        zoneTracker.setNextBounds(newCenterX, newCenterZ, nextBorderSize);
 
-        plugin.getLogger().info("[GGORRI] 다음 자기장 데이터 준비 완료 (Phase " + currentPhase + "). 목표 크기: " + nextBorderSize + ", 목표 중심: " + (int)nextBorderCenter.getX() + "," + (int)nextBorderCenter.getZ());
+        plugin.getLogger().info("[GGORRI] 다음 자기장 데이터 준비 완료 (Phase " + phase + "). 목표 크기: " + nextBorderSize + ", 목표 중심: " + (int)nextBorderCenter.getX() + "," + (int)nextBorderCenter.getZ());
     }
 
     /**
      * 자기장 수축 시작 전 초기 공지 메시지를 전송합니다. (다음 자기장 정보)
+     * 다음 안전 지대는 미리보기 파티클로 보이므로 채팅은 한 줄로 줄입니다.
      */
-    private void sendInitialAnnouncement() {
-        plugin.getServer().broadcastMessage(ChatColor.YELLOW + "------------------------------------------");
-        plugin.getServer().broadcastMessage(ChatColor.YELLOW + "[GGORRI] " + ChatColor.RED + "다음 자기장 정보!");
-        plugin.getServer().broadcastMessage(ChatColor.YELLOW + "[GGORRI] 자기장 수축 시작까지 " + (COOLDOWN_BEFORE_SHRINK_TICKS / TICK_INTERVAL) + "초 남았습니다!");
-        plugin.getServer().broadcastMessage(ChatColor.YELLOW + "[GGORRI] 다음 자기장 중심: " + ChatColor.AQUA + "X: " + (int)nextBorderCenter.getX() + ", Z: " + (int)nextBorderCenter.getZ());
-        plugin.getServer().broadcastMessage(ChatColor.YELLOW + "[GGORRI] 다음 자기장 크기: " + ChatColor.AQUA + (int)nextBorderSize + " 블록");
-        plugin.getServer().broadcastMessage(ChatColor.YELLOW + "[GGORRI] 자기장이 " + ChatColor.AQUA + getDirectionString(currentBorderCenter, nextBorderCenter) + " 방향으로 이동합니다!");
-        plugin.getServer().broadcastMessage(ChatColor.YELLOW + "------------------------------------------");
+    private void sendInitialAnnouncement(int phase) {
+        plugin.getServer().broadcastMessage(ChatColor.YELLOW + "[GGORRI] " + ChatColor.RED + "다음 자기장" + ChatColor.YELLOW + ": " +
+                ChatColor.AQUA + "X: " + (int)nextBorderCenter.getX() + ", Z: " + (int)nextBorderCenter.getZ() + ", 크기 " + (int)nextBorderSize +
+                ChatColor.YELLOW + " (" + getDirectionString(currentBorderCenter, nextBorderCenter) + ", 수축까지 " + (schedule.getCooldownTicks() / TICK_INTERVAL) + "초)" +
+                (nextBorderPreview.isShowing() ? " - 빛나는 경계선이 다음 안전 지대입니다." : ""));
     }
 
     /**
      * 실제 월드 보더의 중심과 크기를 업데이트하여 수축을 시작합니다.
      */
-    private void startActualBorderShrink() {
+    private void startActualBorderShrink(int phase) {
         gameBorder.setCenter(nextBorderCenter);
-        gameBorder.setSize(nextBorderSize, SHRINK_DURATION_TICKS / TICK_INTERVAL); // Minecraft API는 초 단위
+        gameBorder.setSize(nextBorderSize, borderPlan.getShrinkTicks(phase) / TICK_INTERVAL); // Minecraft API는 초 단위
 
         // 현재 자기장 정보 업데이트 (실제 수축이 시작될 때)
         currentBorderCenter = nextBorderCenter;
         currentBorderSize = nextBorderSize;
+        zoneTracker.clearNextBounds(); // 수축 중에는 다음 자기장 경고를 하지 않음
+        zoneTracker.setCurrentBounds(gameBorder.getWorld(), currentBorderCenter.getX(), currentBorderCenter.getZ(), gameBorder.getSize());
     }
 
     /**
      * 자기장 외부에 있는 플레이어에게 데미지를 주고 경고 액션바를 보냅니다.
      * 이 메서드는 `mainBorderTask`와 별개로 독립적으로 매 초 실행됩니다.
+     * 구역 상태는 BorderZoneTracker가 이동/자기장 변경 시에만 갱신하므로, 여기서는 상태에 맞는 플레이어에게만 처리합니다.
      */
     public void applyBorderDamageAndWarnings() {
-        if (gameBorder == null) return;
-
-        // 현재 단계의 자기장 데미지 값 가져오기
-        // currentPhase는 0부터 시작하고, phaseDamages 맵도 0부터 정의되어 있으므로 그대로 사용
-        double currentDamage = phaseDamages.getOrDefault(currentPhase, 1.0); // 단계 없으면 기본 1.0 데미지
-
-        for (Player p : playersInGame.values().stream()
-                .map(data -> plugin.getServer().getPlayer(data.getPlayerUUID()))
-                .filter(Objects::nonNull) // 온라인 플레이어만 필터링
-                .collect(Collectors.toList())) {
-
-            // 1. 플레이어가 현재 자기장 밖에 있는지 확인 (데미지 + 액션바 경고)
-            if (!gameBorder.isInside(p.getLocation())) {
-                p.damage(currentDamage);
-                p.sendActionBar(ChatColor.RED + "⚠ 자기장 외부입니다! (" + String.format("%.1f", currentDamage) + " 피해) ⚠");
-            } else {
-                // 2. 플레이어가 현재 자기장 안에 있지만, '다음' 자기장 밖에 있는지 확인 (액션바 경고만)
-                // 이 경고는 COOLDOWN_BEFORE_SHRINK 상태에서도 다음 자기장 구역을 알려줌
-                if (currentState == BorderPhaseState.PRE_SHRINK_ANNOUNCEMENT || currentState == BorderPhaseState.COOLDOWN_BEFORE_SHRINK) {
-                    if (nextBorderCenter != null && nextBorderSize > 0) {
-                        if (isOutsideNextBorder(p.getLocation())) {
-                            p.sendActionBar(ChatColor.LIGHT_PURPLE + "⚠️ 다음 자기장 외부입니다! 안전 지대로 이동하세요! ⚠️");
-                        }
-                    }
-                }
+        if (gameBorder == null || schedule == null) return;
+
+        if (schedule.getState() == BorderSchedule.State.SHRINKING) {
+            // 수축 중에는 현재 자기장 크기가 계속 바뀌므로 매초 범위를 갱신 (중심은 수축 시작 시 이미 이동)
+            zoneTracker.setCurrentBounds(gameBorder.getWorld(), currentBorderCenter.getX(), currentBorderCenter.getZ(), gameBorder.getSize());
+        }
+        zoneTracker.refresh();
+
+        int phase = Math.min(schedule.getPhase(), borderPlan.getPhaseCount() - 1);
+        if (cachedDamagePhase != phase) {
+            cachedDamage = borderPlan.getDamage(phase);
+            cachedDamageWarning = ChatColor.RED + "⚠ 자기장 외부입니다! (" + String.format("%.1f", cachedDamage) + " 피해) ⚠";
+            cachedDamagePhase = phase;
+        }
+
+        for (int i = 0; i < zoneTracker.size(); i++) {
+            BorderZoneTracker.Zone zone = zoneTracker.getZone(i);
+            Player p = zoneTracker.getPlayer(i);
+            if (p == null) {
+                continue; // 오프라인 (재접속하면 구역이 바뀐 것으로 다시 처리됨)
+            }
+            boolean zoneChanged = zoneTracker.pollChanged(i);
+            if (zoneChanged) {
+                phaseBar.addViewer(p); // 시작/재접속 시 보스바 표시 (이미 보고 있으면 무시됨)
+                nextBorderPreview.onZoneChanged(p, zone);
+                viewDistancePolicy.apply(p); // 재접속하면 플레이어별 시야 거리가 초기화됨
+            }
+            nextBorderPreview.render(p);
+            if (zone == BorderZoneTracker.Zone.INSIDE) {
+                continue;
+            }
+            if (zone == BorderZoneTracker.Zone.OUTSIDE_CURRENT) {
+                // 1. 현재 자기장 밖 (데미지 + 액션바 경고)
+                p.damage(cachedDamage);
+                p.sendActionBar(cachedDamageWarning);
+            } else if (zoneChanged) {
+                // 2. 현재 자기장 안이지만 '다음' 자기장 밖 (다음 자기장이 공지된 동안에만 이 상태가 됨)
+                // 미리보기 경계선이 계속 보이므로 경고는 이 구역에 들어왔을 때 한 번만 보냄
+                p.sendActionBar(NEXT_BORDER_WARNING);
             }
         }
     }
@@ -347,23 +575,6 @@ public class BorderManager {
         }
     }
 
-    /**
-     * 플레이어 위치가 다음 자기장 범위 밖에 있는지 확인하는 헬퍼 메서드.
-     */
-    private boolean isOutsideNextBorder(Location loc) {
-        if (nextBorderCenter == null || nextBorderSize <= 0) {
-            return false;
-        }
-
-        double halfNextSize = nextBorderSize / 2.0;
-        double minX = nextBorderCenter.getX() - halfNextSize;
-        double maxX = nextBorderCenter.getX() + halfNextSize;
-        double minZ = nextBorderCenter.getZ() - halfNextSize;
-        double maxZ = nextBorderCenter.getZ() + halfNextSize;
-
-        return loc.getX() < minX || loc.getX() > maxX || loc.getZ() < minZ || loc.getZ() > maxZ;
-    }
-
     /**
      * 두 위치 간의 상대적인 방향 문자열을 반환합니다.
      */
@@ -393,4 +604,90 @@ public class BorderManager {
     public double getCurrentBorderSize() {
         return gameBorder != null ? gameBorder.getSize() : 0.0;
     }
+
+    public BorderPlan getBorderPlan() {
+        return borderPlan;
+    }
+
+    /**
+     * @return 단계나 일정 상태가 바뀔 때마다 달라지는 값 (매초 카운트다운으로는 바뀌지 않음)
+     */
+    public int getStateVersion() {
+        return stateVersion;
+    }
+
+    /**
+     * 현재 자기장 일정 상태를 스냅샷으로 만듭니다. 메인 스레드에서 호출합니다.
+     *
+     * @return 자기장 일정이 없으면 null
+     */
+    public GameSnapshot.Border createSnapshot() {
+        if (schedule == null || gameBorder == null) {
+            return null;
+        }
+        BorderSchedule.State state = schedule.getState();
+        int phase = Math.min(schedule.getPhase(), borderPlan.getPhaseCount() - 1);
+        long duration;
+        switch (state) {
+            case PRE_SHRINK_ANNOUNCEMENT:
+                duration = borderPlan.getAnnouncementTicks();
+                break;
+            case COOLDOWN_BEFORE_SHRINK:
+                duration = schedule.getCooldownTicks();
+                break;
+            case SHRINKING:
+                duration = borderPlan.getShrinkTicks(phase);
+                break;
+            default:
+                duration = 0L;
+                break;
+        }
+        return new GameSnapshot.Border(phase, borderPlan.getPhaseCount(), state, schedule.getStateElapsedTicks(), duration,
+                System.currentTimeMillis(), currentBorderCenter.getX(), currentBorderCenter.getZ(), getCurrentBorderSize(),
+                state == BorderSchedule.State.FINISHED ? currentBorderSize : nextBorderSize);
+    }
+
+    /**
+     * @return 현재 자기장 일정 상태 한 줄 요약
+     */
+    public String getStatusLine() {
+        if (schedule == null || mainBorderTask == null) {
+            return "자기장: 중지";
+        }
+        int phase = schedule.getPhase();
+        return "자기장: " + (phase + 1) + "/" + borderPlan.getPhaseCount() + "단계 " + schedule.getState() +
+                " (" + schedule.getStateElapsedTicks() / TICK_INTERVAL + "초 경과), 크기 " + String.format("%.1f", getCurrentBorderSize()) +
+                ", 건너뛴 단계 " + schedule.getSkippedPhases() + ", 보스바 갱신 " + phaseBar.getUpdateCount() + "회";
+    }
+
+    public ChunkRetentionPolicy getChunkRetentionPolicy() {
+        return chunkRetentionPolicy;
+    }
+
+    public ArenaEntityPolicy getArenaEntityPolicy() {
+        return arenaEntityPolicy;
+    }
+
+    public ViewDistancePolicy getViewDistancePolicy() {
+        return viewDistancePolicy;
+    }
+
+    /**
+     * @return 보급 상자 설치기, initSupplyDrops 전이면 null
+     */
+    public SupplyDropPlacer getSupplyDropPlacer() {
+        return supplyDropPlacer;
+    }
+
+    public ZonePreloader getZonePreloader() {
+        return zonePreloader;
+    }
+
+    public BorderZoneTracker getZoneTracker() {
+        return zoneTracker;
+    }
+
+    public NextBorderPreview getNextBorderPreview() {
+        return nextBorderPreview;
+    }
 }
\ No newline at end of file
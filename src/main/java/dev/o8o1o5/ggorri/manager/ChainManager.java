@@ -1,6 +1,8 @@
 package dev.o8o1o5.ggorri.manager;
 
 import dev.o8o1o5.ggorri.GGORRI;
+import dev.o8o1o5.ggorri.event.GameEvent;
+import dev.o8o1o5.ggorri.game.ChainGraph;
 import dev.o8o1o5.ggorri.game.PlayerGameData;
 import dev.o8o1o5.ggorri.game.PlayerRole;
 import org.bukkit.Bukkit;
@@ -8,38 +10,39 @@ import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
+/**
+ * 꼬리 고리와 팀 구성 변경을 담당합니다. 모든 변경은 ChainGraph를 거치므로
+ * PlayerGameData의 역할/타겟/팀장 필드와 고리의 앞뒤 링크가 항상 함께 갱신됩니다.
+ */
 public class ChainManager {
     private final GGORRI plugin;
     private final GameManager gameManager;
     private final Map<UUID, PlayerGameData> playersInGame;
     private final Random random;
+    private final ChainGraph chainGraph;
+    private final boolean verifyInvariants; // 변경마다 불변 조건 검사 (디버그용, 전체를 훑음)
+    private int invariantViolations;
 
     public ChainManager(GGORRI plugin, GameManager gameManager, Map<UUID, PlayerGameData> playersInGame) {
         this.plugin = plugin;
         this.gameManager = gameManager;
         this.playersInGame = playersInGame;
         this.random = new Random();
+        this.chainGraph = new ChainGraph(random);
+        this.verifyInvariants = plugin.getConfig().getBoolean("chain.verify-invariants", false);
     }
 
     /**
      * 플레이어들에게 꼬리 고리 타겟을 설정하는 로직
      */
     public void setupPlayerTargets() {
-        List<UUID> shuffledPlayers = new ArrayList<>(playersInGame.keySet());
+        List<PlayerGameData> shuffledPlayers = new ArrayList<>(playersInGame.values());
         Collections.shuffle(shuffledPlayers, random);
 
-        for (int i = 0; i < shuffledPlayers.size(); i ++) {
-            UUID currentPlayerUUID = shuffledPlayers.get(i);
-            UUID nexPlayerUUID = shuffledPlayers.get((i + 1) % shuffledPlayers.size());
-
-            PlayerGameData currentPlayerGameData = playersInGame.get(currentPlayerUUID);
-            if (currentPlayerGameData != null) {
-                currentPlayerGameData.setDirectTargetUUID(nexPlayerUUID);
-                currentPlayerGameData.setRole(PlayerRole.LEADER);
-            }
-        }
+        chainGraph.buildRing(shuffledPlayers);
+        refreshPresence();
+        verify("고리 설정");
         plugin.getLogger().info("[GGORRI] 플레이어 타겟 설정을 완료했습니다!");
     }
 
@@ -51,138 +54,186 @@ public class ChainManager {
      * @param victimUUID 노예가 될 사망한 플레이어의 UUID
      */
     public void enslavePlayerAndAdjustTarget(UUID killerUUID, UUID victimUUID) {
-        PlayerGameData killerData = playersInGame.get(killerUUID);
-        PlayerGameData victimData = playersInGame.get(victimUUID);
-
-        if (killerData == null || victimData == null) {
-            plugin.getLogger().warning("[GGORRI] enslaving: 유효하지 않은 플레이어 데이터.");
+        if (!enslavePlayer(killerUUID, victimUUID)) {
             return;
         }
-
-        victimData.setRole(PlayerRole.SLAVE);
-        // !!! 수정: 노예가 된 플레이어에게 마스터 UUID 설정 !!!
-        victimData.setMasterUUID(killerUUID); // <-- 이 줄이 새로 추가되었습니다!
-        plugin.getLogger().info("[GGORRI] " + plugin.getServer().getOfflinePlayer(victimUUID).getName() + "님이 " + plugin.getServer().getOfflinePlayer(killerUUID).getName() + "님의 노예가 되었습니다.");
-
-        UUID oldVictimTargetUUID = victimData.getDirectTargetUUID();
-
-        killerData.setDirectTargetUUID(oldVictimTargetUUID);
-        plugin.getLogger().info("[GGORRI] " + plugin.getServer().getOfflinePlayer(killerUUID).getName() + "님의 새로운 타겟: " +
-                (oldVictimTargetUUID != null ? plugin.getServer().getOfflinePlayer(oldVictimTargetUUID).getName() : "없음 (고리가 끊어짐)"));
-
-        victimData.setDirectTargetUUID(null);
-        plugin.getLogger().info("[GGORRI] " + plugin.getServer().getOfflinePlayer(victimUUID).getName() + "님은 이제 타겟이 없습니다.");
-
         plugin.getServer().broadcastMessage(ChatColor.AQUA + "[GGORRI] " + plugin.getServer().getOfflinePlayer(victimUUID).getName() + "님이 " +
                 plugin.getServer().getOfflinePlayer(killerUUID).getName() + "팀에 편입되었습니다!");
     }
 
     /**
-     * 팀장 이탈 시 노예들 중 한 명을 새 팀장으로 승격시키고,
+     * 사망한 플레이어를 공격자 팀의 노예로 종속시킵니다. 사망한 플레이어가 팀장이었다면 고리에서 빠지고
+     * 그를 쫓던 팀장이 그의 타겟을 물려받으며, 그의 노예들도 함께 편입됩니다. (잘못된 타겟 처치에도 사용)
+     *
+     * @return 편입되었으면 true
+     */
+    public boolean enslavePlayer(UUID killerUUID, UUID victimUUID) {
+        UUID leaderUUID = chainGraph.enslave(killerUUID, victimUUID);
+        if (leaderUUID == null) {
+            plugin.getLogger().warning("[GGORRI] enslaving: 유효하지 않은 플레이어 데이터.");
+            return false;
+        }
+        verify("노예 편입");
+        gameManager.getEventBus().post(new GameEvent.Enslaved(victimUUID, leaderUUID));
+        return true;
+    }
+
+    /**
+     * 팀장 이탈 시 미리 뽑아 둔 후계자(노예 중 무작위 한 명)를 새 팀장으로 승격시키고,
      * 나머지는 그 새 팀장의 노예로 종속시킨 후 기존 고리 관계를 유지합니다.
+     * 노예가 없으면 이탈 팀장을 쫓던 팀장이 그 타겟을 물려받습니다.
      * @param leavingLeaderUUID 이탈하는 팀장의 UUID
      */
     public void handleLeaderExit(UUID leavingLeaderUUID) {
         plugin.getServer().broadcastMessage(ChatColor.RED + "[GGORRI] " + plugin.getServer().getOfflinePlayer(leavingLeaderUUID).getName() + " 플레이어가 게임을 이탈했습니다!");
-        plugin.getLogger().info("[GGORRI] 팀장 이탈 처리 시작: " + plugin.getServer().getOfflinePlayer(leavingLeaderUUID).getName());
 
-        PlayerGameData leavingLeaderData = playersInGame.get(leavingLeaderUUID);
-        if (leavingLeaderData == null) {
-            plugin.getLogger().warning("[GGORRI] handleLeaderExit: 이탈 팀장(" + plugin.getServer().getOfflinePlayer(leavingLeaderUUID).getName() + ")의 PlayerGameData를 찾을 수 없습니다. 고리 조정 없이 종료.");
+        if (!chainGraph.contains(leavingLeaderUUID)) {
+            plugin.getLogger().warning("[GGORRI] handleLeaderExit: 이탈 팀장(" + plugin.getServer().getOfflinePlayer(leavingLeaderUUID).getName() + ")이 꼬리 고리에 없습니다. 고리 조정 없이 종료.");
             return;
         }
 
-        UUID oldLeaderTargetUUID = leavingLeaderData.getDirectTargetUUID(); // 이탈 팀장의 직계 타겟
-        // playersInGame.remove(leavingLeaderUUID); // 이탈한 팀장은 GameManager의 leaveGame에서 제거됩니다.
+        UUID hunterUUID = chainGraph.getHunter(leavingLeaderUUID);
+        UUID newLeaderUUID = chainGraph.remove(leavingLeaderUUID);
 
-        // 1. 이탈한 팀장의 노예들을 식별 (masterUUID 필드를 활용)
-        List<UUID> formerSlavesOfLeavingLeader = playersInGame.values().stream()
-                .filter(data -> data.getRole() == PlayerRole.SLAVE && Objects.equals(data.getMasterUUID(), leavingLeaderUUID))
-                .map(PlayerGameData::getPlayerUUID)
-                .collect(Collectors.toList());
+        if (newLeaderUUID != null) {
+            for (UUID slaveUUID : chainGraph.getSlaves(newLeaderUUID)) {
+                Player slavePlayer = Bukkit.getPlayer(slaveUUID);
+                if (slavePlayer != null) {
+                    slavePlayer.sendMessage(ChatColor.GRAY + "[GGORRI] 당신은 이제 새로운 팀장 " + Bukkit.getOfflinePlayer(newLeaderUUID).getName() + "님의 노예가 되었습니다.");
+                }
+            }
+        } else if (hunterUUID != null && !hunterUUID.equals(leavingLeaderUUID)) {
+            UUID inheritedTargetUUID = chainGraph.getTarget(hunterUUID);
+            Player hunter = Bukkit.getPlayer(hunterUUID);
+            if (hunter != null && inheritedTargetUUID != null) {
+                hunter.sendMessage(ChatColor.AQUA + "[GGORRI] 타겟이 이탈했습니다. 당신의 새로운 타겟: " + plugin.getServer().getOfflinePlayer(inheritedTargetUUID).getName());
+            }
+        }
+        verify("팀장 이탈");
+        gameManager.getEventBus().post(new GameEvent.LeaderExited(leavingLeaderUUID, newLeaderUUID));
+    }
 
-        UUID newLeaderUUID = null;
-        if (!formerSlavesOfLeavingLeader.isEmpty()) {
-            // 이탈 팀장의 노예들 중 한 명을 무작위로 선택하여 새로운 팀장으로 승격
-            newLeaderUUID = formerSlavesOfLeavingLeader.get(random.nextInt(formerSlavesOfLeavingLeader.size()));
-            PlayerGameData newLeaderData = playersInGame.get(newLeaderUUID);
+    /**
+     * 팀장이 아닌 참가자가 게임에서 나갈 때 팀에서 뺍니다. 고리는 바뀌지 않습니다.
+     */
+    public void handleMemberExit(UUID playerUUID) {
+        if (chainGraph.contains(playerUUID)) {
+            chainGraph.remove(playerUUID);
+            verify("참가자 이탈");
+        }
+    }
 
-            if (newLeaderData != null) {
-                newLeaderData.setRole(PlayerRole.LEADER); // 새 팀장으로 승격
-                newLeaderData.setDirectTargetUUID(oldLeaderTargetUUID); // **[핵심]** 이탈한 팀장의 이전 타겟을 그대로 물려받음
-                newLeaderData.setMasterUUID(null); // 새 팀장은 이제 마스터가 없음 (리더는 마스터가 없음)
+    /**
+     * 남은 모든 LEADER들을 대상으로 새로운 꼬리 고리를 재설정합니다. 팀 구성은 유지됩니다.
+     * 이 메서드는 handleLeaderExit에서 직접 호출되지 않습니다.
+     * 필요한 경우 외부에서 명시적으로 호출되어야 합니다.
+     */
+    public void reorganizeTargetRing() {
+        int leaders = chainGraph.getLeaderCount();
+        if (leaders == 0) {
+            plugin.getLogger().info("[GGORRI] 모든 LEADER가 사라져 꼬리 고리를 재설정할 수 없습니다.");
+            return;
+        }
+        chainGraph.reshuffleRing();
+        verify("고리 재설정");
 
-                // ... (생략) ...
+        if (leaders == 1) {
+            plugin.getLogger().info("[GGORRI] 리더가 한 명 남았고, 자기 자신을 타겟으로 설정되었습니다: " + plugin.getServer().getOfflinePlayer(chainGraph.getLeader(0)).getName());
+            return;
+        }
+        for (int i = 0; i < leaders; i++) {
+            UUID current = chainGraph.getLeader(i);
+            Player p = Bukkit.getPlayer(current);
+            if (p != null) {
+                p.sendMessage(ChatColor.AQUA + "[GGORRI] 새로운 꼬리 고리가 재설정되었습니다. 당신의 새로운 타겟: " + plugin.getServer().getOfflinePlayer(chainGraph.getTarget(current)).getName());
             }
         }
+        plugin.getLogger().info("[GGORRI] 전체 꼬리 고리가 재설정되었습니다.");
+    }
 
-        // 2. 새 팀장을 제외한 나머지 노예들은 모두 이 새 팀장의 노예로 종속시킵니다.
-        if (newLeaderUUID != null) {
-            for (UUID slaveUUID : formerSlavesOfLeavingLeader) {
-                if (!slaveUUID.equals(newLeaderUUID)) {
-                    PlayerGameData slaveData = playersInGame.get(slaveUUID);
-                    if (slaveData != null) {
-                        slaveData.setRole(PlayerRole.SLAVE); // 역할이 SLAVE임을 확실히 함
-                        slaveData.setDirectTargetUUID(null); // 노예는 직계 타겟 없음
-                        // !!! 수정: 노예가 된 플레이어에게 새 팀장의 마스터 UUID 설정 !!!
-                        slaveData.setMasterUUID(newLeaderUUID); // <-- 이 줄이 새로 추가되었습니다!
-                        Player slavePlayer = Bukkit.getPlayer(slaveUUID);
-                        if (slavePlayer != null) {
-                            slavePlayer.sendMessage(ChatColor.GRAY + "[GGORRI] 당신은 이제 새로운 팀장 " + Bukkit.getOfflinePlayer(newLeaderUUID).getName() + "님의 노예가 되었습니다.");
-                        }
-                    }
-                }
-            }
-            plugin.getLogger().info("[GGORRI] 새로운 팀장(" + Bukkit.getOfflinePlayer(newLeaderUUID).getName() + ")을 제외한 나머지 노예들은 그에게 종속되었습니다.");
-        } else {
-            // ... (생략) ...
+    /**
+     * 저널에서 복구한 참가자 데이터로 고리와 팀 구성을 다시 만듭니다.
+     * 고리만 끊어져 있으면 남은 팀장들로 고리를 다시 잇고, 팀 구성까지 맞지 않으면 복구를 포기합니다.
+     *
+     * @return 복구에 성공하면 true
+     */
+    public boolean restore(Collection<PlayerGameData> players) {
+        chainGraph.restore(players);
+        refreshPresence(); // 플러그인만 다시 켜진 경우 참가자가 이미 접속해 있을 수 있음
+        List<String> problems = chainGraph.validate();
+        if (problems.isEmpty()) {
+            return true;
         }
+        plugin.getLogger().warning("[GGORRI] 복구한 꼬리 고리가 올바르지 않아 팀장들로 고리를 다시 잇습니다: " + String.join(", ", problems));
+        chainGraph.reshuffleRing();
+        problems = chainGraph.validate();
+        if (problems.isEmpty()) {
+            return true;
+        }
+        plugin.getLogger().warning("[GGORRI] 꼬리 고리를 복구할 수 없습니다: " + String.join(", ", problems));
+        chainGraph.clear();
+        return false;
+    }
 
-        gameManager.getGameRulesManager().checkWinCondition();
+    /**
+     * 참가자의 접속 상태를 갱신합니다. 승리 조건 확인은 호출한 쪽에서 합니다.
+     */
+    public void setOnline(UUID playerUUID, boolean online) {
+        if (chainGraph.setOnline(playerUUID, online)) {
+            gameManager.markStateChanged();
+            verify(online ? "참가자 접속" : "참가자 퇴장");
+        }
+    }
 
-        plugin.getLogger().info("[GGORRI] 팀장 이탈 처리 완료.");
+    private void refreshPresence() {
+        for (UUID uuid : playersInGame.keySet()) {
+            chainGraph.setOnline(uuid, plugin.getServer().getPlayer(uuid) != null);
+        }
     }
 
     /**
-     * 남은 모든 LEADER들을 대상으로 새로운 꼬리 고리를 재설정합니다.
-     * 이 메서드는 더 이상 handleLeaderExit에서 직접 호출되지 않습니다.
-     * 필요한 경우 외부에서 명시적으로 호출되어야 합니다.
+     * 게임 종료 시 고리를 비웁니다.
      */
-    public void reorganizeTargetRing() {
-        // 이 메서드는 이제 handleLeaderExit에서 호출되지 않으므로,
-        // 필요하다면 GameRulesManager나 GameManager 등 다른 곳에서 전체 고리를 재편성하고 싶을 때 호출할 수 있습니다.
-        // 현재 요구사항에 따라 handleLeaderExit에서는 호출하지 않습니다.
-        List<UUID> remainingLeadersUUIDs = playersInGame.values().stream()
-                .filter(data -> data.getRole() == PlayerRole.LEADER)
-                .map(PlayerGameData::getPlayerUUID)
-                .collect(Collectors.toList());
-
-        if (remainingLeadersUUIDs.size() > 1) {
-            Collections.shuffle(remainingLeadersUUIDs, random);
-            for (int i = 0; i < remainingLeadersUUIDs.size(); i++) {
-                UUID current = remainingLeadersUUIDs.get(i);
-                UUID target = remainingLeadersUUIDs.get((i + 1) % remainingLeadersUUIDs.size());
-                PlayerGameData currentData = playersInGame.get(current);
-                if (currentData != null) {
-                    currentData.setDirectTargetUUID(target);
-                    currentData.setMasterUUID(null); // 리더는 마스터 없음
-                }
-                Player p = Bukkit.getPlayer(current);
-                if (p != null) {
-                    p.sendMessage(ChatColor.AQUA + "[GGORRI] 새로운 꼬리 고리가 재설정되었습니다. 당신의 새로운 타겟: " + plugin.getServer().getOfflinePlayer(target).getName());
-                }
-            }
-            plugin.getLogger().info("[GGORRI] 전체 꼬리 고리가 재설정되었습니다.");
-        } else if (remainingLeadersUUIDs.size() == 1) {
-            UUID soleLeaderUUID = remainingLeadersUUIDs.get(0);
-            PlayerGameData soleLeaderData = playersInGame.get(soleLeaderUUID);
-            if(soleLeaderData != null) {
-                soleLeaderData.setDirectTargetUUID(soleLeaderUUID);
-                soleLeaderData.setMasterUUID(null);
-                plugin.getLogger().info("[GGORRI] 리더가 한 명 남았고, 자기 자신을 타겟으로 설정되었습니다: " + plugin.getServer().getOfflinePlayer(soleLeaderUUID).getName());
-            }
-        } else {
-            plugin.getLogger().info("[GGORRI] 모든 LEADER가 사라져 꼬리 고리를 재설정할 수 없습니다.");
+    public void clear() {
+        chainGraph.clear();
+    }
+
+    private void verify(String operation) {
+        if (!verifyInvariants) {
+            return;
+        }
+        List<String> problems = chainGraph.validate();
+        if (problems.isEmpty()) {
+            return;
         }
+        invariantViolations += problems.size();
+        plugin.getLogger().warning("[GGORRI] 꼬리 고리 불변 조건 위반 (" + operation + "): " + String.join(", ", problems));
+    }
+
+    /**
+     * @return 소속 팀의 팀장 (팀장이면 자기 자신), 게임에 없으면 null
+     */
+    public UUID getTeamLeader(UUID playerUUID) {
+        return chainGraph.getLeaderOf(playerUUID);
+    }
+
+    /**
+     * 같은 팀인지 확인합니다. (팀킬 판정용)
+     */
+    public boolean isSameTeam(UUID first, UUID second) {
+        return chainGraph.isSameTeam(first, second);
+    }
+
+    public int getLeaderCount() {
+        return chainGraph.getLeaderCount();
+    }
+
+    public ChainGraph getChainGraph() {
+        return chainGraph;
+    }
+
+    public String getStatusLine() {
+        return "꼬리 고리: 팀장 " + chainGraph.getLeaderCount() + "명 / 참가 " + chainGraph.size() + "명 (접속 " + chainGraph.getOnlineCount() + "명)" +
+                (verifyInvariants ? ", 불변 조건 위반 " + invariantViolations + "건" : "");
     }
-}
\ No newline at end of file
+}
@@ -1,10 +1,21 @@
 package dev.o8o1o5.ggorri.manager;
 
 import dev.o8o1o5.ggorri.GGORRI;
+import dev.o8o1o5.ggorri.event.GameEventBus;
+import dev.o8o1o5.ggorri.event.GameEventLog;
+import dev.o8o1o5.ggorri.game.GameSnapshot;
+import dev.o8o1o5.ggorri.game.ParticipantRegistry;
 import dev.o8o1o5.ggorri.game.PlayerGameData;
 import dev.o8o1o5.ggorri.game.PlayerRole;
 import dev.o8o1o5.ggorri.items.CustomItems;
+import dev.o8o1o5.ggorri.journal.GameJournal;
+import dev.o8o1o5.ggorri.journal.RecoveredGame;
+import dev.o8o1o5.ggorri.listeners.ArenaEntityListener;
+import dev.o8o1o5.ggorri.listeners.BorderZoneListener;
 import dev.o8o1o5.ggorri.listeners.GameListener;
+import dev.o8o1o5.ggorri.listeners.SafeSurfaceListener;
+import dev.o8o1o5.ggorri.listeners.TeleportGuardListener;
+import dev.o8o1o5.ggorri.listeners.TickEndListener;
 import dev.o8o1o5.ggorri.listeners.TrackersCompassListener;
 import org.bukkit.*;
 import org.bukkit.block.Block;
@@ -16,7 +27,6 @@ import org.bukkit.scheduler.BukkitTask;
 
 import javax.swing.*;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
 
@@ -27,35 +37,71 @@ public class GameManager {
     private final ChainManager chainManager;
     private final GameRulesManager gameRulesManager;
     private final BorderManager borderManager;
+    private final GameJournal gameJournal;
+    private final GameEventBus eventBus; // 매니저 사이의 게임 이벤트 (틱이 끝날 때 모아서 전달)
 
     private final GameListener gameListener;
     private final TrackersCompassListener trackersCompassListener;
+    private final SafeSurfaceListener safeSurfaceListener;
+    private final TeleportGuardListener teleportGuardListener;
+    private final BorderZoneListener borderZoneListener;
+    private final ArenaEntityListener arenaEntityListener;
+    private final TickEndListener tickEndListener;
 
     public Map<UUID, PlayerGameData> playersInGame; // 모든 매니저가 공유
 
     public GameStatus currentStatus;
 
     private BukkitTask gameStartCountdownTask;
-    private BukkitTask winConditionCheckTask; // 추가: 승리 조건 주기적 확인 태스크
+    private BukkitTask resumeTask; // 복구된 게임의 참가자 재접속 대기 태스크
+    private RecoveredGame recoveredGame; // 재개를 기다리는 복구된 게임 (RESUMING 상태에서만)
+
+    // 다른 스레드에서 읽는 상태 스냅샷 (바뀐 틱이 끝날 때마다 새 객체로 교체)
+    private volatile GameSnapshot snapshot = GameSnapshot.EMPTY;
+    private boolean snapshotDirty = true; // 참가자/고리 변경 (메인 스레드에서만 접근)
+    private int snapshotBorderVersion = -1;
 
     private static final int MIN_PLAYERS = 2;
     private static final int MAX_PLAYERS = 10;
+    private static final int DEFAULT_RESUME_GRACE_SECONDS = 120;
 
     public GameManager(GGORRI plugin) {
         this.plugin = plugin;
-        this.playersInGame = new ConcurrentHashMap<>(); // ConcurrentHashMap 사용
-        this.playerManager = new PlayerManager(plugin, playersInGame);
+        this.playersInGame = new LinkedHashMap<>(); // 메인 스레드에서만 접근 (다른 스레드는 getSnapshot 사용)
+        this.eventBus = new GameEventBus(plugin.getLogger());
+        this.playerManager = new PlayerManager(plugin, playersInGame, MAX_PLAYERS);
         this.spawnManager = new SpawnManager(plugin, playerManager);
-        this.borderManager = new BorderManager(plugin, playersInGame); // BorderManager에 playersInGame 전달
+        this.borderManager = new BorderManager(plugin, playersInGame, spawnManager.getChunkTickets()); // BorderManager에 playersInGame 전달
         this.chainManager = new ChainManager(plugin, this, playersInGame);
+        this.gameJournal = new GameJournal(plugin);
+        chainManager.getChainGraph().setChangeListener(this::playerDataChanged); // 고리/팀 변경을 저널과 스냅샷에 반영
+        borderManager.initJournal(gameJournal);
+        borderManager.initEventBus(eventBus);
+        eventBus.subscribeAsync(new GameEventLog(plugin.getLogger(), this::getSnapshot)::log); // 이벤트 로그는 게임 스레드 밖에서 기록
         this.gameRulesManager = new GameRulesManager(plugin, this, playerManager, spawnManager, chainManager, borderManager);
 
         this.gameListener = new GameListener(plugin, this, playerManager);
         plugin.getServer().getPluginManager().registerEvents(gameListener, plugin);
         this.trackersCompassListener = new TrackersCompassListener(plugin, playerManager);
         plugin.getServer().getPluginManager().registerEvents(trackersCompassListener, plugin);
+        this.safeSurfaceListener = new SafeSurfaceListener(spawnManager);
+        plugin.getServer().getPluginManager().registerEvents(safeSurfaceListener, plugin);
+        this.teleportGuardListener = new TeleportGuardListener(spawnManager.getTeleportDispatcher());
+        plugin.getServer().getPluginManager().registerEvents(teleportGuardListener, plugin);
+        this.borderZoneListener = new BorderZoneListener(borderManager.getZoneTracker());
+        plugin.getServer().getPluginManager().registerEvents(borderZoneListener, plugin);
+        this.arenaEntityListener = new ArenaEntityListener(borderManager.getArenaEntityPolicy());
+        plugin.getServer().getPluginManager().registerEvents(arenaEntityListener, plugin);
+        this.tickEndListener = new TickEndListener(this);
+        plugin.getServer().getPluginManager().registerEvents(tickEndListener, plugin);
 
         this.currentStatus = GameStatus.WAITING;
+        spawnManager.startSurfaceIndexBuild(); // 대기 중에 안전 지표면 인덱스를 점진적으로 구축
+        // 게임 대기 중이고 참가자가 없을 때만 경기장 청크를 미리 생성 (참가/게임 시작 시 자동으로 일시 정지)
+        spawnManager.initArenaPregenerator(() -> currentStatus == GameStatus.WAITING && playersInGame.isEmpty());
+        borderManager.initSupplyDrops(spawnManager::getSafeSurfaceIndex);
+        borderManager.initChainCounts(chainManager::getLeaderCount, chainManager.getChainGraph()::getOnlineCount);
+        restoreInterruptedGame();
     }
 
     /**
@@ -65,6 +111,7 @@ public class GameManager {
         WAITING, // 게임 대기 중
         COUNTDOWN, // 게임 시작 카운트다운 중
         IN_GAME,   // 게임 진행 중
+        RESUMING,  // 저널에서 복구한 게임이 참가자 재접속을 기다리는 중
         ENDING     // 게임 종료 처리 중
     }
 
@@ -142,10 +189,14 @@ public class GameManager {
         }
 
         playerManager.addPlayerToGame(player);
+        markStateChanged();
         playerManager.resetPlayer(player);
         player.setGameMode(GameMode.ADVENTURE);
         player.teleport(spawnManager.getGameWorld().getSpawnLocation());
 
+        // 첫 참가자부터 시작 스폰 후보를 미리 준비
+        spawnManager.startSpawnPoolFill();
+
         player.sendMessage(ChatColor.GREEN + "[GGORRI] 게임에 참가했습니다!"); // 플레이어에게 직접 메시지
         plugin.getServer().broadcastMessage(ChatColor.YELLOW + player.getName() + "님이 게임에 참가했습니다! (" + playersInGame.size() + "/" + MAX_PLAYERS + "명)");
         plugin.getLogger().info("[GGORRI] " + player.getName() + "님이 게임에 참가했습니다. 현재 " + playersInGame.size() + "명.");
@@ -177,7 +228,11 @@ public class GameManager {
             PlayerGameData leavingPlayerData = playerManager.getPlayerGameData(player.getUniqueId());
             if (leavingPlayerData != null && leavingPlayerData.getRole() == PlayerRole.LEADER) {
                 chainManager.handleLeaderExit(player.getUniqueId());
+            } else {
+                chainManager.handleMemberExit(player.getUniqueId());
             }
+            gameRulesManager.cancelPendingRespawn(player.getUniqueId()); // 참가자 슬롯을 반납하기 전에 정리
+            gameJournal.playerRemoved(player.getUniqueId());
         } else {
             // GameStatus.WAITING 등 그 외의 상태
             plugin.getLogger().info("[GGORRI] " + player.getName() + "님이 대기 중 게임에서 나갔습니다.");
@@ -185,6 +240,8 @@ public class GameManager {
 
         // 실제 플레이어 제거 및 초기화
         playerManager.removePlayerFromGame(player); // PlayerManager의 게임 데이터 제거
+        markStateChanged();
+        borderManager.removeViewer(player); // 자기장 보스바/미리보기 제거
         player.teleport(spawnManager.getGameWorld().getSpawnLocation());
         player.setGameMode(org.bukkit.GameMode.ADVENTURE); // 안전하게 어드벤처 모드로 변경
         player.setHealth(20.0); // 체력 초기화
@@ -244,6 +301,8 @@ public class GameManager {
         currentStatus = GameStatus.COUNTDOWN; // 카운트다운 상태로 변경
         final int initialCountdown = 5; // 5초 카운트다운
 
+        spawnManager.startSpawnPoolFill(); // 카운트다운 동안 스폰 후보 풀 채우기 (이미 진행 중이면 무시)
+
         plugin.getLogger().info("[GGORRI] 게임 시작 카운트다운 시작... " + initialCountdown + "초");
         Bukkit.broadcastMessage(ChatColor.AQUA + "[GGORRI] 게임 시작까지 " + initialCountdown + "초 남았습니다!");
 
@@ -265,20 +324,13 @@ public class GameManager {
 
                     spawnManager.setupWorldBorder(spawnManager.getGameWorld());
                     chainManager.setupPlayerTargets(); // 이 로직이 GameRulesManager에서 처리되지 않는다면 유지
+                    gameJournal.begin(playersInGame.values(), System.currentTimeMillis()); // 이후 상태 변경은 저널에 기록
                     List<UUID> activePlayerUUIDs = new ArrayList<>(playersInGame.keySet());
                     spawnManager.spawnPlayers(activePlayerUUIDs);
+                    spawnManager.stopSpawnPoolFill();
+                    spawnManager.stopSurfaceIndexBuild(); // 게임 중에는 인덱스 구축으로 청크를 불러오지 않음
                     borderManager.startBorderSystem();
 
-                    if (winConditionCheckTask != null) {
-                        winConditionCheckTask.cancel();
-                    }
-                    winConditionCheckTask = new BukkitRunnable() {
-                        @Override
-                        public void run() {
-                            gameRulesManager.checkWinCondition();
-                        }
-                    }.runTaskTimer(plugin, 20 * 5L, 20 * 10L);
-
                     playerManager.clearLastAttackers();
 
                     for (UUID uuid : playersInGame.keySet()) {
@@ -333,10 +385,7 @@ public class GameManager {
             gameStartCountdownTask.cancel();
             gameStartCountdownTask = null;
         }
-        if (winConditionCheckTask != null) {
-            winConditionCheckTask.cancel();
-            winConditionCheckTask = null;
-        }
+        cancelResume();
         borderManager.stopBorderSystem();
 
         plugin.getServer().broadcastMessage(ChatColor.RED + "§l[GGORRI] 관리자에 의해 게임이 강제 종료되었습니다!");
@@ -364,8 +413,12 @@ public class GameManager {
 
         // 모든 스케줄러 중지
         if (gameStartCountdownTask != null) gameStartCountdownTask.cancel();
-        if (winConditionCheckTask != null) winConditionCheckTask.cancel();
         borderManager.stopBorderSystem(); // 자기장 시스템 중지
+        borderManager.clearSupplyDrops(); // 남은 보급 상자 정리
+        chainManager.clear(); // 꼬리 고리 비우기
+        cancelResume();
+        gameJournal.end(); // 끝난 게임은 복구하지 않음
+        gameRulesManager.cancelPendingRespawns(); // 부활 카운트다운과 부활 위치 예약(청크 티켓) 정리
 
         String winnerMessage;
         if (winnerLeaderUUID != null) {
@@ -395,10 +448,13 @@ public class GameManager {
                     }
                 }
             }
-            // OfflinePlayer도 처리할 수 있도록 playerManager.removePlayerFromGame 수정 (UUID 기반)
-            playerManager.removePlayerFromGame(plugin.getServer().getPlayer(uuid)); // 게임 데이터에서 제거 (맵에서 제거)
+            if (player != null) {
+                playerManager.removePlayerFromGame(player); // 게임 데이터에서 제거 (맵에서 제거)
+            } else {
+                playerManager.removePlayerData(uuid); // 오프라인 참가자 (복구된 게임 등)
+            }
         }
-        playersInGame.clear(); // 확실하게 비우기 (removePlayerFromGame이 이미 제거하지만, 혹시 모를 상황 대비)
+        playerManager.clearAllPlayers(); // 확실하게 비우기 (removePlayerFromGame이 이미 제거하지만, 혹시 모를 상황 대비)
 
 
         // 월드 보더 초기화 (SpawnManager에게 위임)
@@ -408,11 +464,196 @@ public class GameManager {
         trackersCompassListener.disableAllCompassTask();
 
         currentStatus = GameStatus.WAITING;
+        spawnManager.startSurfaceIndexBuild(); // 게임 중 무효화된 청크를 다시 스캔
         plugin.getLogger().info("[GGORRI] 게임 종료 및 초기화 완료.");
         // 액션바 시스템은 GameManager 생성 시 시작되므로, endGame에서는 굳이 다시 시작하지 않습니다.
         // 다음 게임 시작 시 자연스럽게 액션바 메시지가 갱신될 것입니다.
     }
 
+    /**
+     * 남아 있는 게임 저널이 있으면 중단된 게임을 복구하고, 참가자가 모두 다시 접속하거나
+     * journal.resume-grace-seconds가 지나면 게임을 이어서 진행합니다. (플러그인 시작 시)
+     */
+    private void restoreInterruptedGame() {
+        RecoveredGame recovered = gameJournal.recover();
+        if (recovered == null) {
+            return;
+        }
+        plugin.getLogger().info("[GGORRI] 중단된 게임 저널을 발견했습니다: " + recovered.getSummary());
+        if (recovered.getPlayers().size() < MIN_PLAYERS || !recovered.hasBorderState()) {
+            plugin.getLogger().warning("[GGORRI] 복구할 수 있는 게임 상태가 아니어서 저널을 버립니다.");
+            gameJournal.discard();
+            return;
+        }
+        for (PlayerGameData data : recovered.getPlayers()) {
+            playerManager.restorePlayerData(data);
+        }
+        if (!chainManager.restore(playersInGame.values())) {
+            playerManager.clearAllPlayers();
+            gameJournal.discard();
+            return;
+        }
+
+        currentStatus = GameStatus.RESUMING;
+        recoveredGame = recovered;
+        spawnManager.stopSurfaceIndexBuild();
+        // 재개 전에 다시 중단되어도 같은 상태로 복구되도록 복구한 상태를 새 저널로 기록
+        gameJournal.begin(playersInGame.values(), recovered.getStartedAtMillis());
+        gameJournal.borderChanged(recovered.getBorderPhase(), recovered.getBorderCenterX(), recovered.getBorderCenterZ(), recovered.getBorderSize());
+        recovered.getPendingRespawns().forEach((uuid, respawn) -> gameJournal.respawnScheduled(uuid, respawn.getDelayTicks(), respawn.isNearLeader()));
+
+        int graceSeconds = Math.max(0, plugin.getConfig().getInt("journal.resume-grace-seconds", DEFAULT_RESUME_GRACE_SECONDS));
+        plugin.getLogger().info("[GGORRI] 게임을 복구했습니다. 참가자 재접속을 최대 " + graceSeconds + "초 기다립니다.");
+        resumeTask = new BukkitRunnable() {
+            int waited = 0;
+
+            @Override
+            public void run() {
+                boolean allOnline = chainManager.getChainGraph().getOnlineCount() == chainManager.getChainGraph().size();
+                if (allOnline || waited >= graceSeconds) {
+                    resumeGame();
+                    return;
+                }
+                if (waited % 30 == 0) {
+                    plugin.getServer().broadcastMessage(ChatColor.YELLOW + "[GGORRI] 중단되었던 게임이 참가자 재접속을 기다리고 있습니다. (" + (graceSeconds - waited) + "초 후 재개)");
+                }
+                waited++;
+            }
+        }.runTaskTimer(plugin, 20L, 20L);
+    }
+
+    /**
+     * 복구된 게임을 이어서 진행합니다. 끝내 접속하지 않은 팀장은 게임 이탈로 처리합니다.
+     */
+    private void resumeGame() {
+        RecoveredGame recovered = recoveredGame;
+        cancelResume();
+        if (recovered == null || currentStatus != GameStatus.RESUMING) {
+            return;
+        }
+        currentStatus = GameStatus.IN_GAME;
+        plugin.getServer().broadcastMessage(ChatColor.GREEN + "§l[GGORRI] 중단되었던 게임을 이어서 진행합니다!");
+
+        spawnManager.stopSpawnPoolFill();
+        borderManager.resumeBorderSystem(recovered.getBorderPhase(), recovered.getBorderCenterX(), recovered.getBorderCenterZ(), recovered.getBorderSize());
+        playerManager.clearLastAttackers();
+
+        // 부활 대기 중이던 참가자는 기록된 대기 시간만큼 다시 기다림 (보존 아이템은 이미 인벤토리에 있음)
+        recovered.getPendingRespawns().forEach((uuid, respawn) -> {
+            Player player = plugin.getServer().getPlayer(uuid);
+            if (player != null && playersInGame.containsKey(uuid)) {
+                player.setGameMode(GameMode.SPECTATOR);
+                gameRulesManager.schedulePlayerRespawn(uuid, respawn.getDelayTicks(), respawn.isNearLeader(), Collections.emptyList());
+            } else {
+                gameJournal.respawnCompleted(uuid);
+            }
+        });
+
+        for (UUID uuid : new ArrayList<>(playersInGame.keySet())) {
+            if (currentStatus != GameStatus.IN_GAME) {
+                break; // 이탈 처리 중 승부가 남
+            }
+            PlayerGameData data = playersInGame.get(uuid);
+            if (data != null && data.getRole() == PlayerRole.LEADER && plugin.getServer().getPlayer(uuid) == null) {
+                chainManager.handleLeaderExit(uuid);
+            }
+        }
+        gameRulesManager.checkWinCondition(); // 중단 직전에 승부가 났거나 접속하지 않은 노예만 남은 경우
+        plugin.getLogger().info("[GGORRI] 복구된 게임을 재개했습니다. 참가자 " + playersInGame.size() + "명, 팀장 " + chainManager.getLeaderCount() + "명.");
+    }
+
+    private void cancelResume() {
+        if (resumeTask != null) {
+            resumeTask.cancel();
+            resumeTask = null;
+        }
+        recoveredGame = null;
+    }
+
+    /**
+     * 게임을 끝내지 않고 멈춘 뒤 저널을 닫습니다. 다음 시작 때 저널에서 복구됩니다. (플러그인 비활성화 시)
+     *
+     * @return 저널이 꺼져 있거나 진행 중인 게임이 없어 멈추지 않았으면 false
+     */
+    public boolean suspendGame() {
+        if (!gameJournal.isActive() || (currentStatus != GameStatus.IN_GAME && currentStatus != GameStatus.RESUMING)) {
+            return false;
+        }
+        cancelResume();
+        borderManager.stopBorderSystem(); // 보스바/미리보기/시야 거리 정리 (월드보더 크기는 그대로 둠)
+        gameRulesManager.cancelPendingRespawns();
+        trackersCompassListener.disableAllCompassTask();
+        gameJournal.close();
+        plugin.getLogger().info("[GGORRI] 진행 중인 게임을 저널에 기록하고 멈췄습니다. 다음 시작 때 복구됩니다.");
+        return true;
+    }
+
+    /**
+     * 참가자 데이터가 바뀌었을 때 저널에 기록하고 다음 스냅샷에 반영되도록 표시합니다.
+     */
+    public void playerDataChanged(PlayerGameData data) {
+        gameJournal.playerChanged(data);
+        snapshotDirty = true;
+    }
+
+    /**
+     * 참가자 구성이나 접속 상태가 바뀌어 다음 틱 끝에 스냅샷을 다시 발행해야 함을 표시합니다.
+     */
+    public void markStateChanged() {
+        snapshotDirty = true;
+    }
+
+    /**
+     * 틱이 끝날 때 메인 스레드에서 호출됩니다. 이번 틱의 게임 이벤트를 전달한 뒤, 그 결과까지 반영한 스냅샷을 발행합니다.
+     */
+    public void onTickEnd() {
+        eventBus.flush();
+        publishSnapshotIfChanged();
+    }
+
+    /**
+     * 이번 틱에 상태가 바뀌었으면 새 스냅샷을 만들어 발행합니다.
+     * 자기장은 단계/상태가 바뀔 때만 다시 담고, 남은 시간은 읽는 쪽에서 계산합니다.
+     */
+    public void publishSnapshotIfChanged() {
+        GameSnapshot previous = snapshot;
+        int borderVersion = borderManager.getStateVersion();
+        if (!snapshotDirty && borderVersion == snapshotBorderVersion && previous.getStatus() == currentStatus) {
+            return;
+        }
+        snapshotDirty = false;
+        snapshotBorderVersion = borderVersion;
+
+        ParticipantRegistry registry = playerManager.getParticipants(); // 접속/퇴장 때 갱신되는 핸들 (서버 조회 없이)
+        List<GameSnapshot.Participant> participants = new ArrayList<>(playersInGame.size());
+        for (PlayerGameData data : playersInGame.values()) {
+            UUID uuid = data.getPlayerUUID();
+            Player player = registry.getPlayer(uuid);
+            GameSnapshot.Participant before = previous.getParticipant(uuid);
+            String name = player != null ? player.getName() : before != null ? before.getName() : plugin.getServer().getOfflinePlayer(uuid).getName();
+            participants.add(new GameSnapshot.Participant(uuid, name, data.getRole(), data.getMasterUUID(), data.getDirectTargetUUID(),
+                    data.getDeathCount(), player != null));
+        }
+        GameSnapshot.Border border = currentStatus == GameStatus.IN_GAME ? borderManager.createSnapshot() : null;
+        snapshot = new GameSnapshot(previous.getSequence() + 1, System.currentTimeMillis(), currentStatus, participants,
+                chainManager.getLeaderCount(), border);
+    }
+
+    /**
+     * 마지막으로 발행된 상태 스냅샷을 돌려줍니다. 어느 스레드에서나 호출할 수 있습니다.
+     */
+    public GameSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * 플러그인 비활성화 시 호출되어 비동기 작업과 청크 티켓 등 남은 자원을 정리합니다.
+     */
+    public void shutdown() {
+        spawnManager.shutdown();
+        eventBus.shutdown();
+    }
+
     /**
      * Return current status of the game
      */
@@ -427,6 +668,10 @@ public class GameManager {
         return playersInGame.size();
     }
 
+    public int getMaxPlayers() {
+        return MAX_PLAYERS;
+    }
+
     /**
      * Return HashSet of player UUIDs
      */
@@ -434,6 +679,10 @@ public class GameManager {
         return new HashSet<>(playersInGame.keySet());
     }
 
+    public SpawnManager getSpawnManager() {
+        return spawnManager;
+    }
+
     public PlayerManager getPlayerManager() {
         return playerManager;
     }
@@ -445,4 +694,16 @@ public class GameManager {
     public GameRulesManager getGameRulesManager() {
         return gameRulesManager;
     }
+
+    public GameJournal getGameJournal() {
+        return gameJournal;
+    }
+
+    public GameEventBus getEventBus() {
+        return eventBus;
+    }
+
+    public BorderManager getBorderManager() {
+        return borderManager;
+    }
 }
\ No newline at end of file
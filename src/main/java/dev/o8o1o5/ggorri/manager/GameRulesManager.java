@@ -1,9 +1,15 @@
 package dev.o8o1o5.ggorri.manager;
 
 import dev.o8o1o5.ggorri.GGORRI;
+import dev.o8o1o5.ggorri.event.GameEvent;
+import dev.o8o1o5.ggorri.game.ChainGraph;
+import dev.o8o1o5.ggorri.game.CountdownBar;
+import dev.o8o1o5.ggorri.game.ParticipantRegistry;
 import dev.o8o1o5.ggorri.game.PlayerGameData;
 import dev.o8o1o5.ggorri.game.PlayerRole;
+import dev.o8o1o5.ggorri.spawn.RespawnSiteResolver;
 import org.bukkit.*;
+import org.bukkit.boss.BarColor;
 import org.bukkit.entity.Player;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.entity.EntityDamageEvent;
@@ -13,11 +19,10 @@ import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
-import java.util.stream.Collectors;
 
 public class GameRulesManager {
     private final GGORRI plugin;
@@ -28,7 +33,10 @@ public class GameRulesManager {
     private final BorderManager borderManager;
     private final Random random;
 
-    private final Map<UUID, BukkitTask> countdownTasks = new HashMap<>();
+    private final ParticipantRegistry participants;
+    private final BukkitRunnable[] countdownTasks; // 참가자 슬롯별 부활 카운트다운
+    private final CountdownBar[] respawnBars; // 참가자 슬롯별 부활까지 남은 시간 보스바
+    private final RespawnSiteResolver respawnSiteResolver; // 부활 대기 중 부활 위치를 미리 찾아둠
 
     public GameRulesManager(GGORRI plugin, GameManager gameManager, PlayerManager playerManager, SpawnManager spawnManager, ChainManager chainManager, BorderManager borderManager) {
         this.plugin = plugin;
@@ -38,6 +46,15 @@ public class GameRulesManager {
         this.chainManager = chainManager;
         this.borderManager = borderManager;
         this.random = new Random();
+        this.respawnSiteResolver = new RespawnSiteResolver(plugin, spawnManager);
+        this.participants = playerManager.getParticipants();
+        this.countdownTasks = new BukkitRunnable[participants.capacity()];
+        this.respawnBars = new CountdownBar[participants.capacity()];
+
+        // 팀장 수나 팀 구성, 접속 인원이 바뀌는 이벤트에서만 승리 조건을 확인 (같은 틱이 끝날 때)
+        gameManager.getEventBus().subscribe(GameEvent.Enslaved.class, event -> checkWinCondition());
+        gameManager.getEventBus().subscribe(GameEvent.LeaderExited.class, event -> checkWinCondition());
+        gameManager.getEventBus().subscribe(GameEvent.ParticipantDisconnected.class, event -> checkWinCondition());
     }
 
     /**
@@ -59,9 +76,8 @@ public class GameRulesManager {
             return;
         }
 
-        plugin.getLogger().info("[GGORRI] " + deadPlayer.getName() + " 사망! 원인: " + damageCause.name());
-
         deadPlayerData.incrementDeathCount();
+        gameManager.playerDataChanged(deadPlayerData);
 
         // 리스폰 지연 시간 계산
         final long calculatedRespawnDelaySeconds = (long) (60 * Math.pow(1.2, deadPlayerData.getDeathCount() - 1));
@@ -79,6 +95,7 @@ public class GameRulesManager {
         }
 
         boolean tempSpawnNearTeamLeader = false;
+        GameEvent.KillType killType = GameEvent.KillType.NATURAL;
 
         // **여기부터 수정된 부분입니다.**
         // 킬 타입 판정 및 처리
@@ -87,31 +104,30 @@ public class GameRulesManager {
             if (killerPlayerData != null) { // 킬러 데이터가 유효한 경우
                 // **노예 플레이어가 사망했을 때의 특별 처리**
                 if (deadPlayerData.getRole() == PlayerRole.SLAVE) {
-                    plugin.getLogger().info("[GGORRI] 노예 " + deadPlayer.getName() + "이(가) " + plugin.getServer().getOfflinePlayer(actualKillerUUID).getName() + "에게 처치됨 (노예). 일반 킬 처리.");
+                    killType = GameEvent.KillType.SLAVE;
                     // 노예 사망 시 리더 근처 스폰 여부는 게임 규칙에 따라 결정 (여기서는 기존 로직 유지)
                     tempSpawnNearTeamLeader = true;
                 } else if (killerPlayerData.getRole() == PlayerRole.LEADER) {
                     if (killerPlayerData.getDirectTargetUUID() != null && killerPlayerData.getDirectTargetUUID().equals(deadUUID)) {
-                        plugin.getLogger().info("[GGORRI] " + deadPlayer.getName() + "이(가) " + plugin.getServer().getOfflinePlayer(actualKillerUUID).getName() + "에게 정상 처치됨.");
+                        killType = GameEvent.KillType.NORMAL;
                         handleNormalKill(deadPlayer, plugin.getServer().getPlayer(actualKillerUUID));
                         tempSpawnNearTeamLeader = true;
                     } else {
-                        plugin.getLogger().info("[GGORRI] " + deadPlayer.getName() + "이(가) " + plugin.getServer().getOfflinePlayer(actualKillerUUID).getName() + "에게 잘못된 타겟으로 처치됨.");
+                        killType = GameEvent.KillType.WRONG_TARGET;
                         handleWrongTargetKill(deadPlayer, plugin.getServer().getPlayer(actualKillerUUID));
                         tempSpawnNearTeamLeader = true;
                     }
                 } else { // 킬러는 있으나 리더가 아니거나 노예가 아닌 플레이어
-                    plugin.getLogger().info("[GGORRI] " + deadPlayer.getName() + "이(가) (비유효한 킬러: " + (killer != null ? killer.getName() : "없음") + " / 트래커 킬러: " + (actualKillerUUID != null ? plugin.getServer().getOfflinePlayer(actualKillerUUID).getName() : "없음") + ")에게 사망. 자연사로 처리.");
                     Bukkit.broadcastMessage(ChatColor.GRAY + deadPlayer.getName() + "님이 사망했습니다. (자연사)");
                 }
             } else { // 킬러 playerData가 null (이상한 상황이지만 예외 처리)
-                plugin.getLogger().info("[GGORRI] " + deadPlayer.getName() + "이(가) 자연사했습니다. (킬러PlayerData 없음)");
                 Bukkit.broadcastMessage(ChatColor.GRAY + deadPlayer.getName() + "님이 사망했습니다. (자연사)");
             }
         } else {
-            plugin.getLogger().info("[GGORRI] " + deadPlayer.getName() + "이(가) 자연사했습니다. (킬러 없음 / 유효하지 않은 킬러)");
             Bukkit.broadcastMessage(ChatColor.GRAY + deadPlayer.getName() + "님이 사망했습니다. (자연사)");
         }
+        gameManager.getEventBus().post(new GameEvent.PlayerKilled(deadUUID, killType != GameEvent.KillType.NATURAL ? actualKillerUUID : null,
+                killType, damageCause.name(), deadPlayerData.getDeathCount(), finalRespawnDelaySeconds));
 
         PlayerInventory inventory = deadPlayer.getInventory();
 
@@ -168,6 +184,9 @@ public class GameRulesManager {
 
         // --- 플레이어 모드 변경 & 암흑 효과 ---
         Bukkit.getScheduler().runTaskLater(plugin, () -> {
+            if (gameManager.getCurrentStatus() != GameManager.GameStatus.IN_GAME) {
+                return; // 이 처치로 승부가 나서 이미 게임이 끝남
+            }
             deadPlayer.setGameMode(GameMode.SPECTATOR);
 
             deadPlayer.addPotionEffect(new PotionEffect(PotionEffectType.DARKNESS, Integer.MAX_VALUE, 0, false, false));
@@ -176,7 +195,7 @@ public class GameRulesManager {
         }, 1L);
 
         playerManager.clearDamageRecordsForPlayer(deadUUID);
-        checkWinCondition();
+        // 승리 조건은 팀 구성이 바뀌었을 때(Enslaved/LeaderExited) 이번 틱이 끝나면서 확인됨
     }
 
     /**
@@ -201,11 +220,7 @@ public class GameRulesManager {
         UUID deadUUID = deadPlayer.getUniqueId();
         UUID killerUUID = killer.getUniqueId();
 
-        PlayerGameData deadPlayerData = playerManager.getPlayerGameData(deadUUID);
-        if (deadPlayerData != null) {
-            deadPlayerData.setRole(PlayerRole.SLAVE);
-            deadPlayerData.setMasterUUID(killerUUID);
-            deadPlayerData.setDirectTargetUUID(null);
+        if (chainManager.enslavePlayer(killerUUID, deadUUID)) {
             Bukkit.broadcastMessage(ChatColor.YELLOW + "§l" + killer.getName() + "님이 잘못된 타겟인 " + deadPlayer.getName() + "을(를) 처치했습니다!");
             Bukkit.broadcastMessage(ChatColor.YELLOW + deadPlayer.getName() + "님은 이제 " + killer.getName() + "님의 노예가 됩니다.");
         }
@@ -220,83 +235,193 @@ public class GameRulesManager {
      * @param spawnNearTeamLeader 팀장 근처에서 부활할지 여부 (true: 팀장 근처, false: 일반 스폰)
      */
     public void schedulePlayerRespawn(UUID playerUUID, long delayTicks, boolean spawnNearTeamLeader, List<ItemStack> preservedItems) {
-        if (countdownTasks.containsKey(playerUUID)) {
-            countdownTasks.get(playerUUID).cancel();
-            countdownTasks.remove(playerUUID);
+        final int slot = participants.slotOf(playerUUID);
+        if (slot == ParticipantRegistry.NO_SLOT) {
+            plugin.getLogger().warning("[GGORRI] " + plugin.getServer().getOfflinePlayer(playerUUID).getName() + " is not a participant, cannot schedule respawn.");
+            return;
         }
+        cancelCountdown(slot);
 
         final long[] remainingTicks = {delayTicks}; // 람다 내부에서 값을 변경하기
-        final Player player = Bukkit.getPlayer(playerUUID);
+        final Player player = participants.getPlayer(slot);
 
         if (player == null || !player.isOnline()) {
             plugin.getLogger().warning("[GGORRI] " + (player != null ? player.getName() : "Unknown Player") + " is offline, cannot schedule respawn.");
             return;
         }
 
-        // *** 이 부분을 수정합니다. ***
-        // runTaskLater -> runTaskTimer 로 변경
+        // 부활 대기 중에는 최소 시야 거리만 보냄 (부활하면 단계 시야 거리로 복구)
+        borderManager.getViewDistancePolicy().enterLimbo(player);
+        gameManager.getGameJournal().respawnScheduled(playerUUID, delayTicks, spawnNearTeamLeader);
+
+        // 남은 시간은 플레이어별 보스바로 표시 (값이 바뀔 때만 전송)
+        CountdownBar respawnBar = new CountdownBar(plugin.getServer(), BarColor.WHITE);
+        respawnBar.addViewer(player);
+        respawnBars[slot] = respawnBar;
+
         // delay: 첫 실행까지의 지연 시간 (초기 지연 시간)
         // period: run() 메서드의 반복 간격 (20틱 = 1초)
-        BukkitTask task = new BukkitRunnable() {
+        BukkitRunnable task = new BukkitRunnable() {
             @Override
             public void run() {
-                // 이 로그는 이제 1초마다 출력될 것입니다.
-                plugin.getLogger().info("[GGORRI] " + player.getName() + " 부활 카운트다운 진행 중. 남은 틱: " + remainingTicks[0]);
-
                 if (!player.isOnline() || !player.isValid()) {
                     cancel(); // 플레이어가 오프라인이거나 유효하지 않으면 취소
-                    countdownTasks.remove(playerUUID);
+                    releaseCountdown(slot, this);
+                    respawnSiteResolver.cancel(playerUUID);
+                    borderManager.getViewDistancePolicy().leaveLimbo(playerUUID);
                     plugin.getLogger().warning("[GGORRI] Respawn countdown for " + player.getName() + " cancelled (offline/invalid)");
                     return;
                 }
 
                 if (remainingTicks[0] <= 0) {
                     cancel(); // 카운트다운이 끝나면 취소
-                    countdownTasks.remove(playerUUID);
+                    releaseCountdown(slot, this);
+                    gameManager.getGameJournal().respawnCompleted(playerUUID);
 
                     respawnPlayer(player, spawnNearTeamLeader, preservedItems);
-                    plugin.getLogger().info("[GGORRI] " + player.getName() + " has been respawned.");
+                    gameManager.getEventBus().post(new GameEvent.Respawned(playerUUID, spawnNearTeamLeader));
                     return;
                 }
 
-                // 액션바 메시지 전송
-                player.sendActionBar("부활 대기 중: " + (remainingTicks[0] / 20) + "초");
+                // 대기 중에 부활 위치를 미리 찾아두고, 팀장 이동/자기장 축소로 무효가 되면 다시 찾음
+                respawnSiteResolver.prepare(playerUUID, findRespawnAnchor(player, spawnNearTeamLeader));
+
+                respawnBar.update("부활 대기 중: " + (remainingTicks[0] / 20) + "초", BarColor.WHITE, delayTicks > 0 ? (double) remainingTicks[0] / delayTicks : 0.0);
 
                 // 남은 틱 감소 (1초마다 20틱씩 감소)
                 remainingTicks[0] -= 20L;
                 if (remainingTicks[0] < 0) remainingTicks[0] = 0; // 혹시라도 음수가 되는 경우 방지
             }
-        }.runTaskTimer(plugin, 0L, 20L); // 첫 실행은 즉시 (0L), 이후 20틱(1초)마다 반복
+        };
+        task.runTaskTimer(plugin, 0L, 20L); // 첫 실행은 즉시 (0L), 이후 20틱(1초)마다 반복
 
         // 작업 등록
-        countdownTasks.put(playerUUID, task);
+        countdownTasks[slot] = task;
+    }
+
+    /**
+     * 이 슬롯의 부활 카운트다운과 보스바를 정리합니다.
+     */
+    private void cancelCountdown(int slot) {
+        if (countdownTasks[slot] != null) {
+            countdownTasks[slot].cancel();
+            countdownTasks[slot] = null;
+        }
+        if (respawnBars[slot] != null) {
+            respawnBars[slot].removeAll();
+            respawnBars[slot] = null;
+        }
+    }
+
+    /**
+     * 끝난 카운트다운이 아직 이 슬롯에 등록된 것이면 정리합니다. (그 사이 새 카운트다운이 등록되었으면 건드리지 않음)
+     */
+    private void releaseCountdown(int slot, BukkitRunnable task) {
+        if (countdownTasks[slot] == task) {
+            countdownTasks[slot] = null;
+            if (respawnBars[slot] != null) {
+                respawnBars[slot].removeAll();
+                respawnBars[slot] = null;
+            }
+        }
+    }
+
+    /**
+     * 한 참가자의 부활 카운트다운과 부활 위치 예약을 취소합니다. (게임 도중 퇴장 시)
+     */
+    public void cancelPendingRespawn(UUID playerUUID) {
+        int slot = participants.slotOf(playerUUID);
+        if (slot == ParticipantRegistry.NO_SLOT || countdownTasks[slot] == null) {
+            return;
+        }
+        cancelCountdown(slot);
+        respawnSiteResolver.cancel(playerUUID);
+        borderManager.getViewDistancePolicy().leaveLimbo(playerUUID);
     }
 
     private void respawnPlayer(Player player, boolean spawnNearTeamLeader, List<ItemStack> preservedItems) { // preservedItems 인자 유지
         PlayerGameData playerData = playerManager.getPlayerGameData(player.getUniqueId());
         if (playerData == null) {
             plugin.getLogger().warning("[GGORRI] 부활하려는 플레이어(" + player.getName() + ")의 게임 데이터가 없습니다.");
+            respawnSiteResolver.cancel(player.getUniqueId());
+            borderManager.getViewDistancePolicy().leaveLimbo(player.getUniqueId());
             player.spigot().respawn(); // 게임 데이터가 없는 경우 기본 리스폰
             return;
         }
 
-        // 플레이어의 게임 모드를 SURVIVAL로 변경 (onPlayerDeath에서 스펙테이터로 설정했으므로 여기서 다시 돌립니다.)
-        player.setGameMode(GameMode.SURVIVAL);
+        // 대기 시간 동안 미리 찾아둔 위치가 있으면 바로 사용 (청크가 이미 로드되어 있음)
+        RespawnSiteResolver.ClaimedSite site = respawnSiteResolver.claim(player.getUniqueId(), findRespawnAnchor(player, spawnNearTeamLeader));
+        if (site != null) {
+            if (site.isNearAnchor()) {
+                player.sendMessage(ChatColor.GREEN + "[GGORRI] 팀장 근처에서 부활했습니다!");
+            } else {
+                if (spawnNearTeamLeader) {
+                    player.sendMessage(ChatColor.RED + "[GGORRI] 팀장 근처 부활 위치를 찾지 못해 일반 스폰으로 이동합니다.");
+                }
+                player.sendMessage(ChatColor.GREEN + "[GGORRI] 일반 스폰 지점에서 부활했습니다!");
+            }
+            completeRespawn(player, site.getLocation(), preservedItems);
+            return;
+        }
+
+        // 예약이 준비되지 않은 경우에만 지금 비동기로 탐색하며, 결과는 메인 스레드에서 completeRespawn으로 전달됩니다.
+        plugin.getLogger().info("[GGORRI] " + player.getName() + "의 예약된 부활 위치가 없어 지금 탐색합니다.");
+        resolveRespawnLocation(player, spawnNearTeamLeader).thenAccept(spawnLoc -> {
+            if (!player.isOnline() || playerManager.getPlayerGameData(player.getUniqueId()) == null) {
+                plugin.getLogger().warning("[GGORRI] " + player.getName() + "의 부활 위치를 찾는 동안 플레이어가 게임을 떠났습니다.");
+                return;
+            }
+            completeRespawn(player, spawnLoc, preservedItems);
+        });
+    }
+
+    /**
+     * 팀장 근처 부활이면 현재 팀장 위치를, 일반 부활이거나 팀장을 찾을 수 없으면 null을 반환합니다.
+     */
+    private Location findRespawnAnchor(Player player, boolean spawnNearTeamLeader) {
+        if (!spawnNearTeamLeader) {
+            return null;
+        }
+        UUID teamLeaderUUID = findTeamLeaderForSlave(player.getUniqueId());
+        Player teamLeader = teamLeaderUUID != null ? plugin.getServer().getPlayer(teamLeaderUUID) : null;
+        return teamLeader != null && teamLeader.isOnline() ? teamLeader.getLocation() : null;
+    }
+
+    /**
+     * 진행 중인 모든 부활 카운트다운과 부활 위치 예약을 취소합니다. (게임 종료 시)
+     */
+    public void cancelPendingRespawns() {
+        for (int slot = 0; slot < countdownTasks.length; slot++) {
+            cancelCountdown(slot);
+        }
+        respawnSiteResolver.clear();
+    }
+
+    public RespawnSiteResolver getRespawnSiteResolver() {
+        return respawnSiteResolver;
+    }
 
-        Location spawnLoc = null;
+    /**
+     * 부활 위치를 비동기로 찾습니다. 팀장 근처 부활이면 팀장 근처를 먼저 찾고, 실패하면 자기장 전체에서 찾습니다.
+     * @return 부활 위치로 완료되는 future (메인 스레드에서 완료, 항상 null이 아닌 위치)
+     */
+    private CompletableFuture<Location> resolveRespawnLocation(Player player, boolean spawnNearTeamLeader) {
+        CompletableFuture<Location> nearLeader = CompletableFuture.completedFuture(null);
 
         if (spawnNearTeamLeader) {
             UUID teamLeaderUUID = findTeamLeaderForSlave(player.getUniqueId());
             if (teamLeaderUUID != null) {
                 Player teamLeader = plugin.getServer().getPlayer(teamLeaderUUID);
                 if (teamLeader != null && teamLeader.isOnline()) {
-                    spawnLoc = spawnManager.findSafeSpawnLocation(teamLeader.getLocation(), 50, 10, 100);
-                    if (spawnLoc == null) {
-                        plugin.getLogger().warning("[GGORRI] " + player.getName() + " (노예)를 위한 팀장 근처 안전 스폰 위치를 찾지 못했습니다. 일반 스폰으로 이동합니다.");
-                        player.sendMessage(ChatColor.RED + "[GGORRI] 팀장 근처 부활 위치를 찾지 못해 일반 스폰으로 이동합니다.");
-                    } else {
-                        player.sendMessage(ChatColor.GREEN + "[GGORRI] 팀장 근처에서 부활했습니다!");
-                    }
+                    nearLeader = spawnManager.findSafeSpawnLocation(teamLeader.getLocation(), 50, 10, 100).thenApply(loc -> {
+                        if (loc == null) {
+                            plugin.getLogger().warning("[GGORRI] " + player.getName() + " (노예)를 위한 팀장 근처 안전 스폰 위치를 찾지 못했습니다. 일반 스폰으로 이동합니다.");
+                            player.sendMessage(ChatColor.RED + "[GGORRI] 팀장 근처 부활 위치를 찾지 못해 일반 스폰으로 이동합니다.");
+                        } else {
+                            player.sendMessage(ChatColor.GREEN + "[GGORRI] 팀장 근처에서 부활했습니다!");
+                        }
+                        return loc;
+                    });
                 } else {
                     plugin.getLogger().warning("[GGORRI] " + player.getName() + " (노예)의 팀장(" + (teamLeaderUUID != null ? plugin.getServer().getOfflinePlayer(teamLeaderUUID).getName() : "없음") + ")이 오프라인이거나 유효하지 않습니다. 일반 스폰으로 이동합니다.");
                     player.sendMessage(ChatColor.YELLOW + "[GGORRI] 팀장이 오프라인이거나 찾을 수 없어 일반 스폰으로 이동합니다.");
@@ -307,175 +432,109 @@ public class GameRulesManager {
             }
         }
 
-        if (spawnLoc == null) {
+        return nearLeader.thenCompose(loc -> {
+            if (loc != null) {
+                return CompletableFuture.completedFuture(loc);
+            }
             // 전역 스폰 위치 찾기
-            spawnLoc = spawnManager.findSafeSpawnLocation(borderManager.getCurrentBorderCenter(), (int)spawnManager.getGameWorld().getWorldBorder().getSize(), 0, 500);
-            if (spawnLoc == null) {
-                plugin.getLogger().warning("[GGORRI] 플레이어 " + player.getName() + "를 위한 안전한 부활 위치를 찾지 못했습니다. 월드 스폰으로 이동합니다.");
-                player.sendMessage(ChatColor.RED + "[GGORRI] 안전한 부활 위치를 찾지 못해 월드 스폰으로 이동합니다.");
-                spawnLoc = spawnManager.getGameWorld().getSpawnLocation(); // 최종 fallback
-            } else {
+            // 자기장 한 변의 절반이 반경 (중심에서 보더 모서리까지)
+            return spawnManager.findSafeSpawnLocation(borderManager.getCurrentBorderCenter(), (int) (spawnManager.getGameWorld().getWorldBorder().getSize() / 2), 0, 500).thenApply(globalLoc -> {
+                if (globalLoc == null) {
+                    plugin.getLogger().warning("[GGORRI] 플레이어 " + player.getName() + "를 위한 안전한 부활 위치를 찾지 못했습니다. 월드 스폰으로 이동합니다.");
+                    player.sendMessage(ChatColor.RED + "[GGORRI] 안전한 부활 위치를 찾지 못해 월드 스폰으로 이동합니다.");
+                    return spawnManager.getGameWorld().getSpawnLocation(); // 최종 fallback
+                }
                 player.sendMessage(ChatColor.GREEN + "[GGORRI] 일반 스폰 지점에서 부활했습니다!");
+                return globalLoc;
+            });
+        });
+    }
+
+    /**
+     * 찾은 위치로 플레이어를 실제로 부활시킵니다.
+     */
+    private void completeRespawn(Player player, Location spawnLoc, List<ItemStack> preservedItems) {
+        // 스펙테이터 상태에서 먼저 비동기로 이동하고, 도착한 뒤에 서바이벌로 되돌립니다. (이동 중 피해 방지)
+        // 실패하면 한 번 더 비동기로 시도하며, 목적지 청크를 메인 스레드에서 불러오는 즉시 텔레포트로는 대신하지 않습니다.
+        spawnManager.getTeleportDispatcher().teleportWithRetry(player, spawnLoc).thenAccept(success -> {
+            if (!player.isOnline() || playerManager.getPlayerGameData(player.getUniqueId()) == null) {
+                return;
+            }
+            if (!success) {
+                plugin.getLogger().warning("[GGORRI] " + player.getName() + "의 비동기 텔레포트에 두 번 실패했습니다. 현재 위치에서 부활합니다.");
             }
-        }
 
-        // 먼저 플레이어의 모든 상태(인벤토리 포함)를 초기화합니다.
-        // resetPlayer 메서드가 인벤토리를 clear() 하므로, 이 시점에서 인벤토리가 비워집니다.
-        playerManager.resetPlayer(player);
+            // 플레이어의 게임 모드를 SURVIVAL로 변경 (onPlayerDeath에서 스펙테이터로 설정했으므로 여기서 다시 돌립니다.)
+            player.setGameMode(GameMode.SURVIVAL);
+            borderManager.getViewDistancePolicy().leaveLimbo(player.getUniqueId()); // 단계 시야 거리로 복구
 
-        // resetPlayer 호출 후, 보존된 아이템을 플레이어 인벤토리에 다시 추가합니다.
-        if (!preservedItems.isEmpty()) {
-            player.getInventory().addItem(preservedItems.toArray(new ItemStack[0]));
-        }
+            // 먼저 플레이어의 모든 상태(인벤토리 포함)를 초기화합니다.
+            // resetPlayer 메서드가 인벤토리를 clear() 하므로, 이 시점에서 인벤토리가 비워집니다.
+            playerManager.resetPlayer(player);
+
+            // resetPlayer 호출 후, 보존된 아이템을 플레이어 인벤토리에 다시 추가합니다.
+            if (!preservedItems.isEmpty()) {
+                player.getInventory().addItem(preservedItems.toArray(new ItemStack[0]));
+            }
 
-        // 플레이어를 최종 스폰 위치로 텔레포트합니다.
-        player.teleport(spawnLoc);
-        player.sendMessage("[GGORRI] 부활했습니다! 다시 꼬리를 쫓으세요!");
+            player.sendMessage("[GGORRI] 부활했습니다! 다시 꼬리를 쫓으세요!");
 
-        // 부활 후 무적 효과 및 화염 저항 효과를 부여합니다.
-        player.addPotionEffect(new PotionEffect(PotionEffectType.RESISTANCE, 20 * 5, 255, false, false)); // 5초 무적
-        player.addPotionEffect(new PotionEffect(PotionEffectType.FIRE_RESISTANCE, 20 * 5, 0, false, false)); // 5초 화염 저항
+            // 부활 후 무적 효과 및 화염 저항 효과를 부여합니다.
+            player.addPotionEffect(new PotionEffect(PotionEffectType.RESISTANCE, 20 * 5, 255, false, false)); // 5초 무적
+            player.addPotionEffect(new PotionEffect(PotionEffectType.FIRE_RESISTANCE, 20 * 5, 0, false, false)); // 5초 화염 저항
 
-        plugin.getLogger().info("[GGORRI] " + player.getName() + "님이 " + spawnLoc.getBlockX() + ", " + spawnLoc.getBlockY() + ", " + spawnLoc.getBlockZ() + "로 부활했습니다.");
+            plugin.getLogger().info("[GGORRI] " + player.getName() + "님이 " + spawnLoc.getBlockX() + ", " + spawnLoc.getBlockY() + ", " + spawnLoc.getBlockZ() + "로 부활했습니다.");
+        });
     }
 
+    /**
+     * 팀장을 찾습니다. 팀장이면 자기 자신을 반환합니다. (팀 인덱스 조회, O(1))
+     */
     public UUID findTeamLeaderForSlave(UUID slaveUUID) {
-        // !!! 수정: masterUUID 필드를 활용하도록 로직 간소화 !!!
-        PlayerGameData slaveData = playerManager.getPlayerGameData(slaveUUID);
-        if (slaveData == null) {
-            plugin.getLogger().warning("[GGORRI] 노예(" + plugin.getServer().getOfflinePlayer(slaveUUID).getName() + ")의 게임 데이터를 찾을 수 없습니다.");
-            return null;
-        }
-
-        if (slaveData.getRole() == PlayerRole.LEADER) {
-            // 스스로 리더인 경우, 자신의 UUID를 반환 (자기 자신이 팀장)
-            return slaveUUID;
-        } else if (slaveData.getRole() == PlayerRole.SLAVE) {
-            // 노예인 경우, masterUUID를 반환
-            if (slaveData.getMasterUUID() != null) {
-                return slaveData.getMasterUUID();
-            } else {
-                plugin.getLogger().warning("[GGORRI] 노예(" + plugin.getServer().getOfflinePlayer(slaveUUID).getName() + ")의 masterUUID가 설정되지 않았습니다. (오류 가능성)");
-                // masterUUID가 없으면, 기존의 고리 탐색 로직을 대체할 방안이 필요합니다.
-                // 현재는 이 시나리오가 발생하지 않도록 위에서 masterUUID를 확실히 설정했습니다.
-                // 따라서 이 부분은 사실상 도달하지 않거나, 초기 설정 오류 시에만 발생합니다.
-                return null;
-            }
+        UUID leaderUUID = chainManager.getTeamLeader(slaveUUID);
+        if (leaderUUID == null) {
+            plugin.getLogger().warning("[GGORRI] " + plugin.getServer().getOfflinePlayer(slaveUUID).getName() + "님이 꼬리 고리에 없어 팀장을 찾을 수 없습니다.");
         }
-        return null; // 알 수 없는 역할
+        return leaderUUID;
     }
 
     /**
-     * 현재 게임의 승리 조건을 확인합니다.
-     * 모든 플레이어가 하나의 LEADER (팀장) 밑에 SLAVE로 종속되었는지 확인합니다.
+     * 현재 게임의 승리 조건을 확인합니다. 처치/이탈/퇴장처럼 팀 구성이나 접속 인원이 바뀐 직후에 호출되어,
+     * 조건이 충족된 그 틱에 게임을 끝냅니다. 꼬리 고리가 유지하는 팀장 수와 접속 인원만 읽으므로 O(1)입니다.
+     * 승리 조건: 팀장이 한 명만 남았고, 접속 중인 참가자가 모두 그 팀에 속해 있음
      * @return 승리한 팀장의 UUID, 또는 null (아직 승리 조건 미충족 시)
      */
     public UUID checkWinCondition() {
         if (gameManager.getCurrentStatus() != GameManager.GameStatus.IN_GAME) {
-            plugin.getLogger().log(Level.FINE, "[GGORRI] checkWinCondition: 게임 중이 아님. 현재 상태: " + gameManager.getCurrentStatus());
             return null;
         }
 
-        Map<UUID, PlayerGameData> activePlayers = playerManager.getAllPlayersGameData().entrySet().stream()
-                .filter(entry -> plugin.getServer().getPlayer(entry.getKey()) != null && plugin.getServer().getPlayer(entry.getKey()).isOnline())
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-
-        plugin.getLogger().info("[GGORRI] checkWinCondition: 현재 활성 플레이어 수: " + activePlayers.size());
-        activePlayers.forEach((uuid, data) -> plugin.getLogger().info(" - " + plugin.getServer().getOfflinePlayer(uuid).getName() + " (역할: " + data.getRole() + ", 마스터: " + (data.getMasterUUID() != null ? plugin.getServer().getOfflinePlayer(data.getMasterUUID()).getName() : "없음") + ")"));
-
-
-        if (activePlayers.isEmpty()) {
-            plugin.getLogger().info("[GGORRI] checkWinCondition: 모든 플레이어가 게임에서 이탈하여 강제 종료됩니다.");
-            endGame(null); // 모든 플레이어가 나가면 강제 종료
+        ChainGraph chainGraph = chainManager.getChainGraph();
+        int onlineCount = chainGraph.getOnlineCount();
+        if (onlineCount == 0) {
+            plugin.getLogger().info("[GGORRI] 모든 플레이어가 게임에서 이탈하여 강제 종료됩니다.");
+            gameManager.endGame(null);
             return null;
         }
 
-        List<UUID> leaders = activePlayers.entrySet().stream()
-                .filter(entry -> entry.getValue().getRole() == PlayerRole.LEADER)
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toList());
-
-        plugin.getLogger().info("[GGORRI] checkWinCondition: 현재 LEADER 수: " + leaders.size());
-        leaders.forEach(uuid -> plugin.getLogger().info(" - 리더: " + plugin.getServer().getOfflinePlayer(uuid).getName()));
-
-        // 승리 조건: 리더가 1명만 남았을 때
-        if (leaders.size() == 1) {
-            UUID winningLeaderUUID = leaders.get(0);
-            plugin.getLogger().info("[GGORRI] checkWinCondition: 리더가 한 명만 남았습니다: " + plugin.getServer().getOfflinePlayer(winningLeaderUUID).getName());
-
-            // 이 리더를 제외한 모든 게임 내 플레이어가 SLAVE인지 확인
-            // (즉, 모든 플레이어가 winningLeaderUUID를 마스터로 가지거나, 자기 자신이 winningLeaderUUID인 경우)
-            boolean allOthersAreSlaves = activePlayers.values().stream()
-                    .allMatch(data -> data.getPlayerUUID().equals(winningLeaderUUID) || // 자기 자신이 리더인 경우
-                            (data.getRole() == PlayerRole.SLAVE && Objects.equals(data.getMasterUUID(), winningLeaderUUID))); // 또는 그 리더의 노예인 경우
-
-            plugin.getLogger().info("[GGORRI] checkWinCondition: 모든 다른 플레이어가 노예인지 여부: " + allOthersAreSlaves);
-
-            if (allOthersAreSlaves) {
-                plugin.getLogger().info("[GGORRI] 승리 조건 충족! 승리한 팀장: " + plugin.getServer().getOfflinePlayer(winningLeaderUUID).getName());
-                endGame(winningLeaderUUID);
-                return winningLeaderUUID;
+        // 접속 중인 팀장만 셈 (접속이 끊긴 팀장은 승리 판정에서 제외)
+        int leaderCount = 0;
+        UUID winningLeaderUUID = null;
+        for (int i = 0; i < chainGraph.getLeaderCount(); i++) {
+            UUID leaderUUID = chainGraph.getLeader(i);
+            if (chainGraph.isOnline(leaderUUID)) {
+                leaderCount++;
+                winningLeaderUUID = leaderUUID;
             }
         }
-
-        // 추가: 혼자 남은 경우도 승리
-        if (activePlayers.size() == 1 && leaders.size() == 1) {
-            UUID soleSurvivorUUID = leaders.get(0);
-            plugin.getLogger().info("[GGORRI] checkWinCondition: 마지막 플레이어가 생존하여 승리했습니다: " + plugin.getServer().getOfflinePlayer(soleSurvivorUUID).getName());
-            endGame(soleSurvivorUUID);
-            return soleSurvivorUUID;
+        if (leaderCount == 1 && chainGraph.getOnlineTeamSize(winningLeaderUUID) == onlineCount) {
+            plugin.getLogger().info("[GGORRI] 승리 조건 충족! 승리한 팀장: " + plugin.getServer().getOfflinePlayer(winningLeaderUUID).getName() +
+                    " (팀원 " + chainGraph.getTeamSize(winningLeaderUUID) + "명)");
+            gameManager.endGame(winningLeaderUUID);
+            return winningLeaderUUID;
         }
 
-        plugin.getLogger().log(Level.FINE, "[GGORRI] 현재 LEADER 수: " + leaders.size() + ", 게임 내 플레이어 수: " + activePlayers.size() + ". 승리 조건 미충족.");
+        plugin.getLogger().log(Level.FINE, "[GGORRI] 접속 중인 LEADER 수: " + leaderCount + ", 접속 중인 참가자 수: " + onlineCount + ". 승리 조건 미충족.");
         return null; // 아직 승리 조건 미충족
     }
-
-    /**
-     * 게임을 종료하고 결과를 발표하며 모든 플레이어를 초기화합니다.
-     * @param winnerLeaderUUID 승리한 팀장의 UUID (모든 플레이어가 이탈했을 경우 null)
-     */
-    public void endGame(UUID winnerLeaderUUID) {
-        if (gameManager.getCurrentStatus() == GameManager.GameStatus.ENDING || gameManager.getCurrentStatus() == GameManager.GameStatus.WAITING) {
-            return; // 이미 종료 중이거나 대기 중이면 무시
-        }
-
-        gameManager.currentStatus = GameManager.GameStatus.ENDING; // GameManager의 상태 업데이트
-        plugin.getLogger().info("[GGORRI] 게임 종료 중...");
-
-        String winnerMessage;
-        if (winnerLeaderUUID != null) {
-            Player winner = plugin.getServer().getPlayer(winnerLeaderUUID);
-            String winnerName = (winner != null) ? winner.getName() : "알 수 없는 플레이어";
-            winnerMessage = ChatColor.GOLD + "§l[GGORRI] 게임 종료! " + winnerName + " 팀이 승리했습니다!";
-            plugin.getServer().broadcastMessage(winnerMessage);
-            plugin.getServer().broadcastMessage(ChatColor.YELLOW + "모든 플레이어가 " + winnerName + " 팀에 편입되었습니다!");
-        } else {
-            winnerMessage = ChatColor.RED + "§l[GGORRI] 게임이 종료되었습니다! (승자가 없는 종료)";
-            plugin.getServer().broadcastMessage(winnerMessage);
-        }
-
-        // 모든 플레이어 초기화 및 게임 데이터에서 제거
-        // playerManager를 통해 처리
-        // playersInGame 맵을 복사하여 ConcurrentModificationException 방지
-        for (UUID uuid : new ArrayList<>(playerManager.getAllPlayersGameData().keySet())) {
-            Player player = plugin.getServer().getPlayer(uuid);
-            if (player != null) {
-                playerManager.resetPlayer(player); // 인벤토리, 체력, 게임모드 등 초기화
-                if (spawnManager.getGameWorld() != null) {
-                    player.teleport(spawnManager.getGameWorld().getSpawnLocation());
-                    player.sendMessage(ChatColor.GREEN + "[GGORRI] 게임이 종료되어 로비로 이동했습니다.");
-                } else {
-                    player.sendMessage(ChatColor.RED + "[GGORRI] 월드 스폰 위치를 찾을 수 없어 현재 위치에 유지됩니다.");
-                }
-            }
-            playerManager.removePlayerFromGame(player); // 게임 데이터에서 제거 (맵에서 제거)
-        }
-        // playerManager의 playersInGame 맵은 이제 비워졌을 것임
-
-        // 월드 보더 초기화
-        spawnManager.setupWorldBorder(spawnManager.getGameWorld()); // SpawnManager에게 위임
-
-        gameManager.currentStatus = GameManager.GameStatus.WAITING; // GameManager의 상태를 대기 중으로 변경
-        plugin.getLogger().info("[GGORRI] 게임 종료 및 초기화 완료.");
-    }
 }
\ No newline at end of file
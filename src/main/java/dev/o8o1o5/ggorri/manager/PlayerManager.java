@@ -1,6 +1,7 @@
 package dev.o8o1o5.ggorri.manager;
 
 import dev.o8o1o5.ggorri.GGORRI;
+import dev.o8o1o5.ggorri.game.ParticipantRegistry;
 import dev.o8o1o5.ggorri.game.PlayerGameData;
 import org.bukkit.GameMode;
 import org.bukkit.entity.Player;
@@ -8,20 +9,19 @@ import org.bukkit.entity.Player;
 import java.util.Collections;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 public class PlayerManager {
     private final GGORRI plugin;
     private  final Map<UUID, PlayerGameData> playersInGame;
 
-    private final Map<UUID, Map<UUID, Long>> playerDamageTracker;
+    private final ParticipantRegistry participants; // 참가자 슬롯, Player 핸들, 피격 기록
     private static final long DAMAGE_TRACK_DURATION_MILLIS = 15 * 1000;
 
-    public PlayerManager(GGORRI plugin, Map<UUID, PlayerGameData> playersInGame) {
+    public PlayerManager(GGORRI plugin, Map<UUID, PlayerGameData> playersInGame, int maxPlayers) {
         this.plugin = plugin;
         this.playersInGame = playersInGame;
-        this.playerDamageTracker = new ConcurrentHashMap<>();
+        this.participants = new ParticipantRegistry(maxPlayers);
     }
 
     /**
@@ -30,6 +30,15 @@ public class PlayerManager {
      */
     public void addPlayerToGame(Player player) {
         playersInGame.put(player.getUniqueId(), new PlayerGameData(player.getUniqueId()));
+        participants.register(player.getUniqueId(), player);
+    }
+
+    /**
+     * 저널에서 복구한 참가자 데이터를 게임에 넣습니다. (중단된 게임 복구 시)
+     */
+    public void restorePlayerData(PlayerGameData data) {
+        playersInGame.put(data.getPlayerUUID(), data);
+        participants.register(data.getPlayerUUID(), plugin.getServer().getPlayer(data.getPlayerUUID()));
     }
 
     /**
@@ -37,10 +46,34 @@ public class PlayerManager {
      * @param player 게임에서 나갈 플레이어
      */
     public void removePlayerFromGame(Player player) {
-        playersInGame.remove(player.getUniqueId());
+        removePlayerData(player.getUniqueId());
         resetPlayer(player);
     }
 
+    /**
+     * 오프라인 참가자의 게임 데이터만 제거합니다. (상태 초기화는 할 수 없음)
+     */
+    public void removePlayerData(UUID playerUUID) {
+        playersInGame.remove(playerUUID);
+        participants.unregister(playerUUID);
+    }
+
+    /**
+     * 모든 참가자 데이터와 슬롯을 비웁니다. (게임 종료 시)
+     */
+    public void clearAllPlayers() {
+        playersInGame.clear();
+        participants.clear();
+    }
+
+    /**
+     * 참가자가 접속하거나 나갔을 때 캐시한 Player 핸들을 갱신합니다.
+     * @param player 접속했으면 플레이어, 나갔으면 null
+     */
+    public void updatePlayerHandle(UUID playerUUID, Player player) {
+        participants.setPlayer(playerUUID, player);
+    }
+
     /**
      * 플레이어의 인벤토리, 체력, 상태 효과 등을 초기화합니다.
      * @param player 초기화할 플레이어
@@ -68,10 +101,12 @@ public class PlayerManager {
      * @param victimUUID 데미지를 받은 플레이어의 UUID
      */
     public void recordPlayerDamage(UUID damagerUUID, UUID victimUUID) {
-        playerDamageTracker
-                .computeIfAbsent(damagerUUID, k -> new ConcurrentHashMap<>())
-                .put(victimUUID, System.currentTimeMillis());
-        plugin.getLogger().log(Level.FINE, "[GGORRI] 데미지 " + plugin.getServer().getPlayer(damagerUUID).getName() + " -> " + plugin.getServer().getPlayer(victimUUID));
+        int damagerSlot = participants.slotOf(damagerUUID);
+        int victimSlot = participants.slotOf(victimUUID);
+        if (damagerSlot == ParticipantRegistry.NO_SLOT || victimSlot == ParticipantRegistry.NO_SLOT) {
+            return; // 참가자 사이의 피해만 킬 판정에 쓰임
+        }
+        participants.recordDamage(damagerSlot, victimSlot, System.currentTimeMillis());
     }
 
     /**
@@ -80,44 +115,28 @@ public class PlayerManager {
      * @return 유효한 공격자 UUID (없으면 null)
      */
     public UUID getLastAttacker(UUID victimUUID) {
-        long fifteenSecondsAgo = System.currentTimeMillis() - DAMAGE_TRACK_DURATION_MILLIS;
-        UUID lastAttacker = null;
-        long latestDamageTime = -1;
-
-        for (Map.Entry<UUID, Map<UUID, Long>> damagerEntry : playerDamageTracker.entrySet()) {
-            UUID damagerUUID = damagerEntry.getKey();
-            Map<UUID, Long> victimTimes = damagerEntry.getValue();
-
-            if (victimTimes.containsKey(victimUUID)) {
-                long damageTime = victimTimes.get(victimUUID);
-                if (damageTime >= fifteenSecondsAgo) { // 15초 이내의 데미지
-                    if (damageTime > latestDamageTime) { // 가장 최근의 데미지
-                        latestDamageTime = damageTime;
-                        lastAttacker = damagerUUID;
-                    }
-                }
-            }
+        int victimSlot = participants.slotOf(victimUUID);
+        if (victimSlot == ParticipantRegistry.NO_SLOT) {
+            return null;
         }
-
-        return lastAttacker;
+        int attackerSlot = participants.getLastAttacker(victimSlot, System.currentTimeMillis() - DAMAGE_TRACK_DURATION_MILLIS);
+        return attackerSlot != ParticipantRegistry.NO_SLOT ? participants.getUUID(attackerSlot) : null;
     }
 
     public void clearLastAttackers() {
-        this.playerDamageTracker.clear();
+        participants.clearAllDamage();
         plugin.getLogger().log(Level.INFO, "[GGORRI] 모든 플레이어의 데미지 기록이 초기화되었습니다.");
     }
 
     /**
-     * 플레이어 사망 시 데미지 기록을 정리합니다.
+     * 플레이어 사망 시 데미지 기록을 정리합니다. (피해자/가해자 기록 모두)
      * @param playerUUID 사망한 플레이어의 UUID
      */
     public void clearDamageRecordsForPlayer(UUID playerUUID) {
-        // 사망한 플레이어가 피해자인 모든 기록에서 제거
-        playerDamageTracker.forEach((damager, victimMap) -> victimMap.remove(playerUUID));
-
-        // 사망한 플레이어가 가해자인 모든 기록 제거
-        playerDamageTracker.remove(playerUUID);
-        plugin.getLogger().log(Level.FINE, "[GGORRI] 플레이어 " + plugin.getServer().getOfflinePlayer(playerUUID).getName() + "의 데미지 기록 정리 완료.");
+        int slot = participants.slotOf(playerUUID);
+        if (slot != ParticipantRegistry.NO_SLOT) {
+            participants.clearDamage(slot);
+        }
     }
 
     /**
@@ -135,4 +154,8 @@ public class PlayerManager {
     public Map<UUID, PlayerGameData> getAllPlayersGameData() {
         return Collections.unmodifiableMap(playersInGame);
     }
+
+    public ParticipantRegistry getParticipants() {
+        return participants;
+    }
 }
\ No newline at end of file
@@ -1,21 +1,44 @@
 package dev.o8o1o5.ggorri.manager;
 
 import dev.o8o1o5.ggorri.GGORRI;
+import dev.o8o1o5.ggorri.spawn.ArenaPregenerator;
+import dev.o8o1o5.ggorri.spawn.BlockSafetyClassifier;
+import dev.o8o1o5.ggorri.spawn.BorderBounds;
+import dev.o8o1o5.ggorri.spawn.ChunkTickets;
+import dev.o8o1o5.ggorri.spawn.SafeSurfaceIndex;
+import dev.o8o1o5.ggorri.spawn.SpawnBatchPlanner;
+import dev.o8o1o5.ggorri.spawn.SpawnEvaluator;
+import dev.o8o1o5.ggorri.spawn.SpawnPlan;
+import dev.o8o1o5.ggorri.spawn.SpawnPointPool;
+import dev.o8o1o5.ggorri.spawn.SpawnSafetyRules;
+import dev.o8o1o5.ggorri.spawn.TeleportDispatcher;
+import dev.o8o1o5.ggorri.spawn.WorldBlockAccess;
 import org.bukkit.*;
-import org.bukkit.block.Block;
-import org.bukkit.block.BlockFace;
 import org.bukkit.entity.Player;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
 import java.util.logging.Level;
 
 public class SpawnManager {
     private final GGORRI plugin;
     private final PlayerManager playerManager;
     private World gameWorld;
-    private final Random random;
+    private final SpawnPointPool spawnPointPool; // 미리 검증된 시작 스폰 위치 풀
+    private final SpawnEvaluator spawnEvaluator; // ChunkSnapshot 기반 비동기 스폰 평가기
+    private final BlockSafetyClassifier blockSafetyClassifier; // Material별 안전 분류표
+    private final SpawnSafetyRules safetyRules;
+    private final SpawnBatchPlanner spawnBatchPlanner; // 시작 스폰 일괄 배치 (최소 간격 보장)
+    private final SafeSurfaceIndex safeSurfaceIndex; // 경기장의 안전 지표면 인덱스 (없으면 null)
+    private final TeleportDispatcher teleportDispatcher; // 비동기/분산 텔레포트
+    private final ChunkTickets chunkTickets; // 작업들이 나눠 쓰는 플러그인 청크 티켓
+    private ArenaPregenerator arenaPregenerator; // 경기장 청크 사전 생성 (월드가 없으면 null)
+    private final Random random = new Random(); // 메인 스레드 전용
 
     private static final double INITIAL_BORDER_SIZE = 3200.0;
     private static final int MAX_SPAWN_ATTEMPTS = 200; // 스폰 위치 탐색 최대 시도 횟수
@@ -24,11 +47,31 @@ public class SpawnManager {
     public SpawnManager(GGORRI plugin, PlayerManager playerManager) {
         this.plugin = plugin;
         this.playerManager = playerManager;
-        this.random = new Random();
-        this.gameWorld = plugin.getServer().getWorld("world"); // 또는 config에서 월드 이름 로드
+        this.blockSafetyClassifier = BlockSafetyClassifier.build(plugin.getConfig().getConfigurationSection("spawn.safety"), plugin.getLogger());
+        this.safetyRules = new SpawnSafetyRules(blockSafetyClassifier);
+        this.spawnEvaluator = new SpawnEvaluator(plugin, safetyRules, MIN_SPAWN_Y);
+        this.chunkTickets = new ChunkTickets(plugin);
+        plugin.getLogger().info("[GGORRI] 블록 안전 분류표 생성 완료. 위험 블록 " + blockSafetyClassifier.getHarmfulCount() + "종");
+        this.gameWorld = plugin.getGameWorld();
         if (this.gameWorld == null) {
-            plugin.getLogger().severe("[GGORRI] 게임 월드 'world'를 찾을 수 없습니다! 서버 설정 또는 플러그인 로딩 순서를 확인하세요.");
+            plugin.getLogger().severe("[GGORRI] 게임 월드 '" + plugin.getGameWorldName() + "'를 찾을 수 없습니다! 서버 설정 또는 플러그인 로딩 순서를 확인하세요.");
         }
+        this.safeSurfaceIndex = openSafeSurfaceIndex();
+        this.spawnBatchPlanner = new SpawnBatchPlanner(plugin, spawnEvaluator, safeSurfaceIndex);
+        this.spawnPointPool = new SpawnPointPool(plugin, this, chunkTickets);
+        this.teleportDispatcher = new TeleportDispatcher(plugin, chunkTickets);
+    }
+
+    /**
+     * 게임 월드의 경기장(초기 보더 범위)에 대한 안전 지표면 인덱스를 엽니다.
+     * @return 인덱스, 월드가 없거나 파일을 열 수 없으면 null (이 경우 청크 스캔 방식만 사용)
+     */
+    private SafeSurfaceIndex openSafeSurfaceIndex() {
+        if (gameWorld == null) {
+            return null;
+        }
+        SafeSurfaceIndex index = new SafeSurfaceIndex(plugin, spawnEvaluator, gameWorld, 0, 0, (int) INITIAL_BORDER_SIZE, MIN_SPAWN_Y);
+        return index.open() ? index : null;
     }
 
     /**
@@ -80,23 +123,71 @@ public class SpawnManager {
         Location centerOfWorld = new Location(gameWorld, 0, 0, 0);
         int spawnRange = (int) (INITIAL_BORDER_SIZE / 2);
 
+        List<Player> players = new ArrayList<>();
         for (UUID playerUUID : playerUUIDs) {
             Player player = plugin.getServer().getPlayer(playerUUID);
             if (player == null || !player.isOnline()) {
                 plugin.getLogger().warning("[GGORRI] 게임 참가 플레이어(" + playerUUID + ")가 오프라인이거나 유효하지 않습니다. 스폰되지 않았습니다.");
                 continue;
             }
+            players.add(player);
+        }
 
-            // 안전한 스폰 위치 찾기
-            Location spawnLoc = findSafeSpawnLocation(centerOfWorld, spawnRange, 0, MAX_SPAWN_ATTEMPTS);
+        // 미리 준비된 스폰 풀을 시드로 삼아 모든 인원의 위치를 최소 간격을 두고 한 번에 계획
+        // (시드의 청크 티켓은 텔레포트가 목적지 티켓을 이어받은 뒤에 놓음)
+        List<Location> seeds = spawnPointPool.takeAll();
+        spawnBatchPlanner.plan(gameWorld, 0, 0, spawnRange, players.size(), seeds).thenAccept(plan -> {
+            plugin.getLogger().info("[GGORRI] 시작 스폰 배치 계획 완료 (풀 시드 " + seeds.size() + "개). " + plan.getSummary());
+            List<Location> locations = plan.getLocations();
+            for (int i = 0; i < players.size(); i++) {
+                Player player = players.get(i);
+                if (!player.isOnline()) {
+                    continue;
+                }
+                if (i < locations.size()) {
+                    completeInitialSpawn(player, locations.get(i));
+                    continue;
+                }
 
-            if (spawnLoc == null) {
-                plugin.getLogger().warning("[GGORRI] " + player.getName() + "를 위한 안전한 스폰 위치를 찾지 못했습니다. 월드 스폰으로 이동.");
-                spawnLoc = gameWorld.getSpawnLocation(); // 최종 fallback
-                player.sendMessage(ChatColor.RED + "[GGORRI] 안전한 스폰 위치를 찾지 못해 월드 스폰으로 이동했습니다.");
+                // 계획이 인원을 다 채우지 못한 경우에만 개별 탐색
+                plugin.getLogger().warning("[GGORRI] 배치 계획에 " + player.getName() + "의 자리가 없어 스폰 위치를 직접 탐색합니다.");
+                findSafeSpawnLocation(centerOfWorld, spawnRange, 0, MAX_SPAWN_ATTEMPTS).thenAccept(spawnLoc -> {
+                    if (player.isOnline()) {
+                        completeInitialSpawn(player, spawnLoc);
+                    }
+                });
             }
+        }).whenComplete((ignored, throwable) -> {
+            if (throwable != null) {
+                plugin.getLogger().log(Level.WARNING, "[GGORRI] 시작 스폰 배치 계획 중 오류", throwable);
+            }
+            seeds.forEach(spawnPointPool::releaseTaken);
+        });
+        plugin.getLogger().info("[GGORRI] 모든 참가 플레이어 스폰 요청 완료. " + spawnPointPool.getStatusLine());
+    }
 
-            player.teleport(spawnLoc);
+    /**
+     * 찾은 위치로 플레이어를 이동시키고 시작 안내를 보냅니다.
+     * @param spawnLoc 스폰 위치 (null이면 월드 스폰으로 이동)
+     */
+    private void completeInitialSpawn(Player player, Location spawnLoc) {
+        UUID playerUUID = player.getUniqueId();
+        if (spawnLoc == null) {
+            plugin.getLogger().warning("[GGORRI] " + player.getName() + "를 위한 안전한 스폰 위치를 찾지 못했습니다. 월드 스폰으로 이동.");
+            spawnLoc = gameWorld.getSpawnLocation(); // 최종 fallback
+            player.sendMessage(ChatColor.RED + "[GGORRI] 안전한 스폰 위치를 찾지 못해 월드 스폰으로 이동했습니다.");
+        }
+
+        // 텔레포트는 디스패처가 여러 틱에 나눠 비동기로 처리하며, 도착 후 안내를 보냅니다.
+        final Location destination = spawnLoc;
+        // 실패하면 한 번 더 비동기로 시도하며, 목적지 청크를 메인 스레드에서 불러오는 즉시 텔레포트로는 대신하지 않습니다.
+        teleportDispatcher.teleportWithRetry(player, destination).thenAccept(success -> {
+            if (!player.isOnline()) {
+                return;
+            }
+            if (!success) {
+                plugin.getLogger().warning("[GGORRI] " + player.getName() + "의 비동기 텔레포트에 두 번 실패했습니다. 현재 위치에서 시작합니다.");
+            }
             player.sendMessage(ChatColor.GREEN + "[GGORRI] 게임 시작! 스폰 완료!");
 
             if (playerManager.getPlayerGameData(playerUUID) != null && playerManager.getPlayerGameData(playerUUID).getDirectTargetUUID() != null) {
@@ -108,156 +199,139 @@ public class SpawnManager {
             }
 
             plugin.getLogger().info("[GGORRI] " + player.getName() + "님이 " +
-                    String.format("%.1f", spawnLoc.getX()) + ", " +
-                    String.format("%.1f", spawnLoc.getY()) + ", " +
-                    String.format("%.1f", spawnLoc.getZ()) + " 로 스폰되었습니다.");
-        }
-        plugin.getLogger().info("[GGORRI] 모든 참가 플레이어 스폰 완료.");
+                    String.format("%.1f", destination.getX()) + ", " +
+                    String.format("%.1f", destination.getY()) + ", " +
+                    String.format("%.1f", destination.getZ()) + " 로 스폰되었습니다.");
+        });
     }
 
     /**
-     * 지정된 중심 위치와 반경 내에서 안전한 스폰 위치를 찾습니다.
-     *
-     * @param centerLocation 스폰 위치를 찾을 중심 Location
-     * @param searchRadius   중심 위치로부터의 최대 탐색 반경 (X, Z 축)
-     * @param minDistance    중심 위치로부터의 최소 거리 (0이면 무시)
-     * @param attempts       스폰 위치 탐색 시도 횟수
-     * @return 안전한 스폰 위치, 찾지 못하면 null
+     * 시작 스폰 후보 풀 채우기를 시작합니다. (참가 또는 카운트다운 시작 시 호출)
      */
-    public Location findSafeSpawnLocation(Location centerLocation, int searchRadius, int minDistance, int attempts) {
-        if (centerLocation == null || centerLocation.getWorld() == null) {
-            plugin.getLogger().warning("[GGORRI] findSafeSpawnLocation: 유효하지 않은 중심 Location. 스폰 위치 탐색 불가.");
-            return null;
-        }
-
-        World world = centerLocation.getWorld();
-        int centerX = centerLocation.getBlockX();
-        int centerZ = centerLocation.getBlockZ();
+    public void startSpawnPoolFill() {
+        spawnPointPool.startFilling();
+    }
 
-        for (int i = 0; i < attempts; i++) {
-            int dx = random.nextInt(searchRadius * 2 + 1) - searchRadius;
-            int dz = random.nextInt(searchRadius * 2 + 1) - searchRadius;
+    /**
+     * 시작 스폰 후보 풀 채우기를 중지합니다. (게임 시작 후 호출)
+     */
+    public void stopSpawnPoolFill() {
+        spawnPointPool.stopFilling();
+    }
 
-            if (minDistance > 0) {
-                double distance = Math.sqrt(dx * dx + dz * dz);
-                if (distance < minDistance) {
-                    continue;
-                }
-            }
+    /**
+     * 경기장 사전 생성기를 만들고, 설정에 따라 대기 중 자동 진행을 켭니다.
+     * @param idleCheck 자동 진행 조건 (게임 대기 중이고 참가자가 없을 때 true)
+     */
+    public void initArenaPregenerator(BooleanSupplier idleCheck) {
+        if (gameWorld == null || arenaPregenerator != null) {
+            return;
+        }
+        arenaPregenerator = new ArenaPregenerator(plugin, gameWorld, safeSurfaceIndex, 0, 0, (int) INITIAL_BORDER_SIZE, idleCheck);
+        arenaPregenerator.enableAutoRun();
+    }
 
-            int x = centerX + dx;
-            int z = centerZ + dz;
+    /**
+     * 플러그인 비활성화 시 풀과 청크 티켓, 텔레포트 대기열, 평가 작업 스레드를 정리합니다.
+     */
+    public void shutdown() {
+        spawnPointPool.clear();
+        if (arenaPregenerator != null) {
+            arenaPregenerator.stop(); // 진행 상황 저장
+        }
+        teleportDispatcher.shutdown();
+        if (safeSurfaceIndex != null) {
+            safeSurfaceIndex.close();
+        }
+        spawnEvaluator.shutdown();
+    }
 
-            // X, Z 좌표를 바탕으로 안전한 Y 좌표 찾기
-            Location potentialSpawnXZ = new Location(world, x, 0, z);
-            Location safeYLocation = findGroundY(potentialSpawnXZ);
+    /**
+     * 안전 지표면 인덱스 구축을 시작합니다. 청크를 조금씩 불러오므로 게임 대기 중에만 실행합니다.
+     */
+    public void startSurfaceIndexBuild() {
+        if (safeSurfaceIndex != null) {
+            safeSurfaceIndex.startBuilding();
+        }
+    }
 
-            if (safeYLocation != null) {
-                // Y 좌표까지 찾았으면, 해당 3D 위치가 최종적으로 안전한지 검사
-                if (isLocationSafeForSpawn(safeYLocation)) {
-                    return safeYLocation;
-                } else {
-                    plugin.getLogger().log(Level.FINEST, "스폰 위치 불가능: " + safeYLocation.getBlockX() + ", " + safeYLocation.getBlockY() + ", " + safeYLocation.getBlockZ() + " (최종 안전 검사 실패)");
-                }
-            } else {
-                plugin.getLogger().log(Level.FINEST, "스폰 위치 불가능: X:" + x + ", Z:" + z + " (Y 좌표 찾기 실패 - 지표면 아님/안전 Y 없음)");
-            }
+    /**
+     * 안전 지표면 인덱스 구축을 중지합니다. (게임 시작 시 호출, 무효화 기록은 계속 유지됨)
+     */
+    public void stopSurfaceIndexBuild() {
+        if (safeSurfaceIndex != null) {
+            safeSurfaceIndex.stopBuilding();
         }
-        plugin.getLogger().warning("[GGORRI] " + centerLocation.getWorld().getName() + " 에서 안전한 스폰 위치를 " + attempts + "번 시도했으나 찾지 못했습니다. 중심: " + centerLocation.getBlockX() + "," + centerLocation.getBlockZ() + ", 반경: " + searchRadius);
-        return null;
     }
 
     /**
-     * 주어진 X, Z 좌표에서 플레이어가 스폰될 수 있는 가장 높은 안전한 Y 좌표를 찾습니다.
-     * (지상에 스폰되며, 머리 위 공간이 비어있는지 확인)
-     * **지표면만 허용하며, 액체 블록이나 동굴 내부 스폰을 방지합니다.**
+     * 지정된 중심 위치와 반경 내에서 안전한 스폰 위치를 비동기로 찾습니다.
+     * 먼저 안전 지표면 인덱스에서 무작위로 뽑고, 해당 청크를 비동기로 불러와 그 한 위치만 재확인합니다.
+     * 인덱스에 후보가 없거나 재확인에 실패하면 청크 스냅샷 스캔 방식으로 탐색합니다.
+     * 반환된 future는 메인 스레드에서 완료됩니다.
      *
-     * @param loc X, Z 좌표가 설정된 Location 객체 (Y는 무시됨)
-     * @return 안전한 스폰 Y 좌표를 포함한 Location, 찾지 못하면 null
+     * @param centerLocation 스폰 위치를 찾을 중심 Location
+     * @param searchRadius   중심 위치로부터의 최대 탐색 반경 (X, Z 축)
+     * @param minDistance    중심 위치로부터의 최소 거리 (0이면 무시)
+     * @param attempts       스폰 위치 탐색 시도 횟수
+     * @return 안전한 스폰 위치로 완료되는 future, 찾지 못하면 null로 완료
      */
-    private Location findGroundY(Location loc) {
-        World world = loc.getWorld();
-        if (world == null) return null;
-
-        int x = loc.getBlockX();
-        int z = loc.getBlockZ();
-
-        // 지표면은 '가장 높은 불투명 블록 바로 위'로 정의.
-        // 그리고 그 블록 아래는 단단해야 하고, 위 두 칸은 비어있어야 하며, 물이 아니어야 함.
-        // MIN_SPAWN_Y부터 월드 최고 높이까지 역순으로 탐색
-        for (int y = world.getMaxHeight() - 1; y >= MIN_SPAWN_Y; y--) {
-            Block blockAtFeet = world.getBlockAt(x, y, z);
-            Block blockBelowFeet = world.getBlockAt(x, y - 1, z);
-            Block blockAboveHead = world.getBlockAt(x, y + 1, z); // 플레이어 머리 위 공간
-
-            // 1. 발 아래 블록이 단단해야 하고 액체가 아니어야 함
-            if (!blockBelowFeet.getType().isSolid() || blockBelowFeet.isLiquid()) {
-                plugin.getLogger().log(Level.FINEST, "findGroundY: 발 아래 블록이 단단하지 않거나 액체임. " + x + "," + (y-1) + "," + z + " (" + blockBelowFeet.getType().name() + ")");
-                continue; // 이 Y는 지표면이 아님
-            }
-
-            // 2. 발 위치 블록과 머리 위 블록은 통과 가능해야 하고 액체가 아니어야 함
-            if (blockAtFeet.getType().isSolid() || blockAtFeet.isLiquid() ||
-                    blockAboveHead.getType().isSolid() || blockAboveHead.isLiquid()) {
-                plugin.getLogger().log(Level.FINEST, "findGroundY: 발 위치 또는 머리 위 블록이 통과 불가 또는 액체. " + x + "," + y + "," + z + " (" + blockAtFeet.getType().name() + "/" + blockAboveHead.getType().name() + ")");
-                continue; // 이 Y는 스폰 공간이 아님
-            }
+    public CompletableFuture<Location> findSafeSpawnLocation(Location centerLocation, int searchRadius, int minDistance, int attempts) {
+        if (safeSurfaceIndex == null || centerLocation == null || centerLocation.getWorld() != safeSurfaceIndex.getWorld()) {
+            return spawnEvaluator.findSafeSpawnLocation(centerLocation, searchRadius, minDistance, attempts);
+        }
 
-            // 3. Y-2 블록도 단단해야 함 (동굴 스폰 방지)
-            Block blockBelowBelowFeet = world.getBlockAt(x, y - 2, z);
-            if (!blockBelowBelowFeet.getType().isSolid() && !blockBelowBelowFeet.isLiquid()) {
-                plugin.getLogger().log(Level.FINEST, "findGroundY: Y-2 블록이 단단하지 않거나 액체임 (동굴 의심). " + x + "," + y + "," + z);
-                continue; // 이 Y는 지표면이 아닐 수 있으니 다음 Y를 탐색
+        World world = centerLocation.getWorld();
+        Location indexed = safeSurfaceIndex.drawSafeLocation(random, BorderBounds.of(world.getWorldBorder()),
+                centerLocation.getBlockX(), centerLocation.getBlockZ(), searchRadius, minDistance);
+        if (indexed == null) {
+            return spawnEvaluator.findSafeSpawnLocation(centerLocation, searchRadius, minDistance, attempts);
+        }
+        return world.getChunkAtAsync(indexed.getBlockX() >> 4, indexed.getBlockZ() >> 4).handle((chunk, throwable) -> {
+            if (throwable != null) {
+                // 청크 로딩 실패: 인덱스 기록은 그대로 두고 스캔 방식으로 다음 시도
+                plugin.getLogger().log(Level.FINE, "[GGORRI] 인덱스 후보 청크 로딩 실패: " + indexed.toVector(), throwable);
+                return spawnEvaluator.findSafeSpawnLocation(centerLocation, searchRadius, minDistance, attempts);
             }
-
-            // 4. 주변에 위험 블록이 없는지 확인
-            // 여기서는 플레이어가 직접 서는 위치 (y)와 그 위 (y+1), 그리고 발 아래 (y-1)에 대해
-            // isHarmfulBlockType을 사용하여 해로운 블록인지 확인합니다.
-            // (isLocationSafeForSpawn에서 3x3x3 최종 검사가 다시 이루어지므로, 여기서는 핵심적인 부분만)
-            if (isHarmfulBlockType(blockAtFeet.getType()) ||
-                    isHarmfulBlockType(blockAboveHead.getType()) ||
-                    isHarmfulBlockType(blockBelowFeet.getType())) {
-                plugin.getLogger().log(Level.FINEST, "findGroundY: 플레이어 위치 주변에 위험 블록 타입 감지. " + x + "," + y + "," + z);
-                continue; // 이 Y는 위험한 블록이 있어 스폰 불가
+            if (isStillSafe(indexed)) {
+                return CompletableFuture.completedFuture(indexed);
             }
+            // 이벤트로 잡히지 않은 변경(유체, 피스톤 등)으로 인덱스가 오래된 경우
+            safeSurfaceIndex.invalidate(indexed.getBlockX(), indexed.getBlockZ());
+            return spawnEvaluator.findSafeSpawnLocation(centerLocation, searchRadius, minDistance, attempts);
+        }).thenCompose(Function.identity());
+    }
 
-            // 모든 조건을 만족하면 안전한 Y 좌표
-            return new Location(world, x + 0.5, y, z + 0.5); // 블록 중앙에 스폰하도록 조정
-        }
-        return null; // 안전한 Y 좌표를 찾지 못함
+    /**
+     * 시작 스폰 배치를 실제로 텔레포트하지 않고 기존 개별 탐색 방식과 Poisson-disk 배치 방식으로 각각 계획해 지표를 비교합니다.
+     * 두 방식을 순서대로 실행하며, [레거시, 배치] 결과 목록으로 메인 스레드에서 완료됩니다. (관리자 측정용)
+     */
+    public CompletableFuture<List<SpawnPlan>> compareSpawnPlans(int playerCount) {
+        int spawnRange = (int) (INITIAL_BORDER_SIZE / 2);
+        List<SpawnPlan> plans = new ArrayList<>();
+        return spawnBatchPlanner.planLegacy(gameWorld, 0, 0, spawnRange, playerCount, MAX_SPAWN_ATTEMPTS)
+                .thenCompose(legacy -> {
+                    plans.add(legacy);
+                    return spawnBatchPlanner.plan(gameWorld, 0, 0, spawnRange, playerCount, new ArrayList<>());
+                })
+                .thenApply(batch -> {
+                    plans.add(batch);
+                    return plans;
+                });
     }
 
     /**
-     * 특정 블록 타입이 플레이어가 스폰될 위치에 존재하면 **안 되는** 해로운 블록인지 확인합니다.
-     * 이 블록들은 플레이어에게 피해를 주거나 움직임을 방해하거나 갇히게 만들 수 있습니다.
-     * (SOLID, LIQUID, FLAMMABLE 여부는 이 메서드 외부에서 판단합니다.)
+     * 이전에 검증된 위치가 여전히 안전한지 다시 확인합니다. 청크가 언로드된 경우에는 동기 로딩을 피하기 위해 false를 반환합니다.
      */
-    private boolean isHarmfulBlockType(Material material) {
-        if (material == null) return true; // Null 블록은 위험
-
-        return material == Material.CACTUS ||
-                material == Material.LAVA ||
-                material == Material.MAGMA_BLOCK ||
-                material == Material.WITHER_ROSE ||
-                material == Material.SWEET_BERRY_BUSH ||
-                material == Material.FIRE ||
-                material == Material.SOUL_FIRE ||
-                material == Material.CAMPFIRE ||
-                material == Material.SOUL_CAMPFIRE ||
-                material == Material.END_PORTAL_FRAME ||
-                material == Material.POINTED_DRIPSTONE ||
-                material == Material.ANVIL || // 떨어진다면 위험, 스폰 시 위험
-                material == Material.COBWEB || // 움직임 방해
-                material.name().contains("TRAPDOOR") || // 갇힐 위험
-                material.name().contains("GATE") || // 갇힐 위험
-                material.name().contains("FENCE") || // 울타리 (플레이어 통과 불가)
-                material.name().contains("WALL") || // 벽 (플레이어 통과 불가)
-                material.name().contains("DOOR"); // 문 (갇히거나 막힐 위험)
+    public boolean isStillSafe(Location loc) {
+        if (loc == null || loc.getWorld() == null) return false;
+        if (!loc.getWorld().isChunkLoaded(loc.getBlockX() >> 4, loc.getBlockZ() >> 4)) return false;
+        return isLocationSafeForSpawn(loc);
     }
 
     /**
      * 주어진 위치가 플레이어가 스폰하기에 안전한지 모든 기준을 검사합니다.
-     * 이 메서드는 findGroundY에서 반환된 Y 좌표의 최종 유효성을 확인합니다.
+     * 메인 스레드에서 실시간 월드를 읽으므로, 이미 로드된 청크의 위치를 재확인할 때만 사용합니다.
      *
      * @param loc 검사할 Location (X, Y, Z 모두 포함)
      * @return 안전하면 true, 그렇지 않으면 false
@@ -280,43 +354,11 @@ public class SpawnManager {
             return false;
         }
 
-        // 3. 스폰 지점 및 그 위/아래 블록의 최종 상태 확인 (findGroundY에서 이미 처리된 부분이지만, 최종적으로 한 번 더 검사)
-        Block blockAtFeet = loc.getBlock();
-        Block blockBelowFeet = blockAtFeet.getRelative(BlockFace.DOWN);
-        Block blockAboveHead = blockAtFeet.getRelative(BlockFace.UP);
-        Block blockBelowBelowFeet = blockAtFeet.getRelative(BlockFace.DOWN, 2); // Y-2 블록
-
-        // 발 아래 블록이 단단하고 액체가 아님
-        if (!blockBelowFeet.getType().isSolid() || blockBelowFeet.isLiquid()) {
-            plugin.getLogger().log(Level.FINEST, "Safety Check: 발 아래 블록이 단단하지 않거나 액체임. " + blockBelowFeet.getType().name() + " at " + blockBelowFeet.getLocation().toVector().toString());
-            return false;
-        }
-        // 발 위치 블록과 머리 위 블록이 통과 가능하고 액체가 아님
-        if (blockAtFeet.getType().isSolid() || blockAtFeet.isLiquid() ||
-                blockAboveHead.getType().isSolid() || blockAboveHead.isLiquid()) {
-            plugin.getLogger().log(Level.FINEST, "Safety Check: 발 위치 또는 머리 위 블록이 통과 불가 또는 액체. " + blockAtFeet.getType().name() + ", " + blockAboveHead.getType().name() + " at " + loc.toVector().toString());
+        // 3. 스폰 지점 및 그 위/아래 블록, 주변 3x3x3 공간의 최종 상태 확인 (스냅샷 평가와 같은 규칙 사용)
+        if (!safetyRules.isSafeAt(new WorldBlockAccess(world), loc.getBlockX(), loc.getBlockY(), loc.getBlockZ())) {
+            plugin.getLogger().log(Level.FINEST, "Safety Check: 블록 안전 검사 실패. " + loc.toVector().toString());
             return false;
         }
-        // Y-2 블록도 단단하거나 액체가 아니어야 함 (동굴 방지)
-        if (!blockBelowBelowFeet.getType().isSolid() && !blockBelowBelowFeet.isLiquid()) {
-            plugin.getLogger().log(Level.FINEST, "Safety Check: Y-2 블록이 단단하지 않거나 액체임 (동굴). " + blockBelowBelowFeet.getLocation().toVector().toString());
-            return false;
-        }
-
-        // 4. 스폰 위치 주변 3x3x3 공간에 **해로운 블록**이 없는지 최종 검사
-        // 이 검사는 플레이어가 서는 1x2 블록 공간뿐만 아니라,
-        // 플레이어 주변에 즉시 피해를 주거나 갇히게 만들 수 있는 블록이 없는지 확인합니다.
-        for (int xOffset = -1; xOffset <= 1; xOffset++) {
-            for (int yOffset = -1; yOffset <= 1; yOffset++) {
-                for (int zOffset = -1; zOffset <= 1; zOffset++) {
-                    Block nearbyBlock = loc.clone().add(xOffset, yOffset, zOffset).getBlock();
-                    if (isHarmfulBlockType(nearbyBlock.getType())) { // isHarmfulBlockType 사용
-                        plugin.getLogger().log(Level.FINEST, "Safety Check: 주변 위험 블록(" + nearbyBlock.getType().name() + ") 감지. " + nearbyBlock.getLocation().toVector().toString());
-                        return false;
-                    }
-                }
-            }
-        }
         return true; // 모든 검사 통과
     }
 
@@ -328,4 +370,38 @@ public class SpawnManager {
     public int getInitialWorldBorderSize() {
         return (int) INITIAL_BORDER_SIZE;
     }
+
+    public SpawnPointPool getSpawnPointPool() {
+        return spawnPointPool;
+    }
+
+    /**
+     * @return 안전 지표면 인덱스, 사용할 수 없으면 null
+     */
+    public SafeSurfaceIndex getSafeSurfaceIndex() {
+        return safeSurfaceIndex;
+    }
+
+    /**
+     * @return 경기장 사전 생성기, 게임 월드가 없으면 null
+     */
+    public ArenaPregenerator getArenaPregenerator() {
+        return arenaPregenerator;
+    }
+
+    public ChunkTickets getChunkTickets() {
+        return chunkTickets;
+    }
+
+    public TeleportDispatcher getTeleportDispatcher() {
+        return teleportDispatcher;
+    }
+
+    public SpawnEvaluator getSpawnEvaluator() {
+        return spawnEvaluator;
+    }
+
+    public BlockSafetyClassifier getBlockSafetyClassifier() {
+        return blockSafetyClassifier;
+    }
 }
\ No newline at end of file
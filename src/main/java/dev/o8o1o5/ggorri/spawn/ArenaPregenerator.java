@@ -0,0 +1,281 @@
+package dev.o8o1o5.ggorri.spawn;
+
+import dev.o8o1o5.ggorri.GGORRI;
+import org.bukkit.World;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Level;
+
+/**
+ * 경기장(초기 보더 범위)의 청크를 미리 생성하는 백그라운드 작업입니다.
+ * 중심에서 바깥쪽으로 나선 순서로 청크를 비동기로 불러오며(생성 포함), 동시 로딩 수와 틱당 요청 수를 제한합니다.
+ * 진행 상황은 pregen.yml에 저장되므로 서버를 재시작해도 이어서 진행합니다. 생성에 실패한 청크는 완료로 치지 않고
+ * 나선 끝까지 간 뒤 다시 시도하며, 저장하는 완료 위치는 처음 실패한 청크를 넘지 않으므로 다음 실행에서도 다시 시도합니다.
+ * 관리자 명령으로 시작하거나, 자동 모드에서는 게임이 대기 중이고 참가자가 없을 때만 진행합니다.
+ * 불러온 청크는 안전 지표면 인덱스 스캔에도 그대로 사용합니다.
+ * 메인 스레드에서만 사용합니다.
+ */
+public class ArenaPregenerator {
+    private final GGORRI plugin;
+    private final World world;
+    private final SafeSurfaceIndex surfaceIndex; // 없으면 null
+    private final BooleanSupplier idleCheck; // 자동 진행 조건 (게임 대기 중 + 참가자 없음)
+    private final int centerChunkX;
+    private final int centerChunkZ;
+    private final int radiusChunks;
+    private final int totalChunks;
+    private final int maxInFlight;
+    private final int maxPerTick;
+    private final File progressFile;
+
+    private int watermark; // 이 순번 미만의 청크는 모두 완료
+    private int nextOrdinal; // 다음에 요청할 나선 순번
+    private final BitSet completedAhead = new BitSet(); // watermark 이후에 먼저 완료된 순번
+    private final Deque<Integer> retryOrdinals = new ArrayDeque<>(); // 생성에 실패한 순번 (나선 끝까지 간 뒤 다시 시도)
+    private final Map<Integer, Integer> failureCounts = new HashMap<>(); // 순번별 실패 횟수 (이번 실행 기준)
+    private int inFlight;
+    private boolean manualRun; // 관리자가 시작한 경우 (대기 여부와 무관하게 진행)
+    private boolean autoRun;
+    private BukkitTask task;
+
+    // 통계 (이번 실행 기준)
+    private long sessionStartedAtMillis;
+    private int sessionCompleted;
+    private int failedChunks;
+    private int abandonedChunks; // 이번 실행에서 재시도 횟수를 넘긴 청크 (다음 실행에서 다시 시도)
+
+    private static final int SAVE_EVERY_CHUNKS = 200;
+    private static final int MAX_RETRIES = 3; // 이번 실행에서 한 청크를 다시 시도할 횟수
+
+    public ArenaPregenerator(GGORRI plugin, World world, SafeSurfaceIndex surfaceIndex, int centerX, int centerZ, int arenaSize, BooleanSupplier idleCheck) {
+        this.plugin = plugin;
+        this.world = world;
+        this.surfaceIndex = surfaceIndex;
+        this.idleCheck = idleCheck;
+        this.centerChunkX = centerX >> 4;
+        this.centerChunkZ = centerZ >> 4;
+        this.radiusChunks = (arenaSize / 2 + 15) >> 4;
+        this.totalChunks = ChunkSpiral.countWithin(radiusChunks);
+        this.maxInFlight = Math.max(1, plugin.getConfig().getInt("pregen.max-in-flight", 8));
+        this.maxPerTick = Math.max(1, plugin.getConfig().getInt("pregen.max-per-tick", 4));
+        this.progressFile = new File(plugin.getDataFolder(), "pregen.yml");
+        loadProgress();
+    }
+
+    /**
+     * 관리자 명령으로 사전 생성을 시작합니다. 게임 중이어도 예산 안에서 계속 진행합니다.
+     */
+    public void start() {
+        manualRun = true;
+        ensureTask();
+    }
+
+    /**
+     * 대기 중일 때만 진행하는 자동 모드를 켭니다. (pregen.auto-start-when-idle)
+     */
+    public void enableAutoRun() {
+        if (!plugin.getConfig().getBoolean("pregen.auto-start-when-idle", true)) {
+            return;
+        }
+        autoRun = true;
+        ensureTask();
+    }
+
+    /**
+     * 사전 생성을 멈추고 진행 상황을 저장합니다. 진행 중인 로딩은 끝까지 기다리지 않습니다.
+     */
+    public void stop() {
+        manualRun = false;
+        autoRun = false;
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        saveProgress();
+    }
+
+    public boolean isComplete() {
+        return watermark >= totalChunks;
+    }
+
+    private void ensureTask() {
+        if (task != null || isComplete()) {
+            return;
+        }
+        sessionStartedAtMillis = System.currentTimeMillis();
+        sessionCompleted = 0;
+        if (nextOrdinal >= totalChunks && retryOrdinals.isEmpty()) {
+            nextOrdinal = watermark; // 실패로 멈췄던 실행이면 완료 위치부터 다시 훑음
+            failureCounts.clear();
+            abandonedChunks = 0;
+        }
+        task = new BukkitRunnable() {
+            @Override
+            public void run() {
+                tick();
+            }
+        }.runTaskTimer(plugin, 1L, 1L);
+        plugin.getLogger().info("[GGORRI] 경기장 사전 생성 시작. " + getStatusLine());
+    }
+
+    private void tick() {
+        if (!manualRun && !(autoRun && idleCheck.getAsBoolean())) {
+            return; // 자동 모드에서 대기 상태가 아니면 일시 정지
+        }
+        int requested = 0;
+        while (requested < maxPerTick && inFlight < maxInFlight) {
+            int ordinal;
+            if (nextOrdinal < totalChunks) {
+                ordinal = nextOrdinal++;
+            } else if (!retryOrdinals.isEmpty()) {
+                ordinal = retryOrdinals.poll();
+            } else {
+                break;
+            }
+            if (ordinal < watermark || completedAhead.get(ordinal - watermark)) {
+                continue;
+            }
+            requestChunk(ordinal);
+            requested++;
+        }
+        if (nextOrdinal >= totalChunks && retryOrdinals.isEmpty() && inFlight == 0 && !isComplete()) {
+            // 남은 청크는 모두 재시도 횟수를 넘긴 실패 청크 (완료 위치는 그 앞에 머무름)
+            saveProgress();
+            plugin.getLogger().warning("[GGORRI] 경기장 사전 생성 중단: " + abandonedChunks + "개 청크를 생성하지 못했습니다. 다음에 시작하면 다시 시도합니다. " + getStatusLine());
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private void requestChunk(int ordinal) {
+        int[] offset = ChunkSpiral.offset(ordinal);
+        int chunkX = centerChunkX + offset[0];
+        int chunkZ = centerChunkZ + offset[1];
+        inFlight++;
+        world.getChunkAtAsync(chunkX, chunkZ, true).whenComplete((chunk, throwable) -> {
+            inFlight--;
+            if (throwable != null || chunk == null) {
+                failedChunks++;
+                plugin.getLogger().log(Level.FINE, "[GGORRI] 사전 생성 실패: 청크 " + chunkX + "," + chunkZ, throwable);
+                requeueFailed(ordinal);
+                return;
+            }
+            if (surfaceIndex != null) {
+                surfaceIndex.offerLoadedChunk(chunk); // 불러온 김에 안전 지표면도 스캔
+            }
+            markCompleted(ordinal);
+        });
+    }
+
+    /**
+     * 실패한 순번은 완료로 표시하지 않고(완료 위치가 넘어가지 않음) 재시도 대기열에 넣습니다.
+     */
+    private void requeueFailed(int ordinal) {
+        if (failureCounts.merge(ordinal, 1, Integer::sum) <= MAX_RETRIES) {
+            retryOrdinals.add(ordinal);
+        } else {
+            abandonedChunks++;
+        }
+    }
+
+    private void markCompleted(int ordinal) {
+        sessionCompleted++;
+        failureCounts.remove(ordinal);
+        if (ordinal < watermark) {
+            return;
+        }
+        completedAhead.set(ordinal - watermark);
+        int advance = completedAhead.nextClearBit(0);
+        if (advance > 0) {
+            watermark += advance;
+            // BitSet을 advance만큼 앞으로 당김
+            BitSet shifted = completedAhead.get(advance, Math.max(advance, completedAhead.length()));
+            completedAhead.clear();
+            completedAhead.or(shifted);
+        }
+
+        if (sessionCompleted % SAVE_EVERY_CHUNKS == 0) {
+            saveProgress();
+            plugin.getLogger().info("[GGORRI] 경기장 사전 생성 진행 중. " + getStatusLine());
+        }
+        if (isComplete()) {
+            saveProgress();
+            plugin.getLogger().info("[GGORRI] 경기장 사전 생성 완료. " + getStatusLine());
+            if (task != null) {
+                task.cancel();
+                task = null;
+            }
+        }
+    }
+
+    private void loadProgress() {
+        if (!progressFile.exists()) {
+            return;
+        }
+        YamlConfiguration progress = YamlConfiguration.loadConfiguration(progressFile);
+        boolean sameArena = world.getUID().toString().equals(progress.getString("world"))
+                && progress.getInt("center-chunk-x") == centerChunkX
+                && progress.getInt("center-chunk-z") == centerChunkZ
+                && progress.getInt("radius-chunks") == radiusChunks;
+        if (!sameArena) {
+            plugin.getLogger().info("[GGORRI] 경기장 설정이 바뀌어 사전 생성을 처음부터 다시 진행합니다.");
+            return;
+        }
+        watermark = Math.max(0, Math.min(totalChunks, progress.getInt("completed")));
+        nextOrdinal = watermark;
+    }
+
+    private void saveProgress() {
+        YamlConfiguration progress = new YamlConfiguration();
+        progress.set("world", world.getUID().toString());
+        progress.set("center-chunk-x", centerChunkX);
+        progress.set("center-chunk-z", centerChunkZ);
+        progress.set("radius-chunks", radiusChunks);
+        progress.set("completed", watermark);
+        try {
+            if (!plugin.getDataFolder().exists() && !plugin.getDataFolder().mkdirs()) {
+                throw new IOException("데이터 폴더를 만들 수 없습니다: " + plugin.getDataFolder());
+            }
+            progress.save(progressFile);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "[GGORRI] 사전 생성 진행 상황을 저장하지 못했습니다.", e);
+        }
+    }
+
+    public double getChunksPerSecond() {
+        long elapsedMillis = System.currentTimeMillis() - sessionStartedAtMillis;
+        if (sessionStartedAtMillis == 0 || elapsedMillis <= 0) {
+            return 0.0;
+        }
+        return sessionCompleted * 1000.0 / elapsedMillis;
+    }
+
+    public String getStatusLine() {
+        String state;
+        if (isComplete()) {
+            state = "완료";
+        } else if (task == null) {
+            state = "중지";
+        } else if (manualRun || idleCheck.getAsBoolean()) {
+            state = "진행 중";
+        } else {
+            state = "일시 정지(게임 중)";
+        }
+        return "경기장 사전 생성(" + state + "): " + watermark + "/" + totalChunks + " 청크 (" +
+                String.format("%.1f", watermark * 100.0 / totalChunks) + "%)" +
+                ", 로딩 중 " + inFlight + ", 실패 " + failedChunks +
+                (retryOrdinals.isEmpty() ? "" : " (재시도 대기 " + retryOrdinals.size() + ")") +
+                (abandonedChunks > 0 ? ", 포기 " + abandonedChunks : "") +
+                ", " + String.format("%.1f", getChunksPerSecond()) + "청크/초";
+    }
+}
@@ -0,0 +1,339 @@
+package dev.o8o1o5.ggorri.spawn;
+
+import org.bukkit.Material;
+import org.bukkit.Tag;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * 블록 타입별 스폰 안전 분류표입니다.
+ * 플러그인 활성화 시 한 번만 Material ordinal로 인덱싱된 바이트 배열을 만들어 두고,
+ * 이후에는 배열 조회 한 번으로 판정하므로 문자열 생성/비교가 없습니다.
+ * 배열은 생성 후 변경되지 않으므로 작업 스레드에서도 안전하게 읽을 수 있습니다.
+ */
+public final class BlockSafetyClassifier {
+    /** 스폰 위치 주변에 있으면 안 되는 블록 */
+    public static final byte HARMFUL = 1;
+    /** 플레이어가 통과할 수 있는 블록 (단단하지 않고 액체도 아님) */
+    public static final byte PASSABLE = 1 << 1;
+    /** 액체 블록 (Block.isLiquid()와 같은 판정: 물과 용암) */
+    public static final byte LIQUID = 1 << 2;
+    /** 발판이 될 수 있는 블록 (단단하고 액체가 아님) */
+    public static final byte SOLID_FLOOR = 1 << 3;
+
+    /** null(조회할 수 없는 블록)에 대한 분류: 위험하며 발판이 될 수 없음 */
+    private static final byte UNKNOWN_FLAGS = HARMFUL | PASSABLE;
+
+    // 이전 문자열 비교 방식과 같은 판정을 유지하기 위한 이름 패턴 (활성화 시 한 번만 사용)
+    private static final String[] LEGACY_HARMFUL_NAME_PATTERNS = {"TRAPDOOR", "GATE", "FENCE", "WALL", "DOOR"};
+
+    /**
+     * 분류표를 만들 때 읽는 블록 속성입니다. 서버에서는 Material/Tag를 그대로 읽고(SERVER_PROPERTIES),
+     * 테스트에서는 레지스트리 없이 고정값을 넣어 build의 규칙(Tag 확장, 허용/거부 목록, 플래그)을 검증합니다.
+     */
+    interface BlockProperties {
+        /** 월드에 존재할 수 있는 블록인지 (레거시/아이템 전용 Material이 아님) */
+        boolean isWorldBlock(Material material);
+
+        boolean isSolid(Material material);
+
+        /** 위험 블록으로 더할 Tag 멤버 (함정문, 울타리 문, 울타리, 벽, 문, 불, 모닥불) */
+        Set<Material> harmfulTagMembers();
+    }
+
+    private static final BlockProperties SERVER_PROPERTIES = new BlockProperties() {
+        @Override
+        public boolean isWorldBlock(Material material) {
+            return !material.isLegacy() && material.isBlock();
+        }
+
+        @Override
+        public boolean isSolid(Material material) {
+            return material.isSolid();
+        }
+
+        @Override
+        public Set<Material> harmfulTagMembers() {
+            Set<Material> members = EnumSet.noneOf(Material.class);
+            addTagged(members, Tag.TRAPDOORS);
+            addTagged(members, Tag.FENCE_GATES);
+            addTagged(members, Tag.FENCES);
+            addTagged(members, Tag.WALLS);
+            addTagged(members, Tag.DOORS);
+            addTagged(members, Tag.FIRE);
+            addTagged(members, Tag.CAMPFIRES);
+            return members;
+        }
+    };
+
+    private final byte[] flagsByOrdinal;
+    private final int harmfulCount;
+
+    private BlockSafetyClassifier(byte[] flagsByOrdinal, int harmfulCount) {
+        this.flagsByOrdinal = flagsByOrdinal;
+        this.harmfulCount = harmfulCount;
+    }
+
+    /**
+     * 기본 규칙 + Bukkit Tag + 설정의 허용/거부 목록으로 분류표를 만듭니다.
+     *
+     * @param safetyConfig spawn.safety 설정 섹션 (null이면 기본값만 사용)
+     * @param logger       잘못된 블록 이름 경고용 로거
+     */
+    public static BlockSafetyClassifier build(ConfigurationSection safetyConfig, Logger logger) {
+        return build(safetyConfig, logger, SERVER_PROPERTIES);
+    }
+
+    static BlockSafetyClassifier build(ConfigurationSection safetyConfig, Logger logger, BlockProperties properties) {
+        Set<Material> harmful = EnumSet.of(
+                Material.CACTUS,
+                Material.LAVA,
+                Material.MAGMA_BLOCK,
+                Material.WITHER_ROSE,
+                Material.SWEET_BERRY_BUSH,
+                Material.FIRE,
+                Material.SOUL_FIRE,
+                Material.CAMPFIRE,
+                Material.SOUL_CAMPFIRE,
+                Material.END_PORTAL_FRAME,
+                Material.POINTED_DRIPSTONE,
+                Material.ANVIL, // 떨어진다면 위험, 스폰 시 위험
+                Material.COBWEB); // 움직임 방해
+
+        // 갇히거나 통과할 수 없는 블록 (함정문, 울타리 문, 울타리, 벽, 문), 불
+        // 금 간 모루 등은 이전 판정(ANVIL만)과 같도록 더하지 않음
+        harmful.addAll(properties.harmfulTagMembers());
+
+        Set<Material> allowed = EnumSet.noneOf(Material.class);
+        if (safetyConfig != null) {
+            harmful.addAll(parseMaterials(safetyConfig.getStringList("deny"), logger));
+            allowed = parseMaterials(safetyConfig.getStringList("allow"), logger); // 허용 목록이 우선
+        }
+
+        Material[] materials = Material.values();
+        byte[] flags = new byte[materials.length];
+        int harmfulCount = 0;
+        for (Material material : materials) {
+            if (!properties.isWorldBlock(material)) {
+                continue; // 레거시/아이템 전용 Material은 월드에 존재하지 않음
+            }
+
+            byte value = 0;
+            // Block.isLiquid()와 같은 판정: 물과 용암만 액체 (거품 기둥은 이전처럼 통과 가능한 블록)
+            boolean liquid = material == Material.WATER || material == Material.LAVA;
+            boolean solid = properties.isSolid(material);
+            if (liquid) value |= LIQUID;
+            if (!solid && !liquid) value |= PASSABLE;
+            if (solid && !liquid) value |= SOLID_FLOOR;
+            if ((harmful.contains(material) || matchesLegacyPattern(material)) && !allowed.contains(material)) {
+                value |= HARMFUL;
+                harmfulCount++;
+            }
+            flags[material.ordinal()] = value;
+        }
+        return new BlockSafetyClassifier(flags, harmfulCount);
+    }
+
+    private static void addTagged(Set<Material> target, Tag<Material> tag) {
+        if (tag != null) {
+            target.addAll(tag.getValues());
+        }
+    }
+
+    private static boolean matchesLegacyPattern(Material material) {
+        String name = material.name();
+        for (String pattern : LEGACY_HARMFUL_NAME_PATTERNS) {
+            if (name.contains(pattern)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Set<Material> parseMaterials(List<String> names, Logger logger) {
+        Set<Material> result = EnumSet.noneOf(Material.class);
+        for (String name : names) {
+            Material material = Material.matchMaterial(name);
+            if (material == null) {
+                logger.warning("[GGORRI] spawn.safety 설정의 알 수 없는 블록 이름: " + name);
+                continue;
+            }
+            result.add(material);
+        }
+        return result;
+    }
+
+    public byte flags(Material material) {
+        return material == null ? UNKNOWN_FLAGS : flagsByOrdinal[material.ordinal()];
+    }
+
+    public boolean isHarmful(Material material) {
+        return (flags(material) & HARMFUL) != 0;
+    }
+
+    public boolean isPassable(Material material) {
+        return (flags(material) & PASSABLE) != 0;
+    }
+
+    public boolean isLiquid(Material material) {
+        return (flags(material) & LIQUID) != 0;
+    }
+
+    public boolean isSolidFloor(Material material) {
+        return (flags(material) & SOLID_FLOOR) != 0;
+    }
+
+    public int getHarmfulCount() {
+        return harmfulCount;
+    }
+
+    /**
+     * 조회 한 번의 비용을 측정하는 간단한 마이크로벤치마크입니다. 월드에 존재하는 모든 블록 타입을 표본으로 씁니다.
+     * 측정 중 CPU를 사용하므로 비동기 스레드에서 실행해야 합니다.
+     *
+     * @param lookups 측정 라운드당 조회 횟수
+     */
+    public MicroBenchmarkResult runMicroBenchmark(int lookups) {
+        List<Material> blocks = new ArrayList<>();
+        for (Material material : Material.values()) {
+            if (!material.isLegacy() && material.isBlock()) {
+                blocks.add(material);
+            }
+        }
+        return runMicroBenchmark(blocks, lookups);
+    }
+
+    /**
+     * 이전의 문자열 비교 방식과 분류표 조회를 같은 블록 배열에 대해 번갈아 측정합니다.
+     * 서버 없이도 실행할 수 있어 테스트(BlockSafetyClassifierTest)에서 같은 측정을 반복할 수 있습니다.
+     *
+     * @param blocks  표본을 뽑을 블록 타입 (고정 시드로 추첨)
+     * @param lookups 측정 라운드당 조회 횟수
+     */
+    public MicroBenchmarkResult runMicroBenchmark(List<Material> blocks, int lookups) {
+        Random random = new Random(42);
+        Material[] sample = new Material[4096];
+        for (int i = 0; i < sample.length; i++) {
+            sample[i] = blocks.get(random.nextInt(blocks.size()));
+        }
+
+        // 워밍업 (JIT 컴파일 유도)
+        for (int round = 0; round < 5; round++) {
+            measureTable(sample, lookups);
+            measureStringMatching(sample, lookups);
+        }
+
+        long tableHarmful = 0;
+        long stringHarmful = 0;
+        long bestTableNanos = Long.MAX_VALUE;
+        long bestStringNanos = Long.MAX_VALUE;
+        for (int round = 0; round < MicroBenchmarkResult.ROUNDS; round++) {
+            long start = System.nanoTime();
+            tableHarmful = measureTable(sample, lookups);
+            bestTableNanos = Math.min(bestTableNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            stringHarmful = measureStringMatching(sample, lookups);
+            bestStringNanos = Math.min(bestStringNanos, System.nanoTime() - start);
+        }
+        return new MicroBenchmarkResult(lookups, (double) bestTableNanos / lookups, (double) bestStringNanos / lookups, tableHarmful, stringHarmful);
+    }
+
+    /**
+     * 마이크로벤치마크 결과. 두 방식이 같은 표본에서 센 위험 블록 수도 함께 담아, 같은 판정을 비교했는지 확인할 수 있습니다.
+     */
+    public static final class MicroBenchmarkResult {
+        static final int ROUNDS = 5;
+
+        private final int lookups;
+        private final double tableNanosPerLookup;
+        private final double stringNanosPerLookup;
+        private final long tableHarmful;
+        private final long stringHarmful;
+
+        private MicroBenchmarkResult(int lookups, double tableNanosPerLookup, double stringNanosPerLookup, long tableHarmful, long stringHarmful) {
+            this.lookups = lookups;
+            this.tableNanosPerLookup = tableNanosPerLookup;
+            this.stringNanosPerLookup = stringNanosPerLookup;
+            this.tableHarmful = tableHarmful;
+            this.stringHarmful = stringHarmful;
+        }
+
+        public double getTableNanosPerLookup() {
+            return tableNanosPerLookup;
+        }
+
+        public double getStringNanosPerLookup() {
+            return stringNanosPerLookup;
+        }
+
+        /** 마지막 라운드에서 분류표가 위험하다고 본 조회 수 */
+        public long getTableHarmful() {
+            return tableHarmful;
+        }
+
+        /** 마지막 라운드에서 문자열 비교가 위험하다고 본 조회 수 (판정이 같으면 getTableHarmful과 같음) */
+        public long getStringHarmful() {
+            return stringHarmful;
+        }
+
+        public String getSummary() {
+            return "블록 분류표 조회: " + String.format("%.2f", tableNanosPerLookup) + "ns/회, " +
+                    "문자열 비교: " + String.format("%.2f", stringNanosPerLookup) + "ns/회 " +
+                    "(" + String.format("%.1f", stringNanosPerLookup / Math.max(tableNanosPerLookup, 0.001)) + "배, 조회 " + lookups + "회 x " + ROUNDS + "라운드 최솟값" +
+                    (tableHarmful == stringHarmful ? "" : ", 판정 불일치 " + tableHarmful + "/" + stringHarmful) + ")";
+        }
+    }
+
+    private long measureTable(Material[] sample, int lookups) {
+        long harmful = 0;
+        int mask = sample.length - 1;
+        for (int i = 0; i < lookups; i++) {
+            if (isHarmful(sample[i & mask])) harmful++;
+        }
+        return harmful;
+    }
+
+    private static long measureStringMatching(Material[] sample, int lookups) {
+        long harmful = 0;
+        int mask = sample.length - 1;
+        for (int i = 0; i < lookups; i++) {
+            if (isHarmfulByLegacyStringMatching(sample[i & mask])) {
+                harmful++;
+            }
+        }
+        return harmful;
+    }
+
+    /**
+     * 분류표 이전의 문자열 비교 판정 (벤치마크 비교 대상, 기존 SpawnManager.isHarmfulBlockType 그대로)
+     */
+    static boolean isHarmfulByLegacyStringMatching(Material material) {
+        if (material == null) return true; // Null 블록은 위험
+
+        return material == Material.CACTUS ||
+                material == Material.LAVA ||
+                material == Material.MAGMA_BLOCK ||
+                material == Material.WITHER_ROSE ||
+                material == Material.SWEET_BERRY_BUSH ||
+                material == Material.FIRE ||
+                material == Material.SOUL_FIRE ||
+                material == Material.CAMPFIRE ||
+                material == Material.SOUL_CAMPFIRE ||
+                material == Material.END_PORTAL_FRAME ||
+                material == Material.POINTED_DRIPSTONE ||
+                material == Material.ANVIL || // 떨어진다면 위험, 스폰 시 위험
+                material == Material.COBWEB || // 움직임 방해
+                material.name().contains("TRAPDOOR") || // 갇힐 위험
+                material.name().contains("GATE") || // 갇힐 위험
+                material.name().contains("FENCE") || // 울타리 (플레이어 통과 불가)
+                material.name().contains("WALL") || // 벽 (플레이어 통과 불가)
+                material.name().contains("DOOR"); // 문 (갇히거나 막힐 위험)
+    }
+}
@@ -0,0 +1,14 @@
+package dev.o8o1o5.ggorri.spawn;
+
+import org.bukkit.Material;
+
+/**
+ * 월드 좌표로 블록 타입을 조회하는 추상화입니다.
+ * 같은 스폰 안전 규칙을 실시간 월드(메인 스레드)와 ChunkSnapshot(작업 스레드) 양쪽에 적용하기 위해 사용합니다.
+ */
+public interface BlockTypeAccess {
+    /**
+     * @return 해당 좌표의 블록 타입, 조회할 수 없는 좌표이면 null
+     */
+    Material getType(int x, int y, int z);
+}
@@ -0,0 +1,46 @@
+package dev.o8o1o5.ggorri.spawn;
+
+import org.bukkit.Location;
+import org.bukkit.WorldBorder;
+
+/**
+ * 특정 시점의 월드보더 범위를 복사해 둔 값 객체입니다.
+ * 작업 스레드에서 WorldBorder API를 호출하지 않고도 WorldBorder.isInside와 같은 판정을 할 수 있습니다.
+ */
+public final class BorderBounds {
+    private final double minX;
+    private final double maxX;
+    private final double minZ;
+    private final double maxZ;
+
+    private BorderBounds(double minX, double maxX, double minZ, double maxZ) {
+        this.minX = minX;
+        this.maxX = maxX;
+        this.minZ = minZ;
+        this.maxZ = maxZ;
+    }
+
+    /**
+     * 현재 월드보더 상태를 복사합니다. 메인 스레드에서 호출해야 합니다.
+     */
+    public static BorderBounds of(WorldBorder border) {
+        Location center = border.getCenter();
+        double half = border.getSize() / 2.0;
+        return new BorderBounds(center.getX() - half, center.getX() + half, center.getZ() - half, center.getZ() + half);
+    }
+
+    /**
+     * 중심과 한 변의 길이로 범위를 만듭니다. (공지된 다음 자기장 등 아직 월드보더에 반영되지 않은 범위)
+     */
+    public static BorderBounds of(double centerX, double centerZ, double size) {
+        double half = size / 2.0;
+        return new BorderBounds(centerX - half, centerX + half, centerZ - half, centerZ + half);
+    }
+
+    /**
+     * 블록 좌표 (x, z)가 보더 안쪽인지 확인합니다. (서버의 블록 단위 isInside 판정과 동일)
+     */
+    public boolean contains(int blockX, int blockZ) {
+        return blockX + 1 > minX && blockX < maxX && blockZ + 1 > minZ && blockZ < maxZ;
+    }
+}
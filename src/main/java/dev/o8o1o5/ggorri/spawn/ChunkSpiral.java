@@ -0,0 +1,40 @@
+package dev.o8o1o5.ggorri.spawn;
+
+/**
+ * 중심 청크에서 바깥쪽으로 나선 순서로 청크 오프셋을 구하는 도우미입니다.
+ * 순번 0은 중심이고, 고리 r(한 변 2r+1)에는 8r개의 청크가 있으므로 순번 (2r+1)^2 미만은 모두 고리 r 이내입니다.
+ */
+public final class ChunkSpiral {
+    private ChunkSpiral() {
+    }
+
+    /**
+     * 반경(고리 수) r 이내의 청크 개수
+     */
+    public static int countWithin(int radiusChunks) {
+        int side = radiusChunks * 2 + 1;
+        return side * side;
+    }
+
+    /**
+     * 나선 순번을 중심 청크 기준 오프셋 {dx, dz}로 변환합니다.
+     */
+    public static int[] offset(int ordinal) {
+        if (ordinal == 0) {
+            return new int[]{0, 0};
+        }
+        // 고리 r의 첫 순번은 (2r-1)^2
+        int ring = (int) Math.ceil((Math.sqrt(ordinal + 1) - 1) / 2);
+        int first = (2 * ring - 1) * (2 * ring - 1);
+        int position = ordinal - first;
+        int sideLength = 2 * ring;
+        int side = position / sideLength;
+        int along = position % sideLength;
+        switch (side) {
+            case 0: return new int[]{ring, -ring + 1 + along};   // 동쪽 변 (북 -> 남)
+            case 1: return new int[]{ring - 1 - along, ring};    // 남쪽 변 (동 -> 서)
+            case 2: return new int[]{-ring, ring - 1 - along};   // 서쪽 변 (남 -> 북)
+            default: return new int[]{-ring + 1 + along, -ring}; // 북쪽 변 (서 -> 동)
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package dev.o8o1o5.ggorri.spawn;
+
+import dev.o8o1o5.ggorri.GGORRI;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 이 플러그인의 청크 티켓을 여러 작업이 나눠 쓰도록 보유 횟수를 세는 도우미입니다.
+ * 플러그인 티켓은 청크당 하나뿐이고 횟수를 세지 않으므로, 한 작업이 해제하면 같은 청크를 붙잡은 다른 작업의 티켓까지 사라집니다.
+ * 그래서 스폰 풀, 부활 위치 예약, 텔레포트, 안전 지대 미리 불러오기는 모두 여기를 거쳐 티켓을 붙이고 떼며,
+ * 실제 티켓은 첫 보유 때 붙이고 마지막 보유가 풀릴 때 뗍니다. 메인 스레드에서만 사용합니다.
+ */
+public class ChunkTickets {
+    private final GGORRI plugin;
+    private final Map<UUID, Map<Long, Integer>> holdCounts = new HashMap<>(); // 월드 -> 청크 키 -> 보유 횟수
+    private int totalHolds;
+
+    public ChunkTickets(GGORRI plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * 청크를 한 번 더 붙잡습니다. 처음 붙잡는 청크에만 실제 티켓을 붙입니다.
+     * 붙잡은 횟수만큼 release를 호출해야 합니다.
+     */
+    public void acquire(World world, int chunkX, int chunkZ) {
+        Map<Long, Integer> counts = holdCounts.computeIfAbsent(world.getUID(), k -> new HashMap<>());
+        if (counts.merge(chunkKey(chunkX, chunkZ), 1, Integer::sum) == 1) {
+            world.addPluginChunkTicket(chunkX, chunkZ, plugin);
+        }
+        totalHolds++;
+    }
+
+    public void acquire(Location location) {
+        acquire(location.getWorld(), location.getBlockX() >> 4, location.getBlockZ() >> 4);
+    }
+
+    /**
+     * 붙잡은 청크를 한 번 놓습니다. 마지막 보유가 풀리면 실제 티켓을 뗍니다.
+     *
+     * @return 놓았으면 true, 붙잡은 적이 없는 청크이면 false (아무것도 하지 않음)
+     */
+    public boolean release(World world, int chunkX, int chunkZ) {
+        Map<Long, Integer> counts = holdCounts.get(world.getUID());
+        if (counts == null) {
+            return false;
+        }
+        long key = chunkKey(chunkX, chunkZ);
+        Integer count = counts.get(key);
+        if (count == null) {
+            return false;
+        }
+        totalHolds--;
+        if (count > 1) {
+            counts.put(key, count - 1);
+            return true;
+        }
+        counts.remove(key);
+        if (counts.isEmpty()) {
+            holdCounts.remove(world.getUID());
+        }
+        world.removePluginChunkTicket(chunkX, chunkZ, plugin);
+        return true;
+    }
+
+    public boolean release(Location location) {
+        return location.getWorld() != null && release(location.getWorld(), location.getBlockX() >> 4, location.getBlockZ() >> 4);
+    }
+
+    /**
+     * @return 어떤 작업이든 이 청크를 붙잡고 있으면 true (언로드하면 안 됨)
+     */
+    public boolean isHeld(World world, int chunkX, int chunkZ) {
+        Map<Long, Integer> counts = holdCounts.get(world.getUID());
+        return counts != null && counts.containsKey(chunkKey(chunkX, chunkZ));
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    public String getStatusLine() {
+        int chunks = 0;
+        for (Map<Long, Integer> counts : holdCounts.values()) {
+            chunks += counts.size();
+        }
+        return "청크 티켓: " + chunks + "개 청크, 보유 " + totalHolds + "건";
+    }
+}
@@ -0,0 +1,229 @@
+package dev.o8o1o5.ggorri.spawn;
+
+import dev.o8o1o5.ggorri.GGORRI;
+import dev.o8o1o5.ggorri.manager.SpawnManager;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.WorldBorder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+
+/**
+ * 부활 대기 시간 동안 부활 위치를 미리 찾아두는 예약기입니다.
+ * 사망 직후 비동기로 위치를 찾고, 찾은 위치의 청크는 플러그인 티켓으로 로드된 상태를 유지합니다.
+ * 대기 중에는 매초 팀장 이동/자기장 축소 여부를 좌표 계산만으로 확인해 필요할 때만 다시 찾으므로,
+ * 타이머가 끝나는 틱에는 이미 로드된 청크의 한 위치만 재확인하면 됩니다.
+ * 메인 스레드에서만 사용합니다.
+ */
+public class RespawnSiteResolver {
+    private final GGORRI plugin;
+    private final SpawnManager spawnManager;
+    private final ChunkTickets chunkTickets;
+    private final Map<UUID, Reservation> reservations = new HashMap<>();
+
+    private static final int NEAR_ANCHOR_RADIUS = 50; // 팀장 근처 부활 탐색 반경
+    private static final int NEAR_ANCHOR_MIN_DISTANCE = 10; // 팀장과의 최소 거리
+    private static final int NEAR_ANCHOR_ATTEMPTS = 100;
+    private static final int GLOBAL_ATTEMPTS = 500;
+    // 예약 위치가 팀장으로부터 이 거리 이상 멀어지면 다시 찾음 (탐색 반경 + 여유)
+    private static final double NEAR_ANCHOR_REVALIDATE_DISTANCE = NEAR_ANCHOR_RADIUS * 1.5;
+    private static final long RETRY_DELAY_MILLIS = 5000L; // 탐색 실패 후 다시 시도하기까지의 대기 시간
+
+    // 통계
+    private long resolvedCount;
+    private long reResolvedCount;
+    private long claimedCount;
+    private long missedCount; // 타이머 종료 시 예약이 준비되지 않아 즉시 탐색으로 넘어간 횟수
+
+    public RespawnSiteResolver(GGORRI plugin, SpawnManager spawnManager) {
+        this.plugin = plugin;
+        this.spawnManager = spawnManager;
+        this.chunkTickets = spawnManager.getChunkTickets();
+    }
+
+    /**
+     * 부활 위치 예약을 시작하거나, 이미 예약이 있으면 여전히 유효한지 확인합니다. 부활 대기 중 매초 호출합니다.
+     * 유효성 확인은 좌표 비교만 하므로 비용이 거의 없으며, 무효일 때만 새 탐색을 시작합니다.
+     *
+     * @param playerUUID 부활할 플레이어
+     * @param anchor     팀장 근처 부활이면 팀장의 현재 위치, 일반 부활이면 null
+     */
+    public void prepare(UUID playerUUID, Location anchor) {
+        Reservation reservation = reservations.get(playerUUID);
+        if (reservation != null && isStillValid(reservation, anchor)) {
+            return;
+        }
+        if (reservation != null) {
+            reResolvedCount++;
+            release(reservation);
+        }
+        resolve(playerUUID, anchor);
+    }
+
+    private boolean isStillValid(Reservation reservation, Location anchor) {
+        if ((anchor != null) != reservation.nearAnchor) {
+            return false; // 팀장 근처 <-> 일반 부활 전환
+        }
+        if (reservation.location == null) {
+            // 아직 탐색 중이면 기다리고, 탐색이 실패로 끝났으면 잠시 뒤 다시 시도
+            return !reservation.search.isDone() || System.currentTimeMillis() - reservation.completedAtMillis < RETRY_DELAY_MILLIS;
+        }
+
+        World world = reservation.location.getWorld();
+        if (world == null) {
+            return false;
+        }
+        if (!BorderBounds.of(world.getWorldBorder()).contains(reservation.location.getBlockX(), reservation.location.getBlockZ())) {
+            return false; // 자기장이 줄어 예약 위치가 밖으로 나감
+        }
+        if (anchor != null && !reservation.nearAnchorFailed) {
+            if (anchor.getWorld() != world) {
+                return false;
+            }
+            double dx = anchor.getX() - reservation.location.getX();
+            double dz = anchor.getZ() - reservation.location.getZ();
+            return dx * dx + dz * dz <= NEAR_ANCHOR_REVALIDATE_DISTANCE * NEAR_ANCHOR_REVALIDATE_DISTANCE;
+        }
+        return true;
+    }
+
+    private void resolve(UUID playerUUID, Location anchor) {
+        Reservation reservation = new Reservation(anchor != null);
+        reservations.put(playerUUID, reservation);
+
+        CompletableFuture<Location> nearAnchor = anchor == null
+                ? CompletableFuture.completedFuture(null)
+                : spawnManager.findSafeSpawnLocation(anchor, NEAR_ANCHOR_RADIUS, NEAR_ANCHOR_MIN_DISTANCE, NEAR_ANCHOR_ATTEMPTS);
+        reservation.search = nearAnchor.thenCompose(location -> {
+            if (location != null || reservations.get(playerUUID) != reservation) {
+                return CompletableFuture.completedFuture(location);
+            }
+            reservation.nearAnchorFailed = anchor != null;
+            World world = spawnManager.getGameWorld();
+            if (world == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            WorldBorder border = world.getWorldBorder();
+            // 자기장 한 변의 절반이 반경 (중심에서 보더 모서리까지)
+            return spawnManager.findSafeSpawnLocation(border.getCenter(), (int) (border.getSize() / 2), 0, GLOBAL_ATTEMPTS);
+        });
+
+        reservation.search.whenComplete((location, throwable) -> {
+            reservation.completedAtMillis = System.currentTimeMillis();
+            if (reservations.get(playerUUID) != reservation) {
+                return; // 그 사이 다시 예약되었거나 취소됨
+            }
+            if (throwable != null) {
+                plugin.getLogger().log(Level.WARNING, "[GGORRI] 부활 위치 예약 중 오류", throwable);
+                return;
+            }
+            if (location == null) {
+                return;
+            }
+            reservation.location = location;
+            if (location.getWorld() != null) {
+                chunkTickets.acquire(location);
+                reservation.ticketHeld = true;
+            }
+            resolvedCount++;
+        });
+    }
+
+    /**
+     * 타이머가 끝났을 때 예약된 위치를 꺼냅니다. 청크가 로드되어 있으므로 재확인은 한 위치에 대한 블록 검사뿐입니다.
+     *
+     * @param anchor 팀장 근처 부활이면 팀장의 현재 위치, 일반 부활이면 null
+     * @return 예약 결과, 준비되지 않았거나 더 이상 유효하지 않으면 null (호출하는 쪽에서 즉시 탐색)
+     */
+    public ClaimedSite claim(UUID playerUUID, Location anchor) {
+        Reservation reservation = reservations.remove(playerUUID);
+        if (reservation == null) {
+            missedCount++;
+            return null;
+        }
+        try {
+            if (reservation.location == null || !isStillValid(reservation, anchor) || !spawnManager.isStillSafe(reservation.location)) {
+                missedCount++;
+                return null;
+            }
+            claimedCount++;
+            return new ClaimedSite(reservation.location, reservation.nearAnchor && !reservation.nearAnchorFailed);
+        } finally {
+            release(reservation);
+        }
+    }
+
+    /**
+     * 플레이어의 예약을 취소하고 청크 티켓을 해제합니다.
+     */
+    public void cancel(UUID playerUUID) {
+        Reservation reservation = reservations.remove(playerUUID);
+        if (reservation != null) {
+            release(reservation);
+        }
+    }
+
+    /**
+     * 모든 예약을 취소합니다. (게임 종료 시)
+     */
+    public void clear() {
+        for (Reservation reservation : reservations.values()) {
+            release(reservation);
+        }
+        reservations.clear();
+    }
+
+    private void release(Reservation reservation) {
+        if (reservation.ticketHeld) {
+            chunkTickets.release(reservation.location);
+        }
+        reservation.ticketHeld = false;
+    }
+
+    public String getStatusLine() {
+        return "부활 위치 예약: 대기 " + reservations.size() + "명" +
+                ", 예약 " + resolvedCount + "회(재탐색 " + reResolvedCount + "회)" +
+                ", 사용 " + claimedCount + "회, 미준비 " + missedCount + "회";
+    }
+
+    /**
+     * 타이머 종료 시 사용할 예약 위치.
+     */
+    public static final class ClaimedSite {
+        private final Location location;
+        private final boolean nearAnchor;
+
+        private ClaimedSite(Location location, boolean nearAnchor) {
+            this.location = location;
+            this.nearAnchor = nearAnchor;
+        }
+
+        public Location getLocation() {
+            return location;
+        }
+
+        /**
+         * @return 팀장 근처에서 찾은 위치이면 true, 자기장 전체에서 찾은 위치이면 false
+         */
+        public boolean isNearAnchor() {
+            return nearAnchor;
+        }
+    }
+
+    private static final class Reservation {
+        private final boolean nearAnchor;
+        private CompletableFuture<Location> search;
+        private Location location;
+        private boolean nearAnchorFailed;
+        private boolean ticketHeld;
+        private long completedAtMillis;
+
+        private Reservation(boolean nearAnchor) {
+            this.nearAnchor = nearAnchor;
+        }
+    }
+}
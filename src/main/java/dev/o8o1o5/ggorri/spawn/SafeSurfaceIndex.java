@@ -0,0 +1,402 @@
+package dev.o8o1o5.ggorri.spawn;
+
+import dev.o8o1o5.ggorri.GGORRI;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.logging.Level;
+
+/**
+ * 경기장 전체의 "안전한 스폰 지표면" 인덱스입니다.
+ * 열마다 안전 여부 1비트와 지표면 Y 1바이트를 플러그인 데이터 폴더의 메모리 매핑 파일에 저장하므로,
+ * 한 번 구축하면 서버를 재시작해도 다시 스캔하지 않습니다.
+ * 구축은 대기 중에 청크를 조금씩 비동기로 불러와 점진적으로 진행하고, 블록 설치/파괴/폭발이 일어난 청크는 다시 스캔합니다.
+ * 스폰/리스폰 위치 탐색은 인덱스에서 무작위로 안전한 열을 뽑는 것만으로 끝납니다. (청크 스캔 없음)
+ * 메인 스레드에서만 사용합니다.
+ */
+public class SafeSurfaceIndex {
+    private final GGORRI plugin;
+    private final SpawnEvaluator evaluator;
+    private final World world;
+    private final int originX; // 경기장 북서쪽 모서리 (블록 좌표, 16의 배수)
+    private final int originZ;
+    private final int size; // 경기장 한 변 (블록, 16의 배수)
+    private final int chunksPerSide;
+    private final int minSpawnY;
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int scannedChunks;
+
+    private final Deque<Integer> dirtyChunks = new ArrayDeque<>(); // 다시 스캔할 청크 (우선 처리)
+    private final Set<Integer> inFlightChunks = new HashSet<>();
+    private final Set<Integer> staleInFlightChunks = new HashSet<>(); // 스캔 도중 블록이 바뀐 청크 (결과를 버리고 다시 스캔)
+    private final Deque<Integer> retryChunks = new ArrayDeque<>(); // 스캔에 실패한 청크 (커서가 끝까지 간 뒤 다시 시도)
+    private final Map<Integer, Integer> scanFailures = new HashMap<>(); // 청크별 스캔 실패 횟수
+    private int scanCursor; // 아직 스캔하지 않은 청크를 찾기 시작할 위치
+    private int writesSinceFlush;
+    private BukkitTask buildTask;
+
+    // 파일 레이아웃: [헤더][청크 상태 1바이트 x 청크 수][안전 비트 x 열 수][지표면 Y 1바이트 x 열 수]
+    private static final int MAGIC = 0x47475349; // "GGSI"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final byte CHUNK_UNSCANNED = 0;
+    private static final byte CHUNK_SCANNED = 1;
+
+    private static final int MAX_IN_FLIGHT_CHUNKS = 2; // 동시에 불러올 청크 수 (TPS 보호)
+    private static final long BUILD_INTERVAL_TICKS = 1L;
+    private static final int FLUSH_EVERY_CHUNKS = 256; // 이 개수만큼 스캔할 때마다 디스크에 기록
+    private static final int MAX_DRAWS = 64; // 무작위 추첨 최대 횟수
+    private static final int MAX_SCAN_RETRIES = 3; // 이번 실행에서 한 청크를 다시 시도할 횟수 (넘으면 다음 서버 시작 때 다시 시도)
+
+    private final int chunkStateOffset;
+    private final int safeBitsOffset;
+    private final int groundYOffset;
+
+    public SafeSurfaceIndex(GGORRI plugin, SpawnEvaluator evaluator, World world, int centerX, int centerZ, int size, int minSpawnY) {
+        this.plugin = plugin;
+        this.evaluator = evaluator;
+        this.world = world;
+        this.size = (size + 15) & ~15;
+        this.originX = (centerX - this.size / 2) & ~15;
+        this.originZ = (centerZ - this.size / 2) & ~15;
+        this.chunksPerSide = this.size / 16;
+        this.minSpawnY = minSpawnY;
+
+        long columns = (long) this.size * this.size;
+        this.chunkStateOffset = HEADER_BYTES;
+        this.safeBitsOffset = chunkStateOffset + chunksPerSide * chunksPerSide;
+        this.groundYOffset = (int) (safeBitsOffset + (columns + 7) / 8);
+    }
+
+    /**
+     * 인덱스 파일을 열거나 새로 만듭니다. 헤더(월드/경기장/최소 Y)가 다르면 처음부터 다시 구축합니다.
+     * @return 성공 여부
+     */
+    public boolean open() {
+        File file = new File(plugin.getDataFolder(), "surface-" + world.getUID() + ".idx");
+        long totalBytes = groundYOffset + (long) size * size;
+        try {
+            if (!plugin.getDataFolder().exists() && !plugin.getDataFolder().mkdirs()) {
+                throw new IOException("데이터 폴더를 만들 수 없습니다: " + plugin.getDataFolder());
+            }
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, totalBytes);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "[GGORRI] 안전 지표면 인덱스 파일을 열 수 없습니다: " + file, e);
+            close();
+            return false;
+        }
+
+        if (!headerMatches()) {
+            plugin.getLogger().info("[GGORRI] 안전 지표면 인덱스를 새로 만듭니다. (" + file.getName() + ")");
+            for (int i = 0; i < chunksPerSide * chunksPerSide; i++) {
+                buffer.put(chunkStateOffset + i, CHUNK_UNSCANNED);
+            }
+            writeHeader();
+        }
+
+        scannedChunks = 0;
+        for (int i = 0; i < chunksPerSide * chunksPerSide; i++) {
+            if (buffer.get(chunkStateOffset + i) == CHUNK_SCANNED) {
+                scannedChunks++;
+            }
+        }
+        plugin.getLogger().info("[GGORRI] 안전 지표면 인덱스 로드 완료. " + getStatusLine());
+        return true;
+    }
+
+    private boolean headerMatches() {
+        return buffer.getInt(0) == MAGIC && buffer.getInt(4) == VERSION &&
+                buffer.getInt(8) == originX && buffer.getInt(12) == originZ &&
+                buffer.getInt(16) == size && buffer.getInt(20) == minSpawnY;
+    }
+
+    private void writeHeader() {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(8, originX);
+        buffer.putInt(12, originZ);
+        buffer.putInt(16, size);
+        buffer.putInt(20, minSpawnY);
+    }
+
+    /**
+     * 스캔하지 않았거나 무효화된 청크를 조금씩 스캔하는 작업을 시작합니다. (게임 대기 중에만 실행 권장)
+     */
+    public void startBuilding() {
+        if (buffer == null || buildTask != null) {
+            return;
+        }
+        buildTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                requestMoreChunks();
+            }
+        }.runTaskTimer(plugin, 0L, BUILD_INTERVAL_TICKS);
+    }
+
+    public void stopBuilding() {
+        if (buildTask != null) {
+            buildTask.cancel();
+            buildTask = null;
+        }
+    }
+
+    private void requestMoreChunks() {
+        while (inFlightChunks.size() < MAX_IN_FLIGHT_CHUNKS) {
+            int chunkIndex = nextChunkToScan();
+            if (chunkIndex < 0) {
+                return; // 모두 스캔됨
+            }
+            inFlightChunks.add(chunkIndex);
+            int chunkX = (originX >> 4) + chunkIndex % chunksPerSide;
+            int chunkZ = (originZ >> 4) + chunkIndex / chunksPerSide;
+            world.getChunkAtAsync(chunkX, chunkZ)
+                    .thenCompose(evaluator::scanChunkSurface)
+                    .whenComplete((groundYs, throwable) -> {
+                        inFlightChunks.remove(chunkIndex);
+                        if (staleInFlightChunks.remove(chunkIndex)) {
+                            dirtyChunks.add(chunkIndex);
+                            return;
+                        }
+                        if (throwable != null) {
+                            plugin.getLogger().log(Level.FINE, "[GGORRI] 안전 지표면 스캔 실패: 청크 " + chunkX + "," + chunkZ, throwable);
+                            requeueFailedScan(chunkIndex);
+                            return;
+                        }
+                        if (buffer != null) {
+                            writeChunk(chunkIndex, groundYs);
+                        }
+                    });
+        }
+    }
+
+    /**
+     * 다른 작업(경기장 사전 생성 등)이 이미 불러온 청크를 넘겨받아, 아직 스캔하지 않았으면 바로 스캔합니다.
+     * 같은 청크를 구축 작업이 다시 불러오지 않도록 합니다.
+     */
+    public void offerLoadedChunk(Chunk chunk) {
+        if (buffer == null || chunk.getWorld() != world) {
+            return;
+        }
+        int chunkIndex = chunkIndexOf(chunk.getX() << 4, chunk.getZ() << 4);
+        if (chunkIndex < 0 || inFlightChunks.contains(chunkIndex) || buffer.get(chunkStateOffset + chunkIndex) == CHUNK_SCANNED) {
+            return;
+        }
+        inFlightChunks.add(chunkIndex);
+        evaluator.scanChunkSurface(chunk).whenComplete((groundYs, throwable) -> {
+            inFlightChunks.remove(chunkIndex);
+            if (staleInFlightChunks.remove(chunkIndex)) {
+                dirtyChunks.add(chunkIndex);
+                return;
+            }
+            if (throwable != null) {
+                requeueFailedScan(chunkIndex);
+            } else if (buffer != null) {
+                writeChunk(chunkIndex, groundYs);
+            }
+        });
+    }
+
+    /**
+     * 스캔에 실패한 청크는 스캔하지 않은 상태(알 수 없음) 그대로 두고, 커서가 지나간 뒤에도 다시 시도하도록 대기열에 넣습니다.
+     */
+    private void requeueFailedScan(int chunkIndex) {
+        if (scanFailures.merge(chunkIndex, 1, Integer::sum) <= MAX_SCAN_RETRIES) {
+            retryChunks.add(chunkIndex);
+        }
+    }
+
+    private int nextChunkToScan() {
+        while (!dirtyChunks.isEmpty()) {
+            int chunkIndex = dirtyChunks.poll();
+            if (!inFlightChunks.contains(chunkIndex) && buffer.get(chunkStateOffset + chunkIndex) == CHUNK_UNSCANNED) {
+                return chunkIndex;
+            }
+        }
+        int total = chunksPerSide * chunksPerSide;
+        while (scanCursor < total) {
+            int chunkIndex = scanCursor++;
+            if (!inFlightChunks.contains(chunkIndex) && buffer.get(chunkStateOffset + chunkIndex) == CHUNK_UNSCANNED) {
+                return chunkIndex;
+            }
+        }
+        while (!retryChunks.isEmpty()) {
+            int chunkIndex = retryChunks.poll();
+            if (!inFlightChunks.contains(chunkIndex) && buffer.get(chunkStateOffset + chunkIndex) == CHUNK_UNSCANNED) {
+                return chunkIndex;
+            }
+        }
+        return -1;
+    }
+
+    private void writeChunk(int chunkIndex, int[] groundYs) {
+        if (buffer.get(chunkStateOffset + chunkIndex) == CHUNK_SCANNED) {
+            return; // 스캔 도중 다른 결과가 먼저 기록됨
+        }
+        int baseX = (chunkIndex % chunksPerSide) * 16;
+        int baseZ = (chunkIndex / chunksPerSide) * 16;
+        for (int localZ = 0; localZ < 16; localZ++) {
+            for (int localX = 0; localX < 16; localX++) {
+                int groundY = groundYs[localZ * 16 + localX];
+                // Y는 minSpawnY 기준 1바이트로 저장하므로 범위를 넘으면 안전하지 않은 것으로 기록
+                boolean safe = groundY != SpawnSafetyRules.NO_GROUND && groundY - minSpawnY <= 0xFF;
+                setColumn(baseX + localX, baseZ + localZ, safe, safe ? groundY - minSpawnY : 0);
+            }
+        }
+        buffer.put(chunkStateOffset + chunkIndex, CHUNK_SCANNED);
+        scannedChunks++;
+
+        if (++writesSinceFlush >= FLUSH_EVERY_CHUNKS) {
+            buffer.force();
+            writesSinceFlush = 0;
+        }
+        if (scannedChunks == chunksPerSide * chunksPerSide) {
+            plugin.getLogger().info("[GGORRI] 안전 지표면 인덱스 구축 완료. " + getStatusLine());
+        }
+    }
+
+    private void setColumn(int localX, int localZ, boolean safe, int groundYByte) {
+        long column = (long) localZ * size + localX;
+        int byteIndex = (int) (safeBitsOffset + (column >> 3));
+        int bit = 1 << (column & 7);
+        byte bits = buffer.get(byteIndex);
+        buffer.put(byteIndex, (byte) (safe ? (bits | bit) : (bits & ~bit)));
+        buffer.put((int) (groundYOffset + column), (byte) groundYByte);
+    }
+
+    /**
+     * 블록 변경이 일어난 위치의 청크를 무효화합니다. 다음 구축 작업에서 우선 다시 스캔합니다.
+     */
+    public void invalidate(int blockX, int blockZ) {
+        if (buffer == null) {
+            return;
+        }
+        int chunkIndex = chunkIndexOf(blockX, blockZ);
+        if (chunkIndex < 0) {
+            return;
+        }
+        if (inFlightChunks.contains(chunkIndex)) {
+            staleInFlightChunks.add(chunkIndex);
+            return;
+        }
+        if (buffer.get(chunkStateOffset + chunkIndex) != CHUNK_SCANNED) {
+            return;
+        }
+        buffer.put(chunkStateOffset + chunkIndex, CHUNK_UNSCANNED);
+        scannedChunks--;
+        dirtyChunks.add(chunkIndex);
+    }
+
+    private int chunkIndexOf(int blockX, int blockZ) {
+        int localX = blockX - originX;
+        int localZ = blockZ - originZ;
+        if (localX < 0 || localZ < 0 || localX >= size || localZ >= size) {
+            return -1;
+        }
+        return (localZ >> 4) * chunksPerSide + (localX >> 4);
+    }
+
+    /**
+     * (centerX, centerZ)를 중심으로 한 변 2*radius 정사각형 안에서, 스캔되었고 안전한 열을 무작위로 뽑습니다.
+     * minDistance보다 중심에 가까운 열과 보더 밖의 열은 제외합니다. 청크는 불러오지 않습니다.
+     *
+     * @return 스폰 위치, 추첨 횟수 안에 찾지 못하면 null
+     */
+    public Location drawSafeLocation(Random random, BorderBounds bounds, int centerX, int centerZ, int radius, int minDistance) {
+        if (buffer == null || scannedChunks == 0) {
+            return null;
+        }
+        for (int i = 0; i < MAX_DRAWS; i++) {
+            int x = centerX + random.nextInt(radius * 2 + 1) - radius;
+            int z = centerZ + random.nextInt(radius * 2 + 1) - radius;
+            if (minDistance > 0) {
+                long dx = x - centerX;
+                long dz = z - centerZ;
+                if (dx * dx + dz * dz < (long) minDistance * minDistance) continue;
+            }
+            if (!bounds.contains(x, z)) continue;
+            int groundY = getSafeGroundY(x, z);
+            if (groundY != SpawnSafetyRules.NO_GROUND) {
+                return new Location(world, x + 0.5, groundY, z + 0.5);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 인덱스에 기록된 열의 안전한 지표면 Y. 경기장 밖이거나, 스캔 전이거나, 안전하지 않으면 NO_GROUND.
+     */
+    public int getSafeGroundY(int blockX, int blockZ) {
+        int chunkIndex = chunkIndexOf(blockX, blockZ);
+        if (buffer == null || chunkIndex < 0 || buffer.get(chunkStateOffset + chunkIndex) != CHUNK_SCANNED) {
+            return SpawnSafetyRules.NO_GROUND;
+        }
+        long column = (long) (blockZ - originZ) * size + (blockX - originX);
+        byte bits = buffer.get((int) (safeBitsOffset + (column >> 3)));
+        if ((bits & (1 << (column & 7))) == 0) {
+            return SpawnSafetyRules.NO_GROUND;
+        }
+        return minSpawnY + (buffer.get((int) (groundYOffset + column)) & 0xFF);
+    }
+
+    /**
+     * 인덱스가 해당 열이 속한 청크를 스캔했고, 그 열이 안전하지 않다고 알고 있는지 여부.
+     */
+    public boolean isKnownUnsafe(int blockX, int blockZ) {
+        int chunkIndex = chunkIndexOf(blockX, blockZ);
+        if (buffer == null || chunkIndex < 0 || buffer.get(chunkStateOffset + chunkIndex) != CHUNK_SCANNED) {
+            return false;
+        }
+        return getSafeGroundY(blockX, blockZ) == SpawnSafetyRules.NO_GROUND;
+    }
+
+    public World getWorld() {
+        return world;
+    }
+
+    /**
+     * 구축 작업을 멈추고 변경 내용을 디스크에 기록한 뒤 파일을 닫습니다.
+     */
+    public void close() {
+        stopBuilding();
+        if (buffer != null) {
+            buffer.force();
+            buffer = null;
+        }
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "[GGORRI] 안전 지표면 인덱스 파일을 닫는 중 오류", e);
+            }
+            channel = null;
+        }
+    }
+
+    public String getStatusLine() {
+        int total = chunksPerSide * chunksPerSide;
+        return "안전 지표면 인덱스: 청크 " + scannedChunks + "/" + total +
+                " (" + String.format("%.1f", total == 0 ? 0.0 : scannedChunks * 100.0 / total) + "%)" +
+                ", 재스캔 대기 " + dirtyChunks.size() + "개" +
+                (retryChunks.isEmpty() ? "" : ", 실패 재시도 대기 " + retryChunks.size() + "개") +
+                (buildTask != null ? ", 구축 중" : "");
+    }
+}
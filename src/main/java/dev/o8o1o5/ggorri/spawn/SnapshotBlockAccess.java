@@ -0,0 +1,31 @@
+package dev.o8o1o5.ggorri.spawn;
+
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+
+/**
+ * 단일 ChunkSnapshot을 읽는 BlockTypeAccess. 스냅샷은 불변이므로 어느 스레드에서든 사용할 수 있습니다.
+ * 스냅샷 밖의 열은 null을 반환하여 안전 규칙에서 '위험'으로 취급되도록 합니다.
+ */
+public class SnapshotBlockAccess implements BlockTypeAccess {
+    private final ChunkSnapshot snapshot;
+    private final int minHeight;
+    private final int maxHeight;
+
+    public SnapshotBlockAccess(ChunkSnapshot snapshot, int minHeight, int maxHeight) {
+        this.snapshot = snapshot;
+        this.minHeight = minHeight;
+        this.maxHeight = maxHeight;
+    }
+
+    @Override
+    public Material getType(int x, int y, int z) {
+        if ((x >> 4) != snapshot.getX() || (z >> 4) != snapshot.getZ()) {
+            return null; // 다른 청크의 열
+        }
+        if (y < minHeight || y >= maxHeight) {
+            return Material.AIR; // 월드 높이 밖은 공기로 취급 (월드의 VOID_AIR와 동일한 판정)
+        }
+        return snapshot.getBlockType(x & 15, y, z & 15);
+    }
+}
@@ -0,0 +1,41 @@
+package dev.o8o1o5.ggorri.spawn;
+
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.World;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 한 번의 탐색(또는 배치 계획) 동안 청크 스냅샷을 한 번만 만들도록 캐시합니다.
+ * 메인 스레드에서만 사용합니다.
+ */
+final class SnapshotCache {
+    private final World world;
+    private final SpawnPlan plan; // 불러온 청크 수 집계용 (없으면 null)
+    private final Map<Long, CompletableFuture<ChunkSnapshot>> snapshots = new HashMap<>();
+
+    SnapshotCache(World world, SpawnPlan plan) {
+        this.world = world;
+        this.plan = plan;
+    }
+
+    CompletableFuture<ChunkSnapshot> get(int chunkX, int chunkZ) {
+        long key = chunkKey(chunkX, chunkZ);
+        return snapshots.computeIfAbsent(key, k -> {
+            if (plan != null) {
+                plan.recordChunk(k);
+            }
+            return world.getChunkAtAsync(chunkX, chunkZ).thenApply(chunk -> chunk.getChunkSnapshot(true, false, false));
+        });
+    }
+
+    World getWorld() {
+        return world;
+    }
+
+    static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+}
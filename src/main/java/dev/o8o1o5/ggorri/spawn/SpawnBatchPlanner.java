@@ -0,0 +1,306 @@
+package dev.o8o1o5.ggorri.spawn;
+
+import dev.o8o1o5.ggorri.GGORRI;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 모든 참가자의 시작 스폰 위치를 한 번에 계획하는 배치 플래너입니다.
+ * 공간 격자 위에서 Poisson-disk 방식으로 후보를 뽑아, 이미 배치된 위치와 최소 간격 이상 떨어진 후보만 평가합니다.
+ * (간격 검사는 격자 조회만으로 끝나므로 청크를 불러오지 않음)
+ * 한 번 불러온 청크 스냅샷은 배치 전체에서 재사용하고, 모든 열이 실패한 청크(바다 등)는 다시 뽑지 않습니다.
+ * 후보가 계속 실패하면 최소 간격을 조금씩 줄여 인원 수를 우선 채웁니다.
+ * 모든 메서드는 메인 스레드에서 호출해야 하며, 반환된 future도 메인 스레드에서 완료됩니다.
+ */
+public class SpawnBatchPlanner {
+    private final GGORRI plugin;
+    private final SpawnEvaluator evaluator;
+    private final SafeSurfaceIndex surfaceIndex; // 없으면 null
+    private final Random random; // 메인 스레드 전용
+
+    private static final int BATCH_SIZE = 8; // 한 번에 병렬 평가할 후보 청크 수
+    private static final int MAX_ATTEMPTS_PER_PLAYER = 40; // 인원당 후보 평가 예산
+    private static final int DART_THROWS_PER_SLOT = 30; // 배치 슬롯 하나를 채우기 위한 최대 좌표 추첨 횟수
+    private static final int COLUMNS_PER_CHUNK = 4; // 후보 청크 하나에서 검사할 열 수
+    private static final int FAILED_ROUNDS_BEFORE_RELAX = 2; // 이 횟수만큼 연속으로 아무도 배치하지 못하면 간격 완화
+    private static final double PACKING_FACTOR = 0.7; // 정사각형 영역에 N개를 균등 배치할 때의 간격 비율
+    private static final double RELAX_FACTOR = 0.85;
+    private static final double MIN_SEPARATION = 32.0; // 이보다 가깝게는 배치하지 않음
+
+    public SpawnBatchPlanner(GGORRI plugin, SpawnEvaluator evaluator, SafeSurfaceIndex surfaceIndex) {
+        this.plugin = plugin;
+        this.evaluator = evaluator;
+        this.surfaceIndex = surfaceIndex;
+        this.random = new Random();
+    }
+
+    /**
+     * (centerX, centerZ) 중심의 한 변 2*halfRange 정사각형 안에 count명의 시작 위치를 계획합니다.
+     * seeds(스폰 풀에서 미리 검증된 위치)는 간격을 만족하는 것부터 청크 로딩 없이 먼저 사용합니다.
+     *
+     * @return 계획 결과로 완료되는 future. 예산을 모두 써도 인원을 채우지 못하면 찾은 만큼만 담깁니다.
+     */
+    public CompletableFuture<SpawnPlan> plan(World world, int centerX, int centerZ, int halfRange, int count, List<Location> seeds) {
+        SpawnPlan plan = new SpawnPlan("Poisson-disk", count);
+        CompletableFuture<SpawnPlan> result = new CompletableFuture<>();
+        if (count <= 0) {
+            plan.finish();
+            result.complete(plan);
+            return result;
+        }
+
+        double separation = Math.max(MIN_SEPARATION, PACKING_FACTOR * (halfRange * 2) / Math.sqrt(count));
+        PlanContext context = new PlanContext(world, centerX, centerZ, halfRange, count, separation, plan, result);
+
+        for (Location seed : seeds) {
+            if (context.accepted.size() >= count) break;
+            if (context.grid.isFarEnough(seed.getX(), seed.getZ())) {
+                context.accept(seed);
+            }
+        }
+
+        runNextRound(context);
+        return result;
+    }
+
+    /**
+     * 비교 측정용: 기존 방식처럼 인원마다 독립적으로 findSafeSpawnLocation을 순서대로 실행합니다.
+     */
+    public CompletableFuture<SpawnPlan> planLegacy(World world, int centerX, int centerZ, int halfRange, int count, int attemptsPerPlayer) {
+        SpawnPlan plan = new SpawnPlan("레거시", count);
+        CompletableFuture<SpawnPlan> result = new CompletableFuture<>();
+        runLegacySearch(new Location(world, centerX, 0, centerZ), halfRange, count, attemptsPerPlayer, plan, result);
+        return result;
+    }
+
+    private void runLegacySearch(Location center, int halfRange, int remaining, int attemptsPerPlayer, SpawnPlan plan, CompletableFuture<SpawnPlan> result) {
+        if (remaining <= 0) {
+            plan.finish();
+            result.complete(plan);
+            return;
+        }
+        evaluator.findSafeSpawnLocation(center, halfRange, 0, attemptsPerPlayer, plan).thenAccept(location -> {
+            if (location != null) {
+                plan.addLocation(location);
+            }
+            runLegacySearch(center, halfRange, remaining - 1, attemptsPerPlayer, plan, result);
+        });
+    }
+
+    private void runNextRound(PlanContext context) {
+        if (context.accepted.size() >= context.count || context.remainingAttempts <= 0) {
+            finish(context);
+            return;
+        }
+
+        List<int[]> reserved = new ArrayList<>(BATCH_SIZE);
+        List<CompletableFuture<Location>> evaluations = new ArrayList<>(BATCH_SIZE);
+        int slots = Math.min(BATCH_SIZE, context.remainingAttempts);
+        for (int slot = 0; slot < slots; slot++) {
+            int[] candidate = drawCandidate(context);
+            if (candidate == null) {
+                break; // 현재 간격으로는 빈 자리가 거의 없음
+            }
+            // 같은 라운드의 후보끼리도 간격을 지키도록 격자에 임시로 예약
+            context.grid.add(candidate[0], candidate[1]);
+            reserved.add(candidate);
+            context.remainingAttempts--;
+            context.plan.recordAttempt(COLUMNS_PER_CHUNK);
+            evaluations.add(evaluator.evaluateChunkColumns(context.snapshots, context.bounds, columnsAround(candidate[0], candidate[1])));
+        }
+
+        if (evaluations.isEmpty()) {
+            relaxOrFinish(context, true);
+            return;
+        }
+
+        CompletableFuture.allOf(evaluations.toArray(new CompletableFuture[0])).whenComplete((ignored, throwable) -> {
+            for (int[] candidate : reserved) {
+                context.grid.remove(candidate[0], candidate[1]);
+            }
+
+            int acceptedThisRound = 0;
+            for (int i = 0; i < evaluations.size(); i++) {
+                CompletableFuture<Location> evaluation = evaluations.get(i);
+                Location found = evaluation.isCompletedExceptionally() ? null : evaluation.join();
+                int[] candidate = reserved.get(i);
+                if (found == null) {
+                    context.rejectedChunks.add(SnapshotCache.chunkKey(candidate[0] >> 4, candidate[1] >> 4));
+                    continue;
+                }
+                // 실제 위치는 후보 열에서 최대 몇 블록 옮겨졌을 수 있으므로 다시 확인
+                if (context.accepted.size() < context.count && context.grid.isFarEnough(found.getX(), found.getZ())) {
+                    context.accept(found);
+                    acceptedThisRound++;
+                }
+            }
+
+            if (acceptedThisRound > 0) {
+                context.failedRounds = 0;
+                runNextRound(context);
+            } else {
+                relaxOrFinish(context, false);
+            }
+        });
+    }
+
+    private void relaxOrFinish(PlanContext context, boolean noCandidates) {
+        if (context.remainingAttempts <= 0 || (noCandidates && context.separation <= MIN_SEPARATION)) {
+            finish(context);
+            return;
+        }
+        context.failedRounds++;
+        if (noCandidates || context.failedRounds >= FAILED_ROUNDS_BEFORE_RELAX) {
+            context.relax();
+        }
+        runNextRound(context);
+    }
+
+    /**
+     * 간격 조건을 만족하고 실패한 적 없는 청크에 있는 후보 열을 뽑습니다. 청크 로딩 없이 격자와 안전 지표면 인덱스 조회만 사용합니다.
+     */
+    private int[] drawCandidate(PlanContext context) {
+        for (int i = 0; i < DART_THROWS_PER_SLOT; i++) {
+            int x = SpawnSafetyRules.toChunkInterior(context.centerX + random.nextInt(context.halfRange * 2 + 1) - context.halfRange);
+            int z = SpawnSafetyRules.toChunkInterior(context.centerZ + random.nextInt(context.halfRange * 2 + 1) - context.halfRange);
+            if (!context.bounds.contains(x, z)) continue;
+            if (context.rejectedChunks.contains(SnapshotCache.chunkKey(x >> 4, z >> 4))) continue;
+            if (surfaceIndex != null && surfaceIndex.isKnownUnsafe(x, z)) continue; // 인덱스가 이미 아는 나쁜 열은 청크를 불러오지 않음
+            if (!context.grid.isFarEnough(x, z)) continue;
+            return new int[]{x, z};
+        }
+        return null;
+    }
+
+    /**
+     * 후보 열과, 같은 청크 안의 다른 사분면 열들. 하나의 스냅샷으로 여러 열을 검사해 청크 로딩 한 번의 성공률을 높입니다.
+     */
+    private int[][] columnsAround(int x, int z) {
+        int baseX = x & ~15;
+        int baseZ = z & ~15;
+        int[][] columns = new int[COLUMNS_PER_CHUNK][];
+        columns[0] = new int[]{x, z};
+        int[][] quadrantOffsets = {{4, 4}, {11, 4}, {4, 11}, {11, 11}};
+        int next = 1;
+        for (int[] offset : quadrantOffsets) {
+            if (next >= COLUMNS_PER_CHUNK) break;
+            int columnX = baseX + offset[0];
+            int columnZ = baseZ + offset[1];
+            if (Math.abs(columnX - x) < 4 && Math.abs(columnZ - z) < 4) continue; // 후보 열과 같은 사분면은 건너뜀
+            columns[next++] = new int[]{columnX, columnZ};
+        }
+        while (next < COLUMNS_PER_CHUNK) {
+            columns[next++] = new int[]{x, z};
+        }
+        return columns;
+    }
+
+    private void finish(PlanContext context) {
+        context.plan.setSeparation(context.separation);
+        context.plan.finish();
+        if (context.accepted.size() < context.count) {
+            plugin.getLogger().warning("[GGORRI] 스폰 배치 계획이 " + context.count + "명 중 " + context.accepted.size() + "명만 배치했습니다. " + context.plan.getSummary());
+        }
+        context.result.complete(context.plan);
+    }
+
+    private static final class PlanContext {
+        private final BorderBounds bounds;
+        private final int centerX;
+        private final int centerZ;
+        private final int halfRange;
+        private final int count;
+        private final SpawnPlan plan;
+        private final CompletableFuture<SpawnPlan> result;
+        private final SnapshotCache snapshots;
+        private final List<Location> accepted = new ArrayList<>();
+        private final Set<Long> rejectedChunks = new HashSet<>();
+        private double separation;
+        private SeparationGrid grid;
+        private int remainingAttempts;
+        private int failedRounds;
+
+        private PlanContext(World world, int centerX, int centerZ, int halfRange, int count, double separation, SpawnPlan plan, CompletableFuture<SpawnPlan> result) {
+            this.bounds = BorderBounds.of(world.getWorldBorder());
+            this.centerX = centerX;
+            this.centerZ = centerZ;
+            this.halfRange = halfRange;
+            this.count = count;
+            this.separation = separation;
+            this.plan = plan;
+            this.result = result;
+            this.snapshots = new SnapshotCache(world, plan);
+            this.grid = new SeparationGrid(separation);
+            this.remainingAttempts = count * MAX_ATTEMPTS_PER_PLAYER;
+        }
+
+        private void accept(Location location) {
+            accepted.add(location);
+            grid.add(location.getX(), location.getZ());
+            plan.addLocation(location);
+        }
+
+        private void relax() {
+            separation = Math.max(MIN_SEPARATION, separation * RELAX_FACTOR);
+            grid = new SeparationGrid(separation);
+            for (Location location : accepted) {
+                grid.add(location.getX(), location.getZ());
+            }
+            failedRounds = 0;
+        }
+    }
+
+    /**
+     * Poisson-disk 샘플링용 격자. 셀 한 변이 separation/√2이므로 셀당 점은 최대 하나이고,
+     * 간격 검사는 주변 5x5 셀만 보면 됩니다.
+     */
+    private static final class SeparationGrid {
+        private final double separation;
+        private final double cellSize;
+        private final Map<Long, double[]> cells = new HashMap<>();
+
+        private SeparationGrid(double separation) {
+            this.separation = separation;
+            this.cellSize = separation / Math.sqrt(2);
+        }
+
+        private boolean isFarEnough(double x, double z) {
+            int cellX = (int) Math.floor(x / cellSize);
+            int cellZ = (int) Math.floor(z / cellSize);
+            double minSquared = separation * separation;
+            for (int dx = -2; dx <= 2; dx++) {
+                for (int dz = -2; dz <= 2; dz++) {
+                    double[] point = cells.get(key(cellX + dx, cellZ + dz));
+                    if (point == null) continue;
+                    double distX = point[0] - x;
+                    double distZ = point[1] - z;
+                    if (distX * distX + distZ * distZ < minSquared) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        private void add(double x, double z) {
+            cells.put(key((int) Math.floor(x / cellSize), (int) Math.floor(z / cellSize)), new double[]{x, z});
+        }
+
+        private void remove(double x, double z) {
+            cells.remove(key((int) Math.floor(x / cellSize), (int) Math.floor(z / cellSize)));
+        }
+
+        private static long key(int cellX, int cellZ) {
+            return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+        }
+    }
+}
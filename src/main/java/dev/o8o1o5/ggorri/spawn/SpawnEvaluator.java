@@ -0,0 +1,285 @@
+package dev.o8o1o5.ggorri.spawn;
+
+import dev.o8o1o5.ggorri.GGORRI;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * ChunkSnapshot 기반의 비동기 스폰 위치 평가기입니다.
+ * 메인 스레드에서는 청크를 비동기로 불러와 스냅샷만 뜨고, 열 탐색과 안전 검사는 전용 작업 스레드 풀에서 수행합니다.
+ * 반환되는 모든 CompletableFuture는 메인 스레드에서 완료되므로, 콜백에서 바로 Bukkit API를 사용할 수 있습니다.
+ */
+public class SpawnEvaluator {
+    private final GGORRI plugin;
+    private final ExecutorService workerPool;
+    private final Executor mainThreadExecutor;
+    private final Random random; // 메인 스레드 전용
+    private final SpawnSafetyRules safetyRules;
+    private final int minSpawnY;
+
+    private static final int BATCH_SIZE = 8; // 한 번에 병렬 평가할 후보 열 수
+
+    // 통계
+    private final LongAdder evaluatedColumns = new LongAdder();
+    private final LongAdder evaluationNanos = new LongAdder();
+
+    public SpawnEvaluator(GGORRI plugin, SpawnSafetyRules safetyRules, int minSpawnY) {
+        this.plugin = plugin;
+        this.safetyRules = safetyRules;
+        this.minSpawnY = minSpawnY;
+        this.random = new Random();
+
+        int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.workerPool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "GGORRI-SpawnEval-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.mainThreadExecutor = task -> {
+            if (plugin.getServer().isPrimaryThread()) {
+                task.run();
+            } else if (plugin.isEnabled()) {
+                plugin.getServer().getScheduler().runTask(plugin, task);
+            }
+        };
+    }
+
+    /**
+     * 지정된 중심 위치와 반경 내에서 안전한 스폰 위치를 비동기로 찾습니다.
+     * 후보를 BATCH_SIZE개씩 묶어 청크를 비동기로 불러오고, 같은 청크의 스냅샷은 탐색 동안 재사용합니다.
+     * 메인 스레드에서 호출해야 합니다.
+     *
+     * @param centerLocation 스폰 위치를 찾을 중심 Location
+     * @param searchRadius   중심 위치로부터의 최대 탐색 반경 (X, Z 축)
+     * @param minDistance    중심 위치로부터의 최소 거리 (0이면 무시)
+     * @param attempts       스폰 위치 탐색 시도 횟수
+     * @return 안전한 스폰 위치 (찾지 못하면 null)로 완료되는 future
+     */
+    public CompletableFuture<Location> findSafeSpawnLocation(Location centerLocation, int searchRadius, int minDistance, int attempts) {
+        return findSafeSpawnLocation(centerLocation, searchRadius, minDistance, attempts, null);
+    }
+
+    /**
+     * findSafeSpawnLocation과 같지만 시도 횟수와 불러온 청크를 plan에 집계합니다. (배치 계획 비교 측정용)
+     */
+    CompletableFuture<Location> findSafeSpawnLocation(Location centerLocation, int searchRadius, int minDistance, int attempts, SpawnPlan plan) {
+        CompletableFuture<Location> result = new CompletableFuture<>();
+        if (centerLocation == null || centerLocation.getWorld() == null) {
+            plugin.getLogger().warning("[GGORRI] findSafeSpawnLocation: 유효하지 않은 중심 Location. 스폰 위치 탐색 불가.");
+            result.complete(null);
+            return result;
+        }
+
+        World world = centerLocation.getWorld();
+        SearchContext context = new SearchContext(world, BorderBounds.of(world.getWorldBorder()),
+                centerLocation.getBlockX(), centerLocation.getBlockZ(), searchRadius, minDistance, attempts, result, plan);
+        runNextBatch(context);
+        return result;
+    }
+
+    /**
+     * 이미 로드된 청크의 한 열을 작업 스레드에서 평가합니다. 메인 스레드에서 호출해야 합니다.
+     * @return 안전한 스폰 위치 (없으면 null)로 완료되는 future
+     */
+    public CompletableFuture<Location> evaluateColumn(Chunk chunk, int x, int z) {
+        World world = chunk.getWorld();
+        BorderBounds bounds = BorderBounds.of(world.getWorldBorder());
+        int minHeight = world.getMinHeight();
+        int maxHeight = world.getMaxHeight();
+        ChunkSnapshot snapshot = chunk.getChunkSnapshot(true, false, false);
+
+        CompletableFuture<Location> evaluation = CompletableFuture.supplyAsync(
+                () -> evaluate(world, snapshot, bounds, minHeight, maxHeight, x, z), workerPool);
+        return evaluation.thenApplyAsync(Function.identity(), mainThreadExecutor);
+    }
+
+    /**
+     * 한 청크 안의 여러 열을 작업 스레드에서 순서대로 평가하고 첫 번째 안전한 위치를 반환합니다.
+     * 청크 스냅샷은 cache를 통해 배치 전체에서 재사용되므로, 후보 하나당 청크 로딩은 최대 한 번입니다.
+     * 모든 열은 같은 청크 안에 있어야 하며, 메인 스레드에서 호출해야 합니다.
+     *
+     * @param columns {x, z} 열 좌표 목록
+     * @return 안전한 스폰 위치 (없으면 null)로 메인 스레드에서 완료되는 future
+     */
+    CompletableFuture<Location> evaluateChunkColumns(SnapshotCache cache, BorderBounds bounds, int[][] columns) {
+        World world = cache.getWorld();
+        int minHeight = world.getMinHeight();
+        int maxHeight = world.getMaxHeight();
+        return cache.get(columns[0][0] >> 4, columns[0][1] >> 4).thenApplyAsync(snapshot -> {
+            for (int[] column : columns) {
+                Location found = evaluate(world, snapshot, bounds, minHeight, maxHeight, column[0], column[1]);
+                if (found != null) {
+                    return found;
+                }
+            }
+            return null;
+        }, workerPool).thenApplyAsync(Function.identity(), mainThreadExecutor);
+    }
+
+    private void runNextBatch(SearchContext context) {
+        if (context.remainingAttempts <= 0) {
+            plugin.getLogger().warning("[GGORRI] " + context.world.getName() + " 에서 안전한 스폰 위치를 " + context.attempts + "번 시도했으나 찾지 못했습니다. 중심: " + context.centerX + "," + context.centerZ + ", 반경: " + context.searchRadius);
+            context.result.complete(null);
+            return;
+        }
+
+        List<CompletableFuture<Location>> evaluations = new ArrayList<>(BATCH_SIZE);
+        while (evaluations.size() < BATCH_SIZE && context.remainingAttempts > 0) {
+            context.remainingAttempts--;
+
+            int dx = random.nextInt(context.searchRadius * 2 + 1) - context.searchRadius;
+            int dz = random.nextInt(context.searchRadius * 2 + 1) - context.searchRadius;
+            if (context.minDistance > 0 && Math.sqrt(dx * dx + dz * dz) < context.minDistance) {
+                continue;
+            }
+
+            int x = SpawnSafetyRules.toChunkInterior(context.centerX + dx);
+            int z = SpawnSafetyRules.toChunkInterior(context.centerZ + dz);
+            if (!context.bounds.contains(x, z)) {
+                continue; // 자기장 밖은 청크를 불러올 필요도 없음
+            }
+
+            if (context.plan != null) {
+                context.plan.recordAttempt(1);
+            }
+            evaluations.add(context.snapshots.get(x >> 4, z >> 4).thenApplyAsync(
+                    snapshot -> evaluate(context.world, snapshot, context.bounds, context.minHeight, context.maxHeight, x, z), workerPool));
+        }
+
+        CompletableFuture.allOf(evaluations.toArray(new CompletableFuture[0])).whenCompleteAsync((ignored, throwable) -> {
+            // 시도 순서대로 첫 번째 성공 위치를 사용
+            for (CompletableFuture<Location> evaluation : evaluations) {
+                if (evaluation.isCompletedExceptionally()) {
+                    continue;
+                }
+                Location found = evaluation.join();
+                if (found != null) {
+                    context.result.complete(found);
+                    return;
+                }
+            }
+            runNextBatch(context);
+        }, mainThreadExecutor);
+    }
+
+    /**
+     * 작업 스레드에서 실행되는 실제 평가. 스냅샷과 복사된 보더 범위만 사용합니다.
+     */
+    private Location evaluate(World world, ChunkSnapshot snapshot, BorderBounds bounds, int minHeight, int maxHeight, int x, int z) {
+        if (!bounds.contains(x, z)) {
+            return null;
+        }
+        int groundY = findSafeY(snapshot, new SnapshotBlockAccess(snapshot, minHeight, maxHeight), maxHeight, x, z);
+        if (groundY == SpawnSafetyRules.NO_GROUND) {
+            return null;
+        }
+        return new Location(world, x + 0.5, groundY, z + 0.5); // 블록 중앙에 스폰하도록 조정
+    }
+
+    /**
+     * 한 열의 안전한 지표면 Y를 찾습니다. 작업 스레드에서 실행되며 보더는 검사하지 않습니다.
+     * @return 발 위치의 Y 좌표, 없으면 SpawnSafetyRules.NO_GROUND
+     */
+    private int findSafeY(ChunkSnapshot snapshot, BlockTypeAccess access, int maxHeight, int x, int z) {
+        long startedAt = System.nanoTime();
+        try {
+            // MOTION_BLOCKING 하이트맵 위쪽에는 단단한 블록이 없으므로 그 아래부터 탐색 (+2는 하이트맵 정의 차이에 대한 여유)
+            int topY = Math.min(maxHeight - 1, snapshot.getHighestBlockYAt(x & 15, z & 15) + 2);
+            int groundY = safetyRules.findGroundY(access, x, z, topY, minSpawnY);
+            if (groundY == SpawnSafetyRules.NO_GROUND || !safetyRules.isSafeAt(access, x, groundY, z)) {
+                return SpawnSafetyRules.NO_GROUND;
+            }
+            return groundY;
+        } finally {
+            evaluatedColumns.increment();
+            evaluationNanos.add(System.nanoTime() - startedAt);
+        }
+    }
+
+    /**
+     * 청크 전체(경계 열 제외)의 안전한 지표면 Y를 작업 스레드에서 계산합니다. 안전 지표면 인덱스 구축용이며 보더는 검사하지 않습니다.
+     * 메인 스레드에서 호출해야 합니다.
+     *
+     * @return 로컬 좌표 (z * 16 + x) 순서의 256개 Y 값 (안전하지 않으면 NO_GROUND)으로 메인 스레드에서 완료되는 future
+     */
+    public CompletableFuture<int[]> scanChunkSurface(Chunk chunk) {
+        int minHeight = chunk.getWorld().getMinHeight();
+        int maxHeight = chunk.getWorld().getMaxHeight();
+        int baseX = chunk.getX() << 4;
+        int baseZ = chunk.getZ() << 4;
+        ChunkSnapshot snapshot = chunk.getChunkSnapshot(true, false, false);
+
+        return CompletableFuture.supplyAsync(() -> {
+            BlockTypeAccess access = new SnapshotBlockAccess(snapshot, minHeight, maxHeight);
+            int[] groundYs = new int[256];
+            Arrays.fill(groundYs, SpawnSafetyRules.NO_GROUND);
+            // 3x3 주변 검사가 청크 밖을 읽지 않도록 경계 열(0, 15)은 제외
+            for (int localZ = 1; localZ < 15; localZ++) {
+                for (int localX = 1; localX < 15; localX++) {
+                    groundYs[localZ * 16 + localX] = findSafeY(snapshot, access, maxHeight, baseX + localX, baseZ + localZ);
+                }
+            }
+            return groundYs;
+        }, workerPool).thenApplyAsync(Function.identity(), mainThreadExecutor);
+    }
+
+    /**
+     * 작업 스레드 풀을 종료합니다. 플러그인 비활성화 시 호출됩니다.
+     */
+    public void shutdown() {
+        workerPool.shutdownNow();
+    }
+
+    public String getStatusLine() {
+        long columns = evaluatedColumns.sum();
+        double averageMicros = columns == 0 ? 0.0 : evaluationNanos.sum() / 1000.0 / columns;
+        return "스폰 평가기: 평가한 열 " + columns + "개, 평균 " + String.format("%.1f", averageMicros) + "μs/열 (작업 스레드)";
+    }
+
+    private static final class SearchContext {
+        private final World world;
+        private final BorderBounds bounds;
+        private final int centerX;
+        private final int centerZ;
+        private final int searchRadius;
+        private final int minDistance;
+        private final int attempts;
+        private final int minHeight;
+        private final int maxHeight;
+        private final CompletableFuture<Location> result;
+        private final SpawnPlan plan; // 측정용 (없으면 null)
+        private final SnapshotCache snapshots;
+        private int remainingAttempts;
+
+        private SearchContext(World world, BorderBounds bounds, int centerX, int centerZ, int searchRadius, int minDistance, int attempts, CompletableFuture<Location> result, SpawnPlan plan) {
+            this.world = world;
+            this.bounds = bounds;
+            this.centerX = centerX;
+            this.centerZ = centerZ;
+            this.searchRadius = searchRadius;
+            this.minDistance = minDistance;
+            this.attempts = attempts;
+            this.minHeight = world.getMinHeight();
+            this.maxHeight = world.getMaxHeight();
+            this.result = result;
+            this.plan = plan;
+            this.snapshots = new SnapshotCache(world, plan);
+            this.remainingAttempts = attempts;
+        }
+    }
+}
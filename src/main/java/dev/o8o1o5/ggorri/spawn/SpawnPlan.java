@@ -0,0 +1,88 @@
+package dev.o8o1o5.ggorri.spawn;
+
+import org.bukkit.Location;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 여러 플레이어의 시작 스폰 위치 계획 결과와 측정 지표입니다.
+ * (시도 횟수, 불러온 서로 다른 청크 수, 최소 간격, 소요 시간)
+ * 메인 스레드에서만 수정됩니다.
+ */
+public class SpawnPlan {
+    private final String mode;
+    private final int requested;
+    private final List<Location> locations = new ArrayList<>();
+    private final Set<Long> loadedChunks = new HashSet<>();
+    private final long startedAtNanos = System.nanoTime();
+    private int attempts; // 평가를 요청한 후보 수
+    private int evaluatedColumns; // 실제로 검사한 열 수
+    private double separation; // 최종 적용된 최소 간격 (레거시 모드는 0)
+    private long elapsedNanos;
+
+    SpawnPlan(String mode, int requested) {
+        this.mode = mode;
+        this.requested = requested;
+    }
+
+    void recordChunk(long chunkKey) {
+        loadedChunks.add(chunkKey);
+    }
+
+    void recordAttempt(int columns) {
+        attempts++;
+        evaluatedColumns += columns;
+    }
+
+    void addLocation(Location location) {
+        locations.add(location);
+    }
+
+    void setSeparation(double separation) {
+        this.separation = separation;
+    }
+
+    void finish() {
+        elapsedNanos = System.nanoTime() - startedAtNanos;
+    }
+
+    public List<Location> getLocations() {
+        return Collections.unmodifiableList(locations);
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public int getLoadedChunkCount() {
+        return loadedChunks.size();
+    }
+
+    /**
+     * 계획된 위치들 사이의 최소 수평 거리 (위치가 2개 미만이면 0)
+     */
+    public double getMinimumSpacing() {
+        double minSquared = Double.MAX_VALUE;
+        for (int i = 0; i < locations.size(); i++) {
+            for (int j = i + 1; j < locations.size(); j++) {
+                double dx = locations.get(i).getX() - locations.get(j).getX();
+                double dz = locations.get(i).getZ() - locations.get(j).getZ();
+                minSquared = Math.min(minSquared, dx * dx + dz * dz);
+            }
+        }
+        return minSquared == Double.MAX_VALUE ? 0.0 : Math.sqrt(minSquared);
+    }
+
+    public String getSummary() {
+        return "[" + mode + "] " + locations.size() + "/" + requested + "명 배치" +
+                ", 시도 " + attempts + "회(열 " + evaluatedColumns + "개)" +
+                ", 청크 " + loadedChunks.size() + "개" +
+                ", 최소 간격 " + String.format("%.0f", getMinimumSpacing()) + "블록" +
+                (separation > 0 ? " (목표 " + String.format("%.0f", separation) + ")" : "") +
+                ", " + String.format("%.1f", elapsedNanos / 1_000_000.0) + "ms";
+    }
+}
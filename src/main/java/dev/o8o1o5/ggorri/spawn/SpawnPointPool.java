@@ -0,0 +1,229 @@
+package dev.o8o1o5.ggorri.spawn;
+
+import dev.o8o1o5.ggorri.GGORRI;
+import dev.o8o1o5.ggorri.manager.SpawnManager;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.logging.Level;
+
+/**
+ * 게임 시작 전에 미리 검증된 스폰 위치를 모아두는 풀입니다.
+ * 참가(/gr join) 또는 카운트다운 시작 시 채우기 시작하며, Paper의 비동기 청크 로딩으로
+ * 청크를 불러온 뒤 SpawnEvaluator의 작업 스레드에서 스냅샷으로 안전 검사를 수행합니다.
+ * spawnPlayers는 이 풀에서 준비된 위치만 꺼내 쓰므로 게임 시작 틱에 청크 탐색이 발생하지 않습니다.
+ */
+public class SpawnPointPool {
+    private final GGORRI plugin;
+    private final SpawnManager spawnManager;
+    private final Random random;
+    private final ChunkTickets chunkTickets;
+
+    private final Deque<Location> readyLocations = new ArrayDeque<>();
+    private final Set<Location> ticketedLocations = Collections.newSetFromMap(new IdentityHashMap<>()); // 이 풀이 청크를 붙잡은 위치 (준비됨 + 꺼냈으나 아직 놓지 않음)
+    private BukkitTask fillTask;
+    private int inFlightRequests; // 청크 로딩 또는 평가를 기다리는 요청 수
+
+    private static final int TARGET_POOL_SIZE = 16; // 최대 참가 인원 + 여유분
+    private static final int MAX_IN_FLIGHT_REQUESTS = 4; // 동시에 진행할 비동기 청크 로딩 수
+    private static final long FILL_INTERVAL_TICKS = 2L;
+    private static final int MAX_INDEX_SKIPS_PER_TICK = 64; // 인덱스로 걸러낸 후보가 많아도 한 틱에 이만큼만 추첨
+
+    // 통계
+    private long totalAttempts;
+    private long totalFound;
+    private long fillStartedAtMillis;
+    private long fillFinishedAtMillis;
+
+    public SpawnPointPool(GGORRI plugin, SpawnManager spawnManager, ChunkTickets chunkTickets) {
+        this.plugin = plugin;
+        this.spawnManager = spawnManager;
+        this.chunkTickets = chunkTickets;
+        this.random = new Random();
+    }
+
+    /**
+     * 풀 채우기를 시작합니다. 이미 진행 중이면 아무것도 하지 않습니다.
+     */
+    public void startFilling() {
+        if (fillTask != null) {
+            return;
+        }
+        if (spawnManager.getGameWorld() == null) {
+            plugin.getLogger().warning("[GGORRI] 게임 월드가 없어 스폰 풀을 채울 수 없습니다.");
+            return;
+        }
+
+        fillStartedAtMillis = System.currentTimeMillis();
+        fillFinishedAtMillis = 0;
+        totalAttempts = 0;
+        totalFound = 0;
+
+        fillTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                requestMoreCandidates();
+            }
+        }.runTaskTimer(plugin, 0L, FILL_INTERVAL_TICKS);
+
+        plugin.getLogger().info("[GGORRI] 스폰 후보 풀 채우기 시작. 목표: " + TARGET_POOL_SIZE + "개");
+    }
+
+    /**
+     * 풀 채우기를 중지합니다. 이미 준비된 위치는 유지됩니다.
+     */
+    public void stopFilling() {
+        if (fillTask != null) {
+            fillTask.cancel();
+            fillTask = null;
+        }
+    }
+
+    /**
+     * 준비된 위치를 하나 꺼냅니다. 꺼내는 시점에 다시 한 번 안전 검사를 수행하며
+     * (청크가 이미 로드되어 있으므로 저렴함), 실패한 위치는 버립니다.
+     * 꺼낸 위치의 청크 티켓은 유지되므로, 텔레포트를 예약한 뒤(또는 쓰지 않기로 한 뒤) releaseTaken으로 놓아야 합니다.
+     * @return 안전한 스폰 위치, 풀이 비어 있으면 null
+     */
+    public Location take() {
+        while (!readyLocations.isEmpty()) {
+            Location location = readyLocations.poll();
+            if (spawnManager.isStillSafe(location)) {
+                return location;
+            }
+            releaseChunkTicket(location);
+            plugin.getLogger().log(Level.FINE, "[GGORRI] 스폰 풀의 위치가 더 이상 안전하지 않아 폐기합니다: " + location.toVector());
+        }
+        return null;
+    }
+
+    /**
+     * take로 꺼낸 위치의 청크 티켓을 놓습니다. 이 풀이 붙잡지 않은 위치이거나 이미 놓았으면 아무것도 하지 않습니다.
+     */
+    public void releaseTaken(Location location) {
+        releaseChunkTicket(location);
+    }
+
+    /**
+     * 준비된 위치 중 여전히 안전한 것을 모두 꺼냅니다. (배치 계획의 시드로 사용)
+     */
+    public List<Location> takeAll() {
+        List<Location> locations = new ArrayList<>();
+        Location location;
+        while ((location = take()) != null) {
+            locations.add(location);
+        }
+        return locations;
+    }
+
+    /**
+     * 풀을 비우고 유지 중인 청크 티켓을 모두 해제합니다. (꺼냈으나 아직 놓지 않은 위치 포함)
+     */
+    public void clear() {
+        stopFilling();
+        for (Location location : ticketedLocations) {
+            chunkTickets.release(location);
+        }
+        ticketedLocations.clear();
+        readyLocations.clear();
+    }
+
+    private void requestMoreCandidates() {
+        World world = spawnManager.getGameWorld();
+        if (world == null) {
+            return;
+        }
+
+        if (readyLocations.size() >= TARGET_POOL_SIZE) {
+            if (fillFinishedAtMillis == 0) {
+                fillFinishedAtMillis = System.currentTimeMillis();
+                plugin.getLogger().info("[GGORRI] 스폰 후보 풀 준비 완료. " + getStatusLine());
+            }
+            return;
+        }
+
+        int halfRange = spawnManager.getInitialWorldBorderSize() / 2;
+        int skipped = 0;
+        while (inFlightRequests < MAX_IN_FLIGHT_REQUESTS && readyLocations.size() + inFlightRequests < TARGET_POOL_SIZE) {
+            // 3x3 주변 검사가 이웃 청크를 동기 로딩하지 않도록 청크 경계 열은 피합니다.
+            int x = SpawnSafetyRules.toChunkInterior(random.nextInt(halfRange * 2 + 1) - halfRange);
+            int z = SpawnSafetyRules.toChunkInterior(random.nextInt(halfRange * 2 + 1) - halfRange);
+            SafeSurfaceIndex surfaceIndex = spawnManager.getSafeSurfaceIndex();
+            if (surfaceIndex != null && surfaceIndex.isKnownUnsafe(x, z)) {
+                totalAttempts++;
+                if (++skipped >= MAX_INDEX_SKIPS_PER_TICK) {
+                    break; // 다음 틱에 계속
+                }
+                continue; // 인덱스에서 안전하지 않다고 알려진 열은 청크를 불러오지 않음
+            }
+
+            inFlightRequests++;
+            totalAttempts++;
+            world.getChunkAtAsync(x >> 4, z >> 4)
+                    .thenCompose(chunk -> spawnManager.getSpawnEvaluator().evaluateColumn(chunk, x, z))
+                    .whenComplete((location, throwable) -> {
+                        inFlightRequests--;
+                        if (throwable != null) {
+                            plugin.getLogger().log(Level.FINE, "[GGORRI] 스폰 풀 후보 평가 실패: " + x + "," + z, throwable);
+                            return;
+                        }
+                        onCandidateEvaluated(location);
+                    });
+        }
+    }
+
+    private void onCandidateEvaluated(Location location) {
+        if (location == null || fillTask == null || readyLocations.size() >= TARGET_POOL_SIZE) {
+            return; // 안전하지 않거나, 채우기가 중지되었거나, 이미 가득 참
+        }
+
+        // 텔레포트 시점까지 청크가 언로드되지 않도록 티켓으로 유지
+        chunkTickets.acquire(location);
+        ticketedLocations.add(location);
+        readyLocations.add(location);
+        totalFound++;
+    }
+
+    private void releaseChunkTicket(Location location) {
+        if (ticketedLocations.remove(location)) {
+            chunkTickets.release(location);
+        }
+    }
+
+    public int size() {
+        return readyLocations.size();
+    }
+
+    public boolean isFilling() {
+        return fillTask != null;
+    }
+
+    /**
+     * 채움 속도 (초당 찾은 위치 수)
+     */
+    public double getFillRatePerSecond() {
+        long end = fillFinishedAtMillis != 0 ? fillFinishedAtMillis : System.currentTimeMillis();
+        long elapsedMillis = end - fillStartedAtMillis;
+        if (fillStartedAtMillis == 0 || elapsedMillis <= 0) {
+            return 0.0;
+        }
+        return totalFound * 1000.0 / elapsedMillis;
+    }
+
+    public String getStatusLine() {
+        return "스폰 풀: " + readyLocations.size() + "/" + TARGET_POOL_SIZE +
+                ", 로딩 중 " + inFlightRequests +
+                ", 시도 " + totalAttempts + "회, 성공 " + totalFound + "회" +
+                ", 채움 속도 " + String.format("%.2f", getFillRatePerSecond()) + "개/초";
+    }
+}
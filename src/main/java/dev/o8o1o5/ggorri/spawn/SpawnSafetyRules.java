@@ -0,0 +1,95 @@
+package dev.o8o1o5.ggorri.spawn;
+
+/**
+ * 스폰 위치 안전 판정 규칙입니다. 월드/스냅샷에 관계없이 BlockTypeAccess만으로 동작하므로
+ * 메인 스레드의 동기 검사와 작업 스레드의 스냅샷 검사가 항상 같은 결과를 냅니다.
+ * 블록 분류는 BlockSafetyClassifier의 분류표 조회로 처리합니다.
+ */
+public final class SpawnSafetyRules {
+    /** findGroundY가 지표면을 찾지 못했을 때의 반환값 */
+    public static final int NO_GROUND = Integer.MIN_VALUE;
+
+    private final BlockSafetyClassifier classifier;
+
+    public SpawnSafetyRules(BlockSafetyClassifier classifier) {
+        this.classifier = classifier;
+    }
+
+    /**
+     * 주어진 X, Z 열에서 플레이어가 스폰될 수 있는 가장 높은 안전한 Y 좌표를 찾습니다.
+     * 지표면만 허용하며, 액체 블록이나 동굴 내부 스폰을 방지합니다.
+     *
+     * @param topY      탐색을 시작할 가장 높은 Y (포함)
+     * @param minSpawnY 탐색할 가장 낮은 Y (포함)
+     * @return 발 위치의 Y 좌표, 찾지 못하면 NO_GROUND
+     */
+    public int findGroundY(BlockTypeAccess access, int x, int z, int topY, int minSpawnY) {
+        for (int y = topY; y >= minSpawnY; y--) {
+            byte belowFlags = classifier.flags(access.getType(x, y - 1, z));
+
+            // 1. 발 아래 블록이 단단해야 하고 액체가 아니어야 함
+            if ((belowFlags & BlockSafetyClassifier.SOLID_FLOOR) == 0) {
+                continue;
+            }
+
+            // 2. 발 위치 블록과 머리 위 블록은 통과 가능해야 함 (단단하지 않고 액체가 아님)
+            byte feetFlags = classifier.flags(access.getType(x, y, z));
+            byte headFlags = classifier.flags(access.getType(x, y + 1, z));
+            if ((feetFlags & headFlags & BlockSafetyClassifier.PASSABLE) == 0) {
+                continue;
+            }
+
+            // 3. Y-2 블록도 단단하거나 액체여야 함 (동굴 스폰 방지)
+            if (classifier.isPassable(access.getType(x, y - 2, z))) {
+                continue;
+            }
+
+            // 4. 플레이어가 서는 위치와 그 위/아래에 위험 블록이 없어야 함
+            if (((feetFlags | headFlags | belowFlags) & BlockSafetyClassifier.HARMFUL) != 0) {
+                continue;
+            }
+            return y;
+        }
+        return NO_GROUND;
+    }
+
+    /**
+     * (x, y, z)에 서는 것이 블록 기준으로 안전한지 검사합니다. 월드보더와 최소 Y 검사는 호출하는 쪽에서 수행합니다.
+     */
+    public boolean isSafeAt(BlockTypeAccess access, int x, int y, int z) {
+        // 발 아래 블록이 단단하고 액체가 아님
+        if (!classifier.isSolidFloor(access.getType(x, y - 1, z))) {
+            return false;
+        }
+        // 발 위치 블록과 머리 위 블록이 통과 가능하고 액체가 아님
+        if (!classifier.isPassable(access.getType(x, y, z)) || !classifier.isPassable(access.getType(x, y + 1, z))) {
+            return false;
+        }
+        // Y-2 블록도 단단하거나 액체여야 함 (동굴 방지)
+        if (classifier.isPassable(access.getType(x, y - 2, z))) {
+            return false;
+        }
+
+        // 스폰 위치 주변 3x3x3 공간에 해로운 블록이 없어야 함
+        for (int xOffset = -1; xOffset <= 1; xOffset++) {
+            for (int yOffset = -1; yOffset <= 1; yOffset++) {
+                for (int zOffset = -1; zOffset <= 1; zOffset++) {
+                    if (classifier.isHarmful(access.getType(x + xOffset, y + yOffset, z + zOffset))) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 3x3 주변 검사가 이웃 청크를 읽지 않도록 청크 경계(로컬 0, 15) 좌표를 한 칸 안쪽으로 옮깁니다.
+     */
+    public static int toChunkInterior(int coordinate) {
+        int local = coordinate & 15;
+        if (local == 0) return coordinate + 1;
+        if (local == 15) return coordinate - 1;
+        return coordinate;
+    }
+}
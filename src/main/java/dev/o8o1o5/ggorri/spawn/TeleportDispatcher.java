@@ -0,0 +1,217 @@
+package dev.o8o1o5.ggorri.spawn;
+
+import dev.o8o1o5.ggorri.GGORRI;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+
+/**
+ * Paper의 teleportAsync로 텔레포트를 처리하는 디스패처입니다.
+ * 요청은 대기열에 쌓였다가 틱당 예산(teleport.max-per-tick)만큼만 출발하므로,
+ * 게임 시작 시 모든 참가자의 먼 거리 텔레포트가 한 틱에 몰리지 않습니다.
+ * 대기 중이거나 목적지 청크를 불러오는 동안에는 플레이어가 받는 피해를 막고 (TeleportGuardListener),
+ * 목적지 청크는 도착할 때까지 티켓으로 붙잡아 둡니다. (스폰 풀/부활 예약이 넘겨준 로드 상태를 이어받음)
+ * 메인 스레드에서만 사용하며, 반환된 future도 메인 스레드에서 완료됩니다.
+ */
+public class TeleportDispatcher {
+    private final GGORRI plugin;
+    private final ChunkTickets chunkTickets;
+    private final int maxPerTick;
+
+    private final Deque<Request> queue = new ArrayDeque<>();
+    private final Map<UUID, Integer> pendingCounts = new HashMap<>(); // 플레이어별 진행 중인 요청 수 (있으면 피해를 막음)
+    private BukkitTask dispatchTask;
+
+    private static final int DEFAULT_MAX_PER_TICK = 2;
+
+    // 통계 (메인 스레드 전용)
+    private long completedCount;
+    private long failedCount;
+    private long totalQueueMillis;
+    private long totalTransitMillis;
+    private long maxTotalMillis;
+    private Request lastCompleted;
+
+    public TeleportDispatcher(GGORRI plugin, ChunkTickets chunkTickets) {
+        this.plugin = plugin;
+        this.chunkTickets = chunkTickets;
+        this.maxPerTick = Math.max(1, plugin.getConfig().getInt("teleport.max-per-tick", DEFAULT_MAX_PER_TICK));
+    }
+
+    /**
+     * 텔레포트를 예약합니다. 플레이어는 도착할 때까지 피해를 받지 않고, 목적지 청크는 로드된 상태로 유지됩니다.
+     * 호출한 쪽이 목적지 청크의 티켓을 붙잡고 있었다면 이 호출 뒤에 놓으면 됩니다.
+     * @return 성공 여부로 완료되는 future (메인 스레드)
+     */
+    public CompletableFuture<Boolean> teleport(Player player, Location destination) {
+        Request request = new Request(player, destination);
+        hold(player);
+        chunkTickets.acquire(destination);
+        queue.add(request);
+        startDispatching();
+        return request.result;
+    }
+
+    /**
+     * teleport와 같지만, 실패했을 때 플레이어가 아직 접속 중이면 대기열에 한 번 더 넣어 다시 시도합니다.
+     * 즉시(동기) 텔레포트로 대신하지 않으므로 목적지 청크를 메인 스레드에서 불러오지 않습니다.
+     * @return 두 번째 시도까지의 성공 여부로 완료되는 future (메인 스레드)
+     */
+    public CompletableFuture<Boolean> teleportWithRetry(Player player, Location destination) {
+        return teleport(player, destination).thenCompose(success -> success || !player.isOnline()
+                ? CompletableFuture.completedFuture(success)
+                : teleport(player, destination));
+    }
+
+    private void startDispatching() {
+        if (dispatchTask != null) {
+            return;
+        }
+        dispatchTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                dispatch();
+            }
+        }.runTaskTimer(plugin, 0L, 1L);
+    }
+
+    private void dispatch() {
+        for (int i = 0; i < maxPerTick && !queue.isEmpty(); i++) {
+            Request request = queue.poll();
+            if (!request.player.isOnline()) {
+                finish(request, false);
+                continue;
+            }
+            request.departedAtNanos = System.nanoTime();
+            request.player.teleportAsync(request.destination).whenComplete((success, throwable) -> {
+                if (throwable != null) {
+                    plugin.getLogger().log(Level.WARNING, "[GGORRI] " + request.player.getName() + "의 비동기 텔레포트 중 오류", throwable);
+                }
+                // Paper는 메인 스레드에서 완료하지만, 다른 구현에 대비해 메인 스레드로 넘김
+                if (plugin.getServer().isPrimaryThread()) {
+                    finish(request, throwable == null && Boolean.TRUE.equals(success));
+                } else if (plugin.isEnabled()) {
+                    plugin.getServer().getScheduler().runTask(plugin, () -> finish(request, throwable == null && Boolean.TRUE.equals(success)));
+                }
+            });
+        }
+        if (queue.isEmpty() && dispatchTask != null) {
+            dispatchTask.cancel();
+            dispatchTask = null;
+        }
+    }
+
+    private void finish(Request request, boolean success) {
+        request.finishedAtNanos = System.nanoTime();
+        release(request.player);
+        chunkTickets.release(request.destination);
+        if (success) {
+            request.player.setFallDistance(0f);
+            completedCount++;
+            long queueMillis = request.getQueueMillis();
+            long transitMillis = request.getTransitMillis();
+            totalQueueMillis += queueMillis;
+            totalTransitMillis += transitMillis;
+            maxTotalMillis = Math.max(maxTotalMillis, queueMillis + transitMillis);
+            lastCompleted = request;
+            plugin.getLogger().log(Level.FINE, "[GGORRI] " + request.player.getName() + " 텔레포트 완료: 대기 " + queueMillis + "ms, 이동 " + transitMillis + "ms");
+        } else {
+            failedCount++;
+        }
+        request.result.complete(success);
+    }
+
+    private void hold(Player player) {
+        pendingCounts.merge(player.getUniqueId(), 1, Integer::sum);
+    }
+
+    private void release(Player player) {
+        // 같은 플레이어의 다른 요청이 남아 있으면 계속 유지 (퇴장으로 이미 지워졌으면 그대로 둠)
+        pendingCounts.computeIfPresent(player.getUniqueId(), (uuid, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * @return 플레이어의 텔레포트가 대기 중이거나 진행 중이면 true (피해를 막아야 함)
+     */
+    public boolean isHeld(UUID uuid) {
+        return pendingCounts.containsKey(uuid);
+    }
+
+    /**
+     * 플레이어의 대기 중인 요청을 취소하고 보호를 해제합니다. (퇴장 시)
+     * 이미 출발한 텔레포트는 완료될 때 실패로 처리됩니다.
+     */
+    public void cancel(UUID uuid) {
+        if (pendingCounts.remove(uuid) == null) {
+            return;
+        }
+        for (Iterator<Request> iterator = queue.iterator(); iterator.hasNext(); ) {
+            Request request = iterator.next();
+            if (request.player.getUniqueId().equals(uuid)) {
+                iterator.remove();
+                chunkTickets.release(request.destination);
+                failedCount++;
+                request.result.complete(false);
+            }
+        }
+    }
+
+    /**
+     * 대기 중인 요청을 모두 취소하고 보호를 해제합니다. (플러그인 비활성화 시)
+     */
+    public void shutdown() {
+        if (dispatchTask != null) {
+            dispatchTask.cancel();
+            dispatchTask = null;
+        }
+        for (Request request : queue) {
+            chunkTickets.release(request.destination);
+            request.result.complete(false);
+        }
+        queue.clear();
+        pendingCounts.clear();
+    }
+
+    public String getStatusLine() {
+        double averageQueue = completedCount == 0 ? 0.0 : (double) totalQueueMillis / completedCount;
+        double averageTransit = completedCount == 0 ? 0.0 : (double) totalTransitMillis / completedCount;
+        return "텔레포트: 완료 " + completedCount + "회, 실패 " + failedCount + "회, 대기열 " + queue.size() +
+                ", 평균 대기 " + String.format("%.1f", averageQueue) + "ms / 이동 " + String.format("%.1f", averageTransit) + "ms" +
+                ", 최대 " + maxTotalMillis + "ms (틱당 " + maxPerTick + "명)" +
+                (lastCompleted != null ? ", 최근 " + lastCompleted.player.getName() + " " + (lastCompleted.getQueueMillis() + lastCompleted.getTransitMillis()) + "ms" : "");
+    }
+
+    private static final class Request {
+        private final Player player;
+        private final Location destination;
+        private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+        private final long queuedAtNanos = System.nanoTime();
+        private long departedAtNanos;
+        private long finishedAtNanos;
+
+        private Request(Player player, Location destination) {
+            this.player = player;
+            this.destination = destination;
+        }
+
+        /** 대기열에서 출발까지 걸린 시간 */
+        private long getQueueMillis() {
+            return (departedAtNanos - queuedAtNanos) / 1_000_000L;
+        }
+
+        /** 출발부터 도착(청크 로딩 포함)까지 걸린 시간 */
+        private long getTransitMillis() {
+            return (finishedAtNanos - departedAtNanos) / 1_000_000L;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package dev.o8o1o5.ggorri.spawn;
+
+import org.bukkit.Material;
+import org.bukkit.World;
+
+/**
+ * 실시간 월드를 읽는 BlockTypeAccess. 메인 스레드에서만 사용해야 하며, 청크가 로드되어 있지 않으면 동기 로딩이 발생합니다.
+ */
+public class WorldBlockAccess implements BlockTypeAccess {
+    private final World world;
+
+    public WorldBlockAccess(World world) {
+        this.world = world;
+    }
+
+    @Override
+    public Material getType(int x, int y, int z) {
+        return world.getBlockAt(x, y, z).getType();
+    }
+}
@@ -0,0 +1,75 @@
+package dev.o8o1o5.ggorri.border;
+
+import org.bukkit.configuration.MemoryConfiguration;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * border 설정에서 읽은 자기장 계획의 크기/피해/시간과 잘못된 설정의 기본 계획 대체를 확인합니다.
+ */
+class BorderPlanTest {
+    private static final Logger LOGGER = Logger.getLogger("BorderPlanTest");
+
+    private static MemoryConfiguration borderConfig(List<Map<String, Object>> phases) {
+        MemoryConfiguration config = new MemoryConfiguration();
+        config.set("announcement-seconds", 5);
+        config.set("cooldown-seconds", 100);
+        config.set("shrink-seconds", 30);
+        config.set("phases", phases);
+        return config;
+    }
+
+    @Test
+    void defaultPlanIsValid() {
+        BorderPlan plan = BorderPlan.defaults();
+        assertTrue(plan.validate().isEmpty(), String.valueOf(plan.validate()));
+        assertEquals(7, plan.getPhaseCount());
+        assertEquals(3200.0, plan.getSize(0));
+        assertEquals(100.0, plan.getSize(plan.getPhaseCount() - 1));
+        assertEquals(7 * (20L + 540 * 20L + 60 * 20L), plan.getTotalTicks());
+    }
+
+    @Test
+    void phasesFallBackToSectionDefaults() {
+        BorderPlan plan = BorderPlan.load(borderConfig(List.of(
+                Map.of("size", 1000, "damage", 1.5),
+                Map.of("size", 400, "damage", 3, "cooldown-seconds", 50, "shrink-seconds", 10))), LOGGER);
+        assertEquals(2, plan.getPhaseCount());
+        assertEquals(5 * 20L, plan.getAnnouncementTicks());
+        assertEquals(1000.0, plan.getSize(0));
+        assertEquals(1.5, plan.getDamage(0));
+        assertEquals(100 * 20L, plan.getCooldownTicks(0));
+        assertEquals(30 * 20L, plan.getShrinkTicks(0));
+        assertEquals(400.0, plan.getSize(1));
+        assertEquals(50 * 20L, plan.getCooldownTicks(1));
+        assertEquals(10 * 20L, plan.getShrinkTicks(1));
+        assertEquals((5 + 100 + 30) * 20L + (5 + 50 + 10) * 20L, plan.getTotalTicks());
+    }
+
+    @Test
+    void growingBorderFallsBackToDefaultPlan() {
+        BorderPlan plan = BorderPlan.load(borderConfig(List.of(
+                Map.of("size", 400),
+                Map.of("size", 1000))), LOGGER);
+        assertEquals(BorderPlan.defaults().getPhaseCount(), plan.getPhaseCount());
+        assertEquals(BorderPlan.defaults().getTotalTicks(), plan.getTotalTicks());
+    }
+
+    @Test
+    void missingSizeFallsBackToDefaultPlan() {
+        BorderPlan plan = BorderPlan.load(borderConfig(List.of(Map.of("damage", 2))), LOGGER);
+        assertEquals(BorderPlan.defaults().getPhaseCount(), plan.getPhaseCount());
+    }
+
+    @Test
+    void missingSectionUsesDefaultPlan() {
+        assertEquals(BorderPlan.defaults().getTotalTicks(), BorderPlan.load(null, LOGGER).getTotalTicks());
+        assertEquals(BorderPlan.defaults().getTotalTicks(), BorderPlan.load(new MemoryConfiguration(), LOGGER).getTotalTicks());
+    }
+}
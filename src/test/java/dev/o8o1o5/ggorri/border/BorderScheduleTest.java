@@ -0,0 +1,177 @@
+package dev.o8o1o5.ggorri.border;
+
+import org.bukkit.configuration.MemoryConfiguration;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 가상 시계로 자기장 일정의 단계 전환 시각, 카운트다운, 일정 단축 정책의 단계 건너뛰기/대기 단축을 확인합니다.
+ */
+class BorderScheduleTest {
+    private static final long SECOND = BorderSchedule.STEP_TICKS;
+
+    /** 공지 1초, 단계마다 대기 cooldownSeconds초 + 수축 5초인 3단계 계획 */
+    private static BorderPlan plan(int cooldownSeconds) {
+        MemoryConfiguration config = new MemoryConfiguration();
+        config.set("announcement-seconds", 1);
+        config.set("cooldown-seconds", cooldownSeconds);
+        config.set("shrink-seconds", 5);
+        config.set("phases", List.of(Map.of("size", 900), Map.of("size", 300), Map.of("size", 100)));
+        return BorderPlan.load(config, Logger.getLogger("BorderScheduleTest"));
+    }
+
+    /** 콜백을 "이벤트:단계@틱" 형태로 기록 */
+    private static final class Recorder implements BorderSchedule.Listener {
+        private final BorderClock clock;
+        private final List<String> events = new ArrayList<>();
+        private int countdowns;
+
+        private Recorder(BorderClock clock) {
+            this.clock = clock;
+        }
+
+        private void record(String event) {
+            events.add(event + "@" + clock.getTicks());
+        }
+
+        @Override
+        public void onPhaseAnnounced(int phase, int skipped) {
+            record("announce:" + phase + (skipped > 0 ? "+" + skipped : ""));
+        }
+
+        @Override
+        public void onCooldownStarted(int phase) {
+            record("cooldown:" + phase);
+        }
+
+        @Override
+        public void onShrinkCountdown(int phase, long remainingSeconds) {
+            countdowns++;
+        }
+
+        @Override
+        public void onCooldownShortened(int phase, long remainingSeconds) {
+            record("shortened:" + phase + "/" + remainingSeconds);
+        }
+
+        @Override
+        public void onShrinkStarted(int phase) {
+            record("shrink:" + phase);
+        }
+
+        @Override
+        public void onShrinkCompleted(int phase) {
+            record("completed:" + phase);
+        }
+
+        @Override
+        public void onScheduleFinished() {
+            record("finished");
+        }
+    }
+
+    private static void runSecondBySecond(BorderSchedule schedule, BorderClock.Virtual clock, long ticks) {
+        for (long t = 0; t < ticks; t += SECOND) {
+            clock.advance(SECOND);
+            schedule.update();
+        }
+    }
+
+    @Test
+    void phasesAdvanceAtPlannedTicks() {
+        BorderClock.Virtual clock = new BorderClock.Virtual();
+        Recorder recorder = new Recorder(clock);
+        BorderPlan plan = plan(10);
+        BorderSchedule schedule = new BorderSchedule(plan, clock, recorder);
+        schedule.start();
+        runSecondBySecond(schedule, clock, plan.getTotalTicks());
+
+        // 단계마다 공지 1초 + 대기 10초 + 수축 5초 = 16초
+        assertEquals(List.of(
+                "announce:0@0", "cooldown:0@20", "shrink:0@220", "completed:0@320",
+                "announce:1@320", "cooldown:1@340", "shrink:1@540", "completed:1@640",
+                "announce:2@640", "cooldown:2@660", "shrink:2@860", "finished@960"), recorder.events);
+        assertEquals(BorderSchedule.State.FINISHED, schedule.getState());
+        assertEquals(plan.getTotalTicks(), schedule.getProcessedTicks());
+        assertEquals(3 * 10, recorder.countdowns);
+    }
+
+    @Test
+    void clockJumpStillProcessesEverySecond() {
+        BorderClock.Virtual clock = new BorderClock.Virtual();
+        Recorder recorder = new Recorder(clock);
+        BorderPlan plan = plan(10);
+        BorderSchedule schedule = new BorderSchedule(plan, clock, recorder);
+        schedule.start();
+        clock.advance(plan.getTotalTicks() + 5 * SECOND);
+        schedule.update();
+
+        assertEquals(BorderSchedule.State.FINISHED, schedule.getState());
+        assertEquals(3 * 10, recorder.countdowns);
+        assertEquals(12, recorder.events.size());
+    }
+
+    @Test
+    void resumeStartsAtRecordedPhase() {
+        BorderClock.Virtual clock = new BorderClock.Virtual();
+        Recorder recorder = new Recorder(clock);
+        BorderSchedule schedule = new BorderSchedule(plan(10), clock, recorder);
+        schedule.resume(2);
+        runSecondBySecond(schedule, clock, 16 * SECOND);
+
+        assertEquals(List.of("announce:2@0", "cooldown:2@20", "shrink:2@220", "finished@320"), recorder.events);
+    }
+
+    @Test
+    void paceSkipsPhasesButNeverTheLast() {
+        BorderClock.Virtual clock = new BorderClock.Virtual();
+        Recorder recorder = new Recorder(clock);
+        BorderPacePolicy skipEverything = new BorderPacePolicy() {
+            @Override
+            public long cooldownTicks(int phase, long plannedTicks) {
+                return plannedTicks;
+            }
+
+            @Override
+            public int phasesToSkip(int phase, int lastPhase) {
+                return 5;
+            }
+        };
+        BorderSchedule schedule = new BorderSchedule(plan(10), clock, recorder, skipEverything);
+        schedule.start();
+        runSecondBySecond(schedule, clock, 16 * SECOND);
+
+        assertEquals(List.of("announce:2+2@0", "cooldown:2@20", "shrink:2@220", "finished@320"), recorder.events);
+        assertEquals(2, schedule.getSkippedPhases());
+    }
+
+    @Test
+    void paceShortensCooldownButKeepsNotice() {
+        BorderClock.Virtual clock = new BorderClock.Virtual();
+        Recorder recorder = new Recorder(clock);
+        BorderPacePolicy noWait = new BorderPacePolicy() {
+            @Override
+            public long cooldownTicks(int phase, long plannedTicks) {
+                return 0L;
+            }
+
+            @Override
+            public int phasesToSkip(int phase, int lastPhase) {
+                return 0;
+            }
+        };
+        BorderSchedule schedule = new BorderSchedule(plan(120), clock, recorder, noWait);
+        schedule.start();
+        runSecondBySecond(schedule, clock, 32 * SECOND);
+
+        // 대기 120초가 최소 공지 시간(30초)까지만 줄어듦
+        assertEquals(BorderSchedule.SHORTENED_NOTICE_TICKS, schedule.getCooldownTicks());
+        assertEquals(List.of("announce:0@0", "cooldown:0@20", "shrink:0@620"), recorder.events);
+    }
+}
@@ -0,0 +1,40 @@
+package dev.o8o1o5.ggorri.border;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 일정 단축 정책이 시작 인원 대비 비율로만 움직이는지 확인합니다.
+ */
+class LeaderPacePolicyTest {
+    private static final long PLANNED_TICKS = 20L * 60 * 5;
+
+    private static LeaderPacePolicy policy(int leaders, int online, int participants) {
+        return new LeaderPacePolicy(() -> leaders, () -> online, () -> participants, 0.5, 0.5, 0.33, 0.25, 1);
+    }
+
+    @Test
+    void smallGameIsNotShortenedBeforeAnyElimination() {
+        for (int participants = 2; participants <= 4; participants++) {
+            LeaderPacePolicy pace = policy(participants, participants, participants);
+            assertEquals(PLANNED_TICKS, pace.cooldownTicks(0, PLANNED_TICKS), participants + "명");
+            assertEquals(0, pace.phasesToSkip(0, 5), participants + "명");
+        }
+    }
+
+    @Test
+    void shortensWhenHalfTheLeadersAreGone() {
+        assertEquals(PLANNED_TICKS, policy(6, 10, 10).cooldownTicks(1, PLANNED_TICKS));
+        assertEquals((long) (PLANNED_TICKS * 0.33), policy(5, 10, 10).cooldownTicks(1, PLANNED_TICKS));
+        assertEquals((long) (PLANNED_TICKS * 0.33), policy(10, 5, 10).cooldownTicks(1, PLANNED_TICKS));
+    }
+
+    @Test
+    void skipsOnlyWhenFewLeadersRemainAndNeverPastLastPhase() {
+        assertEquals(0, policy(3, 10, 10).phasesToSkip(1, 5));
+        assertEquals(1, policy(2, 10, 10).phasesToSkip(1, 5));
+        assertEquals(0, policy(2, 10, 10).phasesToSkip(5, 5));
+        assertEquals(1, policy(1, 4, 4).phasesToSkip(0, 5));
+    }
+}
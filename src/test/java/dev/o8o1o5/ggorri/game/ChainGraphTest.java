@@ -0,0 +1,121 @@
+package dev.o8o1o5.ggorri.game;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 처치/이탈/접속 변경 뒤에도 ChainGraph의 불변 조건(validate)이 유지되는지 확인합니다.
+ */
+class ChainGraphTest {
+    private static final int PLAYERS = 8;
+
+    private ChainGraph graph;
+    private List<PlayerGameData> players;
+
+    @BeforeEach
+    void setUp() {
+        graph = new ChainGraph(new Random(42));
+        players = new ArrayList<>();
+        for (int i = 0; i < PLAYERS; i++) {
+            players.add(new PlayerGameData(new UUID(0L, i)));
+        }
+        graph.buildRing(players);
+        for (PlayerGameData data : players) {
+            graph.setOnline(data.getPlayerUUID(), true);
+        }
+    }
+
+    private UUID id(int index) {
+        return players.get(index).getPlayerUUID();
+    }
+
+    private void assertValid() {
+        List<String> problems = graph.validate();
+        assertTrue(problems.isEmpty(), String.valueOf(problems));
+    }
+
+    @Test
+    void ringStartsWithEveryoneAsLeader() {
+        assertValid();
+        assertEquals(PLAYERS, graph.getLeaderCount());
+        assertEquals(PLAYERS, graph.getOnlineCount());
+        for (int i = 0; i < PLAYERS; i++) {
+            assertEquals(id((i + 1) % PLAYERS), graph.getTarget(id(i)));
+            assertEquals(id(i), graph.getHunter(id((i + 1) % PLAYERS)));
+        }
+    }
+
+    @Test
+    void enslavedLeaderLeavesRingAndBringsTeam() {
+        graph.enslave(id(2), id(3)); // 2팀: 2, 3
+        graph.enslave(id(1), id(2)); // 1팀: 1, 2, 3
+        assertValid();
+        assertEquals(id(4), graph.getTarget(id(1)));
+        assertEquals(3, graph.getTeamSize(id(1)));
+        assertEquals(0, graph.getTeamSize(id(2)));
+        assertNull(graph.getHeir(id(2)));
+        assertEquals(0, graph.getOnlineTeamSize(id(2)));
+        assertTrue(graph.isSameTeam(id(1), id(3)));
+    }
+
+    @Test
+    void enslavedLeaderHasNoStaleHeirWhenPromotedLater() {
+        graph.enslave(id(2), id(3)); // 2의 후계자는 3
+        graph.enslave(id(1), id(2)); // 2와 3이 1팀으로
+        graph.remove(id(3));
+        graph.remove(id(1)); // 남은 노예 2가 승격
+        assertValid();
+        assertEquals(PlayerRole.LEADER, players.get(2).getRole());
+        assertNull(graph.getHeir(id(2)));
+        assertEquals(1, graph.getOnlineTeamSize(id(2)));
+    }
+
+    @Test
+    void removedLeaderHandsRingSlotToHeir() {
+        graph.enslave(id(0), id(1));
+        UUID heir = graph.getHeir(id(0));
+        assertEquals(id(1), heir);
+        assertEquals(heir, graph.remove(id(0)));
+        assertValid();
+        assertEquals(id(2), graph.getTarget(heir));
+        assertEquals(heir, graph.getTarget(id(PLAYERS - 1)));
+        assertFalse(graph.contains(id(0)));
+        assertEquals(PLAYERS - 1, graph.getOnlineCount());
+    }
+
+    @Test
+    void slaveCannotEnslaveOwnLeader() {
+        graph.enslave(id(0), id(1));
+        assertNull(graph.enslave(id(1), id(0)));
+        assertValid();
+    }
+
+    @Test
+    void invariantsHoldThroughRandomGame() {
+        Random random = new Random(7);
+        for (int step = 0; step < 2000 && graph.getLeaderCount() > 1; step++) {
+            UUID first = id(random.nextInt(PLAYERS));
+            UUID second = id(random.nextInt(PLAYERS));
+            switch (random.nextInt(10)) {
+                case 0 -> graph.setOnline(first, !graph.isOnline(first));
+                case 1 -> {
+                    if (graph.size() > 2) {
+                        graph.remove(first);
+                    }
+                }
+                default -> graph.enslave(first, second);
+            }
+            assertValid();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package dev.o8o1o5.ggorri.journal;
+
+import dev.o8o1o5.ggorri.game.PlayerGameData;
+import dev.o8o1o5.ggorri.game.PlayerRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 저널 레코드를 파일에 쓰고 다시 재생했을 때 마지막 상태가 돌아오는지, 잘리거나 CRC가 틀린 끝부분은 버리는지 확인합니다.
+ */
+class JournalCodecTest {
+    private static final long STARTED_AT = 1_700_000_000_000L;
+    private static final UUID FIRST = new UUID(0L, 1L);
+    private static final UUID SECOND = new UUID(0L, 2L);
+    private static final UUID THIRD = new UUID(0L, 3L);
+
+    @TempDir
+    Path tempDir;
+
+    private JournalCodec codec;
+    private ByteArrayOutputStream journal;
+
+    @BeforeEach
+    void setUp() {
+        codec = new JournalCodec();
+        journal = new ByteArrayOutputStream();
+        write(JournalCodec.header());
+    }
+
+    private void write(byte[] bytes) {
+        journal.write(bytes, 0, bytes.length);
+    }
+
+    private static PlayerGameData leader(UUID uuid, UUID target) {
+        PlayerGameData data = new PlayerGameData(uuid);
+        data.setRole(PlayerRole.LEADER);
+        data.setDirectTargetUUID(target);
+        return data;
+    }
+
+    /** 세 명이 고리로 시작해 2가 1의 노예가 되고, 3이 이탈한 게임 */
+    private void writeGame() {
+        write(codec.gameStarted(STARTED_AT));
+        write(codec.player(leader(FIRST, SECOND)));
+        write(codec.player(leader(SECOND, THIRD)));
+        write(codec.player(leader(THIRD, FIRST)));
+        write(codec.border(0, 0.0, 0.0, 3200.0));
+
+        PlayerGameData enslaved = new PlayerGameData(SECOND);
+        enslaved.setRole(PlayerRole.SLAVE);
+        enslaved.setMasterUUID(FIRST);
+        enslaved.setDeathCount(1);
+        write(codec.player(enslaved));
+        write(codec.player(leader(FIRST, THIRD)));
+        write(codec.respawnPending(SECOND, 200L, true));
+        write(codec.respawnPending(THIRD, 100L, false));
+        write(codec.playerRemoved(THIRD));
+        write(codec.border(2, 120.5, -40.25, 1000.0));
+    }
+
+    private RecoveredGame roundTrip(byte[] bytes) throws IOException {
+        Path file = tempDir.resolve("game-journal.bin");
+        Files.write(file, bytes);
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file));
+        assertTrue(JournalCodec.readHeader(in));
+        return JournalCodec.replay(in);
+    }
+
+    @Test
+    void replayRestoresLatestState() throws IOException {
+        writeGame();
+        RecoveredGame game = roundTrip(journal.toByteArray());
+
+        assertNotNull(game);
+        assertFalse(game.truncated);
+        assertEquals(11, game.records);
+        assertEquals(STARTED_AT, game.getStartedAtMillis());
+        assertEquals(2, game.getPlayers().size());
+        assertNull(game.players.get(THIRD));
+
+        PlayerGameData first = game.players.get(FIRST);
+        assertEquals(PlayerRole.LEADER, first.getRole());
+        assertEquals(THIRD, first.getDirectTargetUUID());
+        PlayerGameData second = game.players.get(SECOND);
+        assertEquals(PlayerRole.SLAVE, second.getRole());
+        assertEquals(FIRST, second.getMasterUUID());
+        assertNull(second.getDirectTargetUUID());
+        assertEquals(1, second.getDeathCount());
+
+        assertEquals(2, game.getBorderPhase());
+        assertEquals(120.5, game.getBorderCenterX());
+        assertEquals(-40.25, game.getBorderCenterZ());
+        assertEquals(1000.0, game.getBorderSize());
+
+        assertEquals(1, game.getPendingRespawns().size());
+        assertEquals(200L, game.getPendingRespawns().get(SECOND).getDelayTicks());
+        assertTrue(game.getPendingRespawns().get(SECOND).isNearLeader());
+    }
+
+    @Test
+    void truncatedTailKeepsEarlierRecords() throws IOException {
+        writeGame();
+        byte[] bytes = journal.toByteArray();
+        RecoveredGame game = roundTrip(Arrays.copyOf(bytes, bytes.length - 5)); // 마지막 자기장 레코드가 쓰이다 멈춤
+
+        assertNotNull(game);
+        assertTrue(game.truncated);
+        assertEquals(10, game.records);
+        assertEquals(0, game.getBorderPhase()); // 앞의 자기장 기록까지만 사용
+        assertEquals(2, game.getPlayers().size());
+    }
+
+    @Test
+    void corruptedTailIsDropped() throws IOException {
+        writeGame();
+        byte[] bytes = journal.toByteArray();
+        bytes[bytes.length - 1] ^= 0x40; // 마지막 레코드 내용만 바뀌어 CRC가 맞지 않음
+        RecoveredGame game = roundTrip(bytes);
+
+        assertNotNull(game);
+        assertTrue(game.truncated);
+        assertEquals(10, game.records);
+        assertEquals(0, game.getBorderPhase());
+    }
+
+    @Test
+    void journalWithoutGameStartIsNotRecovered() throws IOException {
+        write(codec.player(leader(FIRST, FIRST)));
+        assertNull(roundTrip(journal.toByteArray()));
+    }
+
+    @Test
+    void foreignFileIsRejected() {
+        ByteBuffer in = ByteBuffer.wrap(new byte[]{'P', 'K', 3, 4, 0, 0, 0, 0, 0});
+        assertFalse(JournalCodec.readHeader(in));
+        assertFalse(JournalCodec.readHeader(ByteBuffer.allocate(4)));
+    }
+}
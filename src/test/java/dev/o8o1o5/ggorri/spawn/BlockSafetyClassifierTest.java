@@ -0,0 +1,197 @@
+package dev.o8o1o5.ggorri.spawn;
+
+import org.bukkit.Material;
+import org.bukkit.configuration.MemoryConfiguration;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * build()로 만든 분류표가 분류표 이전의 스폰 안전 판정(SpawnManager.isHarmfulBlockType, findGroundY/isLocationSafeForSpawn의
+ * 단단함/액체 검사)과 모든 블록에서 같은 결과를 내는지 확인합니다.
+ * Tag/블록 속성은 서버 레지스트리가 있어야 읽을 수 있으므로, 단단함과 Tag 멤버는 고정값으로 넣습니다.
+ */
+class BlockSafetyClassifierTest {
+    private static final Logger LOGGER = Logger.getLogger("BlockSafetyClassifierTest");
+    private static final int BENCHMARK_LOOKUPS = 1 << 16;
+
+    /** 아이템 전용 Material (월드에 블록으로 존재하지 않음) */
+    private static final Set<Material> ITEMS = EnumSet.of(Material.COMPASS, Material.IRON_SWORD, Material.DIAMOND_SWORD,
+            Material.IRON_CHESTPLATE, Material.IRON_HELMET, Material.IRON_LEGGINGS, Material.IRON_BOOTS, Material.DIAMOND_CHESTPLATE,
+            Material.BOW, Material.ARROW, Material.COOKED_BEEF, Material.GOLDEN_APPLE, Material.ENDER_PEARL, Material.SHIELD, Material.BREAD);
+
+    /** Material.isSolid()가 true인 블록 */
+    private static final Set<Material> SOLID = EnumSet.of(Material.STONE, Material.GRASS_BLOCK, Material.DIRT, Material.SAND,
+            Material.CACTUS, Material.MAGMA_BLOCK, Material.CAMPFIRE, Material.SOUL_CAMPFIRE, Material.END_PORTAL_FRAME,
+            Material.POINTED_DRIPSTONE, Material.ANVIL, Material.CHEST, Material.BARREL, Material.OAK_TRAPDOOR, Material.OAK_FENCE,
+            Material.OAK_FENCE_GATE, Material.COBBLESTONE_WALL, Material.OAK_DOOR, Material.OAK_SIGN);
+
+    /** Tag.TRAPDOORS/FENCE_GATES/FENCES/WALLS/DOORS/FIRE/CAMPFIRES의 멤버 */
+    private static final Set<Material> TAGGED = EnumSet.of(Material.OAK_TRAPDOOR, Material.OAK_FENCE_GATE, Material.OAK_FENCE,
+            Material.COBBLESTONE_WALL, Material.OAK_DOOR, Material.FIRE, Material.SOUL_FIRE, Material.CAMPFIRE, Material.SOUL_CAMPFIRE);
+
+    private static final BlockSafetyClassifier.BlockProperties PROPERTIES = new BlockSafetyClassifier.BlockProperties() {
+        @Override
+        public boolean isWorldBlock(Material material) {
+            return !material.name().startsWith("LEGACY_") && !ITEMS.contains(material);
+        }
+
+        @Override
+        public boolean isSolid(Material material) {
+            return SOLID.contains(material);
+        }
+
+        @Override
+        public Set<Material> harmfulTagMembers() {
+            return EnumSet.copyOf(TAGGED);
+        }
+    };
+
+    // --- 분류표 이전의 판정 (기존 SpawnManager에서 그대로 옮김) ---
+
+    private static boolean isHarmfulBlockType(Material material) {
+        if (material == null) return true; // Null 블록은 위험
+
+        return material == Material.CACTUS ||
+                material == Material.LAVA ||
+                material == Material.MAGMA_BLOCK ||
+                material == Material.WITHER_ROSE ||
+                material == Material.SWEET_BERRY_BUSH ||
+                material == Material.FIRE ||
+                material == Material.SOUL_FIRE ||
+                material == Material.CAMPFIRE ||
+                material == Material.SOUL_CAMPFIRE ||
+                material == Material.END_PORTAL_FRAME ||
+                material == Material.POINTED_DRIPSTONE ||
+                material == Material.ANVIL || // 떨어진다면 위험, 스폰 시 위험
+                material == Material.COBWEB || // 움직임 방해
+                material.name().contains("TRAPDOOR") || // 갇힐 위험
+                material.name().contains("GATE") || // 갇힐 위험
+                material.name().contains("FENCE") || // 울타리 (플레이어 통과 불가)
+                material.name().contains("WALL") || // 벽 (플레이어 통과 불가)
+                material.name().contains("DOOR"); // 문 (갇히거나 막힐 위험)
+    }
+
+    /** Block.isLiquid(): 물 또는 용암 */
+    private static boolean isLiquid(Material material) {
+        return material == Material.WATER || material == Material.LAVA;
+    }
+
+    /** 발 아래 블록이 단단하고 액체가 아님 */
+    private static boolean isFloor(Material material) {
+        return PROPERTIES.isSolid(material) && !isLiquid(material);
+    }
+
+    /** 발/머리 위치를 통과할 수 있음. Y-2에서 이 조건이면 동굴로 보고 거부 */
+    private static boolean isOpenSpace(Material material) {
+        return !PROPERTIES.isSolid(material) && !isLiquid(material);
+    }
+
+    private static List<Material> worldBlocks() {
+        List<Material> blocks = new ArrayList<>();
+        for (Material material : Material.values()) {
+            if (PROPERTIES.isWorldBlock(material)) {
+                blocks.add(material);
+            }
+        }
+        return blocks;
+    }
+
+    @Test
+    void builtTableMatchesPreviousRulesForEveryBlock() {
+        BlockSafetyClassifier classifier = BlockSafetyClassifier.build(null, LOGGER, PROPERTIES);
+        int harmful = 0;
+        for (Material material : worldBlocks()) {
+            String name = material.name();
+            assertEquals(isHarmfulBlockType(material), classifier.isHarmful(material), name);
+            assertEquals(isLiquid(material), classifier.isLiquid(material), name);
+            assertEquals(isFloor(material), classifier.isSolidFloor(material), name);
+            assertEquals(isOpenSpace(material), classifier.isPassable(material), name);
+            if (isHarmfulBlockType(material)) {
+                harmful++;
+            }
+        }
+        assertEquals(harmful, classifier.getHarmfulCount());
+    }
+
+    @Test
+    void bubbleColumnKeepsPreviousVerdicts() {
+        BlockSafetyClassifier classifier = BlockSafetyClassifier.build(null, LOGGER, PROPERTIES);
+        // Block.isLiquid()가 false이고 단단하지도 않으므로 통과 가능 (Y-2에 있으면 동굴로 거부), 위험 블록은 아님
+        assertFalse(classifier.isLiquid(Material.BUBBLE_COLUMN));
+        assertTrue(classifier.isPassable(Material.BUBBLE_COLUMN));
+        assertFalse(classifier.isHarmful(Material.BUBBLE_COLUMN));
+    }
+
+    @Test
+    void referenceMatcherIsThePreviousRule() {
+        for (Material material : Material.values()) {
+            assertEquals(isHarmfulBlockType(material), BlockSafetyClassifier.isHarmfulByLegacyStringMatching(material), material.name());
+        }
+    }
+
+    @Test
+    void configListsOverrideDefaults() {
+        MemoryConfiguration safety = new MemoryConfiguration();
+        safety.set("deny", List.of("sand", "NOT_A_BLOCK"));
+        safety.set("allow", List.of("OAK_DOOR", "SAND"));
+        BlockSafetyClassifier classifier = BlockSafetyClassifier.build(safety, LOGGER, PROPERTIES);
+
+        assertFalse(classifier.isHarmful(Material.OAK_DOOR)); // 허용 목록이 기본 규칙보다 우선
+        assertFalse(classifier.isHarmful(Material.SAND)); // 허용 목록이 거부 목록보다 우선
+        assertTrue(classifier.isHarmful(Material.CACTUS));
+
+        safety.set("allow", List.of());
+        assertTrue(BlockSafetyClassifier.build(safety, LOGGER, PROPERTIES).isHarmful(Material.SAND));
+    }
+
+    @Test
+    void tagMembersAreHarmfulEvenWithoutNamePattern() {
+        BlockSafetyClassifier.BlockProperties withExtraTag = new BlockSafetyClassifier.BlockProperties() {
+            @Override
+            public boolean isWorldBlock(Material material) {
+                return PROPERTIES.isWorldBlock(material);
+            }
+
+            @Override
+            public boolean isSolid(Material material) {
+                return PROPERTIES.isSolid(material);
+            }
+
+            @Override
+            public Set<Material> harmfulTagMembers() {
+                Set<Material> members = EnumSet.copyOf(TAGGED);
+                members.add(Material.SCAFFOLDING);
+                return members;
+            }
+        };
+        assertTrue(BlockSafetyClassifier.build(null, LOGGER, withExtraTag).isHarmful(Material.SCAFFOLDING));
+    }
+
+    @Test
+    void unknownBlockIsHarmfulAndNotFloor() {
+        BlockSafetyClassifier classifier = BlockSafetyClassifier.build(null, LOGGER, PROPERTIES);
+        assertTrue(classifier.isHarmful(null));
+        assertTrue(classifier.isPassable(null));
+        assertFalse(classifier.isSolidFloor(null));
+        assertFalse(classifier.isLiquid(null));
+    }
+
+    @Test
+    void microBenchmarkComparesIdenticalVerdicts() {
+        BlockSafetyClassifier.MicroBenchmarkResult result = BlockSafetyClassifier.build(null, LOGGER, PROPERTIES)
+                .runMicroBenchmark(worldBlocks(), BENCHMARK_LOOKUPS);
+        // 두 방식이 같은 표본에서 같은 수의 위험 블록을 세야 같은 판정의 비용을 비교한 것
+        assertEquals(result.getStringHarmful(), result.getTableHarmful());
+        assertTrue(result.getTableHarmful() > 0);
+        assertTrue(result.getTableNanosPerLookup() > 0.0 && result.getStringNanosPerLookup() > 0.0, result.getSummary());
+    }
+}